@@ -0,0 +1,71 @@
+package com.nigam.openalgo.autopilot.api.controller;
+
+import com.nigam.openalgo.autopilot.trading.alert.AlertRequest;
+import com.nigam.openalgo.autopilot.trading.alert.PriceAlert;
+import com.nigam.openalgo.autopilot.trading.alert.PriceAlertEngine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/autopilot/v1/alerts")
+@Tag(name = "Alerts", description = "Price and percentage-move alerts fired from live LTP")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final PriceAlertEngine priceAlertEngine;
+
+    @GetMapping
+    @Operation(summary = "Active alerts", description = "Returns alerts that have not fired yet, optionally for one exchange or symbol")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alerts retrieved successfully")
+    })
+    public ResponseEntity<List<PriceAlert>> getAlerts(
+            @Parameter(description = "Exchange to filter by") @RequestParam(required = false) String exchange,
+            @Parameter(description = "Symbol to filter by") @RequestParam(required = false) String symbol) {
+        return ResponseEntity.ok(priceAlertEngine.getAlerts(exchange, symbol));
+    }
+
+    @PostMapping
+    @Operation(summary = "Add alert", description = "Registers a one-shot PRICE or PERCENT alert; fired alerts are published to Kafka")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alert registered"),
+        @ApiResponse(responseCode = "400", description = "Invalid alert"),
+        @ApiResponse(responseCode = "503", description = "Instrument registry is full")
+    })
+    public ResponseEntity<?> addAlert(@RequestBody AlertRequest request) {
+        try {
+            return ResponseEntity.ok(priceAlertEngine.add(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Remove alert", description = "Removes an alert that has not fired yet")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Alert removed"),
+        @ApiResponse(responseCode = "404", description = "Alert not found or already fired")
+    })
+    public ResponseEntity<Void> removeAlert(@PathVariable long id) {
+        return priceAlertEngine.remove(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
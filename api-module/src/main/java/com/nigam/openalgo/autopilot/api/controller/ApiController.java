@@ -1,11 +1,16 @@
 package com.nigam.openalgo.autopilot.api.controller;
 
+import com.nigam.openalgo.autopilot.trading.scanner.MarketScanner;
+import com.nigam.openalgo.autopilot.trading.scanner.ScanDefinition;
+import com.nigam.openalgo.autopilot.trading.scanner.ScanResult;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
@@ -14,7 +19,10 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/autopilot/v1")
 @Tag(name = "OpenAlgo Autopilot API", description = "REST API endpoints for OpenAlgo Autopilot")
+@RequiredArgsConstructor
 public class ApiController {
+
+    private final MarketScanner marketScanner;
     
     @GetMapping("/health")
     @Operation(summary = "Health check endpoint", description = "Returns the health status of the API service")
@@ -41,4 +49,64 @@ public class ApiController {
         response.put("version", "1.0.0-SNAPSHOT");
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/scanner")
+    @Operation(summary = "Named scans", description = "Returns the filter and rank expressions of every named scan")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scans retrieved successfully")
+    })
+    public ResponseEntity<Map<String, ScanDefinition>> getScans() {
+        return ResponseEntity.ok(marketScanner.getScans());
+    }
+
+    @GetMapping("/scanner/{name}")
+    @Operation(summary = "Scan result", description = "Returns the latest ranked result of a named scan, refreshed in the background, with its sweep latency")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Result retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "No scan with that name")
+    })
+    public ResponseEntity<ScanResult> getScanResult(
+            @Parameter(description = "Scan name, e.g. top-gainers") @PathVariable String name) {
+        ScanResult result = marketScanner.getResult(name);
+        return result != null ? ResponseEntity.ok(result) : ResponseEntity.notFound().build();
+    }
+
+    @PutMapping("/scanner/{name}")
+    @Operation(summary = "Save scan", description = "Adds or replaces a named scan refreshed in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scan saved"),
+        @ApiResponse(responseCode = "400", description = "Invalid expression or limit")
+    })
+    public ResponseEntity<?> saveScan(@PathVariable String name, @RequestBody ScanDefinition definition) {
+        try {
+            marketScanner.register(name, definition);
+            return ResponseEntity.ok(definition);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/scanner/{name}")
+    @Operation(summary = "Delete scan", description = "Removes a named scan")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Scan removed"),
+        @ApiResponse(responseCode = "404", description = "No scan with that name")
+    })
+    public ResponseEntity<Void> deleteScan(@PathVariable String name) {
+        return marketScanner.unregister(name) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/scanner")
+    @Operation(summary = "Run scan", description = "Runs a one-off scan over the whole universe and returns the ranked result with its sweep latency")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scan completed"),
+        @ApiResponse(responseCode = "400", description = "Invalid expression or limit")
+    })
+    public ResponseEntity<?> runScan(@RequestBody ScanDefinition definition) {
+        try {
+            return ResponseEntity.ok(marketScanner.scan(definition));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 }
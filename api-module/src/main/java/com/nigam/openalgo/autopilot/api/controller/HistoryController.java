@@ -0,0 +1,75 @@
+package com.nigam.openalgo.autopilot.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.api.history.BinaryHistoryWriter;
+import com.nigam.openalgo.autopilot.api.history.HistoryQuery;
+import com.nigam.openalgo.autopilot.api.history.HistoryService;
+import com.nigam.openalgo.autopilot.api.history.JsonHistoryWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/autopilot/v1/history")
+@Tag(name = "History", description = "Historical bars downsampled from stored ticks")
+@RequiredArgsConstructor
+public class HistoryController {
+
+    private final HistoryService historyService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${openalgo.history.stream-timeout-ms:600000}")
+    private long streamTimeoutMs;
+
+    @GetMapping
+    @Operation(summary = "Historical bars",
+            description = "Streams bars of the requested interval for each symbol, queried in parallel. "
+                    + "format=json returns {from, to, intervalMillis, series:[{symbol, bars:[[ts, o, h, l, c, v]]}]}; "
+                    + "format=binary returns little-endian frames (short key length, key, int bar count, 48-byte bars). "
+                    + "Series arrive in completion order.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Bars streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid symbols, range, interval or format")
+    })
+    public ResponseEntity<?> getHistory(
+            @Parameter(description = "Comma-separated EXCHANGE:SYMBOL keys") @RequestParam String symbols,
+            @Parameter(description = "Start, inclusive: epoch millis, yyyy-MM-dd or yyyy-MM-ddTHH:mm[:ss], exchange time") @RequestParam String from,
+            @Parameter(description = "End, exclusive, same forms as from") @RequestParam String to,
+            @Parameter(description = "Bar interval, e.g. 30s, 1m, 15m, 1h, 1d") @RequestParam(defaultValue = "1m") String interval,
+            @Parameter(description = "json or binary") @RequestParam(defaultValue = "json") String format,
+            HttpServletRequest request) {
+        HistoryQuery query;
+        try {
+            query = historyService.parseQuery(symbols, from, to, interval);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        // Streams can outlive the default async timeout; raise it for this request only
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(streamTimeoutMs);
+        if ("binary".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> historyService.stream(query, new BinaryHistoryWriter(out));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(body);
+        }
+        if ("json".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> historyService.stream(query, new JsonHistoryWriter(objectMapper.getFactory(), out));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        return ResponseEntity.badRequest().body(Map.of("error", "Unknown format: " + format));
+    }
+}
@@ -0,0 +1,54 @@
+package com.nigam.openalgo.autopilot.api.controller;
+
+import com.nigam.openalgo.autopilot.trading.position.PnlSnapshot;
+import com.nigam.openalgo.autopilot.trading.position.PositionEngine;
+import com.nigam.openalgo.autopilot.trading.position.PositionSnapshot;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/autopilot/v1/positions")
+@Tag(name = "Positions", description = "Live positions and PnL maintained in-process")
+@RequiredArgsConstructor
+public class PositionController {
+
+    private final PositionEngine positionEngine;
+
+    @GetMapping
+    @Operation(summary = "Current positions", description = "Returns a snapshot of all positions, optionally for one account")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Positions retrieved successfully")
+    })
+    public ResponseEntity<List<PositionSnapshot>> getPositions(
+            @Parameter(description = "Account to filter by") @RequestParam(required = false) String account) {
+        return ResponseEntity.ok(account != null ? positionEngine.getPositions(account) : positionEngine.getPositions());
+    }
+
+    @GetMapping("/pnl")
+    @Operation(summary = "Aggregated PnL", description = "Returns realized and unrealized PnL grouped by symbol, strategy or account")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "PnL retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown groupBy value")
+    })
+    public ResponseEntity<Map<String, PnlSnapshot>> getPnl(
+            @Parameter(description = "symbol, strategy or account") @RequestParam(defaultValue = "symbol") String groupBy) {
+        return switch (groupBy) {
+            case "symbol" -> ResponseEntity.ok(positionEngine.getPnlBySymbol());
+            case "strategy" -> ResponseEntity.ok(positionEngine.getPnlByStrategy());
+            case "account" -> ResponseEntity.ok(positionEngine.getPnlByAccount());
+            default -> ResponseEntity.badRequest().build();
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.nigam.openalgo.autopilot.api.controller;
+
+import com.nigam.openalgo.autopilot.trading.synthetic.SyntheticDefinition;
+import com.nigam.openalgo.autopilot.trading.synthetic.SyntheticInstrumentEngine;
+import com.nigam.openalgo.autopilot.trading.synthetic.SyntheticSnapshot;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/autopilot/v1/synthetics")
+@Tag(name = "Synthetic Instruments", description = "Spreads, ratios and baskets computed from live prices")
+@RequiredArgsConstructor
+public class SyntheticController {
+
+    private final SyntheticInstrumentEngine syntheticInstrumentEngine;
+
+    @GetMapping
+    @Operation(summary = "Synthetic instruments", description = "Returns every synthetic instrument with its legs and last value")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Synthetics retrieved successfully")
+    })
+    public ResponseEntity<List<SyntheticSnapshot>> getSynthetics() {
+        return ResponseEntity.ok(syntheticInstrumentEngine.getSynthetics());
+    }
+
+    @PutMapping("/{name}")
+    @Operation(summary = "Define synthetic", description = "Adds or replaces a synthetic instrument, e.g. MCX:CRUDEOIL19NOV26FUT - MCX:CRUDEOIL17DEC26FUT")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Synthetic defined"),
+        @ApiResponse(responseCode = "400", description = "Invalid expression or dependency cycle")
+    })
+    public ResponseEntity<?> define(@PathVariable String name, @RequestBody SyntheticDefinition definition) {
+        definition.setName(name);
+        try {
+            return ResponseEntity.ok(syntheticInstrumentEngine.define(definition));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{name}")
+    @Operation(summary = "Remove synthetic", description = "Stops computing a synthetic instrument")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Synthetic removed"),
+        @ApiResponse(responseCode = "404", description = "No synthetic with that name")
+    })
+    public ResponseEntity<Void> remove(@PathVariable String name) {
+        return syntheticInstrumentEngine.remove(name) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
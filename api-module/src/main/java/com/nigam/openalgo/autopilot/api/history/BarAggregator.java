@@ -0,0 +1,84 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Downsamples ticks or finer bars into bars of a fixed interval as they are read.
+ *
+ * Buckets are aligned to the start of the trading day in the given zone, so hourly bars of
+ * an exchange at +05:30 start on the local hour, and no bar spans midnight. A tick older
+ * than the bar being built is folded into that bar's high, low and volume rather than
+ * reopening an emitted bar.
+ */
+final class BarAggregator {
+
+    private final long intervalMillis;
+    private final ZoneId zone;
+    private final BarSeries series;
+
+    private long dayStart = Long.MAX_VALUE;
+    private long dayEnd = Long.MIN_VALUE;
+    private long bucketStart = Long.MAX_VALUE;
+    private long bucketEnd = Long.MIN_VALUE;
+    private boolean building;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+
+    BarAggregator(long intervalMillis, ZoneId zone, BarSeries series) {
+        this.intervalMillis = intervalMillis;
+        this.zone = zone;
+        this.series = series;
+    }
+
+    void tick(long timestampMillis, double price, long tickVolume) {
+        bar(timestampMillis, price, price, price, price, tickVolume);
+    }
+
+    void bar(long timestampMillis, double barOpen, double barHigh, double barLow, double barClose, long barVolume) {
+        if (building && timestampMillis >= bucketStart && timestampMillis < bucketEnd) {
+            high = Math.max(high, barHigh);
+            low = Math.min(low, barLow);
+            close = barClose;
+            volume += barVolume;
+            return;
+        }
+        if (building && timestampMillis < bucketStart) {
+            high = Math.max(high, barHigh);
+            low = Math.min(low, barLow);
+            volume += barVolume;
+            return;
+        }
+        finish();
+        startBucket(timestampMillis);
+        building = true;
+        open = barOpen;
+        high = barHigh;
+        low = barLow;
+        close = barClose;
+        volume = barVolume;
+    }
+
+    /**
+     * Emit the bar being built, if any
+     */
+    void finish() {
+        if (building) {
+            series.add(bucketStart, open, high, low, close, volume);
+            building = false;
+        }
+    }
+
+    private void startBucket(long timestampMillis) {
+        if (timestampMillis < dayStart || timestampMillis >= dayEnd) {
+            var date = Instant.ofEpochMilli(timestampMillis).atZone(zone).toLocalDate();
+            dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        bucketStart = dayStart + (timestampMillis - dayStart) / intervalMillis * intervalMillis;
+        bucketEnd = Math.min(bucketStart + intervalMillis, dayEnd);
+    }
+}
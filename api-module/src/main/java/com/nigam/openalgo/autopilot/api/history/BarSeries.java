@@ -0,0 +1,70 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import java.util.Arrays;
+
+/**
+ * Bars of one instrument in time order, held as parallel primitive arrays.
+ * Not thread-safe while being built; treated as immutable once returned by {@link HistoryService}.
+ */
+public final class BarSeries {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] opens = new double[INITIAL_CAPACITY];
+    private double[] highs = new double[INITIAL_CAPACITY];
+    private double[] lows = new double[INITIAL_CAPACITY];
+    private double[] closes = new double[INITIAL_CAPACITY];
+    private long[] volumes = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long timestampMillis, double open, double high, double low, double close, long volume) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            opens = Arrays.copyOf(opens, capacity);
+            highs = Arrays.copyOf(highs, capacity);
+            lows = Arrays.copyOf(lows, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+        timestamps[size] = timestampMillis;
+        opens[size] = open;
+        highs[size] = high;
+        lows[size] = low;
+        closes[size] = close;
+        volumes[size] = volume;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Bar start time in epoch millis
+     */
+    public long timestamp(int i) {
+        return timestamps[i];
+    }
+
+    public double open(int i) {
+        return opens[i];
+    }
+
+    public double high(int i) {
+        return highs[i];
+    }
+
+    public double low(int i) {
+        return lows[i];
+    }
+
+    public double close(int i) {
+        return closes[i];
+    }
+
+    public long volume(int i) {
+        return volumes[i];
+    }
+}
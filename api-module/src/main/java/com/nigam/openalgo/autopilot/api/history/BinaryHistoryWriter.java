@@ -0,0 +1,61 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes history as little-endian frames, one per instrument:
+ * <pre>
+ *   short key length, key bytes (UTF-8), int bar count,
+ *   then per bar: long start millis, double open, high, low, close, long volume (48 bytes)
+ * </pre>
+ * The stream ends after the last frame. Frames appear in the order their queries complete.
+ */
+public class BinaryHistoryWriter implements HistoryWriter {
+
+    public static final int BAR_BYTES = 48;
+
+    private final OutputStream out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    public BinaryHistoryWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(HistoryQuery query) {
+    }
+
+    @Override
+    public void series(String key, BarSeries bars) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) keyBytes.length).put(keyBytes).putInt(bars.size());
+        for (int i = 0; i < bars.size(); i++) {
+            if (buffer.remaining() < BAR_BYTES) {
+                drain();
+            }
+            buffer.putLong(bars.timestamp(i))
+                    .putDouble(bars.open(i))
+                    .putDouble(bars.high(i))
+                    .putDouble(bars.low(i))
+                    .putDouble(bars.close(i))
+                    .putLong(bars.volume(i));
+        }
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void end() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+}
@@ -0,0 +1,10 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import java.util.List;
+
+/**
+ * Bars of {@code intervalMillis} for each instrument ("EXCHANGE:SYMBOL") with
+ * fromMillis <= bar start < toMillis
+ */
+public record HistoryQuery(List<String> symbols, long fromMillis, long toMillis, long intervalMillis) {
+}
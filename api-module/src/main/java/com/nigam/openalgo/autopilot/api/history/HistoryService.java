@@ -0,0 +1,450 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import com.nigam.openalgo.autopilot.trading.archive.TickArchiveCompactor;
+import com.nigam.openalgo.autopilot.trading.archive.TickArchiveReader;
+import com.nigam.openalgo.autopilot.trading.tick.TickFileReader;
+import com.nigam.openalgo.autopilot.trading.tick.TickRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves historical bars at any interval from stored ticks, downsampling while reading.
+ *
+ * Each instrument is read day by day from the best source that has the day: the columnar
+ * archive written by {@link TickArchiveCompactor}, else the raw recorder files (today, or
+ * days not compacted yet), else, when database-enabled, the PostgreSQL bar table (if the
+ * interval is a multiple of the persisted bar interval) or tick table. Instruments are
+ * queried in parallel with at most {@code parallelism} results in flight, and each result
+ * is handed to the {@link HistoryWriter} as soon as it completes, so a response never holds
+ * more than a handful of series. Results for ranges that ended before today are immutable
+ * and kept in an LRU cache bounded by total bars.
+ */
+@Service
+@Slf4j
+public class HistoryService {
+
+    private static final long MINUTE_MILLIS = 60_000;
+    private static final long DAY_MILLIS = 86_400_000;
+
+    private final TickArchiveCompactor archiveCompactor;
+    private final TickRecorder tickRecorder;
+    private final DataSource dataSource;
+    private final Timer queryTimer;
+    private final Counter barCounter;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    @Value("${openalgo.history.parallelism:0}")
+    private int parallelism;
+
+    @Value("${openalgo.history.max-symbols:200}")
+    private int maxSymbols;
+
+    @Value("${openalgo.history.max-days:366}")
+    private int maxDays;
+
+    @Value("${openalgo.history.cache-max-bars:1000000}")
+    private long cacheMaxBars;
+
+    @Value("${openalgo.history.open-archives:32}")
+    private int openArchives;
+
+    @Value("${openalgo.history.database-enabled:false}")
+    private boolean databaseEnabled;
+
+    @Value("${openalgo.history.database-fetch-size:10000}")
+    private int databaseFetchSize;
+
+    @Value("${openalgo.tick.persistence.bar-interval-seconds:60}")
+    private int persistedBarSeconds;
+
+    @Value("${openalgo.tick.recorder.zone:Asia/Kolkata}")
+    private String zone;
+
+    @Value("${app.table.prefix:autopilot_}")
+    private String tablePrefix;
+
+    private ZoneId zoneId;
+    private ExecutorService executor;
+
+    // Guarded by itself; access-ordered for LRU eviction
+    private final LinkedHashMap<CacheKey, BarSeries> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBars;
+
+    // Guarded by itself; a closed reader's mapping stays valid for readers still using it
+    private Map<LocalDate, TickArchiveReader> archiveReaders;
+
+    public HistoryService(TickArchiveCompactor archiveCompactor, TickRecorder tickRecorder, DataSource dataSource,
+                          MeterRegistry meterRegistry) {
+        this.archiveCompactor = archiveCompactor;
+        this.tickRecorder = tickRecorder;
+        this.dataSource = dataSource;
+        this.queryTimer = Timer.builder("openalgo.history.query.latency")
+                .description("Time to read and downsample one instrument's history")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.barCounter = Counter.builder("openalgo.history.bars")
+                .description("Bars served by the history service")
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("openalgo.history.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("openalgo.history.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        zoneId = ZoneId.of(zone);
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        archiveReaders = new LinkedHashMap<>(openArchives, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, TickArchiveReader> eldest) {
+                if (size() <= openArchives) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "history-query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        synchronized (archiveReaders) {
+            archiveReaders.values().forEach(HistoryService::closeQuietly);
+            archiveReaders.clear();
+        }
+    }
+
+    /**
+     * Validate and normalize request parameters
+     *
+     * @param symbols  Comma-separated "EXCHANGE:SYMBOL" keys
+     * @param from     Start, inclusive: epoch millis, ISO date (start of day) or ISO date-time, exchange zone
+     * @param to       End, exclusive, in the same forms
+     * @param interval Bar interval: 1s..59s, 1m..., 1h..., 1d, or plain seconds
+     * @throws IllegalArgumentException if a parameter is malformed or the request exceeds
+     *                                  max-symbols or a range of max-days
+     */
+    public HistoryQuery parseQuery(String symbols, String from, String to, String interval) {
+        List<String> keys = new ArrayList<>();
+        for (String symbol : symbols.split(",")) {
+            String key = symbol.trim();
+            if (key.isEmpty()) {
+                continue;
+            }
+            if (key.indexOf(':') <= 0) {
+                throw new IllegalArgumentException("Symbol must be EXCHANGE:SYMBOL: " + key);
+            }
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("No symbols requested");
+        }
+        if (keys.size() > maxSymbols) {
+            throw new IllegalArgumentException("At most " + maxSymbols + " symbols per request");
+        }
+        long fromMillis = parseTime(from);
+        long toMillis = parseTime(to);
+        if (fromMillis >= toMillis) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (toMillis - fromMillis > maxDays * DAY_MILLIS) {
+            throw new IllegalArgumentException("Range must span at most " + maxDays + " days");
+        }
+        return new HistoryQuery(List.copyOf(keys), fromMillis, toMillis, parseInterval(interval));
+    }
+
+    /**
+     * Query every instrument in parallel and write each series as soon as it is ready
+     */
+    public void stream(HistoryQuery query, HistoryWriter writer) throws IOException {
+        CompletionService<Map.Entry<String, BarSeries>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Map.Entry<String, BarSeries>>> futures = new ArrayList<>();
+        int next = 0;
+        int inFlight = 0;
+        try {
+            writer.begin(query);
+            while (next < query.symbols().size() || inFlight > 0) {
+                // Bound results held in memory to one per worker
+                while (next < query.symbols().size() && inFlight < parallelism) {
+                    String key = query.symbols().get(next++);
+                    futures.add(completion.submit(() -> Map.entry(key, bars(key, query))));
+                    inFlight++;
+                }
+                Map.Entry<String, BarSeries> result = completion.take().get();
+                inFlight--;
+                writer.series(result.getKey(), result.getValue());
+                barCounter.increment(result.getValue().size());
+            }
+            writer.end();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("History query interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IllegalStateException("History query failed", e.getCause());
+        } finally {
+            // Client gone or query failed: stop reading for the rest
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Bars of one instrument, from the cache when the range is closed
+     */
+    public BarSeries bars(String key, HistoryQuery query) {
+        boolean cacheable = query.toMillis() <= LocalDate.now(zoneId).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        CacheKey cacheKey = new CacheKey(key, query.fromMillis(), query.toMillis(), query.intervalMillis());
+        if (cacheable) {
+            BarSeries cached;
+            synchronized (cache) {
+                cached = cache.get(cacheKey);
+            }
+            if (cached != null) {
+                cacheHits.increment();
+                return cached;
+            }
+            cacheMisses.increment();
+        }
+
+        long start = System.nanoTime();
+        BarSeries series = read(key, query);
+        queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (cacheable && series.size() <= cacheMaxBars) {
+            synchronized (cache) {
+                if (cache.put(cacheKey, series) == null) {
+                    cachedBars += series.size();
+                }
+                var eldest = cache.entrySet().iterator();
+                while (cachedBars > cacheMaxBars && eldest.hasNext()) {
+                    cachedBars -= eldest.next().getValue().size();
+                    eldest.remove();
+                }
+            }
+        }
+        return series;
+    }
+
+    private BarSeries read(String key, HistoryQuery query) {
+        BarSeries series = new BarSeries();
+        BarAggregator aggregator = new BarAggregator(query.intervalMillis(), zoneId, series);
+        long from = query.fromMillis();
+        // Nothing is stored past now; skip looking up future days
+        long to = Math.min(query.toMillis(), System.currentTimeMillis() + 1);
+        LocalDate day = Instant.ofEpochMilli(from).atZone(zoneId).toLocalDate();
+        try {
+            while (true) {
+                long dayStart = day.atStartOfDay(zoneId).toInstant().toEpochMilli();
+                if (dayStart >= to) {
+                    break;
+                }
+                long dayEnd = day.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+                long rangeFrom = Math.max(from, dayStart);
+                long rangeTo = Math.min(to, dayEnd);
+                // One day per database query keeps each query on a single partition
+                if (!readFiles(key, day, rangeFrom, rangeTo, aggregator) && databaseEnabled) {
+                    readDatabase(key, rangeFrom, rangeTo, query.intervalMillis(), aggregator);
+                }
+                day = day.plusDays(1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading history for " + key, e);
+        }
+        aggregator.finish();
+        return series;
+    }
+
+    /**
+     * @return false if no file holds the day
+     */
+    private boolean readFiles(String key, LocalDate day, long from, long to, BarAggregator aggregator) throws IOException {
+        TickArchiveReader archive = archiveReader(day);
+        if (archive != null) {
+            archive.forEach(key, from, to, (id, timestampMillis, price, volume) ->
+                    aggregator.tick(timestampMillis, price, volume));
+            return true;
+        }
+        List<Path> rawFiles = tickRecorder.filesFor(day);
+        for (Path rawFile : rawFiles) {
+            try (TickFileReader reader = new TickFileReader(rawFile)) {
+                int fileId = -1;
+                for (Map.Entry<Integer, String> symbol : reader.getSymbols().entrySet()) {
+                    if (symbol.getValue().equals(key)) {
+                        fileId = symbol.getKey();
+                        break;
+                    }
+                }
+                if (fileId < 0) {
+                    continue;
+                }
+                int wanted = fileId;
+                // Raw files interleave every instrument; compacted days avoid this full scan
+                reader.forEach((id, timestampMillis, price, volume) -> {
+                    if (id == wanted && timestampMillis >= from && timestampMillis < to) {
+                        aggregator.tick(timestampMillis, price, volume);
+                    }
+                });
+            }
+        }
+        return !rawFiles.isEmpty();
+    }
+
+    private TickArchiveReader archiveReader(LocalDate day) throws IOException {
+        synchronized (archiveReaders) {
+            TickArchiveReader reader = archiveReaders.get(day);
+            if (reader == null) {
+                Path archive = archiveCompactor.archiveFor(day);
+                if (!Files.exists(archive)) {
+                    return null;
+                }
+                reader = new TickArchiveReader(archive);
+                archiveReaders.put(day, reader);
+            }
+            return reader;
+        }
+    }
+
+    private void readDatabase(String key, long from, long to, long intervalMillis, BarAggregator aggregator) {
+        int separator = key.indexOf(':');
+        String exchange = key.substring(0, separator);
+        String symbol = key.substring(separator + 1);
+        long barMillis = persistedBarSeconds * 1000L;
+        boolean fromBars = barMillis > 0 && intervalMillis % barMillis == 0;
+        String sql = fromBars
+                ? "SELECT ts, open, high, low, close, volume FROM " + tablePrefix + "bar"
+                    + " WHERE exchange = ? AND symbol = ? AND ts >= ? AND ts < ? AND interval_seconds = ? ORDER BY ts"
+                : "SELECT ts, ltp, volume FROM " + tablePrefix + "tick"
+                    + " WHERE exchange = ? AND symbol = ? AND ts >= ? AND ts < ? ORDER BY ts";
+        try (Connection connection = dataSource.getConnection()) {
+            // PostgreSQL only streams with a fetch size inside a transaction
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setFetchSize(databaseFetchSize);
+                statement.setString(1, exchange);
+                statement.setString(2, symbol);
+                statement.setLong(3, from);
+                statement.setLong(4, to);
+                if (fromBars) {
+                    statement.setInt(5, persistedBarSeconds);
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        if (fromBars) {
+                            aggregator.bar(rows.getLong(1), rows.getDouble(2), rows.getDouble(3),
+                                    rows.getDouble(4), rows.getDouble(5), rows.getLong(6));
+                        } else {
+                            aggregator.tick(rows.getLong(1), rows.getDouble(2), rows.getLong(3));
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error reading history for " + key + " from the database", e);
+        }
+    }
+
+    private long parseTime(String value) {
+        String text = value.trim();
+        try {
+            if (text.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(text);
+            }
+            if (text.indexOf('T') > 0) {
+                return LocalDateTime.parse(text).atZone(zoneId).toInstant().toEpochMilli();
+            }
+            return LocalDate.parse(text).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid time: " + value);
+        }
+    }
+
+    private static long parseInterval(String value) {
+        String text = value.trim().toLowerCase();
+        long unit;
+        String amount;
+        if (text.endsWith("s") || text.endsWith("m") || text.endsWith("h") || text.endsWith("d")) {
+            unit = switch (text.charAt(text.length() - 1)) {
+                case 's' -> 1000;
+                case 'm' -> MINUTE_MILLIS;
+                case 'h' -> 60 * MINUTE_MILLIS;
+                default -> DAY_MILLIS;
+            };
+            amount = text.substring(0, text.length() - 1);
+        } else {
+            unit = 1000;
+            amount = text;
+        }
+        long millis;
+        try {
+            millis = Math.multiplyExact(Long.parseLong(amount), unit);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid interval: " + value);
+        }
+        if (millis <= 0 || millis > DAY_MILLIS) {
+            throw new IllegalArgumentException("Interval must be between 1s and 1d: " + value);
+        }
+        return millis;
+    }
+
+    private static void closeQuietly(TickArchiveReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("Error closing tick archive", e);
+        }
+    }
+
+    private record CacheKey(String key, long fromMillis, long toMillis, long intervalMillis) {
+    }
+}
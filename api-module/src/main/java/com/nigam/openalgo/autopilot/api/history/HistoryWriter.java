@@ -0,0 +1,16 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import java.io.IOException;
+
+/**
+ * Serializes a history result one instrument at a time, so only the series being written
+ * is held in memory. Each series is flushed to the client as soon as it is written.
+ */
+public interface HistoryWriter {
+
+    void begin(HistoryQuery query) throws IOException;
+
+    void series(String key, BarSeries bars) throws IOException;
+
+    void end() throws IOException;
+}
@@ -0,0 +1,61 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes history as
+ * <pre>
+ *   {"from":..., "to":..., "intervalMillis":..., "series":[
+ *     {"symbol":"NSE:SBIN", "bars":[[ts, open, high, low, close, volume], ...]}, ...]}
+ * </pre>
+ * Bars are arrays rather than objects to keep the payload small. Series appear in the order
+ * their queries complete, not the requested order.
+ */
+public class JsonHistoryWriter implements HistoryWriter {
+
+    private final JsonGenerator generator;
+
+    public JsonHistoryWriter(JsonFactory factory, OutputStream out) throws IOException {
+        this.generator = factory.createGenerator(out);
+    }
+
+    @Override
+    public void begin(HistoryQuery query) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("from", query.fromMillis());
+        generator.writeNumberField("to", query.toMillis());
+        generator.writeNumberField("intervalMillis", query.intervalMillis());
+        generator.writeArrayFieldStart("series");
+    }
+
+    @Override
+    public void series(String key, BarSeries bars) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("symbol", key);
+        generator.writeArrayFieldStart("bars");
+        for (int i = 0; i < bars.size(); i++) {
+            generator.writeStartArray();
+            generator.writeNumber(bars.timestamp(i));
+            generator.writeNumber(bars.open(i));
+            generator.writeNumber(bars.high(i));
+            generator.writeNumber(bars.low(i));
+            generator.writeNumber(bars.close(i));
+            generator.writeNumber(bars.volume(i));
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    @Override
+    public void end() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+}
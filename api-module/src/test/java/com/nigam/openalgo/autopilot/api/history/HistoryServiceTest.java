@@ -0,0 +1,66 @@
+package com.nigam.openalgo.autopilot.api.history;
+
+import com.nigam.openalgo.autopilot.trading.archive.TickArchiveCompactor;
+import com.nigam.openalgo.autopilot.trading.tick.TickRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class HistoryServiceTest {
+
+    private HistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        historyService = new HistoryService(mock(TickArchiveCompactor.class), mock(TickRecorder.class),
+                mock(DataSource.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(historyService, "maxSymbols", 3);
+        ReflectionTestUtils.setField(historyService, "maxDays", 31);
+        ReflectionTestUtils.setField(historyService, "zone", "Asia/Kolkata");
+        ReflectionTestUtils.setField(historyService, "openArchives", 1);
+        historyService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyService.shutdown();
+    }
+
+    @Test
+    void parsesAQueryWithinLimits() {
+        HistoryQuery query = historyService.parseQuery("NSE:SBIN, NSE:INFY,NSE:SBIN", "2026-09-01", "2026-10-01", "15m");
+
+        assertThat(query.symbols()).containsExactly("NSE:SBIN", "NSE:INFY");
+        assertThat(query.toMillis() - query.fromMillis()).isEqualTo(30 * 86_400_000L);
+        assertThat(query.intervalMillis()).isEqualTo(15 * 60_000L);
+    }
+
+    @Test
+    void rejectsTooManySymbolsAndTooLongARange() {
+        assertThatThrownBy(() -> historyService.parseQuery("NSE:A,NSE:B,NSE:C,NSE:D", "2026-09-01", "2026-09-02", "1m"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("3 symbols");
+        assertThatThrownBy(() -> historyService.parseQuery("NSE:SBIN", "2026-01-01", "2026-10-01", "1m"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("31 days");
+        assertThatThrownBy(() -> historyService.parseQuery("NSE:SBIN", "0", String.valueOf(Long.MAX_VALUE), "1m"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsNonPositiveAndOverflowingIntervals() {
+        for (String interval : new String[]{"0s", "-1m", "0", "153722867280912931m", "9223372036854775807d", "2d", "x"}) {
+            assertThatThrownBy(() -> historyService.parseQuery("NSE:SBIN", "2026-09-01", "2026-09-02", interval))
+                    .as(interval)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
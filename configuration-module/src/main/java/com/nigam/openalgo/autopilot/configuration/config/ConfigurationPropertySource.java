@@ -1,16 +1,30 @@
 package com.nigam.openalgo.autopilot.configuration.config;
 
 import com.nigam.openalgo.autopilot.configuration.service.ConfigurationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.PropertySource;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Custom PropertySource that integrates ConfigurationService with Spring's Environment.
  * This allows @Value annotations and @ConfigurationProperties to use values from
  * the configuration service with proper priority hierarchy.
+ *
+ * Only UI overrides and Redis values are served here, straight from the in-memory snapshot
+ * that ConfigurationService bulk-loads before this source is registered; environment
+ * variables, system properties and application.properties are answered by their own
+ * property sources. Hits and misses therefore never touch the database or Redis, including
+ * the many Spring-internal keys looked up during startup. Until the application is ready,
+ * lookups are counted and timed, and the totals are logged and exported as
+ * openalgo.configuration.startup.* gauges.
  */
 @Component
 @Slf4j
@@ -18,6 +32,11 @@ public class ConfigurationPropertySource extends PropertySource<ConfigurationSer
     
     private final ConfigurationService configurationService;
     
+    private final LongAdder startupLookups = new LongAdder();
+    private final LongAdder startupHits = new LongAdder();
+    private final LongAdder startupNanos = new LongAdder();
+    private volatile boolean starting = true;
+    
     public ConfigurationPropertySource(ConfigurationService configurationService) {
         super("configurationService", configurationService);
         this.configurationService = configurationService;
@@ -28,39 +47,49 @@ public class ConfigurationPropertySource extends PropertySource<ConfigurationSer
         log.info("ConfigurationPropertySource initialized - UI overrides will have highest priority");
     }
     
+    /**
+     * Report how much startup spent resolving properties through this source, then stop counting
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        starting = false;
+        long lookups = startupLookups.sum();
+        long hits = startupHits.sum();
+        long nanos = startupNanos.sum();
+        log.info("ConfigurationPropertySource served {} lookups during startup ({} hits, {} misses) in {} ms",
+                lookups, hits, lookups - hits, TimeUnit.NANOSECONDS.toMillis(nanos));
+        event.getApplicationContext().getBeanProvider(MeterRegistry.class).ifAvailable(registry -> {
+            Gauge.builder("openalgo.configuration.startup.lookups", () -> lookups)
+                    .description("Property lookups served by the configuration source during startup")
+                    .register(registry);
+            Gauge.builder("openalgo.configuration.startup.hits", () -> hits)
+                    .description("Startup lookups answered by a UI override or Redis value")
+                    .register(registry);
+            Gauge.builder("openalgo.configuration.startup.time", () -> nanos / 1e6)
+                    .description("Milliseconds startup spent in the configuration property source")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        });
+    }
+    
     @Override
     public Object getProperty(String name) {
-        try {
-            // Only return UI/Redis overrides to prevent circular dependency
-            // Skip environment lookup (skipEnvironment=true) to break the cycle
-            // This ensures PropertySource only provides overrides, not full resolution
-            String value = configurationService.getValue(name, null, true);
-            if (value != null) {
-                log.trace("Property '{}' resolved from ConfigurationService override: {}", name, value);
-                return value;
-            }
-        } catch (StackOverflowError e) {
-            log.error("StackOverflowError detected - circular dependency in property resolution for '{}'", name);
-            return null;
-        } catch (Exception e) {
-            // Silently ignore errors during early startup (database might not be ready)
-            log.trace("Error getting property '{}' from ConfigurationService (may be during startup): {}", name, e.getMessage());
+        if (!starting) {
+            return configurationService.getOverride(name);
         }
-        return null;
+        long start = System.nanoTime();
+        String value = configurationService.getOverride(name);
+        startupNanos.add(System.nanoTime() - start);
+        startupLookups.increment();
+        if (value != null) {
+            startupHits.increment();
+            log.trace("Property '{}' resolved from ConfigurationService override: {}", name, value);
+        }
+        return value;
     }
     
     @Override
     public boolean containsProperty(String name) {
-        try {
-            // Only check UI/Redis overrides to prevent circular dependency
-            String value = configurationService.getValue(name, null, true);
-            return value != null;
-        } catch (StackOverflowError e) {
-            log.error("StackOverflowError detected in containsProperty for '{}'", name);
-            return false;
-        } catch (Exception e) {
-            // Silently ignore errors during early startup
-            return false;
-        }
+        return getProperty(name) != null;
     }
 }
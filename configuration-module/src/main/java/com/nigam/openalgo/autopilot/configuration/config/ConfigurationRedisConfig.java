@@ -0,0 +1,20 @@
+package com.nigam.openalgo.autopilot.configuration.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis pub/sub container carrying configuration change notifications between nodes
+ */
+@Configuration
+public class ConfigurationRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer configurationListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+}
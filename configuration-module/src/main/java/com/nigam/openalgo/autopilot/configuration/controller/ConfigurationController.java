@@ -1,17 +1,23 @@
 package com.nigam.openalgo.autopilot.configuration.controller;
 
 import com.nigam.openalgo.autopilot.configuration.dto.ConfigurationDto;
+import com.nigam.openalgo.autopilot.configuration.dto.ConfigurationPage;
 import com.nigam.openalgo.autopilot.configuration.service.ConfigurationService;
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationTransferService;
 import com.nigam.openalgo.autopilot.dblayer.entity.ConfigurationEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Controller for configuration management UI
@@ -23,48 +29,36 @@ import java.util.stream.Collectors;
 public class ConfigurationController {
     
     private final ConfigurationService configurationService;
+    private final ConfigurationTransferService configurationTransferService;
+    
+    private static final int MAX_PAGE_SIZE = 1000;
     
     /**
-     * Display all configurations grouped by category
+     * Display one page of configurations grouped by category, filtered by category and search text
      */
     @GetMapping
     public String listConfigurations(
             @RequestParam(required = false) String category,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
             Model model) {
         
-        Map<String, ConfigurationService.ConfigurationSource> allConfigs = 
-            configurationService.getAllConfigurations();
+        ConfigurationPage configPage = configurationService.findConfigurations(
+            category, search, page, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
         
-        // Group by category
+        // Group by category; items arrive sorted by key
         Map<String, List<ConfigurationDto>> configsByCategory = new TreeMap<>();
-        
-        for (Map.Entry<String, ConfigurationService.ConfigurationSource> entry : allConfigs.entrySet()) {
-            String cat = entry.getValue().getCategory() != null ? 
-                entry.getValue().getCategory() : "general";
-            
-            if (category == null || category.equals(cat)) {
-                ConfigurationDto dto = ConfigurationDto.builder()
-                    .key(entry.getKey())
-                    .value(entry.getValue().getValue())
-                    .currentValue(entry.getValue().getValue())
-                    .category(cat)
-                    .description(entry.getValue().getDescription())
-                    .source(entry.getValue().getPriority().name())
-                    .build();
-                
-                configsByCategory.computeIfAbsent(cat, k -> new ArrayList<>()).add(dto);
-            }
+        for (ConfigurationDto dto : configPage.items()) {
+            configsByCategory.computeIfAbsent(dto.getCategory(), k -> new ArrayList<>()).add(dto);
         }
         
-        // Sort configurations within each category
-        configsByCategory.forEach((cat, configs) -> {
-            configs.sort(Comparator.comparing(ConfigurationDto::getKey));
-        });
-        
         model.addAttribute("configsByCategory", configsByCategory);
-        model.addAttribute("categories", configurationService.getAllCategories());
+        model.addAttribute("categories", configurationService.getViewCategories());
         model.addAttribute("selectedCategory", category);
-        model.addAttribute("overrideCount", configurationService.getOverrideCount());
+        model.addAttribute("search", search);
+        model.addAttribute("configPage", configPage);
+        model.addAttribute("overrideCount", configurationService.getSnapshot().overrides().size());
         
         return "configuration/list";
     }
@@ -188,6 +182,58 @@ public class ConfigurationController {
         return "redirect:/configuration";
     }
     
+    /**
+     * Export all active overrides as a YAML or JSON file
+     */
+    @GetMapping("/export")
+    @ResponseBody
+    public ResponseEntity<String> exportConfigurations(@RequestParam(defaultValue = "yaml") String format) {
+        try {
+            ConfigurationTransferService.Format exportFormat = ConfigurationTransferService.Format.of(format);
+            String extension = exportFormat == ConfigurationTransferService.Format.JSON ? "json" : "yaml";
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"configuration-overrides." + extension + "\"")
+                    .contentType(exportFormat == ConfigurationTransferService.Format.JSON
+                            ? MediaType.APPLICATION_JSON : MediaType.parseMediaType("application/yaml"))
+                    .body(configurationTransferService.exportOverrides(exportFormat));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error exporting configurations", e);
+            return ResponseEntity.internalServerError().body("Error exporting configurations: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Import overrides from an uploaded YAML or JSON file, all or nothing
+     */
+    @PostMapping("/import")
+    public String importConfigurations(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean replace,
+            @RequestParam(defaultValue = "system") String updatedBy,
+            RedirectAttributes redirectAttributes) {
+        
+        try {
+            ConfigurationTransferService.ImportResult result = configurationTransferService.importOverrides(
+                new String(file.getBytes(), StandardCharsets.UTF_8),
+                ConfigurationTransferService.Format.of(file.getOriginalFilename()),
+                replace,
+                updatedBy
+            );
+            redirectAttributes.addFlashAttribute("successMessage", 
+                "Imported " + result.imported() + " configuration override(s)"
+                    + (replace ? ", replacing " + result.deactivated() + " existing" : "")
+                    + " in " + result.elapsedMillis() + " ms.");
+        } catch (Exception e) {
+            log.error("Error importing configurations", e);
+            redirectAttributes.addFlashAttribute("errorMessage", 
+                "Error importing configurations: " + e.getMessage());
+        }
+        
+        return "redirect:/configuration";
+    }
+    
     /**
      * Get configuration value via AJAX
      */
@@ -0,0 +1,26 @@
+package com.nigam.openalgo.autopilot.configuration.dto;
+
+import java.util.List;
+
+/**
+ * One page of the merged configuration listing
+ *
+ * @param items Configurations on this page, sorted by key
+ * @param total Configurations matching the filters across all pages
+ * @param page  Zero-based page number
+ * @param size  Page size
+ */
+public record ConfigurationPage(List<ConfigurationDto> items, int total, int page, int size) {
+
+    public int totalPages() {
+        return size > 0 ? (total + size - 1) / size : 0;
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+
+    public boolean hasNext() {
+        return page + 1 < totalPages();
+    }
+}
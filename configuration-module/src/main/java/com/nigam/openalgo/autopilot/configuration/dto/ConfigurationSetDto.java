@@ -0,0 +1,37 @@
+package com.nigam.openalgo.autopilot.configuration.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set of configuration overrides exchanged by bulk import/export as YAML or JSON
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigurationSetDto {
+    @Builder.Default
+    private List<Entry> overrides = new ArrayList<>();
+    
+    /**
+     * One override; category defaults to the key's first segment on import
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Entry {
+        private String key;
+        private String value;
+        private String category;
+        private String description;
+    }
+}
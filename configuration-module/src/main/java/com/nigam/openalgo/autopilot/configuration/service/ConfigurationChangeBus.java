@@ -0,0 +1,98 @@
+package com.nigam.openalgo.autopilot.configuration.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers configuration changes to the components built from them, so a changed setting
+ * rebuilds the affected resource instead of waiting for a restart.
+ *
+ * Components subscribe with the key prefixes they depend on. After every snapshot swap
+ * {@link ConfigurationService} publishes the keys whose merged value changed, and each
+ * subscriber with a matching prefix receives one event holding just its keys. Events are
+ * delivered in order on a single background thread, so a slow rebuild never holds up a
+ * configuration refresh; by the time an event arrives the Environment resolves the new values.
+ */
+@Component
+@Slf4j
+public class ConfigurationChangeBus {
+
+    private record Subscription(List<String> prefixes, Consumer<ConfigurationChangeEvent> listener) {
+
+        Set<String> matching(Set<String> keys) {
+            return keys.stream()
+                    .filter(key -> prefixes.stream().anyMatch(key::startsWith))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private ExecutorService dispatcher;
+
+    @PostConstruct
+    public void init() {
+        dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "config-change-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Call the listener whenever a key starting with one of the prefixes changes
+     *
+     * @param listener Receives the changed keys; runs on the dispatch thread
+     * @param prefixes Key prefixes, or full keys, the listener depends on
+     */
+    public void subscribe(Consumer<ConfigurationChangeEvent> listener, String... prefixes) {
+        subscriptions.add(new Subscription(List.of(prefixes), listener));
+    }
+
+    public void unsubscribe(Consumer<ConfigurationChangeEvent> listener) {
+        subscriptions.removeIf(subscription -> subscription.listener() == listener);
+    }
+
+    /**
+     * Queue one event per matching subscriber; returns without waiting for them
+     */
+    void publish(long version, Set<String> keys) {
+        if (keys.isEmpty() || subscriptions.isEmpty()) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> dispatch(version, keys));
+        } catch (RejectedExecutionException e) {
+            log.debug("Configuration change {} not delivered, shutting down", version);
+        }
+    }
+
+    private void dispatch(long version, Set<String> keys) {
+        for (Subscription subscription : subscriptions) {
+            Set<String> matching = subscription.matching(keys);
+            if (matching.isEmpty()) {
+                continue;
+            }
+            try {
+                subscription.listener().accept(new ConfigurationChangeEvent(version, matching));
+            } catch (Exception e) {
+                log.error("Error applying configuration change {} for {}", version, matching, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.nigam.openalgo.autopilot.configuration.service;
+
+import java.util.Set;
+
+/**
+ * Configuration keys whose merged value changed with one snapshot swap
+ *
+ * @param version Snapshot version that carried the change
+ * @param keys    Changed keys matching the subscriber's prefixes, including removed ones
+ */
+public record ConfigurationChangeEvent(long version, Set<String> keys) {
+
+    public ConfigurationChangeEvent {
+        keys = Set.copyOf(keys);
+    }
+}
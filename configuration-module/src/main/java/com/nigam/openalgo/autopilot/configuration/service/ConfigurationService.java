@@ -1,21 +1,41 @@
 package com.nigam.openalgo.autopilot.configuration.service;
 
+import com.nigam.openalgo.autopilot.configuration.dto.ConfigurationDto;
+import com.nigam.openalgo.autopilot.configuration.dto.ConfigurationPage;
 import com.nigam.openalgo.autopilot.dblayer.entity.ConfigurationEntity;
 import com.nigam.openalgo.autopilot.dblayer.repository.ConfigurationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +48,23 @@ import java.util.stream.Collectors;
  * 
  * The service provides a unified way to access configuration values
  * with the correct priority order.
+ *
+ * Database overrides and Redis values are read from an immutable {@link ConfigurationSnapshot}
+ * held in memory, so lookups are lock-free map reads. The snapshot is rebuilt only when a node
+ * changes an override or a Redis value: the change bumps the shared version counter in Redis
+ * and publishes the new version, and every node with an older snapshot reloads both tiers and
+ * swaps the result in. A periodic version check catches notifications missed while the
+ * subscription was down.
+ *
+ * Every Redis and database read goes through a per-tier {@link TierCircuitBreaker} with a
+ * bounded timeout. While a tier's breaker is open its reads fall back to the last-known
+ * snapshot immediately instead of waiting on the client; breaker states are exported as
+ * openalgo.configuration.breaker.state (0 closed, 1 half-open, 2 open).
+ *
+ * The merged listing (application.properties, then Redis, then overrides) is kept as a sorted
+ * view: application.properties is read once, and each snapshot swap re-resolves only the keys
+ * whose override or Redis value changed. Keys whose merged value changed are then published
+ * on the {@link ConfigurationChangeBus} so dependent components can rebuild themselves.
  */
 @Service
 @RequiredArgsConstructor
@@ -38,10 +75,115 @@ public class ConfigurationService {
     private final ConfigurationRepository configurationRepository;
     private final StringRedisTemplate redisTemplate;
     private final ResourceLoader resourceLoader;
+    private final RedisMessageListenerContainer configurationListenerContainer;
+    private final ConfigurationChangeBus configurationChangeBus;
     
     // Redis key prefix for configuration
     private static final String REDIS_CONFIG_PREFIX = "config:";
     
+    // Change version counter and notification channel, outside the config: prefix
+    private static final String REDIS_VERSION_KEY = "config-version";
+    private static final String REDIS_CHANGE_CHANNEL = "config-changes";
+    
+    @Value("${openalgo.configuration.version-check-interval-ms:30000}")
+    private long versionCheckIntervalMs;
+    
+    @Value("${openalgo.configuration.redis.timeout-ms:500}")
+    private long redisTimeoutMs;
+    
+    @Value("${openalgo.configuration.redis.scan-count:1000}")
+    private int redisScanCount;
+    
+    @Value("${openalgo.configuration.database.timeout-ms:2000}")
+    private long databaseTimeoutMs;
+    
+    @Value("${openalgo.configuration.breaker.failure-threshold:3}")
+    private int breakerFailureThreshold;
+    
+    @Value("${openalgo.configuration.breaker.open-ms:10000}")
+    private long breakerOpenMs;
+    
+    private TierCircuitBreaker redisBreaker;
+    private TierCircuitBreaker databaseBreaker;
+    
+    private final Object refreshLock = new Object();
+    private volatile ConfigurationSnapshot snapshot = ConfigurationSnapshot.EMPTY;
+    private volatile boolean stale;
+    
+    // Merged application.properties < Redis < override view, patched on every snapshot change
+    private final ConcurrentSkipListMap<String, ConfigurationSource> view = new ConcurrentSkipListMap<>();
+    private volatile List<String> viewCategories = List.of();
+    private Map<String, String> fileProperties = Map.of();
+    private ScheduledExecutorService versionCheckExecutor;
+    
+    @PostConstruct
+    public void init() {
+        redisBreaker = new TierCircuitBreaker("redis", redisTimeoutMs, breakerFailureThreshold, breakerOpenMs);
+        databaseBreaker = new TierCircuitBreaker("database", databaseTimeoutMs, breakerFailureThreshold, breakerOpenMs);
+        fileProperties = loadFileProperties();
+        refresh(currentVersion());
+        configurationListenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                long version = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+                if (version > snapshot.version()) {
+                    refresh(version);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed configuration change notification");
+            }
+        }, new ChannelTopic(REDIS_CHANGE_CHANNEL));
+        
+        versionCheckExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "config-version-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        versionCheckExecutor.scheduleWithFixedDelay(() -> {
+            long version = currentVersion();
+            // A stale snapshot missed a tier on its last load; keep retrying it
+            if (version > snapshot.version() || stale) {
+                refresh(version);
+            }
+        }, versionCheckIntervalMs, versionCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (versionCheckExecutor != null) {
+            versionCheckExecutor.shutdownNow();
+        }
+        if (redisBreaker != null) {
+            redisBreaker.shutdown();
+            databaseBreaker.shutdown();
+        }
+    }
+    
+    /**
+     * Export breaker states once the meter registry exists; injecting it here would create it
+     * before the configuration property source is registered
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerMetrics(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBeanProvider(MeterRegistry.class).ifAvailable(registry -> {
+            for (TierCircuitBreaker breaker : List.of(redisBreaker, databaseBreaker)) {
+                Gauge.builder("openalgo.configuration.breaker.state", breaker, b -> b.getState().ordinal())
+                        .description("Configuration tier circuit breaker: 0 closed, 1 half-open, 2 open")
+                        .tag("tier", breaker == redisBreaker ? "redis" : "database")
+                        .register(registry);
+            }
+            Gauge.builder("openalgo.configuration.snapshot.version", this, s -> s.snapshot.version())
+                    .description("Version of the configuration snapshot in use")
+                    .register(registry);
+        });
+    }
+    
+    /**
+     * Current configuration snapshot
+     */
+    public ConfigurationSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
     /**
      * Get configuration value with priority hierarchy:
      * 1. UI/Database Override (highest)
@@ -57,6 +199,18 @@ public class ConfigurationService {
         return getValue(key, null);
     }
     
+    /**
+     * UI/database override or Redis value for a key, from the in-memory snapshot only
+     *
+     * @param key Configuration key
+     * @return Override or Redis value, or null when neither tier has the key
+     */
+    public String getOverride(String key) {
+        ConfigurationSnapshot current = snapshot;
+        ConfigurationSource override = current.overrides().get(key);
+        return override != null ? override.getValue() : current.redis().get(key);
+    }
+    
     /**
      * Get configuration value with default
      * 
@@ -77,27 +231,20 @@ public class ConfigurationService {
      * @return Configuration value or default
      */
     public String getValue(String key, String defaultValue, boolean skipEnvironment) {
+        ConfigurationSnapshot current = snapshot;
+        
         // Priority 1: UI/Database Override (highest priority)
-        try {
-            Optional<ConfigurationEntity> override = configurationRepository.findByKeyAndIsActiveTrue(key);
-            if (override.isPresent()) {
-                log.debug("Configuration '{}' found in database override: {}", key, override.get().getValue());
-                return override.get().getValue();
-            }
-        } catch (Exception e) {
-            log.warn("Error reading database override for '{}': {}", key, e.getMessage());
+        ConfigurationSource override = current.overrides().get(key);
+        if (override != null) {
+            log.debug("Configuration '{}' found in database override: {}", key, override.getValue());
+            return override.getValue();
         }
         
         // Priority 2: Redis Configuration
-        try {
-            String redisKey = REDIS_CONFIG_PREFIX + key;
-            String redisValue = redisTemplate.opsForValue().get(redisKey);
-            if (redisValue != null && !redisValue.isEmpty()) {
-                log.debug("Configuration '{}' found in Redis: {}", key, redisValue);
-                return redisValue;
-            }
-        } catch (Exception e) {
-            log.warn("Error reading Redis config for '{}': {}", key, e.getMessage());
+        String redisValue = current.redis().get(key);
+        if (redisValue != null) {
+            log.debug("Configuration '{}' found in Redis: {}", key, redisValue);
+            return redisValue;
         }
         
         // Priority 3: Environment Variable
@@ -137,26 +284,38 @@ public class ConfigurationService {
      */
     public Map<String, String> getValuesByCategory(String category) {
         Map<String, String> configs = new HashMap<>();
+        ConfigurationSnapshot current = snapshot;
         
         // Get from database overrides
-        List<ConfigurationEntity> overrides = configurationRepository.findByCategoryAndIsActiveTrue(category);
-        for (ConfigurationEntity override : overrides) {
-            configs.put(override.getKey(), override.getValue());
+        try {
+            List<ConfigurationEntity> overrides = databaseBreaker.call(
+                    () -> configurationRepository.findByCategoryAndIsActiveTrue(category));
+            for (ConfigurationEntity override : overrides) {
+                configs.put(override.getKey(), override.getValue());
+            }
+        } catch (Exception e) {
+            log.warn("Using last-known database overrides for category '{}': {}", category, e.getMessage());
+            current.overrides().forEach((key, override) -> {
+                if (category.equals(override.getCategory())) {
+                    configs.put(key, override.getValue());
+                }
+            });
         }
         
         // Get from Redis (only if not overridden)
-        Set<String> redisKeys = redisTemplate.keys(REDIS_CONFIG_PREFIX + category + ":*");
-        if (redisKeys != null) {
-            for (String redisKey : redisKeys) {
-                String key = redisKey.substring(REDIS_CONFIG_PREFIX.length());
-                if (!configs.containsKey(key)) {
-                    String value = redisTemplate.opsForValue().get(redisKey);
-                    if (value != null) {
-                        configs.put(key, value);
-                    }
+        Map<String, String> redisValues;
+        try {
+            redisValues = redisBreaker.call(() -> scanRedisValues(REDIS_CONFIG_PREFIX + category + ":*"));
+        } catch (Exception e) {
+            log.warn("Using last-known Redis configuration for category '{}': {}", category, e.getMessage());
+            redisValues = new HashMap<>();
+            for (Map.Entry<String, String> entry : current.redis().entrySet()) {
+                if (entry.getKey().startsWith(category + ":")) {
+                    redisValues.put(entry.getKey(), entry.getValue());
                 }
             }
         }
+        redisValues.forEach(configs::putIfAbsent);
         
         return configs;
     }
@@ -165,93 +324,56 @@ public class ConfigurationService {
      * Get all configuration keys with their sources
      */
     public Map<String, ConfigurationSource> getAllConfigurations() {
-        Map<String, ConfigurationSource> allConfigs = new HashMap<>();
-        
-        // Step 1: Get all from application.properties first (lowest priority, so we can override)
-        try {
-            // Read application.properties file directly
-            Resource resource = resourceLoader.getResource("classpath:application.properties");
-            if (resource.exists()) {
-                Properties props = new Properties();
-                try (InputStream inputStream = resource.getInputStream()) {
-                    props.load(inputStream);
-                    for (String key : props.stringPropertyNames()) {
-                        // Only add if not already present (UI/Redis have higher priority)
-                        if (!allConfigs.containsKey(key)) {
-                            String value = props.getProperty(key);
-                            // Show all non-empty properties from application.properties
-                            // For placeholders, show the raw value (users can see and override if needed)
-                            if (value != null && !value.trim().isEmpty()) {
-                                allConfigs.put(key, new ConfigurationSource(
-                                    value,
-                                    ConfigurationPriority.PROPERTIES_FILE,
-                                    extractCategory(key),
-                                    null
-                                ));
-                            }
-                        }
-                    }
-                }
+        return new LinkedHashMap<>(view);
+    }
+    
+    /**
+     * Page through the merged configuration view
+     *
+     * @param category Category to keep, or null for all
+     * @param search   Case-insensitive text to find in keys, values or descriptions, or null
+     * @param page     Zero-based page number
+     * @param size     Page size
+     */
+    public ConfigurationPage findConfigurations(String category, String search, int page, int size) {
+        String needle = search != null && !search.isBlank() ? search.trim().toLowerCase(Locale.ROOT) : null;
+        int from = Math.max(0, page) * size;
+        List<ConfigurationDto> items = new ArrayList<>(size);
+        int total = 0;
+        for (Map.Entry<String, ConfigurationSource> entry : view.entrySet()) {
+            ConfigurationSource source = entry.getValue();
+            String entryCategory = source.getCategory() != null ? source.getCategory() : "general";
+            if (category != null && !category.equals(entryCategory)) {
+                continue;
             }
-        } catch (IOException e) {
-            log.warn("Error reading application.properties: {}", e.getMessage());
-        } catch (Exception e) {
-            log.warn("Error loading application.properties resource: {}", e.getMessage());
-        }
-        
-        // Step 2: Get from Redis (only if not already present)
-        try {
-            Set<String> redisKeys = redisTemplate.keys(REDIS_CONFIG_PREFIX + "*");
-            if (redisKeys != null) {
-                for (String redisKey : redisKeys) {
-                    String key = redisKey.substring(REDIS_CONFIG_PREFIX.length());
-                    if (!allConfigs.containsKey(key)) {
-                        String value = redisTemplate.opsForValue().get(redisKey);
-                        if (value != null) {
-                            allConfigs.put(key, new ConfigurationSource(
-                                value,
-                                ConfigurationPriority.REDIS,
-                                extractCategory(key),
-                                null
-                            ));
-                        }
-                    } else {
-                        // Update existing entry to Redis if it was from properties file
-                        ConfigurationSource existing = allConfigs.get(key);
-                        if (existing.getPriority() == ConfigurationPriority.PROPERTIES_FILE) {
-                            String value = redisTemplate.opsForValue().get(redisKey);
-                            if (value != null) {
-                                allConfigs.put(key, new ConfigurationSource(
-                                    value,
-                                    ConfigurationPriority.REDIS,
-                                    extractCategory(key),
-                                    null
-                                ));
-                            }
-                        }
-                    }
-                }
+            if (needle != null && !contains(entry.getKey(), needle) && !contains(source.getValue(), needle)
+                    && !contains(source.getDescription(), needle)) {
+                continue;
             }
-        } catch (Exception e) {
-            log.warn("Error reading from Redis: {}", e.getMessage());
-        }
-        
-        // Step 3: Get all from database overrides (highest priority, so they override everything)
-        try {
-            List<ConfigurationEntity> overrides = configurationRepository.findByIsActiveTrue();
-            for (ConfigurationEntity override : overrides) {
-                allConfigs.put(override.getKey(), new ConfigurationSource(
-                    override.getValue(),
-                    ConfigurationPriority.UI_OVERRIDE,
-                    override.getCategory(),
-                    override.getDescription()
-                ));
+            if (total >= from && items.size() < size) {
+                items.add(ConfigurationDto.builder()
+                        .key(entry.getKey())
+                        .value(source.getValue())
+                        .currentValue(source.getValue())
+                        .category(entryCategory)
+                        .description(source.getDescription())
+                        .source(source.getPriority().name())
+                        .build());
             }
-        } catch (Exception e) {
-            log.warn("Error reading database overrides: {}", e.getMessage());
+            total++;
         }
-        
-        return allConfigs;
+        return new ConfigurationPage(items, total, Math.max(0, page), size);
+    }
+    
+    /**
+     * Categories present in the merged configuration view, sorted
+     */
+    public List<String> getViewCategories() {
+        return viewCategories;
+    }
+    
+    private static boolean contains(String text, String lowerCaseNeedle) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerCaseNeedle);
     }
     
     /**
@@ -282,6 +404,7 @@ public class ConfigurationService {
         
         ConfigurationEntity saved = configurationRepository.save(entity);
         log.info("Configuration override saved: {} = {} (by {})", key, value, updatedBy);
+        publishChangeAfterCommit();
         return saved;
     }
     
@@ -296,6 +419,7 @@ public class ConfigurationService {
             entity.setIsActive(false);
             configurationRepository.save(entity);
             log.info("Configuration override deleted: {}", key);
+            publishChangeAfterCommit();
         }
     }
     
@@ -304,24 +428,37 @@ public class ConfigurationService {
      */
     @Transactional
     public int deleteAllOverrides() {
-        List<ConfigurationEntity> allOverrides = configurationRepository.findByIsActiveTrue();
-        int count = 0;
-        for (ConfigurationEntity entity : allOverrides) {
-            entity.setIsActive(false);
-            configurationRepository.save(entity);
-            count++;
-        }
+        int count = configurationRepository.deactivateAll();
         log.info("Deleted {} configuration overrides - all configurations reset to defaults", count);
+        publishChangeAfterCommit();
         return count;
     }
     
+    /**
+     * Apply a set of overrides atomically: optionally deactivate every existing override with
+     * one UPDATE, then insert or update the given ones with JDBC batch upserts
+     *
+     * @param overrides Overrides to activate, unique by key
+     * @param replace   Deactivate overrides that are not in the set
+     * @return Number of overrides deactivated before the upsert (0 unless replacing)
+     */
+    @Transactional
+    public int applyOverrides(List<ConfigurationEntity> overrides, boolean replace) {
+        int deactivated = replace ? configurationRepository.deactivateAll() : 0;
+        configurationRepository.upsertAll(overrides);
+        log.info("Applied {} configuration overrides ({} deactivated first)", overrides.size(), deactivated);
+        publishChangeAfterCommit();
+        return deactivated;
+    }
+    
     /**
      * Save configuration to Redis
      */
     public void saveToRedis(String key, String value) {
         String redisKey = REDIS_CONFIG_PREFIX + key;
-        redisTemplate.opsForValue().set(redisKey, value);
+        writeToRedis("Saving configuration " + key, () -> redisTemplate.opsForValue().set(redisKey, value));
         log.info("Configuration saved to Redis: {} = {}", key, value);
+        publishChange();
     }
     
     /**
@@ -329,15 +466,26 @@ public class ConfigurationService {
      */
     public void deleteFromRedis(String key) {
         String redisKey = REDIS_CONFIG_PREFIX + key;
-        redisTemplate.delete(redisKey);
+        writeToRedis("Deleting configuration " + key, () -> redisTemplate.delete(redisKey));
         log.info("Configuration deleted from Redis: {}", key);
+        publishChange();
     }
     
     /**
      * Get all categories
      */
     public List<String> getAllCategories() {
-        List<String> categories = configurationRepository.findDistinctCategories();
+        List<String> categories;
+        try {
+            categories = databaseBreaker.call(configurationRepository::findDistinctCategories);
+        } catch (Exception e) {
+            log.warn("Using last-known override categories: {}", e.getMessage());
+            categories = snapshot.overrides().values().stream()
+                    .map(ConfigurationSource::getCategory)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
         if (categories == null || categories.isEmpty()) {
             return Arrays.asList("database", "kafka", "openalgo", "redis", "temporal", "server", "common");
         }
@@ -349,14 +497,264 @@ public class ConfigurationService {
      */
     public long getOverrideCount() {
         try {
-            return configurationRepository.findByIsActiveTrue().size();
+            return databaseBreaker.call(configurationRepository::countByIsActiveTrue);
         } catch (Exception e) {
-            log.warn("Error counting overrides: {}", e.getMessage());
-            return 0;
+            log.warn("Using last-known override count: {}", e.getMessage());
+            return snapshot.overrides().size();
+        }
+    }
+    
+    /**
+     * Publish a change once the surrounding transaction has committed, so other nodes reload
+     * committed data
+     */
+    private void publishChangeAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishChange();
+                }
+            });
+        } else {
+            publishChange();
+        }
+    }
+    
+    /**
+     * Take the next version, rebuild the local snapshot and notify the other nodes
+     */
+    private void publishChange() {
+        long version;
+        try {
+            Long next = redisBreaker.call(() -> redisTemplate.opsForValue().increment(REDIS_VERSION_KEY));
+            version = next != null ? next : snapshot.version() + 1;
+        } catch (Exception e) {
+            log.warn("Error incrementing configuration version in Redis: {}", e.getMessage());
+            version = snapshot.version() + 1;
+        }
+        refresh(version);
+        try {
+            long published = version;
+            redisBreaker.call(() -> redisTemplate.convertAndSend(REDIS_CHANGE_CHANNEL, Long.toString(published)));
+        } catch (Exception e) {
+            log.warn("Error publishing configuration change {}: {}", version, e.getMessage());
+        }
+    }
+    
+    private long currentVersion() {
+        try {
+            String version = redisBreaker.call(() -> redisTemplate.opsForValue().get(REDIS_VERSION_KEY));
+            return version != null ? Long.parseLong(version) : 0;
+        } catch (Exception e) {
+            log.warn("Error reading configuration version from Redis: {}", e.getMessage());
+            return snapshot.version();
+        }
+    }
+    
+    /**
+     * Reload both tiers and swap in a new snapshot; a tier that cannot be read keeps its
+     * previous values
+     */
+    private void refresh(long version) {
+        synchronized (refreshLock) {
+            ConfigurationSnapshot current = snapshot;
+            boolean complete = true;
+            
+            Map<String, ConfigurationSource> overrides = current.overrides();
+            try {
+                overrides = databaseBreaker.call(this::loadOverrides);
+            } catch (Exception e) {
+                log.warn("Error loading database overrides: {}", e.getMessage());
+                complete = false;
+            }
+            
+            Map<String, String> redis = current.redis();
+            try {
+                redis = redisBreaker.call(this::loadRedisValues);
+            } catch (Exception e) {
+                log.warn("Error loading Redis configuration: {}", e.getMessage());
+                complete = false;
+            }
+            
+            stale = !complete;
+            snapshot = new ConfigurationSnapshot(Math.max(version, current.version()), overrides, redis);
+            Set<String> changed = updateView(current, snapshot);
+            // The first load is the startup configuration, not a change
+            if (current != ConfigurationSnapshot.EMPTY) {
+                configurationChangeBus.publish(snapshot.version(), changed);
+            }
+            log.debug("Configuration snapshot {} loaded: {} overrides, {} Redis values",
+                    snapshot.version(), overrides.size(), redis.size());
+        }
+    }
+    
+    /**
+     * Non-blank entries of application.properties, read once; placeholders are kept raw so
+     * users can see and override them
+     */
+    private Map<String, String> loadFileProperties() {
+        Map<String, String> values = new HashMap<>();
+        try {
+            Resource resource = resourceLoader.getResource("classpath:application.properties");
+            if (resource.exists()) {
+                Properties props = new Properties();
+                try (InputStream inputStream = resource.getInputStream()) {
+                    props.load(inputStream);
+                }
+                for (String key : props.stringPropertyNames()) {
+                    String value = props.getProperty(key);
+                    if (value != null && !value.trim().isEmpty()) {
+                        values.put(key, value);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Error reading application.properties: {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("Error loading application.properties resource: {}", e.getMessage());
+        }
+        return values;
+    }
+    
+    /**
+     * Re-resolve only the keys whose override or Redis value changed between two snapshots
+     *
+     * @return Keys whose merged value changed; metadata-only override edits are left out
+     */
+    private Set<String> updateView(ConfigurationSnapshot previous, ConfigurationSnapshot next) {
+        Set<String> changed = new HashSet<>();
+        if (view.isEmpty()) {
+            changed.addAll(fileProperties.keySet());
+        }
+        collectChangedOverrides(previous.overrides(), next.overrides(), changed);
+        collectChangedOverrides(next.overrides(), previous.overrides(), changed);
+        collectChangedValues(previous.redis(), next.redis(), changed);
+        collectChangedValues(next.redis(), previous.redis(), changed);
+        if (changed.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> changedValues = new HashSet<>();
+        for (String key : changed) {
+            ConfigurationSource source = resolveViewEntry(key, next);
+            ConfigurationSource replaced = source != null ? view.put(key, source) : view.remove(key);
+            if (!Objects.equals(replaced != null ? replaced.getValue() : null, source != null ? source.getValue() : null)) {
+                changedValues.add(key);
+            }
+        }
+        viewCategories = view.values().stream()
+                .map(source -> source.getCategory() != null ? source.getCategory() : "general")
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        log.debug("Configuration view updated: {} keys changed, {} total", changed.size(), view.size());
+        return changedValues;
+    }
+    
+    private ConfigurationSource resolveViewEntry(String key, ConfigurationSnapshot current) {
+        ConfigurationSource override = current.overrides().get(key);
+        if (override != null) {
+            return override;
+        }
+        String redisValue = current.redis().get(key);
+        if (redisValue != null) {
+            return new ConfigurationSource(redisValue, ConfigurationPriority.REDIS, extractCategory(key), null);
+        }
+        String fileValue = fileProperties.get(key);
+        if (fileValue != null) {
+            return new ConfigurationSource(fileValue, ConfigurationPriority.PROPERTIES_FILE, extractCategory(key), null);
+        }
+        return null;
+    }
+    
+    private static void collectChangedOverrides(Map<String, ConfigurationSource> from, Map<String, ConfigurationSource> to,
+                                                Set<String> changed) {
+        from.forEach((key, source) -> {
+            ConfigurationSource other = to.get(key);
+            if (other == null || !Objects.equals(source.getValue(), other.getValue())
+                    || !Objects.equals(source.getCategory(), other.getCategory())
+                    || !Objects.equals(source.getDescription(), other.getDescription())) {
+                changed.add(key);
+            }
+        });
+    }
+    
+    private static void collectChangedValues(Map<String, String> from, Map<String, String> to, Set<String> changed) {
+        from.forEach((key, value) -> {
+            if (!value.equals(to.get(key))) {
+                changed.add(key);
+            }
+        });
+    }
+    
+    private Map<String, ConfigurationSource> loadOverrides() {
+        Map<String, ConfigurationSource> overrides = new HashMap<>();
+        for (ConfigurationEntity override : configurationRepository.findByIsActiveTrue()) {
+            if (override.getValue() != null) {
+                overrides.put(override.getKey(), new ConfigurationSource(
+                    override.getValue(),
+                    ConfigurationPriority.UI_OVERRIDE,
+                    override.getCategory(),
+                    override.getDescription()
+                ));
+            }
+        }
+        return overrides;
+    }
+    
+    private void writeToRedis(String description, Runnable write) {
+        try {
+            redisBreaker.call(() -> {
+                write.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(description + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    private Map<String, String> loadRedisValues() {
+        return scanRedisValues(REDIS_CONFIG_PREFIX + "*");
+    }
+    
+    /**
+     * Non-empty values of every key matching a pattern, without the config: prefix.
+     * Uses cursor-based SCAN, which never blocks other Redis clients the way KEYS does, and
+     * reads values with one MGET per scan-count keys.
+     */
+    private Map<String, String> scanRedisValues(String pattern) {
+        Map<String, String> values = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(redisScanCount).build();
+        List<String> batch = new ArrayList<>(redisScanCount);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= redisScanCount) {
+                    multiGet(batch, values);
+                    batch.clear();
+                }
+            }
+        }
+        multiGet(batch, values);
+        return values;
+    }
+    
+    private void multiGet(List<String> keys, Map<String, String> into) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> redisValues = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; redisValues != null && i < keys.size(); i++) {
+            String value = redisValues.get(i);
+            if (value != null && !value.isEmpty()) {
+                into.put(keys.get(i).substring(REDIS_CONFIG_PREFIX.length()), value);
+            }
         }
     }
     
-    private String extractCategory(String key) {
+    static String extractCategory(String key) {
         if (key.contains(".")) {
             return key.substring(0, key.indexOf("."));
         }
@@ -0,0 +1,23 @@
+package com.nigam.openalgo.autopilot.configuration.service;
+
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationService.ConfigurationSource;
+
+import java.util.Map;
+
+/**
+ * Immutable copy of the database overrides and Redis configuration at one version.
+ * Replaced as a whole whenever either tier changes, so readers never see a partial update.
+ *
+ * @param version   Change version the snapshot was built for; -1 until the first load
+ * @param overrides Active UI/database overrides by key, with category and description
+ * @param redis     Non-empty Redis configuration values by key, without the config: prefix
+ */
+public record ConfigurationSnapshot(long version, Map<String, ConfigurationSource> overrides, Map<String, String> redis) {
+
+    public static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(-1, Map.of(), Map.of());
+
+    public ConfigurationSnapshot {
+        overrides = Map.copyOf(overrides);
+        redis = Map.copyOf(redis);
+    }
+}
@@ -0,0 +1,152 @@
+package com.nigam.openalgo.autopilot.configuration.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.nigam.openalgo.autopilot.configuration.dto.ConfigurationSetDto;
+import com.nigam.openalgo.autopilot.dblayer.entity.ConfigurationEntity;
+import com.nigam.openalgo.autopilot.dblayer.repository.ConfigurationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Bulk import and export of configuration overrides as YAML or JSON.
+ *
+ * An import is validated as a whole before anything is written, then applied in one
+ * transaction by {@link ConfigurationService#applyOverrides(List, boolean)}: a single UPDATE
+ * when replacing, and batched upserts for the overrides themselves.
+ */
+@Service
+@Slf4j
+public class ConfigurationTransferService {
+    
+    private final ConfigurationService configurationService;
+    private final ConfigurationRepository configurationRepository;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper yamlMapper;
+    
+    public ConfigurationTransferService(ConfigurationService configurationService,
+                                        ConfigurationRepository configurationRepository) {
+        this.configurationService = configurationService;
+        this.configurationRepository = configurationRepository;
+        this.jsonMapper = new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.yamlMapper = new ObjectMapper(new YAMLFactory())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+    
+    /**
+     * Serialization formats
+     */
+    public enum Format {
+        JSON, YAML;
+        
+        /**
+         * Format by name or file extension (json, yaml, yml)
+         */
+        public static Format of(String name) {
+            if (name == null) {
+                return YAML;
+            }
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.endsWith("json")) {
+                return JSON;
+            }
+            if (lower.endsWith("yaml") || lower.endsWith("yml")) {
+                return YAML;
+            }
+            throw new IllegalArgumentException("Unsupported configuration format: " + name);
+        }
+    }
+    
+    /**
+     * Outcome of an import
+     *
+     * @param imported      Overrides written
+     * @param deactivated   Existing overrides deactivated because the import replaced them
+     * @param elapsedMillis Time spent parsing and applying
+     */
+    public record ImportResult(int imported, int deactivated, long elapsedMillis) {
+    }
+    
+    /**
+     * Every active override, sorted by key
+     */
+    public String exportOverrides(Format format) throws IOException {
+        List<ConfigurationSetDto.Entry> entries = new ArrayList<>();
+        for (ConfigurationEntity override : configurationRepository.findByIsActiveTrue()) {
+            entries.add(ConfigurationSetDto.Entry.builder()
+                    .key(override.getKey())
+                    .value(override.getValue())
+                    .category(override.getCategory())
+                    .description(override.getDescription())
+                    .build());
+        }
+        entries.sort(Comparator.comparing(ConfigurationSetDto.Entry::getKey));
+        return mapper(format).writeValueAsString(ConfigurationSetDto.builder().overrides(entries).build());
+    }
+    
+    /**
+     * Import a set of overrides atomically
+     *
+     * @param content   YAML or JSON document with an "overrides" list
+     * @param format    Document format
+     * @param replace   Deactivate existing overrides that are not in the document
+     * @param updatedBy User recorded on every imported override
+     * @throws IllegalArgumentException when the document is unreadable or an entry is invalid
+     */
+    public ImportResult importOverrides(String content, Format format, boolean replace, String updatedBy) {
+        long start = System.nanoTime();
+        ConfigurationSetDto set;
+        try {
+            set = mapper(format).readValue(content, ConfigurationSetDto.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable " + format + " configuration: " + e.getMessage(), e);
+        }
+        if (set == null || set.getOverrides() == null) {
+            throw new IllegalArgumentException("Configuration document has no overrides list");
+        }
+        
+        List<ConfigurationEntity> overrides = new ArrayList<>(set.getOverrides().size());
+        Set<String> keys = new HashSet<>();
+        for (ConfigurationSetDto.Entry entry : set.getOverrides()) {
+            String key = entry.getKey() != null ? entry.getKey().trim() : "";
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("Configuration override without a key");
+            }
+            if (key.length() > 255) {
+                throw new IllegalArgumentException("Configuration key longer than 255 characters: " + key);
+            }
+            if (!keys.add(key)) {
+                throw new IllegalArgumentException("Duplicate configuration key: " + key);
+            }
+            overrides.add(ConfigurationEntity.builder()
+                    .key(key)
+                    .value(entry.getValue())
+                    .category(entry.getCategory() != null ? entry.getCategory() : ConfigurationService.extractCategory(key))
+                    .description(entry.getDescription())
+                    .updatedBy(updatedBy)
+                    .build());
+        }
+        
+        int deactivated = configurationService.applyOverrides(overrides, replace);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Imported {} configuration overrides in {} ms (replace: {}, by {})",
+                overrides.size(), elapsedMillis, replace, updatedBy);
+        return new ImportResult(overrides.size(), deactivated, elapsedMillis);
+    }
+    
+    private ObjectMapper mapper(Format format) {
+        return format == Format.JSON ? jsonMapper : yamlMapper;
+    }
+}
@@ -0,0 +1,134 @@
+package com.nigam.openalgo.autopilot.configuration.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker for one configuration tier (Redis or the database).
+ *
+ * Calls run on the breaker's own threads and are abandoned after timeout-ms, so a hung client
+ * never holds the caller longer than that. After failure-threshold consecutive failures the
+ * breaker opens and rejects calls immediately for open-ms; then a single probe call is let
+ * through (half-open), closing the breaker on success and reopening it on failure.
+ */
+@Slf4j
+final class TierCircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    /**
+     * Thrown instead of running a call while the breaker is open
+     */
+    static final class OpenException extends RuntimeException {
+        OpenException(String tier) {
+            super(tier + " circuit breaker is open", null, false, false);
+        }
+    }
+
+    private final String tier;
+    private final long timeoutMs;
+    private final int failureThreshold;
+    private final long openMs;
+    private final ExecutorService executor;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAtMillis;
+
+    TierCircuitBreaker(String tier, long timeoutMs, int failureThreshold, long openMs) {
+        this.tier = tier;
+        this.timeoutMs = timeoutMs;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "config-" + tier + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    /**
+     * Run a tier call, failing fast while the breaker is open
+     *
+     * @throws OpenException when the breaker rejects the call
+     * @throws Exception     the call's own failure, or a TimeoutException after timeout-ms
+     */
+    <T> T call(Callable<T> action) throws Exception {
+        boolean probe = acquire();
+        Future<T> future = executor.submit(action);
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            onSuccess(probe);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            onFailure(probe);
+            throw new TimeoutException(tier + " call timed out after " + timeoutMs + " ms");
+        } catch (ExecutionException e) {
+            onFailure(probe);
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            // Not the tier's fault; give a probe slot back without judging the tier
+            if (probe) {
+                state.compareAndSet(State.HALF_OPEN, State.OPEN);
+            }
+            throw e;
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean acquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return false;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAtMillis >= openMs
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return true;
+        }
+        throw new OpenException(tier);
+    }
+
+    private void onSuccess(boolean probe) {
+        consecutiveFailures.set(0);
+        if (probe && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("Configuration {} tier recovered, circuit breaker closed", tier);
+        }
+    }
+
+    private void onFailure(boolean probe) {
+        if (probe) {
+            openedAtMillis = System.currentTimeMillis();
+            state.set(State.OPEN);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAtMillis = System.currentTimeMillis();
+            if (state.compareAndSet(State.CLOSED, State.OPEN)) {
+                log.warn("Configuration {} tier failed {} times in a row, circuit breaker open for {} ms",
+                        tier, failureThreshold, openMs);
+            }
+        }
+    }
+}
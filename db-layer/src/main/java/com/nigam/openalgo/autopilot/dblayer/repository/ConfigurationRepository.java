@@ -2,6 +2,7 @@ package com.nigam.openalgo.autopilot.dblayer.repository;
 
 import com.nigam.openalgo.autopilot.dblayer.entity.ConfigurationEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -9,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ConfigurationRepository extends JpaRepository<ConfigurationEntity, Long> {
+public interface ConfigurationRepository extends JpaRepository<ConfigurationEntity, Long>, ConfigurationRepositoryCustom {
     
     /**
      * Find active configuration override by key
@@ -31,6 +32,25 @@ public interface ConfigurationRepository extends JpaRepository<ConfigurationEnti
      */
     List<ConfigurationEntity> findByCategoryAndIsActiveTrue(String category);
     
+    /**
+     * Count active configuration overrides
+     */
+    long countByIsActiveTrue();
+    
+    /**
+     * Deactivate every active override in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ConfigurationEntity c SET c.isActive = false, c.updatedAt = CURRENT_TIMESTAMP WHERE c.isActive = true")
+    int deactivateAll();
+    
+    /**
+     * Deactivate every active override of a category in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ConfigurationEntity c SET c.isActive = false, c.updatedAt = CURRENT_TIMESTAMP WHERE c.isActive = true AND c.category = :category")
+    int deactivateByCategory(String category);
+    
     /**
      * Check if a configuration key exists
      */
@@ -0,0 +1,20 @@
+package com.nigam.openalgo.autopilot.dblayer.repository;
+
+import com.nigam.openalgo.autopilot.dblayer.entity.ConfigurationEntity;
+
+import java.util.List;
+
+/**
+ * Bulk operations on configuration overrides that JPA would run row by row
+ */
+public interface ConfigurationRepositoryCustom {
+    
+    /**
+     * Insert or update overrides by key with JDBC batch upserts, marking them active.
+     * Joins the caller's transaction, so a failed batch rolls back with it.
+     *
+     * @param overrides Overrides to write; id, isActive and timestamps are ignored
+     * @return Number of overrides written
+     */
+    int upsertAll(List<ConfigurationEntity> overrides);
+}
@@ -0,0 +1,53 @@
+package com.nigam.openalgo.autopilot.dblayer.repository;
+
+import com.nigam.openalgo.autopilot.dblayer.entity.ConfigurationEntity;
+import jakarta.persistence.Table;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ConfigurationRepositoryCustom}, picked up by Spring Data as
+ * the custom fragment of {@link ConfigurationRepository}
+ */
+public class ConfigurationRepositoryImpl implements ConfigurationRepositoryCustom {
+    
+    private static final String TABLE = ConfigurationEntity.class.getAnnotation(Table.class).name();
+    
+    private static final String UPSERT_SQL = "INSERT INTO " + TABLE
+            + " (config_key, config_value, description, category, is_active, created_at, updated_at, updated_by)"
+            + " VALUES (?, ?, ?, ?, TRUE, ?, ?, ?)"
+            + " ON CONFLICT (config_key) DO UPDATE SET config_value = EXCLUDED.config_value,"
+            + " description = EXCLUDED.description, category = EXCLUDED.category, is_active = TRUE,"
+            + " updated_at = EXCLUDED.updated_at, updated_by = EXCLUDED.updated_by";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    
+    public ConfigurationRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                       @Value("${openalgo.configuration.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    public int upsertAll(List<ConfigurationEntity> overrides) {
+        if (overrides.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, overrides, batchSize, (statement, override) -> {
+            statement.setString(1, override.getKey());
+            statement.setString(2, override.getValue());
+            statement.setString(3, override.getDescription());
+            statement.setString(4, override.getCategory());
+            statement.setTimestamp(5, now);
+            statement.setTimestamp(6, now);
+            statement.setString(7, override.getUpdatedBy());
+        });
+        return overrides.size();
+    }
+}
@@ -0,0 +1,146 @@
+package com.nigam.openalgo.autopilot.dblayer.repository;
+
+import com.nigam.openalgo.autopilot.dblayer.entity.ConfigurationEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the batched upsert against one statement per row. There is no PostgreSQL in unit
+ * tests, so the driver is a stub that charges a fixed round trip per execute call.
+ */
+class ConfigurationRepositoryImplTest {
+
+    private static final int KEYS = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final AtomicInteger rowsSent = new AtomicInteger();
+    private final List<String> boundKeys = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger pending = new AtomicInteger();
+        DatabaseMetaData metaData = fake(DatabaseMetaData.class, (method, args) ->
+                method.equals("supportsBatchUpdates") ? Boolean.TRUE : null);
+        Connection[] connection = new Connection[1];
+        PreparedStatement statement = fake(PreparedStatement.class, (method, args) -> switch (method) {
+            case "setString" -> {
+                if ((int) args[0] == 1) {
+                    boundKeys.add((String) args[1]);
+                }
+                yield null;
+            }
+            case "addBatch" -> {
+                pending.incrementAndGet();
+                yield null;
+            }
+            case "executeBatch" -> {
+                int rows = pending.getAndSet(0);
+                roundTrip(rows);
+                yield new int[rows];
+            }
+            case "executeUpdate" -> {
+                roundTrip(1);
+                yield 1;
+            }
+            case "getConnection" -> connection[0];
+            default -> null;
+        });
+        connection[0] = fake(Connection.class, (method, args) -> switch (method) {
+            case "prepareStatement" -> statement;
+            case "getMetaData" -> metaData;
+            default -> null;
+        });
+        DataSource dataSource = fake(DataSource.class, (method, args) ->
+                method.equals("getConnection") ? connection[0] : null);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void bulkUpsertSendsOneRoundTripPerBatch() {
+        List<ConfigurationEntity> overrides = overrides();
+        ConfigurationRepositoryImpl repository = new ConfigurationRepositoryImpl(jdbcTemplate, BATCH_SIZE);
+
+        long start = System.nanoTime();
+        assertThat(repository.upsertAll(overrides)).isEqualTo(KEYS);
+        long bulkNanos = System.nanoTime() - start;
+
+        assertThat(roundTrips.get()).isEqualTo(KEYS / BATCH_SIZE);
+        assertThat(rowsSent.get()).isEqualTo(KEYS);
+        assertThat(boundKeys).hasSize(KEYS).startsWith("key.0").endsWith("key." + (KEYS - 1));
+
+        // The same rows upserted one statement at a time, as saving entity by entity does
+        roundTrips.set(0);
+        rowsSent.set(0);
+        start = System.nanoTime();
+        for (ConfigurationEntity override : overrides) {
+            jdbcTemplate.update("INSERT ... ON CONFLICT", statement -> {
+                statement.setString(1, override.getKey());
+                statement.setString(2, override.getValue());
+            });
+        }
+        long perRowNanos = System.nanoTime() - start;
+
+        assertThat(roundTrips.get()).isEqualTo(KEYS);
+        assertThat(rowsSent.get()).isEqualTo(KEYS);
+        assertThat(bulkNanos).isLessThan(perRowNanos);
+    }
+
+    @Test
+    void emptyImportTouchesNothing() {
+        ConfigurationRepositoryImpl repository = new ConfigurationRepositoryImpl(jdbcTemplate, BATCH_SIZE);
+
+        assertThat(repository.upsertAll(List.of())).isZero();
+        assertThat(roundTrips.get()).isZero();
+    }
+
+    private void roundTrip(int rows) {
+        roundTrips.incrementAndGet();
+        rowsSent.addAndGet(rows);
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    /**
+     * A JDBC interface answering from the behaviour, or with the return type's default
+     */
+    private static <T> T fake(Class<T> type, BiFunction<String, Object[], Object> behaviour) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result = behaviour.apply(method.getName(), args);
+            if (result != null || !method.getReturnType().isPrimitive()) {
+                return result;
+            }
+            return method.getReturnType() == boolean.class ? Boolean.FALSE
+                    : method.getReturnType() == void.class ? null : 0;
+        }));
+    }
+
+    private static List<ConfigurationEntity> overrides() {
+        List<ConfigurationEntity> overrides = new ArrayList<>(KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            overrides.add(ConfigurationEntity.builder()
+                    .key("key." + i)
+                    .value("value-" + i)
+                    .category("test")
+                    .updatedBy("import")
+                    .build());
+        }
+        return overrides;
+    }
+}
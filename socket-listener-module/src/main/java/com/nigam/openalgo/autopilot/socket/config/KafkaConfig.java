@@ -1,10 +1,15 @@
 package com.nigam.openalgo.autopilot.socket.config;
 
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -15,13 +20,21 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrapServers;
+    @Autowired
+    private Environment environment;
 
     @Bean
     public ProducerFactory<String, String> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    /**
+     * Producer settings as currently configured; read on every call so a rebuilt producer
+     * picks up changed overrides
+     */
+    public Map<String, Object> producerConfigs() {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, environment.getRequiredProperty("spring.kafka.bootstrap-servers"));
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
@@ -29,11 +42,29 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        // With the spill queue on, a failing broker should be noticed quickly so records go to disk
+        // instead of blocking the feed thread; without it, the producer's own defaults give records
+        // the most time to get through
+        boolean spill = environment.getProperty("openalgo.kafka.spill.enabled", Boolean.class, false);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG,
+                environment.getProperty("kafka.producer.max-block-ms", Long.class, spill ? 500L : 60000L));
+        configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG,
+                environment.getProperty("kafka.producer.request-timeout-ms", Integer.class, spill ? 10000 : 30000));
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG,
+                environment.getProperty("kafka.producer.delivery-timeout-ms", Integer.class, spill ? 15000 : 120000));
+        return configProps;
     }
 
     @Bean
     public KafkaTemplate<String, String> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    // Created compacted by the auto-configured KafkaAdmin, so the broker keeps one record per instrument
+    @Bean
+    @ConditionalOnProperty(name = "openalgo.kafka.snapshot.enabled", havingValue = "true")
+    public NewTopic snapshotTopic(@Value("${kafka.topic.snapshot:openalgo-snapshot}") String topic,
+                                  @Value("${openalgo.kafka.snapshot.partitions:8}") int partitions) {
+        return TopicBuilder.name(topic).partitions(partitions).compact().build();
+    }
 }
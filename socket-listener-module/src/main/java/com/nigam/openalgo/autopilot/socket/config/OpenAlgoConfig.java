@@ -2,26 +2,22 @@ package com.nigam.openalgo.autopilot.socket.config;
 
 import in.openalgo.OpenAlgo;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 
 @Configuration
 public class OpenAlgoConfig {
 
-    @Value("${openalgo.broker.default.server.apiKey}")
-    private String apiKey;
-
-    @Value("${openalgo.broker.default.server.host}")
-    private String host;
-
-    @Value("${openalgo.broker.default.server.port}")
-    private int port;
-
-    @Value("${openalgo.broker.default.ws.url}")
-    private String wsUrl;
-
+    // Prototype so every connection is built from the settings current at that time;
+    // OpenAlgoConnectionService owns the live client
     @Bean
-    public OpenAlgo openAlgoClient() {
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public OpenAlgo openAlgoClient(@Value("${openalgo.broker.default.server.apiKey}") String apiKey,
+                                   @Value("${openalgo.broker.default.server.host}") String host,
+                                   @Value("${openalgo.broker.default.server.port}") int port,
+                                   @Value("${openalgo.broker.default.ws.url}") String wsUrl) {
         return new OpenAlgo.Builder(apiKey)
                 .host("http://" + host + ":" + port)
                 .wsUrl(wsUrl)
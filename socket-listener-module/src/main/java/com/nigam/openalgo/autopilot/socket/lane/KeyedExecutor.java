@@ -0,0 +1,20 @@
+package com.nigam.openalgo.autopilot.socket.lane;
+
+/**
+ * Runs work that may be tagged with the key it updates, e.g. the instrument of a market data message
+ */
+@FunctionalInterface
+public interface KeyedExecutor {
+
+    /**
+     * Runs work on the calling thread
+     */
+    KeyedExecutor DIRECT = (key, work) -> work.run();
+
+    /**
+     * @param key  What the work updates; work for the same key may replace older queued work.
+     *             Null never replaces anything
+     * @param work Work to run
+     */
+    void execute(Object key, Runnable work);
+}
@@ -0,0 +1,194 @@
+package com.nigam.openalgo.autopilot.socket.lane;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes one stream's work in order on its own worker thread, behind a bounded queue.
+ *
+ * In a conflating lane, work for a key that is still queued replaces the queued work in place,
+ * so a flooded lane delivers the latest update of every key instead of every update, and one
+ * key's burst never pushes out another key's update. In a plain lane every update is kept.
+ * Either way, when the queue is full the submitting thread waits for room, so nothing is
+ * dropped and the feed slows down instead. The worker can run at a given thread priority and,
+ * on Linux with taskset available, be pinned to one CPU.
+ *
+ * Exported per lane: openalgo.lane.queue.depth, openalgo.lane.wait (queued time),
+ * openalgo.lane.service (run time), openalgo.lane.blocked (time submitters waited for room),
+ * openalgo.lane.conflated (updates replaced by a newer one) and openalgo.lane.dropped
+ * (updates lost because the submitter was interrupted while waiting).
+ */
+public class StreamLane implements KeyedExecutor {
+
+    private static final Logger logger = LogManager.getLogger(StreamLane.class);
+
+    private record Task(Runnable work, long enqueuedNanos) {
+    }
+
+    private final String name;
+    private final boolean conflate;
+    // Tasks in a plain lane; keys with pending work in a conflating lane
+    private final BlockingQueue<Object> queue;
+    private final Map<Object, Task> pending = new ConcurrentHashMap<>();
+    private final int cpu;
+    private final Thread worker;
+    private final Timer waitTimer;
+    private final Timer serviceTimer;
+    private final Timer blockedTimer;
+    private final Counter conflatedCounter;
+    private final Counter droppedCounter;
+    private volatile boolean running = true;
+
+    /**
+     * @param capacity Tasks, or in a conflating lane keys, that can wait before submitters block
+     * @param conflate Whether work for a key replaces that key's queued work
+     * @param priority Worker thread priority, {@link Thread#MIN_PRIORITY} to {@link Thread#MAX_PRIORITY}
+     * @param cpu      CPU to pin the worker to, or -1 to leave it to the scheduler
+     */
+    public StreamLane(String name, int capacity, boolean conflate, int priority, int cpu, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.conflate = conflate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.cpu = cpu;
+        this.waitTimer = Timer.builder("openalgo.lane.wait")
+                .description("Time tasks spent queued in the lane")
+                .tag("lane", name)
+                .register(meterRegistry);
+        this.serviceTimer = Timer.builder("openalgo.lane.service")
+                .description("Time the lane worker spent running a task")
+                .tag("lane", name)
+                .register(meterRegistry);
+        this.blockedTimer = Timer.builder("openalgo.lane.blocked")
+                .description("Time submitters waited for room in the full lane")
+                .tag("lane", name)
+                .register(meterRegistry);
+        this.conflatedCounter = Counter.builder("openalgo.lane.conflated")
+                .description("Queued tasks replaced by a newer one for the same key")
+                .tag("lane", name)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("openalgo.lane.dropped")
+                .description("Tasks lost because the submitter was interrupted while waiting for room")
+                .tag("lane", name)
+                .register(meterRegistry);
+        Gauge.builder("openalgo.lane.queue.depth", queue, BlockingQueue::size)
+                .description("Tasks waiting in the lane")
+                .tag("lane", name)
+                .register(meterRegistry);
+
+        this.worker = new Thread(this::runLoop, "lane-" + name);
+        this.worker.setDaemon(true);
+        this.worker.setPriority(priority);
+        this.worker.start();
+    }
+
+    @Override
+    public void execute(Object key, Runnable work) {
+        Task task = new Task(work, System.nanoTime());
+        if (!conflate || key == null) {
+            enqueue(task);
+            return;
+        }
+        if (pending.put(key, task) != null) {
+            // The worker has not taken the key yet and will run this task in place of the old one
+            conflatedCounter.increment();
+            return;
+        }
+        enqueue(key);
+    }
+
+    /**
+     * Let the worker finish what is already queued, then stop it
+     */
+    public void shutdown(long timeoutMs) throws InterruptedException {
+        running = false;
+        worker.join(timeoutMs);
+        if (worker.isAlive()) {
+            worker.interrupt();
+            logger.warn("Lane {} did not drain within {} ms; {} tasks discarded", name, timeoutMs, queue.size());
+        }
+    }
+
+    private void enqueue(Object item) {
+        if (queue.offer(item)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!(item instanceof Task)) {
+                pending.remove(item);
+            }
+            droppedCounter.increment();
+        } finally {
+            blockedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void runLoop() {
+        if (cpu >= 0) {
+            pin();
+        }
+        while (running || !queue.isEmpty()) {
+            Object item;
+            try {
+                item = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (item == null) {
+                continue;
+            }
+            Task task = item instanceof Task queued ? queued : pending.remove(item);
+            if (task == null) {
+                continue;
+            }
+            long start = System.nanoTime();
+            waitTimer.record(start - task.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            try {
+                task.work().run();
+            } catch (Exception e) {
+                logger.error("Error in lane {}", name, e);
+            }
+            serviceTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Pin the calling worker thread with taskset; Linux exposes the thread id as /proc/thread-self
+     */
+    private void pin() {
+        try {
+            Path self = Files.readSymbolicLink(Paths.get("/proc/thread-self"));
+            String tid = self.getFileName().toString();
+            Process process = new ProcessBuilder("taskset", "-p", "-c", Integer.toString(cpu), tid)
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes()).trim();
+            if (process.waitFor() != 0) {
+                logger.warn("Could not pin lane {} to CPU {}: {}", name, cpu, output);
+                return;
+            }
+            logger.info("Lane {} pinned to CPU {}", name, cpu);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Could not pin lane {} to CPU {}: {}", name, cpu, e.getMessage());
+        }
+    }
+}
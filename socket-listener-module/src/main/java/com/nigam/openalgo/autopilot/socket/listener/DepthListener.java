@@ -1,7 +1,12 @@
 package com.nigam.openalgo.autopilot.socket.listener;
 
+import com.nigam.openalgo.autopilot.socket.lane.KeyedExecutor;
 import com.nigam.openalgo.autopilot.socket.service.KafkaProducerService;
-import in.openalgo.OpenAlgo;
+import com.nigam.openalgo.autopilot.socket.service.KafkaSnapshotBootstrap;
+import com.nigam.openalgo.autopilot.socket.service.MarketDataLanes;
+import com.nigam.openalgo.autopilot.socket.service.OpenAlgoConnectionService;
+import com.nigam.openalgo.autopilot.socket.service.OpenAlgoLookupService;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataDispatcher;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,11 +25,23 @@ public class DepthListener {
     private static final Logger logger = LogManager.getLogger(DepthListener.class);
 
     @Autowired
-    private OpenAlgo openAlgoClient;
+    private OpenAlgoConnectionService openAlgoConnectionService;
+
+    @Autowired
+    private OpenAlgoLookupService openAlgoLookupService;
+
+    @Autowired
+    private MarketDataLanes marketDataLanes;
 
     @Autowired
     private KafkaProducerService kafkaProducerService;
 
+    @Autowired
+    private MarketDataDispatcher marketDataDispatcher;
+
+    @Autowired
+    private KafkaSnapshotBootstrap kafkaSnapshotBootstrap;
+
     /**
      * Subscribe to Depth updates for the given instruments
      * 
@@ -34,25 +51,34 @@ public class DepthListener {
     public void subscribe(List<Map<String, String>> instruments) {
         logger.info("Subscribing to Depth updates for {} instruments", instruments.size());
         
-        openAlgoClient.subscribeDepth(instruments, data -> {
-            try {
-                // ============================================
-                // ADD YOUR CUSTOM LOGIC HERE
-                // ============================================
-                // Example: Process, transform, validate, or enrich the data
-                // processDepthData(data);
-                // transformDepthData(data);
-                // validateDepthData(data);
-                
-                logger.debug("Received Depth update: {}", data);
-                
-                // Forward to Kafka queue
-                kafkaProducerService.sendDepthData(data);
-                
-            } catch (Exception e) {
-                logger.error("Error processing Depth data", e);
-            }
-        });
+        // Processed on the stream's own lane, keyed by instrument for conflation; registered with
+        // the connection service so it is replayed if the connection is rebuilt
+        KeyedExecutor lane = marketDataLanes.depth();
+        openAlgoConnectionService.subscribe("depth", instruments, client -> client.subscribeDepth(instruments,
+                data -> lane.execute(MarketDataLanes.instrumentKey(data), () -> onDepth(data))));
+    }
+
+    private void onDepth(Map<String, Object> data) {
+        try {
+            // ============================================
+            // ADD YOUR CUSTOM LOGIC HERE
+            // ============================================
+            // Example: Process, transform, validate, or enrich the data
+            // processDepthData(data);
+            // transformDepthData(data);
+            // validateDepthData(data);
+            
+            logger.debug("Received Depth update: {}", data);
+            
+            // Feed in-process engines (paper trading, ...) before Kafka
+            marketDataDispatcher.publishDepth(data);
+            
+            // Forward to Kafka queue
+            kafkaProducerService.sendDepthData(data);
+            
+        } catch (Exception e) {
+            logger.error("Error processing Depth data", e);
+        }
     }
 
     /**
@@ -60,7 +86,7 @@ public class DepthListener {
      */
     public void unsubscribe(List<Map<String, String>> instruments) {
         logger.info("Unsubscribing from Depth updates for {} instruments", instruments.size());
-        openAlgoClient.unsubscribeDepth(instruments);
+        openAlgoConnectionService.unsubscribe("depth", instruments, client -> client.unsubscribeDepth(instruments));
     }
 
     /**
@@ -68,10 +94,12 @@ public class DepthListener {
      * 
      * @param exchange Exchange name (e.g., "MCX")
      * @param symbol Symbol name (e.g., "CRUDEOIL16JAN26FUT")
-     * @return Cached Depth data
+     * @return Cached Depth data, or the restored snapshot before the first update
      */
     public Map<String, Object> getCachedDepth(String exchange, String symbol) {
-        return openAlgoClient.getDepth(exchange, symbol);
+        Map<String, Object> cached = openAlgoLookupService.getDepth(exchange, symbol);
+        // Until the feed delivers the instrument, fall back to the snapshot restored on startup
+        return cached != null && !cached.isEmpty() ? cached : kafkaSnapshotBootstrap.getDepth(exchange, symbol);
     }
 
     /**
@@ -1,7 +1,12 @@
 package com.nigam.openalgo.autopilot.socket.listener;
 
+import com.nigam.openalgo.autopilot.socket.lane.KeyedExecutor;
 import com.nigam.openalgo.autopilot.socket.service.KafkaProducerService;
-import in.openalgo.OpenAlgo;
+import com.nigam.openalgo.autopilot.socket.service.KafkaSnapshotBootstrap;
+import com.nigam.openalgo.autopilot.socket.service.MarketDataLanes;
+import com.nigam.openalgo.autopilot.socket.service.OpenAlgoConnectionService;
+import com.nigam.openalgo.autopilot.socket.service.OpenAlgoLookupService;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataDispatcher;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,11 +25,23 @@ public class LtpListener {
     private static final Logger logger = LogManager.getLogger(LtpListener.class);
 
     @Autowired
-    private OpenAlgo openAlgoClient;
+    private OpenAlgoConnectionService openAlgoConnectionService;
+
+    @Autowired
+    private OpenAlgoLookupService openAlgoLookupService;
+
+    @Autowired
+    private MarketDataLanes marketDataLanes;
 
     @Autowired
     private KafkaProducerService kafkaProducerService;
 
+    @Autowired
+    private MarketDataDispatcher marketDataDispatcher;
+
+    @Autowired
+    private KafkaSnapshotBootstrap kafkaSnapshotBootstrap;
+
     /**
      * Subscribe to LTP updates for the given instruments
      * 
@@ -34,25 +51,34 @@ public class LtpListener {
     public void subscribe(List<Map<String, String>> instruments) {
         logger.info("Subscribing to LTP updates for {} instruments", instruments.size());
         
-        openAlgoClient.subscribeLtp(instruments, data -> {
-            try {
-                // ============================================
-                // ADD YOUR CUSTOM LOGIC HERE
-                // ============================================
-                // Example: Process, transform, validate, or enrich the data
-                // processLtpData(data);
-                // transformLtpData(data);
-                // validateLtpData(data);
-                
-                logger.debug("Received LTP update: {}", data);
-                
-                // Forward to Kafka queue
-                kafkaProducerService.sendLtpData(data);
-                
-            } catch (Exception e) {
-                logger.error("Error processing LTP data", e);
-            }
-        });
+        // Processed on the stream's own lane, keyed by instrument for conflation; registered with
+        // the connection service so it is replayed if the connection is rebuilt
+        KeyedExecutor lane = marketDataLanes.ltp();
+        openAlgoConnectionService.subscribe("ltp", instruments, client -> client.subscribeLtp(instruments,
+                data -> lane.execute(MarketDataLanes.instrumentKey(data), () -> onLtp(data))));
+    }
+
+    private void onLtp(Map<String, Object> data) {
+        try {
+            // ============================================
+            // ADD YOUR CUSTOM LOGIC HERE
+            // ============================================
+            // Example: Process, transform, validate, or enrich the data
+            // processLtpData(data);
+            // transformLtpData(data);
+            // validateLtpData(data);
+            
+            logger.debug("Received LTP update: {}", data);
+            
+            // Feed in-process engines (risk, positions, ...) before Kafka
+            marketDataDispatcher.publishLtp(data);
+            
+            // Forward to Kafka queue
+            kafkaProducerService.sendLtpData(data);
+            
+        } catch (Exception e) {
+            logger.error("Error processing LTP data", e);
+        }
     }
 
     /**
@@ -60,7 +86,7 @@ public class LtpListener {
      */
     public void unsubscribe(List<Map<String, String>> instruments) {
         logger.info("Unsubscribing from LTP updates for {} instruments", instruments.size());
-        openAlgoClient.unsubscribeLtp(instruments);
+        openAlgoConnectionService.unsubscribe("ltp", instruments, client -> client.unsubscribeLtp(instruments));
     }
 
     /**
@@ -71,7 +97,9 @@ public class LtpListener {
      * @return Cached LTP data
      */
     public Map<String, Object> getCachedLtp(String exchange, String symbol) {
-        return openAlgoClient.getLtp(exchange, symbol);
+        Map<String, Object> cached = openAlgoLookupService.getLtp(exchange, symbol);
+        // Until the feed delivers the instrument, fall back to the snapshot restored on startup
+        return cached != null && !cached.isEmpty() ? cached : kafkaSnapshotBootstrap.getLtp(exchange, symbol);
     }
 
     /**
@@ -1,7 +1,12 @@
 package com.nigam.openalgo.autopilot.socket.listener;
 
+import com.nigam.openalgo.autopilot.socket.lane.KeyedExecutor;
 import com.nigam.openalgo.autopilot.socket.service.KafkaProducerService;
-import in.openalgo.OpenAlgo;
+import com.nigam.openalgo.autopilot.socket.service.KafkaSnapshotBootstrap;
+import com.nigam.openalgo.autopilot.socket.service.MarketDataLanes;
+import com.nigam.openalgo.autopilot.socket.service.OpenAlgoConnectionService;
+import com.nigam.openalgo.autopilot.socket.service.OpenAlgoLookupService;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataDispatcher;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,11 +25,23 @@ public class QuoteListener {
     private static final Logger logger = LogManager.getLogger(QuoteListener.class);
 
     @Autowired
-    private OpenAlgo openAlgoClient;
+    private OpenAlgoConnectionService openAlgoConnectionService;
+
+    @Autowired
+    private OpenAlgoLookupService openAlgoLookupService;
+
+    @Autowired
+    private MarketDataLanes marketDataLanes;
 
     @Autowired
     private KafkaProducerService kafkaProducerService;
 
+    @Autowired
+    private MarketDataDispatcher marketDataDispatcher;
+
+    @Autowired
+    private KafkaSnapshotBootstrap kafkaSnapshotBootstrap;
+
     /**
      * Subscribe to Quote updates for the given instruments
      * 
@@ -34,25 +51,34 @@ public class QuoteListener {
     public void subscribe(List<Map<String, String>> instruments) {
         logger.info("Subscribing to Quote updates for {} instruments", instruments.size());
         
-        openAlgoClient.subscribeQuote(instruments, data -> {
-            try {
-                // ============================================
-                // ADD YOUR CUSTOM LOGIC HERE
-                // ============================================
-                // Example: Process, transform, validate, or enrich the data
-                // processQuoteData(data);
-                // transformQuoteData(data);
-                // validateQuoteData(data);
-                
-                logger.debug("Received Quote update: {}", data);
-                
-                // Forward to Kafka queue
-                kafkaProducerService.sendQuoteData(data);
-                
-            } catch (Exception e) {
-                logger.error("Error processing Quote data", e);
-            }
-        });
+        // Processed on the stream's own lane, keyed by instrument for conflation; registered with
+        // the connection service so it is replayed if the connection is rebuilt
+        KeyedExecutor lane = marketDataLanes.quote();
+        openAlgoConnectionService.subscribe("quote", instruments, client -> client.subscribeQuote(instruments,
+                data -> lane.execute(MarketDataLanes.instrumentKey(data), () -> onQuote(data))));
+    }
+
+    private void onQuote(Map<String, Object> data) {
+        try {
+            // ============================================
+            // ADD YOUR CUSTOM LOGIC HERE
+            // ============================================
+            // Example: Process, transform, validate, or enrich the data
+            // processQuoteData(data);
+            // transformQuoteData(data);
+            // validateQuoteData(data);
+            
+            logger.debug("Received Quote update: {}", data);
+            
+            // Feed in-process engines (scanner, ...) before Kafka
+            marketDataDispatcher.publishQuote(data);
+            
+            // Forward to Kafka queue
+            kafkaProducerService.sendQuoteData(data);
+            
+        } catch (Exception e) {
+            logger.error("Error processing Quote data", e);
+        }
     }
 
     /**
@@ -60,7 +86,7 @@ public class QuoteListener {
      */
     public void unsubscribe(List<Map<String, String>> instruments) {
         logger.info("Unsubscribing from Quote updates for {} instruments", instruments.size());
-        openAlgoClient.unsubscribeQuote(instruments);
+        openAlgoConnectionService.unsubscribe("quote", instruments, client -> client.unsubscribeQuote(instruments));
     }
 
     /**
@@ -68,10 +94,12 @@ public class QuoteListener {
      * 
      * @param exchange Exchange name (e.g., "MCX")
      * @param symbol Symbol name (e.g., "CRUDEOIL16JAN26FUT")
-     * @return Cached Quote data
+     * @return Cached Quote data, or the restored snapshot before the first update
      */
     public Map<String, Object> getCachedQuote(String exchange, String symbol) {
-        return openAlgoClient.getQuotes(exchange, symbol);
+        Map<String, Object> cached = openAlgoLookupService.getQuote(exchange, symbol);
+        // Until the feed delivers the instrument, fall back to the snapshot restored on startup
+        return cached != null && !cached.isEmpty() ? cached : kafkaSnapshotBootstrap.getQuote(exchange, symbol);
     }
 
     /**
@@ -2,11 +2,12 @@ package com.nigam.openalgo.autopilot.socket.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.trading.alert.PriceAlert;
+import com.nigam.openalgo.autopilot.trading.alert.PriceAlertEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
@@ -17,10 +18,13 @@ public class KafkaProducerService {
     private static final Logger logger = LogManager.getLogger(KafkaProducerService.class);
 
     @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private ObjectMapper objectMapper;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private KafkaSpillover kafkaSpillover;
+
+    @Autowired
+    private KafkaSnapshotPublisher kafkaSnapshotPublisher;
 
     @Value("${kafka.topic.ltp}")
     private String ltpTopic;
@@ -31,13 +35,17 @@ public class KafkaProducerService {
     @Value("${kafka.topic.depth}")
     private String depthTopic;
 
+    @Value("${kafka.topic.alert:openalgo-alert}")
+    private String alertTopic;
+
     /**
      * Send LTP data to Kafka
      */
     public void sendLtpData(Map<String, Object> data) {
         try {
             String jsonData = objectMapper.writeValueAsString(data);
-            kafkaTemplate.send(ltpTopic, jsonData);
+            kafkaSpillover.send(ltpTopic, null, jsonData);
+            kafkaSnapshotPublisher.updateLtp(data);
             logger.debug("Sent LTP data to Kafka topic: {}", ltpTopic);
         } catch (JsonProcessingException e) {
             logger.error("Error serializing LTP data to JSON", e);
@@ -52,7 +60,8 @@ public class KafkaProducerService {
     public void sendQuoteData(Map<String, Object> data) {
         try {
             String jsonData = objectMapper.writeValueAsString(data);
-            kafkaTemplate.send(quoteTopic, jsonData);
+            kafkaSpillover.send(quoteTopic, null, jsonData);
+            kafkaSnapshotPublisher.updateQuote(data);
             logger.debug("Sent Quote data to Kafka topic: {}", quoteTopic);
         } catch (JsonProcessingException e) {
             logger.error("Error serializing Quote data to JSON", e);
@@ -67,7 +76,8 @@ public class KafkaProducerService {
     public void sendDepthData(Map<String, Object> data) {
         try {
             String jsonData = objectMapper.writeValueAsString(data);
-            kafkaTemplate.send(depthTopic, jsonData);
+            kafkaSpillover.send(depthTopic, null, jsonData);
+            kafkaSnapshotPublisher.updateDepth(data);
             logger.debug("Sent Depth data to Kafka topic: {}", depthTopic);
         } catch (JsonProcessingException e) {
             logger.error("Error serializing Depth data to JSON", e);
@@ -75,4 +85,20 @@ public class KafkaProducerService {
             logger.error("Error sending Depth data to Kafka", e);
         }
     }
+
+    /**
+     * Send a fired price alert to Kafka, keyed by EXCHANGE:SYMBOL
+     */
+    public void sendAlertData(PriceAlertEvent event) {
+        try {
+            String jsonData = objectMapper.writeValueAsString(event);
+            PriceAlert alert = event.alert();
+            kafkaSpillover.send(alertTopic, alert.exchange() + ":" + alert.symbol(), jsonData);
+            logger.debug("Sent alert {} to Kafka topic: {}", alert.id(), alertTopic);
+        } catch (JsonProcessingException e) {
+            logger.error("Error serializing alert to JSON", e);
+        } catch (Exception e) {
+            logger.error("Error sending alert to Kafka", e);
+        }
+    }
 }
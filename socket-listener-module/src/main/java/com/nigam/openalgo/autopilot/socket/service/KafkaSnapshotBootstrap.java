@@ -0,0 +1,243 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataDispatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Rebuilds in-process caches from the compacted snapshot topic written by
+ * {@link KafkaSnapshotPublisher} before the OpenAlgo feed goes live.
+ *
+ * Partitions are split across up to parallelism consumers without a group, each reading its
+ * partitions from the beginning up to the end offsets taken at start; an instrument's records
+ * all land in one partition, so the last one read is its latest snapshot. Once every reader is
+ * done, or bootstrap-timeout-ms has passed, the snapshots are replayed through
+ * {@link MarketDataDispatcher#restoreLtp(Map)} and friends, which only reach handlers holding
+ * latest values, and kept as the fallback for the listeners' cached lookups until the feed
+ * delivers fresh data. Restore time and time since JVM start are logged and exported.
+ */
+@Service
+public class KafkaSnapshotBootstrap {
+
+    private static final Logger logger = LogManager.getLogger(KafkaSnapshotBootstrap.class);
+    private static final TypeReference<Map<String, Object>> SNAPSHOT_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private MarketDataDispatcher marketDataDispatcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${openalgo.kafka.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${kafka.topic.snapshot:openalgo-snapshot}")
+    private String snapshotTopic;
+
+    @Value("${openalgo.kafka.snapshot.bootstrap-parallelism:0}")
+    private int parallelism;
+
+    @Value("${openalgo.kafka.snapshot.bootstrap-timeout-ms:30000}")
+    private long timeoutMs;
+
+    private final Map<String, Map<String, Object>> snapshots = new ConcurrentHashMap<>();
+    private boolean restored;
+    private volatile long restoreMillis = -1;
+    private volatile long readyMillis = -1;
+
+    /**
+     * Restore the latest snapshot of every instrument; only the first call does any work
+     */
+    public synchronized void restore() {
+        if (!enabled || restored) {
+            return;
+        }
+        restored = true;
+        Gauge.builder("openalgo.kafka.snapshot.restore.ms", this, b -> b.restoreMillis)
+                .description("Time spent reading and applying the snapshot topic on startup")
+                .register(meterRegistry);
+        Gauge.builder("openalgo.kafka.snapshot.ready.ms", this, b -> b.readyMillis)
+                .description("Time from JVM start until the restored snapshot was applied")
+                .register(meterRegistry);
+        Gauge.builder("openalgo.kafka.snapshot.instruments", snapshots, Map::size)
+                .description("Instruments restored from the snapshot topic")
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        Map<String, String> latest = new ConcurrentHashMap<>();
+        try {
+            read(latest);
+        } catch (Exception e) {
+            logger.error("Error reading snapshot topic {}; going live with {} instruments restored",
+                    snapshotTopic, latest.size(), e);
+        }
+        long readNanos = System.nanoTime() - start;
+
+        for (Map.Entry<String, String> record : latest.entrySet()) {
+            try {
+                apply(record.getKey(), objectMapper.readValue(record.getValue(), SNAPSHOT_TYPE));
+            } catch (Exception e) {
+                logger.warn("Skipping unreadable snapshot for {}", record.getKey(), e);
+            }
+        }
+        restoreMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        readyMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        logger.info("Restored {} instrument snapshots from {} in {} ms (read {} ms), {} ms after JVM start",
+                snapshots.size(), snapshotTopic, restoreMillis, TimeUnit.NANOSECONDS.toMillis(readNanos), readyMillis);
+    }
+
+    /**
+     * Restored LTP message for an instrument, or null when none was restored
+     */
+    public Map<String, Object> getLtp(String exchange, String symbol) {
+        return part(exchange, symbol, "ltp");
+    }
+
+    /**
+     * Restored quote message for an instrument, or null when none was restored
+     */
+    public Map<String, Object> getQuote(String exchange, String symbol) {
+        return part(exchange, symbol, "quote");
+    }
+
+    /**
+     * Restored depth message for an instrument, or null when none was restored
+     */
+    public Map<String, Object> getDepth(String exchange, String symbol) {
+        return part(exchange, symbol, "depth");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> part(String exchange, String symbol, String field) {
+        Map<String, Object> snapshot = snapshots.get(exchange + ":" + symbol);
+        return snapshot != null && snapshot.get(field) instanceof Map<?, ?> message ? (Map<String, Object>) message : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(String key, Map<String, Object> snapshot) {
+        snapshots.put(key, snapshot);
+        if (snapshot.get("quote") instanceof Map<?, ?> quote) {
+            marketDataDispatcher.restoreQuote((Map<String, Object>) quote);
+        }
+        if (snapshot.get("depth") instanceof Map<?, ?> depth) {
+            marketDataDispatcher.restoreDepth((Map<String, Object>) depth);
+        }
+        // Last, so the LTP wins over the quote's copy of it
+        if (snapshot.get("ltp") instanceof Map<?, ?> ltp) {
+            marketDataDispatcher.restoreLtp((Map<String, Object>) ltp);
+        }
+    }
+
+    private void read(Map<String, String> latest) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        List<TopicPartition> partitions = new ArrayList<>();
+        try (KafkaConsumer<String, String> consumer = newConsumer()) {
+            List<PartitionInfo> infos = consumer.partitionsFor(snapshotTopic, Duration.ofMillis(timeoutMs));
+            if (infos != null) {
+                for (PartitionInfo info : infos) {
+                    partitions.add(new TopicPartition(info.topic(), info.partition()));
+                }
+            }
+        }
+        if (partitions.isEmpty()) {
+            logger.info("Snapshot topic {} has no partitions yet; nothing to restore", snapshotTopic);
+            return;
+        }
+
+        int readers = Math.min(partitions.size(), parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(readers, r -> {
+            Thread thread = new Thread(r, "kafka-snapshot-bootstrap");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(readers);
+            for (int i = 0; i < readers; i++) {
+                List<TopicPartition> assigned = new ArrayList<>();
+                for (int p = i; p < partitions.size(); p += readers) {
+                    assigned.add(partitions.get(p));
+                }
+                futures.add(pool.submit(() -> readPartitions(assigned, latest, deadline)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    logger.warn("Snapshot bootstrap timed out after {} ms; going live with a partial snapshot", timeoutMs);
+                    break;
+                } catch (ExecutionException e) {
+                    logger.error("Snapshot bootstrap reader failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void readPartitions(List<TopicPartition> assigned, Map<String, String> latest, long deadline) {
+        try (KafkaConsumer<String, String> consumer = newConsumer()) {
+            consumer.assign(assigned);
+            consumer.seekToBeginning(assigned);
+            Map<TopicPartition, Long> remaining = new HashMap<>(consumer.endOffsets(assigned));
+            remaining.entrySet().removeIf(end -> consumer.position(end.getKey()) >= end.getValue());
+            while (!remaining.isEmpty() && System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(100))) {
+                    if (record.key() == null) {
+                        continue;
+                    }
+                    if (record.value() == null) {
+                        // Tombstone: the instrument was removed
+                        latest.remove(record.key());
+                    } else {
+                        latest.put(record.key(), record.value());
+                    }
+                }
+                remaining.entrySet().removeIf(end -> consumer.position(end.getKey()) >= end.getValue());
+            }
+        }
+    }
+
+    private KafkaConsumer<String, String> newConsumer() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        return new KafkaConsumer<>(props);
+    }
+}
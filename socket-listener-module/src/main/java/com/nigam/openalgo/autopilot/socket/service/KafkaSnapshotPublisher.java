@@ -0,0 +1,172 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataFields;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes the latest LTP, quote and depth of every instrument to a compacted topic keyed by
+ * EXCHANGE:SYMBOL, so Kafka keeps one snapshot record per instrument.
+ *
+ * Updates only replace the instrument's latest messages on the feed thread; a flusher sends
+ * each instrument changed since the previous flush once per flush-interval-ms, so a busy
+ * instrument costs one record per interval however often it ticks. The record is a JSON
+ * object holding the raw "ltp", "quote" and "depth" messages and the "updated" time, and is
+ * read back on startup by {@link KafkaSnapshotBootstrap}.
+ */
+@Service
+public class KafkaSnapshotPublisher {
+
+    private static final Logger logger = LogManager.getLogger(KafkaSnapshotPublisher.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private KafkaSpillover kafkaSpillover;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${openalgo.kafka.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${kafka.topic.snapshot:openalgo-snapshot}")
+    private String snapshotTopic;
+
+    @Value("${openalgo.kafka.snapshot.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> dirty = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService flushExecutor;
+    private Counter writtenCounter;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        writtenCounter = Counter.builder("openalgo.kafka.snapshot.writes")
+                .description("Instrument snapshots written to the compacted topic")
+                .register(meterRegistry);
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kafka-snapshot-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Publishing instrument snapshots to compacted topic {} every {} ms", snapshotTopic, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+            // Last values before a restart are the ones the next start restores
+            flush();
+        }
+    }
+
+    /**
+     * Record an LTP message as the instrument's latest
+     */
+    public void updateLtp(Map<String, Object> data) {
+        Entry entry = entry(data);
+        if (entry != null) {
+            entry.ltp = data;
+            markDirty(entry);
+        }
+    }
+
+    /**
+     * Record a quote message as the instrument's latest
+     */
+    public void updateQuote(Map<String, Object> data) {
+        Entry entry = entry(data);
+        if (entry != null) {
+            entry.quote = data;
+            markDirty(entry);
+        }
+    }
+
+    /**
+     * Record a depth message as the instrument's latest
+     */
+    public void updateDepth(Map<String, Object> data) {
+        Entry entry = entry(data);
+        if (entry != null) {
+            entry.depth = data;
+            markDirty(entry);
+        }
+    }
+
+    private Entry entry(Map<String, Object> data) {
+        if (!enabled) {
+            return null;
+        }
+        String exchange = MarketDataFields.getString(data, "exchange");
+        String symbol = MarketDataFields.getString(data, "symbol");
+        if (exchange == null || symbol == null) {
+            return null;
+        }
+        return entries.computeIfAbsent(exchange + ":" + symbol, Entry::new);
+    }
+
+    private void markDirty(Entry entry) {
+        entry.updated = System.currentTimeMillis();
+        if (entry.dirty.compareAndSet(false, true)) {
+            dirty.add(entry);
+        }
+    }
+
+    private void flush() {
+        Entry entry;
+        while ((entry = dirty.poll()) != null) {
+            // Cleared before reading so an update racing with the send is sent again next time
+            entry.dirty.set(false);
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("ltp", entry.ltp);
+            snapshot.put("quote", entry.quote);
+            snapshot.put("depth", entry.depth);
+            snapshot.put("updated", entry.updated);
+            try {
+                kafkaSpillover.send(snapshotTopic, entry.key, objectMapper.writeValueAsString(snapshot));
+                writtenCounter.increment();
+            } catch (Exception e) {
+                logger.error("Error sending snapshot for {} to Kafka", entry.key, e);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final AtomicBoolean dirty = new AtomicBoolean();
+        volatile Map<String, Object> ltp;
+        volatile Map<String, Object> quote;
+        volatile Map<String, Object> depth;
+        volatile long updated;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+}
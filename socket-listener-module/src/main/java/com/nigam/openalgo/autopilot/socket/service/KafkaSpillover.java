@@ -0,0 +1,398 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeBus;
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeEvent;
+import com.nigam.openalgo.autopilot.socket.config.KafkaConfig;
+import com.nigam.openalgo.autopilot.socket.spill.SpillQueue;
+import com.nigam.openalgo.autopilot.socket.spill.SpillRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sends records to Kafka, spilling them to disk while the producer is failing.
+ *
+ * The first failed or rejected send switches to spill mode: from then on every record is
+ * appended to the {@link SpillQueue} instead, so the feed thread only pays for a buffered
+ * file append and order is kept. A drain thread replays the queue in order, batch by batch;
+ * a batch is committed only once Kafka acknowledged all of it, so delivery is at-least-once.
+ * Records spilled before Kafka came back are replayed at no more than drain-rate records per
+ * second; records appended after that are live traffic queued behind them and are drained
+ * as fast as Kafka takes them, so the queue empties even when the live rate is at or above
+ * drain-rate. When the queue is empty the sender goes back to sending directly. A backlog
+ * left by a previous run is drained on startup. openalgo.kafka.spill.lag is how long the
+ * oldest queued record has been waiting. Spilled records that fail their checksum are set
+ * aside by the queue and counted in openalgo.kafka.spill.corrupt instead of stalling the drain.
+ * Records that fail in flight just before the switch are spilled behind those already
+ * queued, the one case where order can slip.
+ *
+ * When the bootstrap servers or kafka.producer.* settings change, a new producer is built and
+ * swapped in for subsequent sends. The previous one is closed once the sends that already
+ * picked it up have returned, which flushes what it buffered, so the feed never waits for it.
+ */
+@Service
+public class KafkaSpillover {
+
+    private static final Logger logger = LogManager.getLogger(KafkaSpillover.class);
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    @Autowired
+    private ConfigurationChangeBus configurationChangeBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${openalgo.kafka.spill.enabled:false}")
+    private boolean enabled;
+
+    @Value("${openalgo.kafka.spill.directory:data/spill}")
+    private String directory;
+
+    @Value("${openalgo.kafka.spill.segment-bytes:67108864}")
+    private long segmentBytes;
+
+    @Value("${openalgo.kafka.spill.max-bytes:10737418240}")
+    private long maxBytes;
+
+    @Value("${openalgo.kafka.spill.drain-rate:5000}")
+    private int drainRate;
+
+    @Value("${openalgo.kafka.spill.drain-batch:500}")
+    private int drainBatch;
+
+    @Value("${openalgo.kafka.spill.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${openalgo.kafka.spill.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    private final Object lock = new Object();
+    // Held shared around each send so a producer rebuild can wait out sends on the old producer
+    private final ReentrantReadWriteLock producerLock = new ReentrantReadWriteLock();
+    private volatile KafkaTemplate<String, String> template;
+    private SpillQueue queue;
+    private volatile boolean spilling;
+    private volatile boolean running;
+    private volatile double drainRecordsPerSecond;
+    private Thread drainThread;
+
+    // Lag tracking, guarded by lock: each mark is {records appended before it, System.nanoTime()},
+    // taken at most every LAG_MARK_NANOS while appending, so the oldest queued record's spill
+    // time is known to within that interval
+    private static final long LAG_MARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private final ArrayDeque<long[]> appendMarks = new ArrayDeque<>();
+    private long appendedRecords;
+    private long committedRecords;
+
+    private Counter spilledCounter;
+    private Counter drainedCounter;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void init() throws IOException {
+        template = kafkaTemplate;
+        configurationChangeBus.subscribe(this::rebuildProducer, "spring.kafka.bootstrap-servers", "kafka.producer.");
+        if (!enabled) {
+            return;
+        }
+        queue = new SpillQueue(Paths.get(directory), segmentBytes);
+        spilling = !queue.isEmpty();
+        if (spilling) {
+            // Spill time of a previous run's backlog is unknown; count its lag from startup
+            appendMarks.add(new long[]{0, System.nanoTime()});
+            appendedRecords = queue.size();
+        }
+
+        spilledCounter = Counter.builder("openalgo.kafka.spill.spilled")
+                .description("Records written to the spill queue")
+                .register(meterRegistry);
+        drainedCounter = Counter.builder("openalgo.kafka.spill.drained")
+                .description("Spilled records delivered to Kafka")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("openalgo.kafka.spill.dropped")
+                .description("Records dropped because the spill queue was full or unwritable")
+                .register(meterRegistry);
+        FunctionCounter.builder("openalgo.kafka.spill.corrupt", this, KafkaSpillover::corruptBytes)
+                .description("Bytes of unreadable spilled records skipped and moved aside")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("openalgo.kafka.spill.backlog.records", this, s -> s.backlog(false))
+                .register(meterRegistry);
+        Gauge.builder("openalgo.kafka.spill.backlog.bytes", this, s -> s.backlog(true))
+                .register(meterRegistry);
+        Gauge.builder("openalgo.kafka.spill.drain.rate", this, s -> s.drainRecordsPerSecond)
+                .description("Records per second delivered by the latest drain batch")
+                .register(meterRegistry);
+        Gauge.builder("openalgo.kafka.spill.active", this, s -> s.spilling ? 1 : 0)
+                .description("1 while records are routed to the spill queue")
+                .register(meterRegistry);
+        Gauge.builder("openalgo.kafka.spill.lag", this, KafkaSpillover::lagSeconds)
+                .description("How long the oldest queued record has been waiting to be delivered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        running = true;
+        drainThread = new Thread(this::drainLoop, "kafka-spill-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        logger.info("Kafka spill queue at {} with {} records waiting", Paths.get(directory).toAbsolutePath(), queue.size());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        if (template != kafkaTemplate) {
+            // Rebuilt producers are not beans; close the current one here
+            template.getProducerFactory().reset();
+        }
+        if (queue == null) {
+            return;
+        }
+        running = false;
+        drainThread.interrupt();
+        drainThread.join(5000);
+        synchronized (lock) {
+            queue.close();
+        }
+    }
+
+    /**
+     * Send a record, or queue it on disk while Kafka is unavailable
+     */
+    public void send(String topic, String key, String value) {
+        if (!enabled) {
+            doSend(topic, key, value);
+            return;
+        }
+        if (spilling) {
+            spill(topic, key, value);
+            return;
+        }
+        try {
+            doSend(topic, key, value).whenComplete((result, failure) -> {
+                if (failure != null) {
+                    startSpilling(failure);
+                    spill(topic, key, value);
+                }
+            });
+        } catch (Exception e) {
+            // Typically max.block.ms elapsed with the producer buffer full
+            startSpilling(e);
+            spill(topic, key, value);
+        }
+    }
+
+    public boolean isSpilling() {
+        return spilling;
+    }
+
+    private void startSpilling(Throwable cause) {
+        synchronized (lock) {
+            if (!spilling) {
+                spilling = true;
+                logger.warn("Kafka send failed, spilling records to disk until it recovers: {}", cause.getMessage());
+            }
+        }
+    }
+
+    private void spill(String topic, String key, String value) {
+        synchronized (lock) {
+            if (spilling) {
+                if (queue.sizeBytes() >= maxBytes) {
+                    droppedCounter.increment();
+                    return;
+                }
+                try {
+                    queue.append(new SpillRecord(topic, key, value));
+                    spilledCounter.increment();
+                    long now = System.nanoTime();
+                    if (appendMarks.isEmpty() || now - appendMarks.peekLast()[1] >= LAG_MARK_NANOS) {
+                        appendMarks.add(new long[]{appendedRecords, now});
+                    }
+                    appendedRecords++;
+                } catch (IOException e) {
+                    droppedCounter.increment();
+                    logger.error("Error writing to Kafka spill queue, record to {} dropped", topic, e);
+                }
+                return;
+            }
+        }
+        // The drain emptied the queue since the caller looked; order no longer needs the queue
+        doSend(topic, key, value);
+    }
+
+    private CompletableFuture<SendResult<String, String>> doSend(String topic, String key, String value) {
+        Lock shared = producerLock.readLock();
+        shared.lock();
+        try {
+            return template.send(topic, key, value);
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    /**
+     * Swap in a producer built from the changed settings, then close the previous one
+     */
+    private void rebuildProducer(ConfigurationChangeEvent event) {
+        logger.info("Kafka producer settings {} changed, rebuilding the producer", event.keys());
+        KafkaTemplate<String, String> previous = template;
+        template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(kafkaConfig.producerConfigs()));
+
+        // Sends holding the shared lock may still be using the previous producer; wait them out
+        producerLock.writeLock().lock();
+        producerLock.writeLock().unlock();
+
+        // Closing waits for buffered records up to the factory's close timeout
+        previous.getProducerFactory().reset();
+        logger.info("Kafka producer rebuilt; previous producer drained and closed");
+    }
+
+    private void drainLoop() {
+        // Records still to replay at drain-rate; -1 until the first batch after an outage is delivered
+        long pacedRecords = -1;
+        while (running) {
+            try {
+                if (!spilling) {
+                    synchronized (lock) {
+                        queue.flush();
+                    }
+                    TimeUnit.MILLISECONDS.sleep(100);
+                    continue;
+                }
+                SpillQueue.Batch batch;
+                synchronized (lock) {
+                    // Also makes what was spilled since the last batch durable
+                    queue.flush();
+                    batch = queue.peek(drainBatch);
+                    if (batch.isEmpty()) {
+                        spilling = false;
+                        appendMarks.clear();
+                        pacedRecords = -1;
+                        drainRecordsPerSecond = 0;
+                        logger.info("Kafka spill queue drained, sending directly again");
+                        continue;
+                    }
+                }
+                long start = System.nanoTime();
+                if (!deliver(batch.records())) {
+                    pacedRecords = -1;
+                    drainRecordsPerSecond = 0;
+                    TimeUnit.MILLISECONDS.sleep(retryBackoffMs);
+                    continue;
+                }
+                int delivered = batch.records().size();
+                synchronized (lock) {
+                    if (pacedRecords < 0) {
+                        // Kafka is back: what is queued now was spilled during the outage, anything
+                        // appended from here on is live traffic waiting behind it
+                        pacedRecords = queue.size();
+                    }
+                    queue.commit(batch);
+                    committed(delivered);
+                }
+                drainedCounter.increment(delivered);
+
+                // Pace the outage backlog to the catch-up rate; live traffic behind it is not held back
+                boolean paced = pacedRecords > 0;
+                pacedRecords = Math.max(0, pacedRecords - delivered);
+                long minimumNanos = paced && drainRate > 0 ? delivered * 1_000_000_000L / drainRate : 0;
+                long elapsed = System.nanoTime() - start;
+                if (elapsed < minimumNanos) {
+                    TimeUnit.NANOSECONDS.sleep(minimumNanos - elapsed);
+                }
+                drainRecordsPerSecond = delivered * 1e9 / Math.max(1, System.nanoTime() - start);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Error draining Kafka spill queue", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(retryBackoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop lag marks whose records have all been delivered; caller holds lock
+     */
+    private void committed(int records) {
+        committedRecords += records;
+        while (appendMarks.size() > 1) {
+            long[] oldest = appendMarks.poll();
+            if (appendMarks.peek()[0] > committedRecords) {
+                appendMarks.addFirst(oldest);
+                break;
+            }
+        }
+    }
+
+    private double lagSeconds() {
+        synchronized (lock) {
+            if (committedRecords >= appendedRecords || appendMarks.isEmpty()) {
+                return 0;
+            }
+            return (System.nanoTime() - appendMarks.peekFirst()[1]) / 1e9;
+        }
+    }
+
+    /**
+     * @return true if Kafka acknowledged every record
+     */
+    private boolean deliver(List<SpillRecord> records) throws InterruptedException {
+        List<CompletableFuture<?>> sends = new ArrayList<>(records.size());
+        try {
+            for (SpillRecord record : records) {
+                sends.add(doSend(record.topic(), record.key(), record.value()));
+            }
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.debug("Kafka still unavailable, {} spilled records waiting: {}", backlog(false), e.getMessage());
+            return false;
+        }
+    }
+
+    private double corruptBytes() {
+        synchronized (lock) {
+            return queue.corruptBytes();
+        }
+    }
+
+    private double backlog(boolean inBytes) {
+        synchronized (lock) {
+            return inBytes ? queue.sizeBytes() : queue.size();
+        }
+    }
+}
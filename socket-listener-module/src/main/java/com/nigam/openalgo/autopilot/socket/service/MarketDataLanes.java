@@ -0,0 +1,102 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.nigam.openalgo.autopilot.socket.lane.KeyedExecutor;
+import com.nigam.openalgo.autopilot.socket.lane.StreamLane;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataFields;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * One {@link StreamLane} per feed stream, so LTP, quote and depth updates are dispatched and
+ * serialized on separate workers and a flood on one stream cannot delay another.
+ *
+ * Each lane is configured under openalgo.lanes.&lt;stream&gt;: capacity, conflate, priority
+ * and cpu. Quote and depth lanes conflate per instrument by default, since only the latest
+ * quote or book matters; the LTP lane keeps every tick for recorders, bars and alerts and
+ * gets the highest priority. With openalgo.lanes.enabled=false updates are processed on the
+ * feed thread as before. Lanes drain into the Kafka producer on shutdown, so they depend on it.
+ */
+@Service
+@DependsOn("kafkaProducerService")
+public class MarketDataLanes {
+
+    private static final Logger logger = LogManager.getLogger(MarketDataLanes.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${openalgo.lanes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${openalgo.lanes.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private StreamLane ltpLane;
+    private StreamLane quoteLane;
+    private StreamLane depthLane;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        ltpLane = createLane("ltp", 65536, false, Thread.MAX_PRIORITY);
+        quoteLane = createLane("quote", 16384, true, Thread.NORM_PRIORITY);
+        depthLane = createLane("depth", 4096, true, Thread.NORM_PRIORITY - 1);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        for (StreamLane lane : new StreamLane[]{ltpLane, quoteLane, depthLane}) {
+            lane.shutdown(shutdownTimeoutMs);
+        }
+    }
+
+    public KeyedExecutor ltp() {
+        return enabled ? ltpLane : KeyedExecutor.DIRECT;
+    }
+
+    public KeyedExecutor quote() {
+        return enabled ? quoteLane : KeyedExecutor.DIRECT;
+    }
+
+    public KeyedExecutor depth() {
+        return enabled ? depthLane : KeyedExecutor.DIRECT;
+    }
+
+    /**
+     * Lane key of a feed message: its instrument as EXCHANGE:SYMBOL, or null if it names none
+     */
+    public static String instrumentKey(Map<String, Object> data) {
+        String exchange = MarketDataFields.getString(data, "exchange");
+        String symbol = MarketDataFields.getString(data, "symbol");
+        return exchange != null && symbol != null ? exchange + ':' + symbol : null;
+    }
+
+    private StreamLane createLane(String name, int defaultCapacity, boolean defaultConflate, int defaultPriority) {
+        String prefix = "openalgo.lanes." + name + ".";
+        int capacity = environment.getProperty(prefix + "capacity", Integer.class, defaultCapacity);
+        boolean conflate = environment.getProperty(prefix + "conflate", Boolean.class, defaultConflate);
+        int priority = environment.getProperty(prefix + "priority", Integer.class, defaultPriority);
+        int cpu = environment.getProperty(prefix + "cpu", Integer.class, -1);
+        logger.info("Market data lane {}: capacity {}, conflate {}, priority {}, cpu {}",
+                name, capacity, conflate, priority, cpu >= 0 ? cpu : "any");
+        return new StreamLane(name, capacity, conflate, priority, cpu, meterRegistry);
+    }
+}
@@ -1,27 +1,56 @@
 package com.nigam.openalgo.autopilot.socket.service;
 
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeBus;
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeEvent;
 import in.openalgo.OpenAlgo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 /**
  * Service to manage OpenAlgo connection lifecycle
+ *
+ * Owns the live client and the subscriptions made through it. When an
+ * openalgo.broker.default.* setting changes, a new client is connected and every
+ * subscription replayed on it before the previous client is disconnected, so the feed keeps
+ * flowing; if the new client cannot connect, the previous one stays in use.
  */
 @Service
 public class OpenAlgoConnectionService {
 
     private static final Logger logger = LogManager.getLogger(OpenAlgoConnectionService.class);
 
+    private record Subscription(String mode, List<Map<String, String>> instruments) {
+    }
+
+    @Autowired
+    private ObjectProvider<OpenAlgo> openAlgoClientProvider;
+
     @Autowired
-    private OpenAlgo openAlgoClient;
+    private KafkaSnapshotBootstrap kafkaSnapshotBootstrap;
+
+    @Autowired
+    private ConfigurationChangeBus configurationChangeBus;
+
+    private final Object connectionLock = new Object();
+    private final Map<Subscription, Consumer<OpenAlgo>> subscriptions = new LinkedHashMap<>();
+    private volatile OpenAlgo openAlgoClient;
 
     @PostConstruct
     public void connect() {
+        // Warm caches from the last-value snapshot before live data starts arriving
+        kafkaSnapshotBootstrap.restore();
+        openAlgoClient = openAlgoClientProvider.getObject();
         try {
             logger.info("Connecting to OpenAlgo WebSocket...");
             openAlgoClient.connect();
@@ -29,16 +58,41 @@ public class OpenAlgoConnectionService {
         } catch (Exception e) {
             logger.error("Failed to connect to OpenAlgo WebSocket", e);
         }
+        configurationChangeBus.subscribe(this::reconnect, "openalgo.broker.default.");
     }
 
     @PreDestroy
     public void disconnect() {
-        try {
-            logger.info("Disconnecting from OpenAlgo WebSocket...");
-            openAlgoClient.disconnect();
-            logger.info("Successfully disconnected from OpenAlgo WebSocket");
-        } catch (Exception e) {
-            logger.error("Error disconnecting from OpenAlgo WebSocket", e);
+        disconnect(openAlgoClient);
+    }
+
+    /**
+     * Client currently connected to OpenAlgo; replaced when the connection settings change
+     */
+    public OpenAlgo getClient() {
+        return openAlgoClient;
+    }
+
+    /**
+     * Subscribe through the current client and again on every client that replaces it
+     *
+     * @param mode      Stream name, e.g. "ltp"; with the instruments it identifies the subscription
+     * @param subscribe Makes the subscription on the client it is given
+     */
+    public void subscribe(String mode, List<Map<String, String>> instruments, Consumer<OpenAlgo> subscribe) {
+        synchronized (connectionLock) {
+            subscriptions.put(new Subscription(mode, List.copyOf(instruments)), subscribe);
+            subscribe.accept(openAlgoClient);
+        }
+    }
+
+    /**
+     * Drop a subscription made with {@link #subscribe} and cancel it on the current client
+     */
+    public void unsubscribe(String mode, List<Map<String, String>> instruments, Consumer<OpenAlgo> unsubscribe) {
+        synchronized (connectionLock) {
+            subscriptions.remove(new Subscription(mode, List.copyOf(instruments)));
+            unsubscribe.accept(openAlgoClient);
         }
     }
 
@@ -50,4 +104,34 @@ public class OpenAlgoConnectionService {
         // You may need to implement a heartbeat mechanism or check connection state
         return true; // Placeholder - implement based on OpenAlgo API
     }
+
+    private void reconnect(ConfigurationChangeEvent event) {
+        synchronized (connectionLock) {
+            logger.info("OpenAlgo connection settings {} changed, reconnecting", event.keys());
+            OpenAlgo replacement = openAlgoClientProvider.getObject();
+            try {
+                replacement.connect();
+                subscriptions.values().forEach(subscribe -> subscribe.accept(replacement));
+            } catch (Exception e) {
+                logger.error("Failed to connect with the new OpenAlgo settings; keeping the current connection", e);
+                disconnect(replacement);
+                return;
+            }
+            OpenAlgo previous = openAlgoClient;
+            openAlgoClient = replacement;
+            // Updates now arrive through the new client; the previous one can finish and close
+            disconnect(previous);
+            logger.info("Reconnected to OpenAlgo with {} subscriptions", subscriptions.size());
+        }
+    }
+
+    private void disconnect(OpenAlgo client) {
+        try {
+            logger.info("Disconnecting from OpenAlgo WebSocket...");
+            client.disconnect();
+            logger.info("Successfully disconnected from OpenAlgo WebSocket");
+        } catch (Exception e) {
+            logger.error("Error disconnecting from OpenAlgo WebSocket", e);
+        }
+    }
 }
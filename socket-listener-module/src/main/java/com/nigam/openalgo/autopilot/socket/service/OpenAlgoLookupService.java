@@ -0,0 +1,183 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.openalgo.OpenAlgo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Rate-limited, coalesced lookups of cached market data through the OpenAlgo client.
+ *
+ * A response younger than cache-ttl-ms is returned without calling the broker; at most
+ * cache-max-entries responses are kept, and expired ones are dropped. Otherwise the
+ * first caller for an instrument and stream makes the call and concurrent callers for the same
+ * one wait for its result instead of calling again. Calls take a token from a bucket refilled
+ * at rate-per-second and holding up to burst tokens; a caller that would wait longer than
+ * max-wait-ms for one gets null, as do callers whose shared call fails, so the listeners fall
+ * back to their restored snapshot.
+ *
+ * Exported: openalgo.lookup.requests by result (cached, coalesced, called, throttled, failed),
+ * openalgo.lookup.queue (time waiting for a token), openalgo.lookup.latency (broker call time)
+ * and openalgo.lookup.in.flight.
+ */
+@Service
+public class OpenAlgoLookupService {
+
+    private static final Logger logger = LogManager.getLogger(OpenAlgoLookupService.class);
+
+    @Autowired
+    private OpenAlgoConnectionService openAlgoConnectionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${openalgo.lookup.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${openalgo.lookup.burst:10}")
+    private int burst;
+
+    @Value("${openalgo.lookup.max-wait-ms:500}")
+    private long maxWaitMs;
+
+    @Value("${openalgo.lookup.cache-ttl-ms:200}")
+    private long cacheTtlMs;
+
+    @Value("${openalgo.lookup.cache-max-entries:10000}")
+    private long cacheMaxEntries;
+
+    @Value("${openalgo.lookup.wait-timeout-ms:2000}")
+    private long waitTimeoutMs;
+
+    private Cache<String, Map<String, Object>> responses;
+    private final Map<String, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    // Token bucket; tokens go negative for callers holding a reservation
+    private final Object bucketLock = new Object();
+    private double tokens;
+    private long refilledAtNanos;
+
+    @PostConstruct
+    public void init() {
+        responses = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtlMs, TimeUnit.MILLISECONDS)
+                .maximumSize(cacheMaxEntries)
+                .build();
+        tokens = burst;
+        refilledAtNanos = System.nanoTime();
+        Gauge.builder("openalgo.lookup.in.flight", inFlight, Map::size)
+                .description("Broker lookups currently in progress")
+                .register(meterRegistry);
+    }
+
+    public Map<String, Object> getLtp(String exchange, String symbol) {
+        return lookup("ltp", exchange, symbol, client -> client.getLtp(exchange, symbol));
+    }
+
+    public Map<String, Object> getQuote(String exchange, String symbol) {
+        return lookup("quote", exchange, symbol, client -> client.getQuotes(exchange, symbol));
+    }
+
+    public Map<String, Object> getDepth(String exchange, String symbol) {
+        return lookup("depth", exchange, symbol, client -> client.getDepth(exchange, symbol));
+    }
+
+    private Map<String, Object> lookup(String mode, String exchange, String symbol,
+                                       Function<OpenAlgo, Map<String, Object>> request) {
+        String key = mode + ':' + exchange + ':' + symbol;
+        Map<String, Object> cached = responses.getIfPresent(key);
+        if (cached != null) {
+            count(mode, "cached");
+            return cached;
+        }
+
+        CompletableFuture<Map<String, Object>> call = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> shared = inFlight.putIfAbsent(key, call);
+        if (shared != null) {
+            count(mode, "coalesced");
+            return await(shared);
+        }
+        Map<String, Object> value = null;
+        try {
+            long waitNanos = reserve();
+            if (waitNanos < 0) {
+                count(mode, "throttled");
+                return null;
+            }
+            meterRegistry.timer("openalgo.lookup.queue", "mode", mode).record(waitNanos, TimeUnit.NANOSECONDS);
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            value = request.apply(openAlgoConnectionService.getClient());
+            sample.stop(meterRegistry.timer("openalgo.lookup.latency", "mode", mode));
+            count(mode, "called");
+            if (value != null) {
+                // Cached before waiters are released, so a caller arriving in between finds it
+                responses.put(key, value);
+            }
+            return value;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (RuntimeException e) {
+            count(mode, "failed");
+            logger.warn("OpenAlgo {} lookup for {}:{} failed: {}", mode, exchange, symbol, e.getMessage());
+            return null;
+        } finally {
+            inFlight.remove(key, call);
+            call.complete(value);
+        }
+    }
+
+    private Map<String, Object> await(CompletableFuture<Map<String, Object>> shared) {
+        try {
+            return shared.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Take a token, reserving the next one if none is left
+     *
+     * @return Nanoseconds to wait before calling, or -1 if that would exceed max-wait-ms
+     */
+    private long reserve() {
+        synchronized (bucketLock) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAtNanos) * ratePerSecond / 1e9);
+            refilledAtNanos = now;
+            long waitNanos = tokens >= 1 ? 0 : (long) ((1 - tokens) * 1e9 / ratePerSecond);
+            if (waitNanos > TimeUnit.MILLISECONDS.toNanos(maxWaitMs)) {
+                return -1;
+            }
+            tokens -= 1;
+            return waitNanos;
+        }
+    }
+
+    private void count(String mode, String result) {
+        meterRegistry.counter("openalgo.lookup.requests", "mode", mode, "result", result).increment();
+    }
+}
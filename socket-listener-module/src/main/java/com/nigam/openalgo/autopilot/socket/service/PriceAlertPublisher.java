@@ -0,0 +1,29 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.nigam.openalgo.autopilot.trading.alert.PriceAlertEngine;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Forwards alerts fired by the {@link PriceAlertEngine} to Kafka
+ */
+@Service
+public class PriceAlertPublisher {
+
+    private static final Logger logger = LogManager.getLogger(PriceAlertPublisher.class);
+
+    @Autowired
+    private PriceAlertEngine priceAlertEngine;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    @PostConstruct
+    public void init() {
+        priceAlertEngine.addListener(kafkaProducerService::sendAlertData);
+        logger.info("Publishing fired price alerts to Kafka");
+    }
+}
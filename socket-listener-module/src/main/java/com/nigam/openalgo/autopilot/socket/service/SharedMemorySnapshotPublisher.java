@@ -0,0 +1,102 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketQuote;
+import com.nigam.openalgo.autopilot.trading.shm.SharedSnapshotReader;
+import com.nigam.openalgo.autopilot.trading.shm.SharedSnapshotWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Publishes the latest LTP and quote of every instrument into a shared-memory file, so
+ * strategy processes on the same host can read them with {@link SharedSnapshotReader}
+ * instead of consuming Kafka
+ */
+@Service
+public class SharedMemorySnapshotPublisher implements MarketDataHandler {
+
+    private static final Logger logger = LogManager.getLogger(SharedMemorySnapshotPublisher.class);
+
+    @Autowired
+    private InstrumentRegistry instrumentRegistry;
+
+    @Value("${openalgo.shm.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${openalgo.shm.snapshot.path:/dev/shm/openalgo-autopilot-snapshots}")
+    private String path;
+
+    private static final byte KEY_PUBLISHED = 1;
+    private static final byte KEY_REJECTED = -1;
+
+    private SharedSnapshotWriter writer;
+    // Per instrument: 0 until first seen, then published or rejected
+    private byte[] keyStates;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path file = Paths.get(path);
+        writer = new SharedSnapshotWriter(file, instrumentRegistry.capacity());
+        keyStates = new byte[instrumentRegistry.capacity()];
+        logger.info("Publishing latest market values to shared memory at {}", file.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Override
+    public boolean restoresLatestValues() {
+        return true;
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        if (writer == null || !ensureKey(instrumentId)) {
+            return;
+        }
+        writer.writeLtp(instrumentId, ltp, timestampMillis);
+    }
+
+    @Override
+    public void onQuote(int instrumentId, MarketQuote quote, long timestampMillis) {
+        if (writer == null || !ensureKey(instrumentId)) {
+            return;
+        }
+        writer.writeQuote(instrumentId, quote.ltp(), quote.open(), quote.high(), quote.low(), quote.close(),
+                quote.volume(), quote.averagePrice(), timestampMillis);
+    }
+
+    private boolean ensureKey(int instrumentId) {
+        if (keyStates[instrumentId] == 0) {
+            synchronized (this) {
+                if (keyStates[instrumentId] == 0) {
+                    try {
+                        writer.registerKey(instrumentId, instrumentRegistry.get(instrumentId).key());
+                        keyStates[instrumentId] = KEY_PUBLISHED;
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Not publishing instrument {} to shared memory: {}", instrumentId, e.getMessage());
+                        keyStates[instrumentId] = KEY_REJECTED;
+                    }
+                }
+            }
+        }
+        return keyStates[instrumentId] == KEY_PUBLISHED;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nigam.openalgo.autopilot.socket.service;
+
+import com.nigam.openalgo.autopilot.trading.synthetic.SyntheticInstrumentEngine;
+import com.nigam.openalgo.autopilot.trading.synthetic.SyntheticTick;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Forwards synthetic instrument values to the LTP topic in the same shape as OpenAlgo LTP
+ * messages, so downstream consumers treat them like any other instrument
+ */
+@Service
+public class SyntheticTickPublisher {
+
+    private static final Logger logger = LogManager.getLogger(SyntheticTickPublisher.class);
+
+    @Autowired
+    private SyntheticInstrumentEngine syntheticInstrumentEngine;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    @PostConstruct
+    public void init() {
+        syntheticInstrumentEngine.addListener(this::publish);
+        logger.info("Publishing synthetic instrument ticks to Kafka");
+    }
+
+    private void publish(SyntheticTick tick) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("exchange", tick.exchange());
+        data.put("symbol", tick.symbol());
+        data.put("ltp", tick.ltp());
+        data.put("timestamp", tick.timestampMillis());
+        data.put("synthetic", true);
+        kafkaProducerService.sendLtpData(data);
+    }
+}
@@ -0,0 +1,462 @@
+package com.nigam.openalgo.autopilot.socket.spill;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * FIFO queue of {@link SpillRecord}s on append-only segment files.
+ *
+ * <pre>
+ *   segment  spill-NNNNNNNNNNNNNNNNNNNN.seg, rolled at segment-bytes
+ *   record   int payload length, int CRC32 of payload,
+ *            payload: short topic length, topic, short key length (-1 for none), key, int value length, value
+ *   cursor   "segment offset" of the first record not yet committed
+ * </pre>
+ * Records are consumed with {@link #peek} and only removed by {@link #commit} once delivered,
+ * so a crash between the two redelivers rather than loses them. Segments behind the cursor
+ * are deleted on commit. On open, a record cut short by a crash at the tail is truncated
+ * away. A record that fails its length or CRC check while reading cannot be resynchronized
+ * past, so the rest of its segment is moved to a corrupt-*.bin file for inspection, counted
+ * in {@link #corruptBytes}, and reading continues with the next segment. Segments are forced
+ * to disk when rolled and on {@link #flush}. Not thread-safe; callers serialize access.
+ */
+public class SpillQueue implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(SpillQueue.class);
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CURSOR_FILE = "cursor";
+    private static final String CORRUPT_PREFIX = "corrupt-";
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+    private final ByteBuffer headerBuffer = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel writeChannel;
+    private long writeSegment;
+    private long writeOffset;
+    private boolean unforced;
+
+    private FileChannel readChannel;
+    private long readChannelSegment = -1;
+    private long readSegment;
+    private long readOffset;
+
+    private long records;
+    private long bytes;
+    private long corruptBytes;
+
+    public SpillQueue(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Records appended and not yet committed
+     */
+    public long size() {
+        return records;
+    }
+
+    /**
+     * Bytes on disk of records appended and not yet committed
+     */
+    public long sizeBytes() {
+        return bytes;
+    }
+
+    public boolean isEmpty() {
+        return records == 0;
+    }
+
+    /**
+     * Bytes of unreadable records skipped since open
+     */
+    public long corruptBytes() {
+        return corruptBytes;
+    }
+
+    public void append(SpillRecord record) throws IOException {
+        byte[] topic = record.topic().getBytes(StandardCharsets.UTF_8);
+        byte[] key = record.key() != null ? record.key().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] value = record.value().getBytes(StandardCharsets.UTF_8);
+        int payloadLength = 2 + topic.length + 2 + (key != null ? key.length : 0) + 4 + value.length;
+        ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+        payload.putShort((short) topic.length).put(topic);
+        if (key != null) {
+            payload.putShort((short) key.length).put(key);
+        } else {
+            payload.putShort((short) -1);
+        }
+        payload.putInt(value.length).put(value).flip();
+        crc.reset();
+        crc.update(payload.array(), 0, payloadLength);
+
+        int recordLength = RECORD_HEADER_BYTES + payloadLength;
+        if (writeOffset > 0 && writeOffset + recordLength > segmentBytes) {
+            roll();
+        }
+        if (writeBuffer.remaining() < recordLength) {
+            flushWrites();
+        }
+        if (recordLength > writeBuffer.capacity()) {
+            ByteBuffer large = ByteBuffer.allocate(recordLength);
+            large.putInt(payloadLength).putInt((int) crc.getValue()).put(payload).flip();
+            writeFully(large);
+        } else {
+            writeBuffer.putInt(payloadLength).putInt((int) crc.getValue()).put(payload);
+        }
+        writeOffset += recordLength;
+        records++;
+        bytes += recordLength;
+    }
+
+    /**
+     * Read up to {@code max} of the oldest records without removing them
+     */
+    public Batch peek(int max) throws IOException {
+        flushWrites();
+        List<SpillRecord> batch = new ArrayList<>(Math.min(max, (int) Math.min(records, Integer.MAX_VALUE)));
+        long segment = readSegment;
+        long offset = readOffset;
+        long batchBytes = 0;
+        while (batch.size() < max) {
+            FileChannel channel = readChannel(segment);
+            if (channel == null) {
+                break;
+            }
+            long segmentSize = segment == writeSegment ? writeOffset : channel.size();
+            if (offset + RECORD_HEADER_BYTES > segmentSize) {
+                Long next = segments.higherKey(segment);
+                if (next == null) {
+                    break;
+                }
+                segment = next;
+                offset = 0;
+                continue;
+            }
+            headerBuffer.clear();
+            readFully(channel, headerBuffer, offset);
+            int payloadLength = headerBuffer.getInt(0);
+            int checksum = headerBuffer.getInt(4);
+            if (payloadLength < 8 || offset + RECORD_HEADER_BYTES + payloadLength > segmentSize) {
+                quarantine(segment, offset, segmentSize, "invalid length " + payloadLength);
+                continue;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+            readFully(channel, payload, offset + RECORD_HEADER_BYTES);
+            crc.reset();
+            crc.update(payload.array(), 0, payloadLength);
+            if ((int) crc.getValue() != checksum) {
+                quarantine(segment, offset, segmentSize, "checksum mismatch");
+                continue;
+            }
+            batch.add(decode(payload.flip()));
+            offset += RECORD_HEADER_BYTES + payloadLength;
+            batchBytes += RECORD_HEADER_BYTES + payloadLength;
+        }
+        return new Batch(batch, segment, offset, batchBytes);
+    }
+
+    /**
+     * Remove a batch returned by the latest {@link #peek}
+     */
+    public void commit(Batch batch) throws IOException {
+        readSegment = batch.endSegment;
+        readOffset = batch.endOffset;
+        records -= batch.records.size();
+        bytes -= batch.bytes;
+        if (records == 0) {
+            // Drained: start over on a fresh segment and reclaim the space
+            closeChannels();
+            for (Path file : segments.values()) {
+                Files.deleteIfExists(file);
+            }
+            segments.clear();
+            openWriteSegment(writeSegment + 1);
+            readSegment = writeSegment;
+            readOffset = 0;
+            bytes = 0;
+        } else {
+            while (!segments.isEmpty() && segments.firstKey() < readSegment) {
+                Path file = segments.pollFirstEntry().getValue();
+                if (readChannelSegment >= 0 && readChannelSegment < readSegment) {
+                    readChannel.close();
+                    readChannel = null;
+                    readChannelSegment = -1;
+                }
+                Files.deleteIfExists(file);
+            }
+        }
+        writeCursor();
+    }
+
+    /**
+     * Write buffered appends and force them to disk
+     */
+    public void flush() throws IOException {
+        flushWrites();
+        force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        closeChannels();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+                }
+            });
+        }
+        if (segments.isEmpty()) {
+            openWriteSegment(0);
+            readSegment = 0;
+            readOffset = 0;
+            return;
+        }
+
+        readSegment = segments.firstKey();
+        readOffset = 0;
+        Path cursor = directory.resolve(CURSOR_FILE);
+        if (Files.exists(cursor)) {
+            String[] parts = Files.readString(cursor).trim().split(" ");
+            long cursorSegment = Long.parseLong(parts[0]);
+            if (segments.containsKey(cursorSegment)) {
+                readSegment = cursorSegment;
+                readOffset = Long.parseLong(parts[1]);
+            }
+        }
+        while (segments.firstKey() < readSegment) {
+            Files.deleteIfExists(segments.pollFirstEntry().getValue());
+        }
+
+        // Count what is left and cut off a record torn by a crash
+        for (var entry : segments.entrySet()) {
+            long offset = entry.getKey() == readSegment ? readOffset : 0;
+            try (FileChannel channel = FileChannel.open(entry.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                offset = count(channel, offset);
+                if (offset < size) {
+                    logger.warn("Truncating {} torn bytes at the end of spill segment {}", size - offset, entry.getValue());
+                    channel.truncate(offset);
+                }
+            }
+        }
+        long last = segments.lastKey();
+        writeSegment = last;
+        writeChannel = FileChannel.open(segments.get(last), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writeOffset = writeChannel.size();
+        if (records > 0) {
+            logger.info("Recovered {} spilled records ({} bytes) from {}", records, bytes, directory);
+        }
+    }
+
+    private void roll() throws IOException {
+        flush();
+        writeChannel.close();
+        openWriteSegment(writeSegment + 1);
+    }
+
+    private void openWriteSegment(long segment) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+        writeChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segments.put(segment, file);
+        writeSegment = segment;
+        writeOffset = 0;
+    }
+
+    private void flushWrites() throws IOException {
+        if (writeBuffer.position() > 0) {
+            writeBuffer.flip();
+            writeFully(writeBuffer);
+            writeBuffer.clear();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            writeChannel.write(buffer);
+        }
+        unforced = true;
+    }
+
+    private void force() throws IOException {
+        if (unforced) {
+            writeChannel.force(false);
+            unforced = false;
+        }
+    }
+
+    /**
+     * Move the unreadable tail of a segment aside and recount what is left to read
+     */
+    private void quarantine(long segment, long offset, long segmentSize, String reason) throws IOException {
+        Path file = segments.get(segment);
+        logger.error("Corrupt spill record in {} at {} ({}), skipping the {} bytes after it",
+                file, offset, reason, segmentSize - offset);
+        if (segment == writeSegment) {
+            // Appends go on in a fresh segment so the damaged one can be cut short
+            roll();
+        }
+        Path corrupt = directory.resolve(String.format("%s%020d-%d.bin", CORRUPT_PREFIX, segment, offset));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel copy = FileChannel.open(corrupt, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long copied = 0;
+            while (copied < segmentSize - offset) {
+                copied += channel.transferTo(offset + copied, segmentSize - offset - copied, copy);
+            }
+            channel.truncate(offset);
+            channel.force(false);
+        }
+        corruptBytes += segmentSize - offset;
+        recount();
+    }
+
+    /**
+     * Count the records from the read cursor on, after part of the queue was cut away
+     */
+    private void recount() throws IOException {
+        records = 0;
+        bytes = 0;
+        for (var entry : segments.tailMap(readSegment, true).entrySet()) {
+            long offset = entry.getKey() == readSegment ? readOffset : 0;
+            try (FileChannel channel = FileChannel.open(entry.getValue(), StandardOpenOption.READ)) {
+                count(channel, offset);
+            }
+        }
+    }
+
+    /**
+     * Add the whole records of a segment from an offset to the totals
+     *
+     * @return Offset just past the last whole record
+     */
+    private long count(FileChannel channel, long offset) throws IOException {
+        long size = channel.size();
+        while (offset + RECORD_HEADER_BYTES <= size) {
+            headerBuffer.clear();
+            readFully(channel, headerBuffer, offset);
+            int payloadLength = headerBuffer.getInt(0);
+            if (payloadLength < 8 || offset + RECORD_HEADER_BYTES + payloadLength > size) {
+                break;
+            }
+            offset += RECORD_HEADER_BYTES + payloadLength;
+            records++;
+            bytes += RECORD_HEADER_BYTES + payloadLength;
+        }
+        return offset;
+    }
+
+    private FileChannel readChannel(long segment) throws IOException {
+        if (segment != readChannelSegment) {
+            if (readChannel != null) {
+                readChannel.close();
+                readChannel = null;
+                readChannelSegment = -1;
+            }
+            Path file = segments.get(segment);
+            if (file == null) {
+                return null;
+            }
+            readChannel = FileChannel.open(file, StandardOpenOption.READ);
+            readChannelSegment = segment;
+        }
+        return readChannel;
+    }
+
+    private void writeCursor() throws IOException {
+        Path temporary = directory.resolve(CURSOR_FILE + ".tmp");
+        Files.writeString(temporary, readSegment + " " + readOffset);
+        Files.move(temporary, directory.resolve(CURSOR_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void closeChannels() throws IOException {
+        if (readChannel != null) {
+            readChannel.close();
+            readChannel = null;
+            readChannelSegment = -1;
+        }
+        if (writeChannel != null) {
+            writeChannel.close();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of spill segment");
+            }
+        }
+    }
+
+    private static SpillRecord decode(ByteBuffer payload) {
+        byte[] topic = new byte[payload.getShort()];
+        payload.get(topic);
+        short keyLength = payload.getShort();
+        byte[] key = keyLength >= 0 ? new byte[keyLength] : null;
+        if (key != null) {
+            payload.get(key);
+        }
+        byte[] value = new byte[payload.getInt()];
+        payload.get(value);
+        return new SpillRecord(new String(topic, StandardCharsets.UTF_8),
+                key != null ? new String(key, StandardCharsets.UTF_8) : null,
+                new String(value, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Records read by {@link #peek}, with the position just past them
+     */
+    public static final class Batch {
+        private final List<SpillRecord> records;
+        private final long endSegment;
+        private final long endOffset;
+        private final long bytes;
+
+        private Batch(List<SpillRecord> records, long endSegment, long endOffset, long bytes) {
+            this.records = records;
+            this.endSegment = endSegment;
+            this.endOffset = endOffset;
+            this.bytes = bytes;
+        }
+
+        public List<SpillRecord> records() {
+            return records;
+        }
+
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.nigam.openalgo.autopilot.socket.spill;
+
+/**
+ * Kafka record held on disk while the broker is unavailable
+ *
+ * @param topic Destination topic
+ * @param key   Record key, null for unkeyed topics
+ * @param value Serialized JSON payload
+ */
+public record SpillRecord(String topic, String key, String value) {
+}
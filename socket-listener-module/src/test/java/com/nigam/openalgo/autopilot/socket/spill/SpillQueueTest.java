@@ -0,0 +1,133 @@
+package com.nigam.openalgo.autopilot.socket.spill;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpillQueueTest {
+
+    private static final long SEGMENT_BYTES = 2048;
+    // Header, topic "ticks", no key, 9-byte value
+    private static final int RECORD_BYTES = 8 + 2 + 5 + 2 + 4 + 9;
+
+    @Test
+    void recoversUncommittedRecordsInOrderAfterReopen(@TempDir Path directory) throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_BYTES)) {
+            append(queue, 0, 200);
+            SpillQueue.Batch batch = queue.peek(60);
+            assertThat(values(batch)).first().isEqualTo("value-000");
+            queue.commit(batch);
+        }
+        assertThat(segments(directory)).hasSizeGreaterThan(1);
+
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_BYTES)) {
+            assertThat(queue.size()).isEqualTo(140);
+            SpillQueue.Batch batch = queue.peek(1000);
+            assertThat(values(batch)).hasSize(140).first().isEqualTo("value-060");
+            assertThat(batch.records().get(139)).isEqualTo(new SpillRecord("ticks", null, "value-199"));
+            queue.commit(batch);
+            assertThat(queue.isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void truncatesATornTailOnOpen(@TempDir Path directory) throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_BYTES)) {
+            append(queue, 0, 5);
+        }
+        Path last = segments(directory).get(segments(directory).size() - 1);
+        long size = Files.size(last);
+        // A header promising more payload than was written before the crash
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(500).putInt(0).putInt(7).flip());
+        }
+
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_BYTES)) {
+            assertThat(Files.size(last)).isEqualTo(size);
+            append(queue, 5, 1);
+            assertThat(values(queue.peek(100))).containsExactly("value-000", "value-001", "value-002", "value-003", "value-004", "value-005");
+        }
+    }
+
+    @Test
+    void skipsPastACorruptRecordAndKeepsDraining(@TempDir Path directory) throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_BYTES)) {
+            append(queue, 0, 100);
+        }
+        Path first = segments(directory).get(0);
+        int firstSegmentRecords = (int) (Files.size(first) / RECORD_BYTES);
+        // Flip a payload byte of the fourth record in the first segment
+        flipByte(first, 3L * RECORD_BYTES + 12);
+
+        try (SpillQueue queue = new SpillQueue(directory, SEGMENT_BYTES)) {
+            SpillQueue.Batch batch = queue.peek(1000);
+            List<String> values = values(batch);
+
+            assertThat(values).startsWith("value-000", "value-001", "value-002");
+            assertThat(values).doesNotContain("value-003")
+                    .contains(String.format("value-%03d", firstSegmentRecords))
+                    .endsWith("value-099");
+            assertThat(values).hasSize(100 - (firstSegmentRecords - 3));
+            assertThat(queue.corruptBytes()).isEqualTo((long) (firstSegmentRecords - 3) * RECORD_BYTES);
+            assertThat(queue.size()).isEqualTo(values.size());
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.map(file -> file.getFileName().toString())).anyMatch(name -> name.startsWith("corrupt-"));
+            }
+
+            queue.commit(batch);
+            assertThat(queue.isEmpty()).isTrue();
+            assertThat(queue.peek(10).isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    void rollsPastCorruptionInTheSegmentBeingWritten(@TempDir Path directory) throws IOException {
+        try (SpillQueue queue = new SpillQueue(directory, 1 << 20)) {
+            append(queue, 0, 10);
+            queue.flush();
+            flipByte(segments(directory).get(0), Files.size(segments(directory).get(0)) - 1);
+
+            assertThat(values(queue.peek(100))).hasSize(9).endsWith("value-008");
+            append(queue, 10, 2);
+            SpillQueue.Batch batch = queue.peek(100);
+            assertThat(values(batch)).hasSize(11).endsWith("value-008", "value-010", "value-011");
+            queue.commit(batch);
+            assertThat(queue.isEmpty()).isTrue();
+        }
+    }
+
+    private static void append(SpillQueue queue, int from, int count) throws IOException {
+        for (int i = from; i < from + count; i++) {
+            queue.append(new SpillRecord("ticks", null, String.format("value-%03d", i)));
+        }
+    }
+
+    private static List<String> values(SpillQueue.Batch batch) {
+        return batch.records().stream().map(SpillRecord::value).toList();
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, position);
+        }
+    }
+}
@@ -20,7 +20,8 @@ import org.springframework.jms.annotation.EnableJms;
     "com.nigam.openalgo.autopilot.ui",
     "com.nigam.openalgo.autopilot.socket",
     "com.nigam.openalgo.autopilot.dblayer",
-    "com.nigam.openalgo.autopilot.configuration"
+    "com.nigam.openalgo.autopilot.configuration",
+    "com.nigam.openalgo.autopilot.trading"
 })
 public class Main {
     private static final Logger logger = LogManager.getLogger(Main.class);
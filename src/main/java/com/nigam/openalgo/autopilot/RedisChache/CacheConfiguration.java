@@ -0,0 +1,48 @@
+package com.nigam.openalgo.autopilot.RedisChache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+// Replaces the Redis-only cache manager auto-configured for spring.cache.type=redis
+@Configuration
+@ConditionalOnProperty(name = "openalgo.cache.two-level.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfiguration {
+
+    @Value("${openalgo.cache.l1.maximum-size:10000}")
+    private long l1MaximumSize;
+
+    @Value("${openalgo.cache.l1.expire-after-write-ms:60000}")
+    private long l1ExpireAfterWriteMs;
+
+    @Value("${openalgo.cache.l2.time-to-live-ms:0}")
+    private long l2TimeToLiveMs;
+
+    @Value("${openalgo.cache.invalidation-channel:cache-invalidations}")
+    private String invalidationChannel;
+
+    @Bean
+    TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, StringRedisTemplate stringRedisTemplate,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        RedisCacheConfiguration redisDefaults = RedisCacheConfiguration.defaultCacheConfig();
+        if (l2TimeToLiveMs > 0) {
+            redisDefaults = redisDefaults.entryTtl(Duration.ofMillis(l2TimeToLiveMs));
+        }
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(redisDefaults)
+                .enableStatistics()
+                .build();
+        redisCacheManager.afterPropertiesSet();
+        return new TwoLevelCacheManager(redisCacheManager, redisConnectionFactory, stringRedisTemplate,
+                meterRegistry.getIfAvailable(), invalidationChannel, l1MaximumSize, Duration.ofMillis(l1ExpireAfterWriteMs));
+    }
+}
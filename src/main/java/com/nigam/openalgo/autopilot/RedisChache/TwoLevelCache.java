@@ -0,0 +1,226 @@
+package com.nigam.openalgo.autopilot.RedisChache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache with an in-process Caffeine tier in front of a Redis tier.
+ *
+ * Reads are served from L1 when possible and fall through to Redis, copying what they find
+ * into L1. Loads through {@link #get(Object, Callable)} are single-flight per key on this node:
+ * concurrent callers wait for one loader, which checks Redis before running the value loader.
+ * The load runs outside Caffeine, on the caller's thread, so it holds no cache lock and loads
+ * of other keys, including ones the loader itself makes, go ahead independently. A put,
+ * evict or invalidation of a key while it loads, on this node or another, keeps the loaded
+ * value out of L1 since it may predate the change; callers still receive it. Null values
+ * are allowed exactly when the Redis cache allows them.
+ * Writes go to Redis first, then L1, and are announced so other nodes drop their L1 copies.
+ *
+ * L1 is keyed by the key's string form, as Redis keys are, so an invalidation from another
+ * node finds the entry without scanning.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    /**
+     * @param invalidated Set when the key changes while loading
+     */
+    private record Load(Thread owner, CompletableFuture<Object> result, AtomicBoolean invalidated) {
+    }
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final RedisCache remote;
+    private final TwoLevelCacheManager manager;
+    private final ConcurrentMap<String, Load> loads = new ConcurrentHashMap<>();
+
+    TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                  RedisCache remote, TwoLevelCacheManager manager) {
+        super(remote.isAllowNullValues());
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getLocalCache() {
+        return local;
+    }
+
+    public RedisCache getRemoteCache() {
+        return remote;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        value = toStoreValue(wrapper.get());
+        local.put(localKey, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+        Load load = new Load(Thread.currentThread(), new CompletableFuture<>(), new AtomicBoolean());
+        Load shared = loads.putIfAbsent(localKey, load);
+        if (shared != null) {
+            if (shared.owner() == load.owner()) {
+                throw new IllegalStateException("Recursive load of key " + key + " in cache " + name);
+            }
+            return (T) fromStoreValue(await(shared.result()));
+        }
+        try {
+            Object value = load(key, valueLoader);
+            if (!load.invalidated().get()) {
+                // Stored before waiters are released, so a caller arriving in between finds it in L1
+                local.put(localKey, value);
+                // An invalidation between the check and the put may have found nothing to drop
+                if (load.invalidated().get()) {
+                    local.invalidate(localKey);
+                }
+            }
+            load.result().complete(value);
+            return (T) fromStoreValue(value);
+        } catch (RuntimeException e) {
+            load.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(localKey, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        invalidateLoad(localKey(key));
+        local.put(localKey(key), toStoreValue(value));
+        manager.publishInvalidation(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing != null) {
+            local.put(localKey(key), toStoreValue(existing.get()));
+            return existing;
+        }
+        invalidateLoad(localKey(key));
+        local.put(localKey(key), toStoreValue(value));
+        manager.publishInvalidation(name, localKey(key));
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        invalidateLocal(localKey(key));
+        manager.publishInvalidation(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        invalidateLocal(localKey(key));
+        manager.publishInvalidation(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        invalidateLocal(null);
+        manager.publishInvalidation(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        invalidateLocal(null);
+        manager.publishInvalidation(name, null);
+        return present;
+    }
+
+    /**
+     * Drop local copies after another node changed the cache
+     *
+     * @param localKey Key in string form, or null to drop every entry
+     */
+    void invalidateLocal(String localKey) {
+        // Flag loads first: a load that misses the flag stores before the entry is dropped here
+        if (localKey == null) {
+            loads.values().forEach(load -> load.invalidated().set(true));
+            local.invalidateAll();
+        } else {
+            invalidateLoad(localKey);
+            local.invalidate(localKey);
+        }
+    }
+
+    private void invalidateLoad(String localKey) {
+        Load load = loads.get(localKey);
+        if (load != null) {
+            load.invalidated().set(true);
+        }
+    }
+
+    /**
+     * Value from Redis, or from the loader (then written to Redis), in store form
+     */
+    private <T> Object load(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null) {
+            return toStoreValue(wrapper.get());
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        remote.put(key, value);
+        return toStoreValue(value);
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // The loading caller's exception, rethrown as it saw it
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    private static String localKey(Object key) {
+        return key instanceof String string ? string : String.valueOf(key);
+    }
+}
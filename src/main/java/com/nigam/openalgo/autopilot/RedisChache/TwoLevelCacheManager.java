@@ -0,0 +1,132 @@
+package com.nigam.openalgo.autopilot.RedisChache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates {@link TwoLevelCache}s on first use and keeps their L1 tiers coherent across nodes.
+ *
+ * Every put or evict is published on the invalidation channel as node id, cache name and key;
+ * other nodes drop that key from their L1 and read it from Redis next time. Messages from this
+ * node are ignored. A node that reads the old value from Redis just before a remote write can
+ * keep it until its L1 entry expires, so expire-after-write bounds how stale L1 can get.
+ *
+ * Per cache and tier, hits, misses, puts and (for L1) evictions are exported as the standard
+ * cache.* meters tagged cache and tier.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private static final Logger logger = LogManager.getLogger(TwoLevelCacheManager.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final String channel;
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+
+    /**
+     * @param maximumSize      Entries each L1 keeps before evicting the least valuable
+     * @param expireAfterWrite How long an L1 entry lives; bounds staleness after missed invalidations
+     * @param meterRegistry    Registry for per-cache metrics, or null to skip them
+     */
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, RedisConnectionFactory connectionFactory,
+                                StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+                                String channel, long maximumSize, Duration expireAfterWrite) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.channel = channel;
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+    }
+
+    @PostConstruct
+    public void start() {
+        listenerContainer.addMessageListener((message, pattern) ->
+                onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Set.copyOf(caches.keySet());
+    }
+
+    /**
+     * Tell other nodes to drop a key, or with a null key the whole cache, from their L1
+     */
+    void publishInvalidation(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + '\n' + cacheName + (key != null ? '\n' + key : ""));
+        } catch (Exception e) {
+            // Other nodes catch up when their L1 entries expire
+            logger.warn("Error publishing cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(String message) {
+        String[] parts = message.split("\n", 3);
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateLocal(parts.length == 3 ? parts[2] : null);
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        RedisCache remote = (RedisCache) redisCacheManager.getCache(name);
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "l1"));
+            new RedisCacheMetrics(remote, Tags.of("tier", "l2")).bindTo(meterRegistry);
+        }
+        logger.info("Created two-level cache {} (L1 max {} entries, {} TTL)", name, maximumSize, expireAfterWrite);
+        return new TwoLevelCache(name, local, remote, this);
+    }
+}
@@ -0,0 +1,126 @@
+package com.nigam.openalgo.autopilot.RedisChache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TwoLevelCacheTest {
+
+    private RedisCache remote;
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private TwoLevelCache cache;
+    private ExecutorService threads;
+
+    @BeforeEach
+    void setUp() {
+        remote = mock(RedisCache.class);
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        cache = new TwoLevelCache("instruments", local, remote, mock(TwoLevelCacheManager.class));
+        threads = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(threads.submit(() -> cache.get("NSE:SBIN", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "loaded";
+            })));
+        }
+        waitForLoadToStart(loads);
+        release.countDown();
+
+        for (Future<String> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(local.getIfPresent("NSE:SBIN")).isEqualTo("loaded");
+        verify(remote, times(1)).put("NSE:SBIN", "loaded");
+    }
+
+    @Test
+    void remoteInvalidationDuringALoadKeepsItOutOfL1() throws Exception {
+        assertInvalidationDuringLoadSkipsL1(() -> cache.invalidateLocal("NSE:SBIN"));
+    }
+
+    @Test
+    void remoteClearDuringALoadKeepsItOutOfL1() throws Exception {
+        assertInvalidationDuringLoadSkipsL1(() -> cache.invalidateLocal(null));
+    }
+
+    @Test
+    void localEvictDuringALoadKeepsItOutOfL1() throws Exception {
+        assertInvalidationDuringLoadSkipsL1(() -> cache.evict("NSE:SBIN"));
+    }
+
+    @Test
+    void invalidatingAnotherKeyLeavesTheLoadCached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> caller = threads.submit(() -> cache.get("NSE:SBIN", () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "loaded";
+        }));
+        waitForLoadToStart(loads);
+        cache.invalidateLocal("NSE:INFY");
+        release.countDown();
+
+        assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(local.getIfPresent("NSE:SBIN")).isEqualTo("loaded");
+    }
+
+    private void assertInvalidationDuringLoadSkipsL1(Runnable invalidation) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> caller = threads.submit(() -> cache.get("NSE:SBIN", () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "stale";
+        }));
+        waitForLoadToStart(loads);
+        invalidation.run();
+        release.countDown();
+
+        // The caller still gets what it loaded, but L1 does not keep it
+        assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(local.getIfPresent("NSE:SBIN")).isNull();
+
+        // The next load is cached again
+        assertThat(cache.get("NSE:SBIN", () -> "fresh")).isEqualTo("fresh");
+        assertThat(local.getIfPresent("NSE:SBIN")).isEqualTo("fresh");
+    }
+
+    private static void waitForLoadToStart(AtomicInteger loads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(loads.get()).isPositive();
+    }
+}
@@ -0,0 +1,11 @@
+package com.nigam.openalgo.autopilot.trading.alert;
+
+/**
+ * Side of the threshold that fires an alert
+ */
+public enum AlertDirection {
+    /** Fires when the LTP trades at or above the threshold */
+    ABOVE,
+    /** Fires when the LTP trades at or below the threshold */
+    BELOW
+}
@@ -0,0 +1,31 @@
+package com.nigam.openalgo.autopilot.trading.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alert to register. A percentage alert is converted to a price threshold relative to the
+ * current LTP when it is added.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertRequest {
+
+    private String exchange;
+    private String symbol;
+
+    // PRICE or PERCENT
+    private String type;
+
+    // Absolute price for PRICE; signed move in percent for PERCENT (e.g. 2.5 or -1)
+    private double value;
+
+    // Required for PRICE alerts, derived from the sign of the move for PERCENT alerts
+    private AlertDirection direction;
+
+    private String note;
+}
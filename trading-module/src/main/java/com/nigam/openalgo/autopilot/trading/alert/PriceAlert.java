@@ -0,0 +1,16 @@
+package com.nigam.openalgo.autopilot.trading.alert;
+
+/**
+ * Registered alert
+ *
+ * @param id              Alert id
+ * @param exchange        Exchange
+ * @param symbol          Symbol
+ * @param direction       Side of the threshold that fires
+ * @param threshold       Price threshold
+ * @param note            Free text passed through to the fired event
+ * @param createdMillis   Registration time
+ */
+public record PriceAlert(long id, String exchange, String symbol, AlertDirection direction, double threshold,
+                         String note, long createdMillis) {
+}
@@ -0,0 +1,183 @@
+package com.nigam.openalgo.autopilot.trading.alert;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.Instrument;
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Price and percentage-move alerts indexed by threshold.
+ *
+ * Each instrument keeps an ABOVE and a BELOW {@link ThresholdLadder}. The nearest threshold of
+ * each side is published in volatile fields, so a tick that crosses nothing is two compares
+ * and no lock. Only a crossing tick takes the instrument lock and removes the crossed suffix.
+ * Alerts are one-shot; fired alerts are passed to listeners after the lock is released.
+ */
+@Component
+@Slf4j
+public class PriceAlertEngine implements MarketDataHandler {
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final AtomicReferenceArray<AlertBook> books;
+    private final Map<Long, PriceAlert> alerts = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Consumer<PriceAlertEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter firedCounter;
+
+    public PriceAlertEngine(InstrumentRegistry instrumentRegistry, MeterRegistry meterRegistry) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.books = new AtomicReferenceArray<>(instrumentRegistry.capacity());
+        this.firedCounter = Counter.builder("openalgo.alerts.fired").register(meterRegistry);
+        Gauge.builder("openalgo.alerts.active", alerts, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Register an alert
+     *
+     * @throws IllegalArgumentException if the request is incomplete, or a percentage alert has no LTP to start from
+     * @throws IllegalStateException if the instrument is new and the instrument registry is full
+     */
+    public PriceAlert add(AlertRequest request) {
+        if (request.getExchange() == null || request.getSymbol() == null) {
+            throw new IllegalArgumentException("Exchange and symbol are required");
+        }
+        int instrumentId = instrumentRegistry.idOf(request.getExchange(), request.getSymbol());
+        AlertBook book = bookFor(instrumentId);
+
+        synchronized (book) {
+            double threshold;
+            AlertDirection direction;
+            if ("PERCENT".equalsIgnoreCase(request.getType())) {
+                if (Double.isNaN(book.lastPrice)) {
+                    throw new IllegalArgumentException("No LTP yet for " + request.getExchange() + ":" + request.getSymbol());
+                }
+                threshold = book.lastPrice * (1 + request.getValue() / 100);
+                direction = request.getValue() >= 0 ? AlertDirection.ABOVE : AlertDirection.BELOW;
+            } else {
+                if (request.getDirection() == null) {
+                    throw new IllegalArgumentException("Direction is required for price alerts");
+                }
+                threshold = request.getValue();
+                direction = request.getDirection();
+            }
+
+            Instrument instrument = instrumentRegistry.get(instrumentId);
+            PriceAlert alert = new PriceAlert(sequence.incrementAndGet(), instrument.exchange(), instrument.symbol(),
+                    direction, threshold, request.getNote(), System.currentTimeMillis());
+            alerts.put(alert.id(), alert);
+            book.ladder(direction).add(threshold, alert.id());
+            book.publishTriggers();
+            log.debug("Added alert {} {} {} {}", alert.id(), instrument.key(), direction, threshold);
+            return alert;
+        }
+    }
+
+    /**
+     * Remove an alert that has not fired yet
+     *
+     * @return true if the alert was active
+     */
+    public boolean remove(long alertId) {
+        PriceAlert alert = alerts.get(alertId);
+        if (alert == null) {
+            return false;
+        }
+        AlertBook book = books.get(instrumentRegistry.find(alert.exchange(), alert.symbol()));
+        synchronized (book) {
+            boolean removed = book.ladder(alert.direction()).remove(alert.threshold(), alertId);
+            if (removed) {
+                alerts.remove(alertId);
+                book.publishTriggers();
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Active alerts, optionally for one "EXCHANGE:SYMBOL"
+     */
+    public List<PriceAlert> getAlerts(String exchange, String symbol) {
+        return alerts.values().stream()
+                .filter(a -> exchange == null || a.exchange().equals(exchange))
+                .filter(a -> symbol == null || a.symbol().equals(symbol))
+                .sorted(Comparator.comparingLong(PriceAlert::id))
+                .toList();
+    }
+
+    public void addListener(Consumer<PriceAlertEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        // Created on the first tick so percentage alerts always have a reference price
+        AlertBook book = bookFor(instrumentId);
+        book.lastPrice = ltp;
+        if (ltp < book.aboveTrigger && ltp > book.belowTrigger) {
+            return;
+        }
+
+        List<PriceAlertEvent> events = new ArrayList<>(2);
+        synchronized (book) {
+            Consumer<PriceAlert> collect = alert -> events.add(new PriceAlertEvent(alert, ltp, timestampMillis));
+            book.above.fire(ltp, id -> collect.accept(alerts.remove(id)));
+            book.below.fire(ltp, id -> collect.accept(alerts.remove(id)));
+            book.publishTriggers();
+        }
+        for (PriceAlertEvent event : events) {
+            firedCounter.increment();
+            for (Consumer<PriceAlertEvent> listener : listeners) {
+                try {
+                    listener.accept(event);
+                } catch (Exception e) {
+                    log.error("Alert listener failed for alert {}", event.alert().id(), e);
+                }
+            }
+        }
+    }
+
+    private AlertBook bookFor(int instrumentId) {
+        AlertBook book = books.get(instrumentId);
+        if (book == null) {
+            books.compareAndSet(instrumentId, null, new AlertBook());
+            book = books.get(instrumentId);
+        }
+        return book;
+    }
+
+    /**
+     * Both ladders of one instrument plus the lock-free trigger prices
+     */
+    private static class AlertBook {
+        private final ThresholdLadder above = new ThresholdLadder(true);
+        private final ThresholdLadder below = new ThresholdLadder(false);
+
+        private volatile double aboveTrigger = Double.POSITIVE_INFINITY;
+        private volatile double belowTrigger = Double.NEGATIVE_INFINITY;
+        private volatile double lastPrice = Double.NaN;
+
+        ThresholdLadder ladder(AlertDirection direction) {
+            return direction == AlertDirection.ABOVE ? above : below;
+        }
+
+        void publishTriggers() {
+            aboveTrigger = above.next();
+            belowTrigger = below.next();
+        }
+    }
+}
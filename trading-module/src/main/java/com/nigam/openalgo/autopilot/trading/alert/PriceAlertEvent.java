@@ -0,0 +1,11 @@
+package com.nigam.openalgo.autopilot.trading.alert;
+
+/**
+ * Alert fired by an LTP update
+ *
+ * @param alert           Alert that fired; it is removed once fired
+ * @param ltp             Price that crossed the threshold
+ * @param timestampMillis Tick timestamp
+ */
+public record PriceAlertEvent(PriceAlert alert, double ltp, long timestampMillis) {
+}
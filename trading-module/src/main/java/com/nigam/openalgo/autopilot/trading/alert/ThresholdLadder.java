@@ -0,0 +1,99 @@
+package com.nigam.openalgo.autopilot.trading.alert;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Alert thresholds for one side of one instrument, kept sorted in parallel primitive arrays.
+ *
+ * The threshold closest to firing is always last: an ABOVE ladder is sorted descending and a
+ * BELOW ladder ascending. Every threshold crossed by a price is therefore a suffix of the
+ * array, found with one binary search and removed by shrinking the size, so a tick costs
+ * O(log n + k) for k fired alerts. Not thread-safe; {@link PriceAlertEngine} locks per instrument.
+ */
+class ThresholdLadder {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final boolean above;
+    private double[] thresholds = new double[INITIAL_CAPACITY];
+    private long[] alertIds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    ThresholdLadder(boolean above) {
+        this.above = above;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Threshold that fires next, or an infinity that no price can cross when empty
+     */
+    double next() {
+        if (size == 0) {
+            return above ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+        return thresholds[size - 1];
+    }
+
+    void add(double threshold, long alertId) {
+        if (size == thresholds.length) {
+            thresholds = Arrays.copyOf(thresholds, size * 2);
+            alertIds = Arrays.copyOf(alertIds, size * 2);
+        }
+        // Insert ahead of equal thresholds so older alerts stay nearer the tail
+        int index = firstCrossed(threshold);
+        System.arraycopy(thresholds, index, thresholds, index + 1, size - index);
+        System.arraycopy(alertIds, index, alertIds, index + 1, size - index);
+        thresholds[index] = threshold;
+        alertIds[index] = alertId;
+        size++;
+    }
+
+    boolean remove(double threshold, long alertId) {
+        for (int i = firstCrossed(threshold); i < size && thresholds[i] == threshold; i++) {
+            if (alertIds[i] == alertId) {
+                System.arraycopy(thresholds, i + 1, thresholds, i, size - i - 1);
+                System.arraycopy(alertIds, i + 1, alertIds, i, size - i - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove every alert the price crossed and pass its id to the consumer
+     *
+     * @return Number of alerts fired
+     */
+    int fire(double price, LongConsumer fired) {
+        int from = firstCrossed(price);
+        for (int i = size - 1; i >= from; i--) {
+            fired.accept(alertIds[i]);
+        }
+        int count = size - from;
+        size = from;
+        return count;
+    }
+
+    /**
+     * Index of the first threshold the price reaches; every later threshold is reached too
+     */
+    private int firstCrossed(double price) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            boolean crossed = above ? thresholds[mid] <= price : thresholds[mid] >= price;
+            if (crossed) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,263 @@
+package com.nigam.openalgo.autopilot.trading.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes a block of one instrument's ticks as three compressed columns.
+ *
+ * <pre>
+ *   header   int count, byte price encoding, byte decimals, short reserved,
+ *            int timestamp bytes, int price bytes, int volume bytes
+ *   ts       first timestamp as 8 bytes, first delta, then delta-of-deltas (zigzag varints)
+ *   price    SCALED: prices times 10^decimals as integers, first value then deltas (zigzag varints)
+ *            XOR:    first value as 8 bytes, then each value's bits XOR the previous one with
+ *                    zero leading/trailing bytes stripped, behind a (lead << 4 | trail) header byte
+ *   volume   first value then deltas (zigzag varints); quote volumes are cumulative for the day
+ * </pre>
+ * Regular tick intervals make most timestamps a single zero byte, and exchange prices on a
+ * tick grid usually encode as one or two bytes; XOR is the fallback for prices with no
+ * short exact decimal form.
+ */
+final class ColumnarBlockCodec {
+
+    static final int HEADER_BYTES = 20;
+    static final byte PRICE_SCALED = 0;
+    static final byte PRICE_XOR = 1;
+
+    // Marks an unchanged value in the XOR column
+    private static final int XOR_SAME = 0xFF;
+    private static final int MAX_DECIMALS = 6;
+    private static final double[] POWERS = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private ColumnarBlockCodec() {
+    }
+
+    /**
+     * Upper bound of the encoded size of a block
+     */
+    static int maxEncodedSize(int count) {
+        // 10 bytes per varint worst case, 9 per XOR value
+        return HEADER_BYTES + count * 10 * 3 + 16;
+    }
+
+    /**
+     * Encode {@code count} ticks into the buffer at its position
+     */
+    static void encode(long[] timestamps, double[] prices, long[] volumes, int count, ByteBuffer out) {
+        int start = out.position();
+        out.position(start + HEADER_BYTES);
+
+        int tsStart = out.position();
+        out.putLong(timestamps[0]);
+        long previousDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long delta = timestamps[i] - timestamps[i - 1];
+            putVarLong(out, zigzag(i == 1 ? delta : delta - previousDelta));
+            previousDelta = delta;
+        }
+
+        int priceStart = out.position();
+        int decimals = scaleDecimals(prices, count);
+        byte priceEncoding;
+        if (decimals >= 0) {
+            priceEncoding = PRICE_SCALED;
+            double power = POWERS[decimals];
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                long scaled = Math.round(prices[i] * power);
+                putVarLong(out, zigzag(scaled - previous));
+                previous = scaled;
+            }
+        } else {
+            priceEncoding = PRICE_XOR;
+            decimals = 0;
+            long previous = Double.doubleToRawLongBits(prices[0]);
+            out.putLong(previous);
+            for (int i = 1; i < count; i++) {
+                long bits = Double.doubleToRawLongBits(prices[i]);
+                putXor(out, bits ^ previous);
+                previous = bits;
+            }
+        }
+
+        int volumeStart = out.position();
+        long previousVolume = 0;
+        for (int i = 0; i < count; i++) {
+            putVarLong(out, zigzag(volumes[i] - previousVolume));
+            previousVolume = volumes[i];
+        }
+        int end = out.position();
+
+        out.putInt(start, count)
+                .put(start + 4, priceEncoding)
+                .put(start + 5, (byte) decimals)
+                .putShort(start + 6, (short) 0)
+                .putInt(start + 8, priceStart - tsStart)
+                .putInt(start + 12, volumeStart - priceStart)
+                .putInt(start + 16, end - volumeStart);
+    }
+
+    /**
+     * Encoded size of the block at {@code offset}, header included
+     */
+    static int encodedSize(ByteBuffer in, int offset) {
+        return HEADER_BYTES + in.getInt(offset + 8) + in.getInt(offset + 12) + in.getInt(offset + 16);
+    }
+
+    /**
+     * Decode a block copied out whole into {@code block}; the arrays must hold its tick count
+     *
+     * @return Number of ticks decoded
+     */
+    static int decode(byte[] block, long[] timestamps, double[] prices, long[] volumes) {
+        int count = getInt(block, 0);
+        byte priceEncoding = block[4];
+        int decimals = block[5];
+        int tsLength = getInt(block, 8);
+        int priceLength = getInt(block, 12);
+
+        int position = HEADER_BYTES;
+        long timestamp = getLong(block, position);
+        position += 8;
+        timestamps[0] = timestamp;
+        long delta = 0;
+        for (int i = 1; i < count; i++) {
+            // Inlined varint read; nearly every value here is a single byte
+            long raw = block[position++];
+            if (raw < 0) {
+                raw &= 0x7F;
+                int shift = 7;
+                byte b;
+                do {
+                    b = block[position++];
+                    raw |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+            }
+            long value = unzigzag(raw);
+            delta = i == 1 ? value : delta + value;
+            timestamp += delta;
+            timestamps[i] = timestamp;
+        }
+
+        position = HEADER_BYTES + tsLength;
+        if (priceEncoding == PRICE_SCALED) {
+            double power = POWERS[decimals];
+            long scaled = 0;
+            for (int i = 0; i < count; i++) {
+                long raw = block[position++];
+                if (raw < 0) {
+                    raw &= 0x7F;
+                    int shift = 7;
+                    byte b;
+                    do {
+                        b = block[position++];
+                        raw |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                }
+                scaled += unzigzag(raw);
+                prices[i] = scaled / power;
+            }
+        } else {
+            long bits = getLong(block, position);
+            position += 8;
+            prices[0] = Double.longBitsToDouble(bits);
+            for (int i = 1; i < count; i++) {
+                int header = block[position++] & 0xFF;
+                if (header != XOR_SAME) {
+                    int trail = header & 0x0F;
+                    int length = 8 - (header >>> 4) - trail;
+                    long xor = 0;
+                    for (int j = 0; j < length; j++) {
+                        xor |= (block[position++] & 0xFFL) << (j << 3);
+                    }
+                    bits ^= xor << (trail << 3);
+                }
+                prices[i] = Double.longBitsToDouble(bits);
+            }
+        }
+
+        position = HEADER_BYTES + tsLength + priceLength;
+        long volume = 0;
+        for (int i = 0; i < count; i++) {
+            long raw = block[position++];
+            if (raw < 0) {
+                raw &= 0x7F;
+                int shift = 7;
+                byte b;
+                do {
+                    b = block[position++];
+                    raw |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+            }
+            volume += unzigzag(raw);
+            volumes[i] = volume;
+        }
+        return count;
+    }
+
+    /**
+     * Smallest number of decimals that represents every price exactly, or -1 if none does
+     */
+    private static int scaleDecimals(double[] prices, int count) {
+        int decimals = 0;
+        for (int i = 0; i < count; i++) {
+            double price = prices[i];
+            while (decimals <= MAX_DECIMALS && !exact(price, decimals)) {
+                decimals++;
+            }
+            if (decimals > MAX_DECIMALS) {
+                return -1;
+            }
+        }
+        return decimals;
+    }
+
+    private static boolean exact(double price, int decimals) {
+        double scaled = price * POWERS[decimals];
+        // Stay far inside the long range so deltas cannot overflow
+        return Math.abs(scaled) < 1e15 && Math.round(scaled) / POWERS[decimals] == price;
+    }
+
+    private static void putXor(ByteBuffer out, long xor) {
+        if (xor == 0) {
+            out.put((byte) XOR_SAME);
+            return;
+        }
+        int lead = Long.numberOfLeadingZeros(xor) >>> 3;
+        int trail = Long.numberOfTrailingZeros(xor) >>> 3;
+        out.put((byte) (lead << 4 | trail));
+        long value = xor >>> (trail << 3);
+        for (int i = 8 - lead - trail; i > 0; i--) {
+            out.put((byte) value);
+            value >>>= 8;
+        }
+    }
+
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8
+                | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        return (getInt(bytes, offset) & 0xFFFFFFFFL) | (long) getInt(bytes, offset + 4) << 32;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,235 @@
+package com.nigam.openalgo.autopilot.trading.archive;
+
+import com.nigam.openalgo.autopilot.trading.tick.TickFileReader;
+import com.nigam.openalgo.autopilot.trading.tick.TickFileWriter;
+import com.nigam.openalgo.autopilot.trading.tick.TickRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compacts each day's recorded tick files into one columnar archive after the day ends.
+ *
+ * Runs once a day at run-at (recorder zone) and compacts every day in the last catch-up-days
+ * that has recorded ticks but no archive yet, so a missed run is picked up the next day.
+ * The archive is written to a temporary file and moved into place, so a crash mid-way never
+ * leaves a half-written archive behind; raw files are only deleted once the move succeeded.
+ */
+@Component
+@Slf4j
+public class TickArchiveCompactor {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final TickRecorder tickRecorder;
+    private final Timer compactionTimer;
+    private final Counter tickCounter;
+
+    @Value("${openalgo.tick.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${openalgo.tick.archive.directory:data/archive}")
+    private String directory;
+
+    @Value("${openalgo.tick.archive.block-ticks:1024}")
+    private int blockTicks;
+
+    @Value("${openalgo.tick.archive.run-at:00:30}")
+    private String runAt;
+
+    @Value("${openalgo.tick.archive.catch-up-days:7}")
+    private int catchUpDays;
+
+    @Value("${openalgo.tick.archive.delete-raw:false}")
+    private boolean deleteRaw;
+
+    @Value("${openalgo.tick.recorder.zone:Asia/Kolkata}")
+    private String zone;
+
+    private ZoneId zoneId;
+    private LocalTime runTime;
+    private ScheduledExecutorService executor;
+
+    public TickArchiveCompactor(TickRecorder tickRecorder, MeterRegistry meterRegistry) {
+        this.tickRecorder = tickRecorder;
+        this.compactionTimer = Timer.builder("openalgo.tick.archive.compaction.latency")
+                .description("Time to compact one day of recorded ticks")
+                .register(meterRegistry);
+        this.tickCounter = Counter.builder("openalgo.tick.archive.ticks")
+                .description("Ticks written to columnar archives")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        zoneId = ZoneId.of(zone);
+        if (!enabled) {
+            return;
+        }
+        runTime = LocalTime.parse(runAt);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tick-archive-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleNext();
+        log.info("Compacting tick files to {} daily at {}", Paths.get(directory).toAbsolutePath(), runTime);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Archive file for a trading day, whether or not it exists yet
+     */
+    public Path archiveFor(LocalDate date) {
+        return Paths.get(directory, "ticks-" + FILE_DATE.format(date) + TickArchiveFormat.ARCHIVE_FILE_SUFFIX);
+    }
+
+    /**
+     * Compact a day's recorded tick files into its archive, replacing any existing archive
+     *
+     * @return Compaction figures, or null if nothing was recorded that day
+     */
+    public TickArchiveStats compact(LocalDate date) {
+        List<Path> rawFiles = tickRecorder.filesFor(date);
+        if (rawFiles.isEmpty()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Path archive = archiveFor(date);
+        Path temporary = archive.resolveSibling(archive.getFileName() + ".tmp");
+        long rawBytes = 0;
+        int instruments;
+        long ticks;
+        long archiveBytes;
+        try {
+            Files.createDirectories(archive.getParent());
+            try (TickArchiveWriter writer = new TickArchiveWriter(temporary, blockTicks)) {
+                for (Path rawFile : rawFiles) {
+                    rawBytes += Files.size(rawFile) + sizeIfExists(TickFileWriter.symbolsFileFor(rawFile));
+                    append(rawFile, writer);
+                }
+                ticks = writer.getTickCount();
+            }
+            Files.move(temporary, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try (TickArchiveReader reader = new TickArchiveReader(archive)) {
+                instruments = reader.getSymbols().size();
+            }
+            archiveBytes = Files.size(archive);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException("Error compacting ticks for " + date, e);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        compactionTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        tickCounter.increment(ticks);
+        TickArchiveStats stats = new TickArchiveStats(date, instruments, ticks, rawBytes, archiveBytes,
+                elapsedNanos / 1_000_000);
+        log.info("Compacted {} ticks of {} instruments for {}: {} -> {} bytes ({}x) in {} ms",
+                stats.ticks(), stats.instruments(), date, stats.rawBytes(), stats.archiveBytes(),
+                String.format("%.1f", stats.compressionRatio()), stats.elapsedMillis());
+
+        if (deleteRaw) {
+            for (Path rawFile : rawFiles) {
+                try {
+                    Files.deleteIfExists(rawFile);
+                    Files.deleteIfExists(TickFileWriter.symbolsFileFor(rawFile));
+                } catch (IOException e) {
+                    log.warn("Could not delete compacted tick file {}", rawFile, e);
+                }
+            }
+        }
+        return stats;
+    }
+
+    private void append(Path rawFile, TickArchiveWriter writer) throws IOException {
+        try (TickFileReader reader = new TickFileReader(rawFile)) {
+            // Resolve each file id to its column once; ids are only meaningful within one file
+            int maxFileId = reader.getSymbols().keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+            TickArchiveWriter.Column[] columns = new TickArchiveWriter.Column[maxFileId + 1];
+            reader.getSymbols().forEach((fileId, key) -> columns[fileId] = writer.column(key));
+            IOException[] failure = new IOException[1];
+            reader.forEach((fileId, timestampMillis, price, volume) -> {
+                TickArchiveWriter.Column column = fileId >= 0 && fileId < columns.length ? columns[fileId] : null;
+                if (column == null || failure[0] != null) {
+                    // Tick without a symbol entry cannot be attributed to an instrument
+                    return;
+                }
+                try {
+                    column.append(timestampMillis, price, volume);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+    }
+
+    private void runDue() {
+        LocalDate today = LocalDate.now(zoneId);
+        for (int daysBack = Math.max(1, catchUpDays); daysBack >= 1; daysBack--) {
+            LocalDate date = today.minusDays(daysBack);
+            if (Files.exists(archiveFor(date))) {
+                continue;
+            }
+            try {
+                compact(date);
+            } catch (Exception e) {
+                log.error("Tick compaction failed for {}", date, e);
+            }
+        }
+    }
+
+    private void scheduleNext() {
+        ZonedDateTime now = ZonedDateTime.now(zoneId);
+        ZonedDateTime next = now.toLocalDate().atTime(runTime).atZone(zoneId);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        executor.schedule(() -> {
+            try {
+                runDue();
+            } finally {
+                scheduleNext();
+            }
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static long sizeIfExists(Path file) throws IOException {
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nigam.openalgo.autopilot.trading.archive;
+
+/**
+ * Layout of a columnar tick archive, little-endian throughout.
+ *
+ * <pre>
+ *   header   int magic, int version
+ *   blocks   encoded by {@link ColumnarBlockCodec}, up to block-ticks ticks of one instrument each
+ *   index    per instrument: short key length, key bytes (UTF-8), int block count,
+ *            then per block: long offset, int tick count, long earliest timestamp, long latest timestamp
+ *   trailer  long index offset, int instrument count, int magic
+ * </pre>
+ * Blocks of different instruments may interleave; the index lists each instrument's blocks
+ * in the order they were written.
+ */
+public final class TickArchiveFormat {
+
+    public static final int MAGIC = 0x4F415441; // "OATA"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 8;
+    public static final int TRAILER_BYTES = 16;
+    public static final int INDEX_ENTRY_BYTES = 28;
+
+    public static final String ARCHIVE_FILE_SUFFIX = ".col";
+
+    private TickArchiveFormat() {
+    }
+}
@@ -0,0 +1,278 @@
+package com.nigam.openalgo.autopilot.trading.archive;
+
+import com.nigam.openalgo.autopilot.trading.tick.TickVisitor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zero-copy reader over a columnar tick archive.
+ *
+ * Only the index is read eagerly; blocks are decoded straight from a read-only mapping of the
+ * file, and time-range reads use the per-block timestamp bounds to skip blocks without
+ * touching them. The reader holds no cursor, so threads can read it concurrently; each call
+ * copies a block out of the mapping in one bulk read and decodes it into its own scratch arrays.
+ */
+public class TickArchiveReader implements Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final Map<String, InstrumentBlocks> instruments;
+    private final Map<Integer, String> symbols;
+    private final long tickCount;
+    private final int maxBlockTicks;
+
+    public TickArchiveReader(Path archiveFile) throws IOException {
+        this.channel = FileChannel.open(archiveFile, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < TickArchiveFormat.HEADER_BYTES + TickArchiveFormat.TRAILER_BYTES) {
+                throw new IOException("Not a complete tick archive: " + archiveFile);
+            }
+            ByteBuffer trailer = readFully(size - TickArchiveFormat.TRAILER_BYTES, TickArchiveFormat.TRAILER_BYTES);
+            long indexOffset = trailer.getLong();
+            int instrumentCount = trailer.getInt();
+            if (trailer.getInt() != TickArchiveFormat.MAGIC) {
+                throw new IOException("Not a complete tick archive: " + archiveFile);
+            }
+            ByteBuffer header = readFully(0, TickArchiveFormat.HEADER_BYTES);
+            if (header.getInt() != TickArchiveFormat.MAGIC || header.getInt() != TickArchiveFormat.VERSION) {
+                throw new IOException("Unsupported tick archive version: " + archiveFile);
+            }
+
+            ByteBuffer index = readFully(indexOffset, (int) (size - TickArchiveFormat.TRAILER_BYTES - indexOffset));
+            Map<String, InstrumentBlocks> byKey = new LinkedHashMap<>();
+            Map<Integer, String> byId = new HashMap<>();
+            List<Long> blockOffsets = new ArrayList<>();
+            long ticks = 0;
+            int maxTicks = 0;
+            for (int id = 0; id < instrumentCount; id++) {
+                byte[] key = new byte[index.getShort() & 0xFFFF];
+                index.get(key);
+                int blockCount = index.getInt();
+                InstrumentBlocks blocks = new InstrumentBlocks(id, blockCount);
+                for (int b = 0; b < blockCount; b++) {
+                    blocks.offsets[b] = index.getLong();
+                    blocks.counts[b] = index.getInt();
+                    blocks.firstTimestamps[b] = index.getLong();
+                    blocks.lastTimestamps[b] = index.getLong();
+                    blockOffsets.add(blocks.offsets[b]);
+                    blocks.tickCount += blocks.counts[b];
+                    maxTicks = Math.max(maxTicks, blocks.counts[b]);
+                }
+                blocks.bound();
+                ticks += blocks.tickCount;
+                String instrumentKey = new String(key, StandardCharsets.UTF_8);
+                byKey.put(instrumentKey, blocks);
+                byId.put(id, instrumentKey);
+            }
+            this.instruments = Collections.unmodifiableMap(byKey);
+            this.symbols = Collections.unmodifiableMap(byId);
+            this.tickCount = ticks;
+            this.maxBlockTicks = maxTicks;
+            this.segments = map(blockOffsets, indexOffset);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Ticks stored for an instrument, 0 if it is not in the archive
+     */
+    public long getTickCount(String key) {
+        InstrumentBlocks blocks = instruments.get(key);
+        return blocks != null ? blocks.tickCount : 0;
+    }
+
+    /**
+     * Instrument keys ("EXCHANGE:SYMBOL") by the ids passed to visitors
+     */
+    public Map<Integer, String> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Visit every tick, one instrument at a time, each in recorded order
+     */
+    public void forEach(TickVisitor visitor) {
+        Scratch scratch = new Scratch(maxBlockTicks);
+        for (InstrumentBlocks blocks : instruments.values()) {
+            visit(blocks, 0, Long.MIN_VALUE, Long.MAX_VALUE, visitor, scratch);
+        }
+    }
+
+    /**
+     * Visit an instrument's ticks with fromMillis <= timestamp < toMillis in recorded order
+     */
+    public void forEach(String key, long fromMillis, long toMillis, TickVisitor visitor) {
+        InstrumentBlocks blocks = instruments.get(key);
+        if (blocks == null || fromMillis >= toMillis) {
+            return;
+        }
+        // First block whose ticks can reach fromMillis
+        int first = Arrays.binarySearch(blocks.latestSoFar, fromMillis);
+        if (first < 0) {
+            first = -first - 1;
+        } else {
+            // Several blocks can end on the same millisecond
+            while (first > 0 && blocks.latestSoFar[first - 1] == fromMillis) {
+                first--;
+            }
+        }
+        visit(blocks, first, fromMillis, toMillis, visitor, new Scratch(maxBlockTicks));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void visit(InstrumentBlocks blocks, int firstBlock, long fromMillis, long toMillis,
+                       TickVisitor visitor, Scratch scratch) {
+        for (int b = firstBlock; b < blocks.offsets.length; b++) {
+            if (blocks.earliestFromHere[b] >= toMillis) {
+                return;
+            }
+            if (blocks.firstTimestamps[b] >= toMillis || blocks.lastTimestamps[b] < fromMillis) {
+                continue;
+            }
+            MappedByteBuffer segment = segments[blocks.segments[b]];
+            int offset = blocks.segmentOffsets[b];
+            int size = ColumnarBlockCodec.encodedSize(segment, offset);
+            if (scratch.block.length < size) {
+                scratch.block = new byte[size];
+            }
+            segment.get(offset, scratch.block, 0, size);
+            int count = ColumnarBlockCodec.decode(scratch.block, scratch.timestamps, scratch.prices, scratch.volumes);
+            boolean whole = blocks.firstTimestamps[b] >= fromMillis && blocks.lastTimestamps[b] < toMillis;
+            for (int i = 0; i < count; i++) {
+                long timestamp = scratch.timestamps[i];
+                if (whole || (timestamp >= fromMillis && timestamp < toMillis)) {
+                    visitor.onTick(blocks.id, timestamp, scratch.prices[i], scratch.volumes[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Map the data region in segments under 2 GB that never split a block, and
+     * resolve each block to its segment and offset within it
+     */
+    private MappedByteBuffer[] map(List<Long> blockOffsets, long dataEnd) throws IOException {
+        long[] starts = blockOffsets.stream().mapToLong(Long::longValue).sorted().toArray();
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        List<Long> segmentStarts = new ArrayList<>();
+        int i = 0;
+        while (i < starts.length) {
+            long segmentStart = starts[i];
+            int next = i + 1;
+            while (next < starts.length && nextEnd(starts, next, dataEnd) - segmentStart <= Integer.MAX_VALUE) {
+                next++;
+            }
+            long segmentEnd = next < starts.length ? starts[next] : dataEnd;
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentEnd - segmentStart);
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            mapped.add(segment);
+            segmentStarts.add(segmentStart);
+            i = next;
+        }
+
+        long[] segmentStartArray = segmentStarts.stream().mapToLong(Long::longValue).toArray();
+        for (InstrumentBlocks blocks : instruments.values()) {
+            for (int b = 0; b < blocks.offsets.length; b++) {
+                int segment = Arrays.binarySearch(segmentStartArray, blocks.offsets[b]);
+                if (segment < 0) {
+                    segment = -segment - 2;
+                }
+                blocks.segments[b] = segment;
+                blocks.segmentOffsets[b] = (int) (blocks.offsets[b] - segmentStartArray[segment]);
+            }
+        }
+        return mapped.toArray(new MappedByteBuffer[0]);
+    }
+
+    private static long nextEnd(long[] starts, int block, long dataEnd) {
+        return block + 1 < starts.length ? starts[block + 1] : dataEnd;
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of tick archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static final class InstrumentBlocks {
+        private final int id;
+        private final long[] offsets;
+        private final int[] counts;
+        private final long[] firstTimestamps;
+        private final long[] lastTimestamps;
+        private final int[] segments;
+        private final int[] segmentOffsets;
+        // Running bounds over blocks, monotonic even when a block holds late ticks
+        private final long[] latestSoFar;
+        private final long[] earliestFromHere;
+        private long tickCount;
+
+        private InstrumentBlocks(int id, int blockCount) {
+            this.id = id;
+            this.offsets = new long[blockCount];
+            this.counts = new int[blockCount];
+            this.firstTimestamps = new long[blockCount];
+            this.lastTimestamps = new long[blockCount];
+            this.segments = new int[blockCount];
+            this.segmentOffsets = new int[blockCount];
+            this.latestSoFar = new long[blockCount];
+            this.earliestFromHere = new long[blockCount];
+        }
+
+        private void bound() {
+            long latest = Long.MIN_VALUE;
+            for (int b = 0; b < lastTimestamps.length; b++) {
+                latest = Math.max(latest, lastTimestamps[b]);
+                latestSoFar[b] = latest;
+            }
+            long earliest = Long.MAX_VALUE;
+            for (int b = firstTimestamps.length - 1; b >= 0; b--) {
+                earliest = Math.min(earliest, firstTimestamps[b]);
+                earliestFromHere[b] = earliest;
+            }
+        }
+    }
+
+    private static final class Scratch {
+        private final long[] timestamps;
+        private final double[] prices;
+        private final long[] volumes;
+        private byte[] block = new byte[0];
+
+        private Scratch(int size) {
+            this.timestamps = new long[size];
+            this.prices = new double[size];
+            this.volumes = new long[size];
+        }
+    }
+}
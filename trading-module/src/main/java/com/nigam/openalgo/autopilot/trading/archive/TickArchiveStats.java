@@ -0,0 +1,14 @@
+package com.nigam.openalgo.autopilot.trading.archive;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of compacting one trading day
+ */
+public record TickArchiveStats(LocalDate date, int instruments, long ticks, long rawBytes, long archiveBytes,
+                               long elapsedMillis) {
+
+    public double compressionRatio() {
+        return archiveBytes > 0 ? (double) rawBytes / archiveBytes : 0;
+    }
+}
@@ -0,0 +1,138 @@
+package com.nigam.openalgo.autopilot.trading.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams ticks into a columnar archive file.
+ *
+ * Ticks are buffered per instrument and encoded as a block whenever an instrument's buffer
+ * fills, so memory stays at one block per instrument however large the day is. Ticks are
+ * stored in append order; a late tick costs a few extra bytes but is kept. The index is
+ * written on {@link #close()}; a file without its trailer is rejected by {@link TickArchiveReader}.
+ */
+public class TickArchiveWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final int blockTicks;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private ByteBuffer encodeBuffer;
+    private long position;
+    private long tickCount;
+
+    public TickArchiveWriter(Path file, int blockTicks) throws IOException {
+        if (blockTicks < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.blockTicks = blockTicks;
+        this.encodeBuffer = ByteBuffer.allocateDirect(ColumnarBlockCodec.maxEncodedSize(blockTicks))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer header = ByteBuffer.allocate(TickArchiveFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(TickArchiveFormat.MAGIC).putInt(TickArchiveFormat.VERSION).flip();
+        write(header);
+    }
+
+    /**
+     * Column handle for an instrument, to append without a key lookup per tick
+     */
+    public Column column(String key) {
+        return columns.computeIfAbsent(key, k -> new Column());
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Encode the remaining partial blocks and write the index
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (Column column : columns.values()) {
+                column.flushBlock();
+            }
+            long indexOffset = position;
+            int indexBytes = TickArchiveFormat.TRAILER_BYTES;
+            for (Map.Entry<String, Column> entry : columns.entrySet()) {
+                indexBytes += 2 + entry.getKey().getBytes(StandardCharsets.UTF_8).length + 4
+                        + entry.getValue().blocks.size() * TickArchiveFormat.INDEX_ENTRY_BYTES;
+            }
+            ByteBuffer index = ByteBuffer.allocate(indexBytes).order(ByteOrder.LITTLE_ENDIAN);
+            for (Map.Entry<String, Column> entry : columns.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                index.putShort((short) key.length).put(key).putInt(entry.getValue().blocks.size());
+                for (long[] block : entry.getValue().blocks) {
+                    index.putLong(block[0]).putInt((int) block[1]).putLong(block[2]).putLong(block[3]);
+                }
+            }
+            index.putLong(indexOffset).putInt(columns.size()).putInt(TickArchiveFormat.MAGIC).flip();
+            write(index);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    /**
+     * Buffered ticks of one instrument
+     */
+    public final class Column {
+
+        private final long[] timestamps = new long[blockTicks];
+        private final double[] prices = new double[blockTicks];
+        private final long[] volumes = new long[blockTicks];
+        // offset, count, earliest timestamp, latest timestamp
+        private final List<long[]> blocks = new ArrayList<>();
+        private int count;
+
+        private Column() {
+        }
+
+        public void append(long timestampMillis, double price, long volume) throws IOException {
+            timestamps[count] = timestampMillis;
+            prices[count] = price;
+            volumes[count] = volume;
+            tickCount++;
+            if (++count == blockTicks) {
+                flushBlock();
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            encodeBuffer.clear();
+            ColumnarBlockCodec.encode(timestamps, prices, volumes, count, encodeBuffer);
+            encodeBuffer.flip();
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, timestamps[i]);
+                max = Math.max(max, timestamps[i]);
+            }
+            blocks.add(new long[]{position, count, min, max});
+            write(encodeBuffer);
+            count = 0;
+        }
+    }
+}
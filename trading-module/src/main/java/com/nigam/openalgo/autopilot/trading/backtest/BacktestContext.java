@@ -0,0 +1,115 @@
+package com.nigam.openalgo.autopilot.trading.backtest;
+
+import java.util.Map;
+
+/**
+ * State of a single backtest run: positions, cash and the equity curve.
+ *
+ * Orders fill immediately at the last recorded price adjusted by the configured slippage.
+ * Equity is kept as cash plus a running mark value updated by deltas, so marking a tick and
+ * tracking drawdown are O(1). Confined to the run's thread.
+ */
+public class BacktestContext {
+
+    private final Map<String, Integer> instrumentIds;
+    private final double slippageFraction;
+
+    private final long[] positions;
+    private final double[] lastPrices;
+
+    private double cash;
+    private double markValue;
+    private double peakEquity;
+    private double maxDrawdown;
+    private long trades;
+    private long tradedQuantity;
+
+    BacktestContext(Map<String, Integer> instrumentIds, int instrumentCount, double slippageBps) {
+        this.instrumentIds = instrumentIds;
+        this.slippageFraction = slippageBps / 10_000d;
+        this.positions = new long[instrumentCount];
+        this.lastPrices = new double[instrumentCount];
+    }
+
+    /**
+     * Id of an "EXCHANGE:SYMBOL" key in this run, or -1 if it does not appear in the recorded data
+     */
+    public int instrumentId(String key) {
+        Integer id = instrumentIds.get(key);
+        return id != null ? id : -1;
+    }
+
+    public void buy(int instrumentId, long quantity) {
+        trade(instrumentId, quantity);
+    }
+
+    public void sell(int instrumentId, long quantity) {
+        trade(instrumentId, -quantity);
+    }
+
+    /**
+     * Trade whatever is needed to reach the target signed position
+     */
+    public void targetPosition(int instrumentId, long target) {
+        long delta = target - positions[instrumentId];
+        if (delta != 0) {
+            trade(instrumentId, delta);
+        }
+    }
+
+    public long position(int instrumentId) {
+        return positions[instrumentId];
+    }
+
+    public double lastPrice(int instrumentId) {
+        return lastPrices[instrumentId];
+    }
+
+    public double equity() {
+        return cash + markValue;
+    }
+
+    public double maxDrawdown() {
+        return maxDrawdown;
+    }
+
+    public long trades() {
+        return trades;
+    }
+
+    public long tradedQuantity() {
+        return tradedQuantity;
+    }
+
+    void mark(int instrumentId, double price) {
+        markValue += positions[instrumentId] * (price - lastPrices[instrumentId]);
+        lastPrices[instrumentId] = price;
+        updateDrawdown();
+    }
+
+    private void trade(int instrumentId, long signedQuantity) {
+        if (signedQuantity == 0) {
+            return;
+        }
+        double price = lastPrices[instrumentId];
+        if (price <= 0) {
+            throw new IllegalStateException("No price yet for instrument " + instrumentId);
+        }
+        double fillPrice = signedQuantity > 0 ? price * (1 + slippageFraction) : price * (1 - slippageFraction);
+        cash -= signedQuantity * fillPrice;
+        markValue += signedQuantity * price;
+        positions[instrumentId] += signedQuantity;
+        trades++;
+        tradedQuantity += Math.abs(signedQuantity);
+        updateDrawdown();
+    }
+
+    private void updateDrawdown() {
+        double equity = cash + markValue;
+        if (equity > peakEquity) {
+            peakEquity = equity;
+        } else if (peakEquity - equity > maxDrawdown) {
+            maxDrawdown = peakEquity - equity;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nigam.openalgo.autopilot.trading.backtest;
+
+import java.util.List;
+
+/**
+ * Ranked results of a sweep and its throughput
+ *
+ * @param results               Runs ordered best first by net PnL, then smaller drawdown
+ * @param runs                  Number of strategy/parameter runs
+ * @param ticksPerRun           Ticks replayed by each run
+ * @param elapsedMillis         Wall time of the whole sweep
+ * @param parallelism           Worker threads used
+ * @param ticksPerSecondPerCore Ticks replayed across all runs per second per worker
+ */
+public record BacktestReport(List<BacktestResult> results,
+                             int runs,
+                             long ticksPerRun,
+                             long elapsedMillis,
+                             int parallelism,
+                             double ticksPerSecondPerCore) {
+}
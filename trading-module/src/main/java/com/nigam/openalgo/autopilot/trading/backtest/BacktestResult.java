@@ -0,0 +1,29 @@
+package com.nigam.openalgo.autopilot.trading.backtest;
+
+import java.util.Map;
+
+/**
+ * Outcome of one strategy/parameter run
+ *
+ * @param strategy       Strategy name
+ * @param parameters     Parameter values of this run
+ * @param netPnl         Final equity, realized plus open positions marked at the last price
+ * @param maxDrawdown    Largest peak-to-trough equity decline
+ * @param trades         Number of fills
+ * @param tradedQuantity Total quantity traded
+ * @param ticks          Ticks replayed
+ * @param elapsedNanos   Wall time of the run
+ */
+public record BacktestResult(String strategy,
+                             Map<String, Double> parameters,
+                             double netPnl,
+                             double maxDrawdown,
+                             long trades,
+                             long tradedQuantity,
+                             long ticks,
+                             long elapsedNanos) {
+
+    public double ticksPerSecond() {
+        return elapsedNanos > 0 ? ticks * 1e9 / elapsedNanos : 0;
+    }
+}
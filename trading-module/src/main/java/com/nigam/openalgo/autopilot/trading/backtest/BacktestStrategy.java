@@ -0,0 +1,20 @@
+package com.nigam.openalgo.autopilot.trading.backtest;
+
+/**
+ * Strategy replayed by {@link BacktestEngine}. One instance is created per run and only ever
+ * called from that run's thread, so implementations may keep plain mutable state.
+ */
+@FunctionalInterface
+public interface BacktestStrategy {
+
+    /**
+     * Called for every recorded tick, after the context has been marked to the tick price
+     *
+     * @param instrumentId    Id in the run's instrument table, see {@link BacktestContext#instrumentId(String)}
+     * @param timestampMillis Recorded tick time
+     * @param price           Last traded price
+     * @param volume          Volume carried by the tick, 0 when none was recorded
+     * @param context         Run state used to trade and read positions
+     */
+    void onTick(int instrumentId, long timestampMillis, double price, long volume, BacktestContext context);
+}
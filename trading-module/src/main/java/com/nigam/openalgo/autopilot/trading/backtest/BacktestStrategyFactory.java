@@ -0,0 +1,12 @@
+package com.nigam.openalgo.autopilot.trading.backtest;
+
+import java.util.Map;
+
+/**
+ * Creates a fresh strategy for one point of a {@link ParameterGrid}
+ */
+@FunctionalInterface
+public interface BacktestStrategyFactory {
+
+    BacktestStrategy create(Map<String, Double> parameters);
+}
@@ -0,0 +1,79 @@
+package com.nigam.openalgo.autopilot.trading.backtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named parameter axes whose cartesian product is swept by {@link BacktestEngine}.
+ * An empty grid yields a single run with no parameters.
+ */
+public class ParameterGrid {
+
+    private final Map<String, double[]> axes = new LinkedHashMap<>();
+
+    public static ParameterGrid of() {
+        return new ParameterGrid();
+    }
+
+    /**
+     * Add an axis with explicit values
+     */
+    public ParameterGrid with(String name, double... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Parameter " + name + " has no values");
+        }
+        axes.put(name, values.clone());
+        return this;
+    }
+
+    /**
+     * Add an axis stepping from {@code from} to {@code to} inclusive
+     */
+    public ParameterGrid range(String name, double from, double to, double step) {
+        if (step <= 0 || to < from) {
+            throw new IllegalArgumentException("Invalid range for parameter " + name);
+        }
+        int count = (int) Math.floor((to - from) / step + 1e-9) + 1;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = from + i * step;
+        }
+        axes.put(name, values);
+        return this;
+    }
+
+    public int size() {
+        int size = 1;
+        for (double[] values : axes.values()) {
+            size *= values.length;
+        }
+        return size;
+    }
+
+    /**
+     * Every combination of axis values, first axis varying slowest
+     */
+    public List<Map<String, Double>> combinations() {
+        List<Map<String, Double>> combinations = new ArrayList<>(size());
+        combinations.add(Collections.emptyMap());
+        for (Map.Entry<String, double[]> axis : axes.entrySet()) {
+            List<Map<String, Double>> expanded = new ArrayList<>(combinations.size() * axis.getValue().length);
+            for (Map<String, Double> combination : combinations) {
+                for (double value : axis.getValue()) {
+                    Map<String, Double> next = new LinkedHashMap<>(combination);
+                    next.put(axis.getKey(), value);
+                    expanded.add(next);
+                }
+            }
+            combinations = expanded;
+        }
+        List<Map<String, Double>> result = new ArrayList<>(combinations.size());
+        for (Map<String, Double> combination : combinations) {
+            result.add(Collections.unmodifiableMap(combination));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.nigam.openalgo.autopilot.trading.backtest;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.Strategy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.Function;
+
+/**
+ * Runs a ta4j {@link Strategy} inside a backtest.
+ *
+ * Ticks for one instrument are aggregated into fixed-length time bars; each completed bar is
+ * added to a per-run {@link BarSeries} and the ta4j strategy is asked to enter (go long a
+ * fixed quantity) or exit (go flat). The series is capped so long replays stay bounded.
+ */
+public class Ta4jBarStrategy implements BacktestStrategy {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final String instrumentKey;
+    private final long barMillis;
+    private final long quantity;
+    private final BarSeries series;
+    private final Strategy strategy;
+
+    // Resolved on the first tick, the instrument table is per run
+    private int instrumentId = Integer.MIN_VALUE;
+
+    private long barEnd;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+
+    /**
+     * @param instrumentKey   "EXCHANGE:SYMBOL" to trade
+     * @param barMillis       Bar length
+     * @param quantity        Quantity bought on entry
+     * @param maxBars         Bars kept in the series
+     * @param strategyBuilder Builds the ta4j strategy over this run's series
+     */
+    public Ta4jBarStrategy(String instrumentKey, long barMillis, long quantity, int maxBars,
+                           Function<BarSeries, Strategy> strategyBuilder) {
+        this.instrumentKey = instrumentKey;
+        this.barMillis = barMillis;
+        this.quantity = quantity;
+        this.series = new BaseBarSeries(instrumentKey);
+        this.series.setMaximumBarCount(maxBars);
+        this.strategy = strategyBuilder.apply(series);
+    }
+
+    @Override
+    public void onTick(int id, long timestampMillis, double price, long tickVolume, BacktestContext context) {
+        if (instrumentId == Integer.MIN_VALUE) {
+            instrumentId = context.instrumentId(instrumentKey);
+        }
+        if (id != instrumentId) {
+            return;
+        }
+        if (barEnd == 0) {
+            startBar(timestampMillis, price);
+        } else if (timestampMillis >= barEnd) {
+            completeBar(context);
+            startBar(timestampMillis, price);
+        }
+        high = Math.max(high, price);
+        low = Math.min(low, price);
+        close = price;
+        volume += tickVolume;
+    }
+
+    private void startBar(long timestampMillis, double price) {
+        barEnd = (timestampMillis / barMillis + 1) * barMillis;
+        open = high = low = close = price;
+        volume = 0;
+    }
+
+    private void completeBar(BacktestContext context) {
+        ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(barEnd), ZONE);
+        series.addBar(Duration.ofMillis(barMillis), endTime, open, high, low, close, volume);
+        int index = series.getEndIndex();
+        long position = context.position(instrumentId);
+        if (position == 0 && strategy.shouldEnter(index)) {
+            context.buy(instrumentId, quantity);
+        } else if (position > 0 && strategy.shouldExit(index)) {
+            context.sell(instrumentId, position);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.nigam.openalgo.autopilot.trading.config;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client used by the order gateway to reach the OpenAlgo REST API.
+ * The client is shared for the lifetime of the application so connections stay pooled and warm.
+ */
+@Configuration
+public class OrderGatewayConfig {
+
+    @Value("${openalgo.order.gateway.max-in-flight:64}")
+    private int maxInFlight;
+
+    @Value("${openalgo.order.gateway.pool.max-idle:16}")
+    private int maxIdleConnections;
+
+    @Value("${openalgo.order.gateway.pool.keep-alive-minutes:5}")
+    private long keepAliveMinutes;
+
+    @Value("${openalgo.order.gateway.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${openalgo.order.gateway.read-timeout-ms:3000}")
+    private long readTimeoutMs;
+
+    @Bean
+    public OkHttpClient orderHttpClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        // All orders go to a single host, so the per-host cap is the effective limit
+        dispatcher.setMaxRequests(maxInFlight);
+        dispatcher.setMaxRequestsPerHost(maxInFlight);
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMinutes, TimeUnit.MINUTES))
+                .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(false)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.nigam.openalgo.autopilot.trading.marketdata;
+
+/**
+ * Instrument known to the trading engines, identified by a dense integer id
+ *
+ * @param id       Index into per-instrument arrays
+ * @param exchange Exchange name (e.g., "MCX")
+ * @param symbol   Symbol name (e.g., "CRUDEOIL16JAN26FUT")
+ */
+public record Instrument(int id, String exchange, String symbol) {
+
+    public String key() {
+        return exchange + ":" + symbol;
+    }
+}
@@ -0,0 +1,84 @@
+package com.nigam.openalgo.autopilot.trading.marketdata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Assigns dense integer ids to instruments so engines can keep per-instrument state
+ * in primitive arrays instead of maps. Ids are never reused for the lifetime of the process.
+ */
+@Component
+public class InstrumentRegistry {
+
+    private final int capacity;
+    private final Map<String, Map<String, Instrument>> byExchange = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Instrument> byId;
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public InstrumentRegistry(@Value("${openalgo.instruments.capacity:4096}") int capacity) {
+        this.capacity = capacity;
+        this.byId = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Get the id for an instrument, registering it on first use
+     *
+     * @throws IllegalStateException if the registry is full
+     */
+    public int idOf(String exchange, String symbol) {
+        Instrument instrument = byExchange
+                .computeIfAbsent(exchange, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(symbol, k -> register(exchange, symbol));
+        return instrument.id();
+    }
+
+    /**
+     * Get the id for an "EXCHANGE:SYMBOL" key, registering it on first use
+     */
+    public int idOf(String key) {
+        int separator = key.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Instrument key must be EXCHANGE:SYMBOL but was '" + key + "'");
+        }
+        return idOf(key.substring(0, separator), key.substring(separator + 1));
+    }
+
+    /**
+     * Look up an instrument id without registering it
+     *
+     * @return Instrument id or -1 if not registered
+     */
+    public int find(String exchange, String symbol) {
+        Map<String, Instrument> symbols = byExchange.get(exchange);
+        Instrument instrument = symbols != null ? symbols.get(symbol) : null;
+        return instrument != null ? instrument.id() : -1;
+    }
+
+    public Instrument get(int id) {
+        return id >= 0 && id < capacity ? byId.get(id) : null;
+    }
+
+    public int size() {
+        return Math.min(nextId.get(), capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private Instrument register(String exchange, String symbol) {
+        int id = nextId.getAndIncrement();
+        if (id >= capacity) {
+            throw new IllegalStateException("Instrument registry is full (capacity " + capacity
+                    + "), increase openalgo.instruments.capacity");
+        }
+        Instrument instrument = new Instrument(id, exchange, symbol);
+        byId.set(id, instrument);
+        return instrument;
+    }
+}
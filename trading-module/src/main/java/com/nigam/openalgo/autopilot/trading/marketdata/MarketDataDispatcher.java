@@ -0,0 +1,211 @@
+package com.nigam.openalgo.autopilot.trading.marketdata;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fans out raw OpenAlgo market data messages to every {@link MarketDataHandler} bean.
+ * Messages are parsed once and handlers receive primitive values keyed by instrument id.
+ */
+@Component
+@Slf4j
+public class MarketDataDispatcher {
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final ObjectProvider<MarketDataHandler> handlerProvider;
+
+    private volatile MarketDataHandler[] handlers;
+    private volatile MarketDataHandler[] restoreHandlers;
+
+    public MarketDataDispatcher(InstrumentRegistry instrumentRegistry, ObjectProvider<MarketDataHandler> handlerProvider) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.handlerProvider = handlerProvider;
+    }
+
+    /**
+     * Publish an LTP message as received from OpenAlgo
+     */
+    public void publishLtp(Map<String, Object> data) {
+        dispatchLtp(handlers(), data);
+    }
+
+    /**
+     * Seed handlers that keep latest values ({@link MarketDataHandler#restoresLatestValues()})
+     * with an LTP message restored from a snapshot, without reaching the other handlers
+     */
+    public void restoreLtp(Map<String, Object> data) {
+        dispatchLtp(restoreHandlers(), data);
+    }
+
+    private void dispatchLtp(MarketDataHandler[] targets, Map<String, Object> data) {
+        String exchange = MarketDataFields.getString(data, "exchange");
+        String symbol = MarketDataFields.getString(data, "symbol");
+        double ltp = MarketDataFields.getDouble(data, "ltp", Double.NaN);
+        if (exchange == null || symbol == null || Double.isNaN(ltp)) {
+            log.debug("Ignoring LTP message without exchange/symbol/ltp: {}", data);
+            return;
+        }
+        long timestamp = MarketDataFields.getLong(data, "timestamp", System.currentTimeMillis());
+        dispatchLtp(targets, instrumentRegistry.idOf(exchange, symbol), ltp, timestamp);
+    }
+
+    /**
+     * Publish an already parsed LTP update
+     */
+    public void publishLtp(int instrumentId, double ltp, long timestampMillis) {
+        dispatchLtp(handlers(), instrumentId, ltp, timestampMillis);
+    }
+
+    private void dispatchLtp(MarketDataHandler[] targets, int instrumentId, double ltp, long timestampMillis) {
+        for (MarketDataHandler handler : targets) {
+            try {
+                handler.onLtp(instrumentId, ltp, timestampMillis);
+            } catch (Exception e) {
+                log.error("Market data handler {} failed on LTP update", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Publish a quote message as received from OpenAlgo
+     */
+    public void publishQuote(Map<String, Object> data) {
+        dispatchQuote(handlers(), data);
+    }
+
+    /**
+     * Seed latest-value handlers with a quote message restored from a snapshot
+     */
+    public void restoreQuote(Map<String, Object> data) {
+        dispatchQuote(restoreHandlers(), data);
+    }
+
+    private void dispatchQuote(MarketDataHandler[] targets, Map<String, Object> data) {
+        String exchange = MarketDataFields.getString(data, "exchange");
+        String symbol = MarketDataFields.getString(data, "symbol");
+        if (exchange == null || symbol == null) {
+            log.debug("Ignoring quote message without exchange/symbol: {}", data);
+            return;
+        }
+        MarketQuote quote = new MarketQuote(
+                MarketDataFields.getDouble(data, "ltp", Double.NaN),
+                MarketDataFields.getDouble(data, "open", Double.NaN),
+                MarketDataFields.getDouble(data, "high", Double.NaN),
+                MarketDataFields.getDouble(data, "low", Double.NaN),
+                MarketDataFields.getDouble(data, "close", Double.NaN),
+                MarketDataFields.getLong(data, "volume", 0),
+                MarketDataFields.getDouble(data, "average_price", Double.NaN));
+        long timestamp = MarketDataFields.getLong(data, "timestamp", System.currentTimeMillis());
+        dispatchQuote(targets, instrumentRegistry.idOf(exchange, symbol), quote, timestamp);
+    }
+
+    /**
+     * Publish an already parsed quote update
+     */
+    public void publishQuote(int instrumentId, MarketQuote quote, long timestampMillis) {
+        dispatchQuote(handlers(), instrumentId, quote, timestampMillis);
+    }
+
+    private void dispatchQuote(MarketDataHandler[] targets, int instrumentId, MarketQuote quote, long timestampMillis) {
+        for (MarketDataHandler handler : targets) {
+            try {
+                handler.onQuote(instrumentId, quote, timestampMillis);
+            } catch (Exception e) {
+                log.error("Market data handler {} failed on quote update", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Publish a depth message as received from OpenAlgo
+     */
+    public void publishDepth(Map<String, Object> data) {
+        dispatchDepth(handlers(), data);
+    }
+
+    /**
+     * Seed latest-value handlers with a depth message restored from a snapshot
+     */
+    public void restoreDepth(Map<String, Object> data) {
+        dispatchDepth(restoreHandlers(), data);
+    }
+
+    private void dispatchDepth(MarketDataHandler[] targets, Map<String, Object> data) {
+        String exchange = MarketDataFields.getString(data, "exchange");
+        String symbol = MarketDataFields.getString(data, "symbol");
+        if (exchange == null || symbol == null || !(MarketDataFields.get(data, "depth") instanceof Map<?, ?> depth)) {
+            log.debug("Ignoring depth message without exchange/symbol/depth: {}", data);
+            return;
+        }
+        Object bids = depth.get("buy") != null ? depth.get("buy") : depth.get("bids");
+        Object asks = depth.get("sell") != null ? depth.get("sell") : depth.get("asks");
+        int bidLevels = levelCount(bids);
+        int askLevels = levelCount(asks);
+        MarketDepth marketDepth = new MarketDepth(
+                new double[bidLevels], new long[bidLevels], bidLevels,
+                new double[askLevels], new long[askLevels], askLevels);
+        fillLevels(bids, marketDepth.bidPrices(), marketDepth.bidQuantities());
+        fillLevels(asks, marketDepth.askPrices(), marketDepth.askQuantities());
+
+        long timestamp = MarketDataFields.getLong(data, "timestamp", System.currentTimeMillis());
+        dispatchDepth(targets, instrumentRegistry.idOf(exchange, symbol), marketDepth, timestamp);
+    }
+
+    /**
+     * Publish an already parsed depth update
+     */
+    public void publishDepth(int instrumentId, MarketDepth depth, long timestampMillis) {
+        dispatchDepth(handlers(), instrumentId, depth, timestampMillis);
+    }
+
+    private void dispatchDepth(MarketDataHandler[] targets, int instrumentId, MarketDepth depth, long timestampMillis) {
+        for (MarketDataHandler handler : targets) {
+            try {
+                handler.onDepth(instrumentId, depth, timestampMillis);
+            } catch (Exception e) {
+                log.error("Market data handler {} failed on depth update", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private static int levelCount(Object levels) {
+        return levels instanceof List<?> list ? list.size() : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void fillLevels(Object levels, double[] prices, long[] quantities) {
+        if (!(levels instanceof List<?> list)) {
+            return;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) instanceof Map<?, ?> level) {
+                prices[i] = MarketDataFields.getDouble((Map<String, Object>) level, "price", 0);
+                quantities[i] = MarketDataFields.getLong((Map<String, Object>) level, "quantity", 0);
+            }
+        }
+    }
+
+    private MarketDataHandler[] handlers() {
+        MarketDataHandler[] current = handlers;
+        if (current == null) {
+            // Resolved lazily so handlers may depend on the dispatcher themselves
+            current = handlerProvider.orderedStream().toArray(MarketDataHandler[]::new);
+            handlers = current;
+        }
+        return current;
+    }
+
+    private MarketDataHandler[] restoreHandlers() {
+        MarketDataHandler[] current = restoreHandlers;
+        if (current == null) {
+            current = Arrays.stream(handlers()).filter(MarketDataHandler::restoresLatestValues).toArray(MarketDataHandler[]::new);
+            restoreHandlers = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,57 @@
+package com.nigam.openalgo.autopilot.trading.marketdata;
+
+import java.util.Map;
+
+/**
+ * Helpers for reading fields from OpenAlgo WebSocket messages.
+ * Values may sit at the top level or inside a nested "data" map depending on the message type.
+ */
+public final class MarketDataFields {
+
+    private MarketDataFields() {
+    }
+
+    public static String getString(Map<String, Object> message, String field) {
+        Object value = get(message, field);
+        return value != null ? value.toString() : null;
+    }
+
+    public static double getDouble(Map<String, Object> message, String field, double defaultValue) {
+        Object value = get(message, field);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text && !text.isEmpty()) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    public static long getLong(Map<String, Object> message, String field, long defaultValue) {
+        Object value = get(message, field);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isEmpty()) {
+            try {
+                return (long) Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object get(Map<String, Object> message, String field) {
+        Object value = message.get(field);
+        if (value == null && message.get("data") instanceof Map<?, ?> data) {
+            value = ((Map<String, Object>) data).get(field);
+        }
+        return value;
+    }
+}
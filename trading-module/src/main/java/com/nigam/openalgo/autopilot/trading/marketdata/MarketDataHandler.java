@@ -0,0 +1,49 @@
+package com.nigam.openalgo.autopilot.trading.marketdata;
+
+import java.util.Map;
+
+/**
+ * Receives market data updates on the thread that delivered them.
+ * Implementations must return quickly; anything slow belongs on another thread.
+ */
+public interface MarketDataHandler {
+
+    /**
+     * Last traded price update
+     *
+     * @param instrumentId    Id assigned by {@link InstrumentRegistry}
+     * @param ltp             Last traded price
+     * @param timestampMillis Exchange timestamp, or receive time when the feed has none
+     */
+    default void onLtp(int instrumentId, double ltp, long timestampMillis) {
+    }
+
+    /**
+     * Quote update
+     *
+     * @param instrumentId    Id assigned by {@link InstrumentRegistry}
+     * @param quote           OHLC, volume and average price
+     * @param timestampMillis Exchange timestamp, or receive time when the feed has none
+     */
+    default void onQuote(int instrumentId, MarketQuote quote, long timestampMillis) {
+    }
+
+    /**
+     * Market depth update
+     *
+     * @param instrumentId    Id assigned by {@link InstrumentRegistry}
+     * @param depth           Bid and ask levels, best first
+     * @param timestampMillis Exchange timestamp, or receive time when the feed has none
+     */
+    default void onDepth(int instrumentId, MarketDepth depth, long timestampMillis) {
+    }
+
+    /**
+     * Whether this handler only keeps latest values and may be seeded with a restored snapshot
+     * on startup (see {@link MarketDataDispatcher#restoreLtp(Map)}). Handlers that act on every
+     * update, such as recorders, alerts or order matching, must leave this false.
+     */
+    default boolean restoresLatestValues() {
+        return false;
+    }
+}
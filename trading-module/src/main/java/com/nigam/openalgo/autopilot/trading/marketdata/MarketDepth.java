@@ -0,0 +1,20 @@
+package com.nigam.openalgo.autopilot.trading.marketdata;
+
+/**
+ * Order book levels from an OpenAlgo depth update, best price first
+ *
+ * @param bidPrices     Bid prices, descending
+ * @param bidQuantities Quantity resting at each bid price
+ * @param bidLevels     Number of valid bid levels
+ * @param askPrices     Ask prices, ascending
+ * @param askQuantities Quantity resting at each ask price
+ * @param askLevels     Number of valid ask levels
+ */
+public record MarketDepth(
+        double[] bidPrices,
+        long[] bidQuantities,
+        int bidLevels,
+        double[] askPrices,
+        long[] askQuantities,
+        int askLevels) {
+}
@@ -0,0 +1,15 @@
+package com.nigam.openalgo.autopilot.trading.marketdata;
+
+/**
+ * Fields of an OpenAlgo quote update. Prices the feed did not send are NaN.
+ *
+ * @param ltp          Last traded price
+ * @param open         Day open
+ * @param high         Day high
+ * @param low          Day low
+ * @param close        Previous close
+ * @param volume       Day volume
+ * @param averagePrice Volume-weighted average price
+ */
+public record MarketQuote(double ltp, double open, double high, double low, double close, long volume, double averagePrice) {
+}
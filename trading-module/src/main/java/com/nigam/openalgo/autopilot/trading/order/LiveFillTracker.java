@@ -0,0 +1,191 @@
+package com.nigam.openalgo.autopilot.trading.order;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.trading.position.Fill;
+import com.nigam.openalgo.autopilot.trading.position.PositionEngine;
+import com.nigam.openalgo.autopilot.trading.risk.PreTradeRiskEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds executions of live orders into the {@link PositionEngine}.
+ *
+ * OpenAlgo has no push stream for order updates, so while any live order is working the
+ * tradebook is polled. Trades are summed per broker order id and only the quantity not yet
+ * booked is applied, priced from the change in traded value, so brokers that report one row
+ * per execution and brokers that report one aggregated row per order are handled alike.
+ * An order stops being tracked once fully filled or after openalgo.order.fills.track-minutes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveFillTracker {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String TRADEBOOK_PATH = "/api/v1/tradebook";
+
+    private final OkHttpClient orderHttpClient;
+    private final ObjectMapper objectMapper;
+    private final PositionEngine positionEngine;
+
+    @Value("${openalgo.broker.default.server.host}")
+    private String host;
+
+    @Value("${openalgo.broker.default.server.port}")
+    private int port;
+
+    @Value("${openalgo.broker.default.server.apiKey}")
+    private String apiKey;
+
+    @Value("${openalgo.order.fills.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${openalgo.order.fills.track-minutes:480}")
+    private long trackMinutes;
+
+    /**
+     * A live order and what has been booked for it so far; only touched by the poller thread
+     * once registered
+     */
+    private static final class TrackedOrder {
+        private final OrderRequest order;
+        private final long trackedSinceMillis;
+        private long bookedQuantity;
+        private double bookedValue;
+
+        private TrackedOrder(OrderRequest order, long trackedSinceMillis) {
+            this.order = order;
+            this.trackedSinceMillis = trackedSinceMillis;
+        }
+    }
+
+    private final Map<String, TrackedOrder> working = new ConcurrentHashMap<>();
+    private Request tradebookRequest;
+    private ScheduledExecutorService poller;
+
+    @PostConstruct
+    public void init() {
+        tradebookRequest = new Request.Builder()
+                .url("http://" + host + ":" + port + TRADEBOOK_PATH)
+                .header("Accept", "application/json")
+                .post(RequestBody.create("{\"apikey\":\""
+                        + new String(JsonStringEncoder.getInstance().quoteAsString(apiKey)) + "\"}", JSON))
+                .build();
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "live-fill-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * Start booking the executions of an order the broker accepted
+     *
+     * @param brokerOrderId Order id returned by OpenAlgo
+     */
+    public void track(OrderRequest order, String brokerOrderId) {
+        working.putIfAbsent(brokerOrderId, new TrackedOrder(order, System.currentTimeMillis()));
+    }
+
+    /**
+     * Number of live orders whose executions are still being polled for
+     */
+    public int getWorkingCount() {
+        return working.size();
+    }
+
+    void poll() {
+        if (working.isEmpty()) {
+            return;
+        }
+        try (Response response = orderHttpClient.newCall(tradebookRequest).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                log.warn("Tradebook request failed with HTTP {}", response.code());
+                return;
+            }
+            JsonNode json = objectMapper.readTree(body.byteStream());
+            if (!"success".equals(json.path("status").asText())) {
+                log.warn("Tradebook request failed: {}", json.path("message").asText());
+                return;
+            }
+            apply(json.path("data"));
+        } catch (IOException e) {
+            log.warn("Tradebook request failed: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Error booking live fills", e);
+        } finally {
+            long expiry = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(trackMinutes);
+            working.values().removeIf(tracked -> tracked.trackedSinceMillis < expiry);
+        }
+    }
+
+    private void apply(JsonNode trades) {
+        // Cumulative traded quantity and value per tracked order
+        Map<String, double[]> totals = new HashMap<>();
+        for (JsonNode trade : trades) {
+            String orderId = trade.path("orderid").asText(null);
+            if (orderId == null || !working.containsKey(orderId)) {
+                continue;
+            }
+            double quantity = trade.path("quantity").asDouble();
+            double[] total = totals.computeIfAbsent(orderId, k -> new double[2]);
+            total[0] += quantity;
+            total[1] += quantity * trade.path("average_price").asDouble();
+        }
+
+        long now = System.currentTimeMillis();
+        totals.forEach((orderId, total) -> {
+            TrackedOrder tracked = working.get(orderId);
+            long quantity = Math.round(total[0]) - tracked.bookedQuantity;
+            if (quantity <= 0) {
+                return;
+            }
+            double value = total[1] - tracked.bookedValue;
+            OrderRequest order = tracked.order;
+            positionEngine.applyFill(Fill.builder()
+                    .account(PreTradeRiskEngine.accountName(order))
+                    .strategy(order.getStrategy())
+                    .exchange(order.getExchange())
+                    .symbol(order.getSymbol())
+                    .action(order.getAction())
+                    .quantity(quantity)
+                    .price(value / quantity)
+                    .timestampMillis(now)
+                    .build());
+            tracked.bookedQuantity += quantity;
+            tracked.bookedValue = total[1];
+            if (tracked.bookedQuantity >= order.getQuantity()) {
+                working.remove(orderId);
+            }
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.nigam.openalgo.autopilot.trading.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Acknowledgement returned by OpenAlgo for a placed order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAck {
+    private OrderRequest request;
+    private boolean success;
+    private String orderId;
+    private String message;
+    private long ackLatencyNanos;
+    private long filledQuantity;   // Immediate fills; only known for paper orders
+    private double averagePrice;   // Average price of the immediate fills
+}
@@ -0,0 +1,442 @@
+package com.nigam.openalgo.autopilot.trading.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.trading.paper.PaperOrderStatus;
+import com.nigam.openalgo.autopilot.trading.paper.PaperTradingVenue;
+import com.nigam.openalgo.autopilot.trading.risk.PreTradeRiskEngine;
+import com.nigam.openalgo.autopilot.trading.risk.RiskCheckResult;
+import com.nigam.openalgo.autopilot.trading.util.TimerSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Low-latency gateway for placing orders through the OpenAlgo REST API.
+ *
+ * Orders are submitted asynchronously on a pooled, pre-warmed HTTP client. Every order passes
+ * the {@link PreTradeRiskEngine} on the caller thread before it is sent. The number of
+ * orders in flight is bounded; submissions beyond the limit are rejected once the acquire
+ * timeout elapses instead of queueing behind the broker.
+ *
+ * Executions of accepted live orders reach the position engine through the {@link LiveFillTracker}.
+ * With openalgo.order.gateway.paper-trading enabled, orders go to the {@link PaperTradingVenue}
+ * instead of OpenAlgo, so strategies can be exercised unchanged against simulated fills.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderGatewayService {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String PLACE_ORDER_PATH = "/api/v1/placeorder";
+    private static final String PING_PATH = "/api/v1/ping";
+
+    private final OkHttpClient orderHttpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final PreTradeRiskEngine riskEngine;
+    private final PaperTradingVenue paperTradingVenue;
+    private final LiveFillTracker liveFillTracker;
+
+    @Value("${openalgo.broker.default.server.host}")
+    private String host;
+
+    @Value("${openalgo.broker.default.server.port}")
+    private int port;
+
+    @Value("${openalgo.broker.default.server.apiKey}")
+    private String apiKey;
+
+    @Value("${openalgo.order.gateway.strategy:autopilot}")
+    private String defaultStrategy;
+
+    @Value("${openalgo.order.gateway.max-in-flight:64}")
+    private int maxInFlight;
+
+    @Value("${openalgo.order.gateway.acquire-timeout-ms:50}")
+    private long acquireTimeoutMs;
+
+    @Value("${openalgo.order.gateway.paper-trading:false}")
+    private boolean paperTrading;
+
+    @Value("${openalgo.order.gateway.warmup.enabled:true}")
+    private boolean warmupEnabled;
+
+    @Value("${openalgo.order.gateway.warmup.connections:4}")
+    private int warmupConnections;
+
+    private final AtomicLong orderSequence = new AtomicLong();
+
+    private Semaphore inFlight;
+    private String orderIdPrefix;
+    private Request placeOrderTemplate;
+    private Request pingTemplate;
+    private String bodyPrefix;
+
+    private Timer requestTimer;
+    private Timer ackTimer;
+    private Timer signalToAckTimer;
+    private Counter rejectedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void init() {
+        String baseUrl = "http://" + host + ":" + port;
+        inFlight = new Semaphore(maxInFlight);
+        // Client order ids stay unique across restarts without any persisted counter
+        orderIdPrefix = "AP" + Long.toString(System.currentTimeMillis(), 36) + "-";
+
+        // Request templates: URL parsing and header setup happen once, each order only attaches a body
+        placeOrderTemplate = new Request.Builder()
+                .url(baseUrl + PLACE_ORDER_PATH)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .post(RequestBody.create(new byte[0], JSON))
+                .build();
+        pingTemplate = placeOrderTemplate.newBuilder()
+                .url(baseUrl + PING_PATH)
+                .build();
+        bodyPrefix = "{\"apikey\":\"" + escape(apiKey) + "\"";
+
+        requestTimer = latencyTimer("openalgo.order.request.latency", "HTTP round trip to OpenAlgo");
+        ackTimer = latencyTimer("openalgo.order.ack.latency", "Submit to parsed acknowledgement");
+        signalToAckTimer = latencyTimer("openalgo.order.signal.to.ack.latency", "Strategy signal to acknowledgement");
+        rejectedCounter = Counter.builder("openalgo.order.rejected")
+                .description("Orders rejected because the in-flight limit was reached")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("openalgo.order.failed")
+                .description("Orders that failed at the transport level")
+                .register(meterRegistry);
+        // Paper quantity that stops working unfilled no longer counts against the risk limits
+        paperTradingVenue.addCancelListener(cancelled -> riskEngine.release(cancelled.order(), cancelled.quantity()));
+
+        log.info("Order gateway initialized for {} (max in-flight: {})", baseUrl, maxInFlight);
+    }
+
+    /**
+     * Open pooled connections to OpenAlgo before the first order needs them; the pings run on
+     * the HTTP client's threads so startup does not wait for them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmupEnabled || paperTrading) {
+            return;
+        }
+        RequestBody body = RequestBody.create(bodyPrefix + "}", JSON);
+        AtomicInteger remaining = new AtomicInteger(warmupConnections);
+        for (int i = 0; i < warmupConnections; i++) {
+            orderHttpClient.newCall(pingTemplate.newBuilder().post(body).build()).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    log.warn("Order gateway warm-up request failed: {}", e.getMessage());
+                    completed();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    response.close();
+                    completed();
+                }
+
+                private void completed() {
+                    if (remaining.decrementAndGet() == 0) {
+                        log.info("Order gateway warmed up with {} pooled connection(s)",
+                                orderHttpClient.connectionPool().connectionCount());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Submit a single order asynchronously
+     *
+     * @param order Order to place
+     * @return Future completed with the OpenAlgo acknowledgement
+     */
+    public CompletableFuture<OrderAck> submit(OrderRequest order) {
+        long submitNanos = System.nanoTime();
+        assignOrderId(order);
+        RiskCheckResult risk = riskEngine.check(order);
+        if (!risk.isAccepted()) {
+            return riskRejected(order, risk);
+        }
+        if (!acquire(1)) {
+            riskEngine.release(order);
+            return rejected(1);
+        }
+        return dispatch(order, submitNanos);
+    }
+
+    /**
+     * Submit all legs of a multi-leg order concurrently.
+     * Every leg must pass the risk checks and permits for every leg are reserved up front,
+     * so a basket is never partially sent because a limit was reached midway.
+     *
+     * @param legs Orders to place together
+     * @return Future completed with one acknowledgement per leg, in the order given
+     */
+    public CompletableFuture<List<OrderAck>> submitBasket(List<OrderRequest> legs) {
+        long submitNanos = System.nanoTime();
+        if (legs.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        legs.forEach(this::assignOrderId);
+        for (int i = 0; i < legs.size(); i++) {
+            RiskCheckResult risk;
+            try {
+                risk = riskEngine.check(legs.get(i));
+            } catch (RuntimeException e) {
+                legs.subList(0, i).forEach(riskEngine::release);
+                return CompletableFuture.failedFuture(e);
+            }
+            if (!risk.isAccepted()) {
+                legs.subList(0, i).forEach(riskEngine::release);
+                return riskRejected(legs.get(i), risk);
+            }
+        }
+        if (legs.size() > maxInFlight || !acquire(legs.size())) {
+            legs.forEach(riskEngine::release);
+            return rejected(legs.size());
+        }
+
+        List<CompletableFuture<OrderAck>> futures = new ArrayList<>(legs.size());
+        for (OrderRequest leg : legs) {
+            futures.add(dispatch(leg, submitNanos));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Number of orders currently awaiting an acknowledgement
+     */
+    public int getInFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * Latency percentiles (in microseconds) recorded so far, keyed by timer name
+     */
+    public Map<String, Map<String, Object>> getLatencyStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("request", TimerSummary.summarize(requestTimer));
+        stats.put("ack", TimerSummary.summarize(ackTimer));
+        stats.put("signalToAck", TimerSummary.summarize(signalToAckTimer));
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        orderHttpClient.dispatcher().executorService().shutdown();
+        orderHttpClient.connectionPool().evictAll();
+    }
+
+    private CompletableFuture<OrderAck> dispatch(OrderRequest order, long submitNanos) {
+        if (paperTrading) {
+            return dispatchPaper(order, submitNanos);
+        }
+        CompletableFuture<OrderAck> future = new CompletableFuture<>();
+        Request request;
+        try {
+            request = placeOrderTemplate.newBuilder()
+                    .post(RequestBody.create(toJson(order), JSON))
+                    .build();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            riskEngine.release(order);
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        long sendNanos = System.nanoTime();
+        orderHttpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                inFlight.release();
+                riskEngine.release(order);
+                failedCounter.increment();
+                log.error("Order for {}:{} failed: {}", order.getExchange(), order.getSymbol(), e.getMessage());
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    long responseNanos = System.nanoTime();
+                    requestTimer.record(responseNanos - sendNanos, TimeUnit.NANOSECONDS);
+                    OrderAck ack = parseAck(order, response);
+                    if (!ack.isSuccess()) {
+                        riskEngine.release(order);
+                    } else if (ack.getOrderId() != null) {
+                        liveFillTracker.track(order, ack.getOrderId());
+                    }
+                    long ackNanos = System.nanoTime();
+                    ack.setAckLatencyNanos(ackNanos - submitNanos);
+                    ackTimer.record(ackNanos - submitNanos, TimeUnit.NANOSECONDS);
+                    if (order.getSignalNanos() > 0) {
+                        signalToAckTimer.record(ackNanos - order.getSignalNanos(), TimeUnit.NANOSECONDS);
+                    }
+                    future.complete(ack);
+                } catch (Exception e) {
+                    riskEngine.release(order);
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.release();
+                }
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<OrderAck> dispatchPaper(OrderRequest order, long submitNanos) {
+        try {
+            PaperOrderStatus status = paperTradingVenue.submit(order);
+            long ackNanos = System.nanoTime();
+            ackTimer.record(ackNanos - submitNanos, TimeUnit.NANOSECONDS);
+            if (order.getSignalNanos() > 0) {
+                signalToAckTimer.record(ackNanos - order.getSignalNanos(), TimeUnit.NANOSECONDS);
+            }
+            // The venue has already released any cancelled quantity through the cancel listener
+            long working = order.getQuantity() - status.filledQuantity() - status.cancelledQuantity();
+            return CompletableFuture.completedFuture(OrderAck.builder()
+                    .request(order)
+                    .success(status.filledQuantity() > 0 || working > 0)
+                    .orderId("PAPER-" + status.orderId())
+                    .message(paperMessage(order, status, working))
+                    .filledQuantity(status.filledQuantity())
+                    .averagePrice(status.averagePrice())
+                    .ackLatencyNanos(ackNanos - submitNanos)
+                    .build());
+        } catch (RuntimeException e) {
+            riskEngine.release(order);
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static String paperMessage(OrderRequest order, PaperOrderStatus status, long working) {
+        if (status.cancelledQuantity() == order.getQuantity()) {
+            return "No liquidity in the paper book, market order cancelled";
+        }
+        String message = "Filled " + status.filledQuantity() + " of " + order.getQuantity();
+        if (status.cancelledQuantity() > 0) {
+            return message + ", remaining " + status.cancelledQuantity() + " cancelled";
+        }
+        return working > 0 ? message + ", remaining " + working + " resting" : message;
+    }
+
+    private OrderAck parseAck(OrderRequest order, Response response) throws IOException {
+        ResponseBody body = response.body();
+        JsonNode json;
+        try {
+            json = body != null ? objectMapper.readTree(body.byteStream()) : null;
+        } catch (JsonProcessingException e) {
+            // Proxies and gateways answer errors with HTML or plain text; the order was not placed
+            failedCounter.increment();
+            log.error("Order for {}:{} got an unparseable response (HTTP {})",
+                    order.getExchange(), order.getSymbol(), response.code());
+            return OrderAck.builder()
+                    .request(order)
+                    .success(false)
+                    .message("HTTP " + response.code() + ": unparseable response")
+                    .build();
+        }
+        boolean success = response.isSuccessful() && json != null && "success".equals(json.path("status").asText());
+        return OrderAck.builder()
+                .request(order)
+                .success(success)
+                .orderId(json != null ? json.path("orderid").asText(null) : null)
+                .message(json != null ? json.path("message").asText(null) : "HTTP " + response.code())
+                .build();
+    }
+
+    private String toJson(OrderRequest order) {
+        StringBuilder sb = new StringBuilder(256).append(bodyPrefix);
+        appendField(sb, "strategy", order.getStrategy() != null ? order.getStrategy() : defaultStrategy);
+        appendField(sb, "exchange", order.getExchange());
+        appendField(sb, "symbol", order.getSymbol());
+        appendField(sb, "action", order.getAction());
+        appendField(sb, "quantity", Long.toString(order.getQuantity()));
+        appendField(sb, "pricetype", order.getPriceType() != null ? order.getPriceType() : "MARKET");
+        appendField(sb, "product", order.getProduct() != null ? order.getProduct() : "MIS");
+        appendField(sb, "price", Double.toString(order.getPrice()));
+        appendField(sb, "trigger_price", Double.toString(order.getTriggerPrice()));
+        return sb.append('}').toString();
+    }
+
+    private static void appendField(StringBuilder sb, String name, String value) {
+        sb.append(",\"").append(name).append("\":\"").append(escape(value)).append('"');
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+
+    private void assignOrderId(OrderRequest order) {
+        if (order.getClientOrderId() == null) {
+            order.setClientOrderId(orderIdPrefix + orderSequence.incrementAndGet());
+        }
+    }
+
+    private boolean acquire(int permits) {
+        try {
+            return inFlight.tryAcquire(permits, acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> rejected(int orders) {
+        rejectedCounter.increment(orders);
+        return CompletableFuture.failedFuture(new RejectedExecutionException(
+                "Order gateway in-flight limit of " + maxInFlight + " reached"));
+    }
+
+    private <T> CompletableFuture<T> riskRejected(OrderRequest order, RiskCheckResult result) {
+        log.warn("Order for {}:{} rejected by risk checks: {}", order.getExchange(), order.getSymbol(), result);
+        return CompletableFuture.failedFuture(new RejectedExecutionException(
+                "Order for " + order.getExchange() + ":" + order.getSymbol() + " rejected by risk checks: " + result));
+    }
+
+    private Timer latencyTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.nigam.openalgo.autopilot.trading.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order to be placed through the OpenAlgo REST API
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRequest {
+    private String clientOrderId; // Unique per order; assigned by the gateway when not set
+    private String account;      // Risk account, "default" when not set
+    private String strategy;
+    private String exchange;
+    private String symbol;
+    private String action;       // BUY, SELL
+    private long quantity;
+    private String priceType;    // MARKET, LIMIT, SL, SL-M
+    private String product;      // MIS, CNC, NRML
+    private double price;
+    private double triggerPrice;
+
+    /**
+     * System.nanoTime() at which the originating signal was generated.
+     * When set, the gateway records signal-to-ack latency for this order.
+     */
+    private long signalNanos;
+}
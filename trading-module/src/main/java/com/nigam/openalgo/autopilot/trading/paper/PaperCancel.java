@@ -0,0 +1,14 @@
+package com.nigam.openalgo.autopilot.trading.paper;
+
+import com.nigam.openalgo.autopilot.trading.order.OrderRequest;
+
+/**
+ * Quantity of a simulated order that stopped working without filling: the unfilled rest of a
+ * market order, or a resting order that was cancelled
+ *
+ * @param orderId  Simulated order id
+ * @param order    Order the quantity belongs to
+ * @param quantity Quantity cancelled
+ */
+public record PaperCancel(long orderId, OrderRequest order, long quantity) {
+}
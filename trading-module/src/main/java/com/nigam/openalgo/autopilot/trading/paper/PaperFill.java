@@ -0,0 +1,16 @@
+package com.nigam.openalgo.autopilot.trading.paper;
+
+import com.nigam.openalgo.autopilot.trading.order.OrderRequest;
+
+/**
+ * Simulated execution produced by a {@link PaperOrderBook}
+ *
+ * @param orderId     Simulated order id
+ * @param order       Order that was filled
+ * @param quantity    Quantity filled
+ * @param price       Fill price
+ * @param submitNanos System.nanoTime() at which the order was submitted
+ * @param fillNanos   System.nanoTime() at which the fill was produced
+ */
+public record PaperFill(long orderId, OrderRequest order, long quantity, double price, long submitNanos, long fillNanos) {
+}
@@ -0,0 +1,232 @@
+package com.nigam.openalgo.autopilot.trading.paper;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDepth;
+import com.nigam.openalgo.autopilot.trading.order.OrderRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Simulated order book for one instrument.
+ *
+ * Holds the latest real depth as primitive price-level arrays and the resting simulated
+ * orders as parallel primitive arrays. Liquidity taken by simulated orders is remembered
+ * per level until the next depth update, so repeated orders walk the book and slip.
+ * Not thread-safe; {@link PaperTradingVenue} serializes access per instrument.
+ */
+class PaperOrderBook {
+
+    private static final int INITIAL_LEVELS = 8;
+    private static final int INITIAL_ORDERS = 16;
+
+    // Latest market depth, best price first
+    private double[] bidPrices = new double[INITIAL_LEVELS];
+    private long[] bidQuantities = new long[INITIAL_LEVELS];
+    private long[] bidTaken = new long[INITIAL_LEVELS];
+    private int bidLevels;
+    private double[] askPrices = new double[INITIAL_LEVELS];
+    private long[] askQuantities = new long[INITIAL_LEVELS];
+    private long[] askTaken = new long[INITIAL_LEVELS];
+    private int askLevels;
+
+    // Resting simulated orders
+    private long[] orderIds = new long[INITIAL_ORDERS];
+    private boolean[] buys = new boolean[INITIAL_ORDERS];
+    private double[] limitPrices = new double[INITIAL_ORDERS];
+    private long[] remaining = new long[INITIAL_ORDERS];
+    private long[] queueAhead = new long[INITIAL_ORDERS];
+    private long[] levelQuantity = new long[INITIAL_ORDERS];
+    private long[] submitNanos = new long[INITIAL_ORDERS];
+    private OrderRequest[] requests = new OrderRequest[INITIAL_ORDERS];
+    private int orderCount;
+
+    boolean hasDepth() {
+        return bidLevels > 0 || askLevels > 0;
+    }
+
+    int restingOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Match an incoming order against the book and rest any unfilled limit quantity
+     *
+     * @return Unfilled quantity of a market order, which is cancelled, or null
+     */
+    PaperCancel submit(long orderId, OrderRequest order, long nowNanos, List<PaperFill> fills) {
+        boolean buy = !"SELL".equalsIgnoreCase(order.getAction());
+        boolean market = order.getPriceType() == null || "MARKET".equalsIgnoreCase(order.getPriceType());
+        double limit = market ? (buy ? Double.MAX_VALUE : 0) : order.getPrice();
+
+        long unfilled = take(orderId, order, buy, limit, order.getQuantity(), nowNanos, fills, nowNanos);
+        if (unfilled == 0) {
+            return null;
+        }
+        if (market) {
+            // Market orders are immediate-or-cancel against the visible book
+            return new PaperCancel(orderId, order, unfilled);
+        }
+        rest(orderId, order, buy, limit, unfilled, nowNanos);
+        return null;
+    }
+
+    /**
+     * @return Quantity the order still had resting, or null if it was not resting
+     */
+    PaperCancel cancel(long orderId) {
+        for (int i = 0; i < orderCount; i++) {
+            if (orderIds[i] == orderId) {
+                PaperCancel cancelled = new PaperCancel(orderId, requests[i], remaining[i]);
+                remove(i);
+                return cancelled;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replace the market depth, advance queue positions and fill resting orders the new book crosses
+     */
+    void onDepth(MarketDepth depth, long nowNanos, List<PaperFill> fills) {
+        bidLevels = copyLevels(depth.bidPrices(), depth.bidQuantities(), depth.bidLevels(), true);
+        askLevels = copyLevels(depth.askPrices(), depth.askQuantities(), depth.askLevels(), false);
+
+        for (int i = 0; i < orderCount; i++) {
+            boolean buy = buys[i];
+            long visible = visibleQuantity(buy, limitPrices[i]);
+            if (visible < levelQuantity[i]) {
+                // Quantity left our level: assume it was ahead of us (traded or cancelled)
+                queueAhead[i] = Math.max(0, queueAhead[i] - (levelQuantity[i] - visible));
+            }
+            levelQuantity[i] = visible;
+
+            long unfilled = take(orderIds[i], requests[i], buy, limitPrices[i], remaining[i], submitNanos[i], fills, nowNanos);
+            if (unfilled == 0) {
+                remove(i--);
+            } else {
+                remaining[i] = unfilled;
+            }
+        }
+    }
+
+    /**
+     * Fill resting orders the last trade printed through, and those at the front of the queue at the trade price
+     */
+    void onLtp(double ltp, long nowNanos, List<PaperFill> fills) {
+        for (int i = 0; i < orderCount; i++) {
+            double limit = limitPrices[i];
+            boolean tradedThrough = buys[i] ? ltp < limit : ltp > limit;
+            boolean frontOfQueue = ltp == limit && queueAhead[i] == 0;
+            if (tradedThrough || frontOfQueue) {
+                fills.add(new PaperFill(orderIds[i], requests[i], remaining[i], limit, submitNanos[i], nowNanos));
+                remove(i--);
+            }
+        }
+    }
+
+    /**
+     * Consume opposite-side liquidity up to the limit price, level by level
+     *
+     * @return Quantity left unfilled
+     */
+    private long take(long orderId, OrderRequest order, boolean buy, double limit, long quantity,
+                      long orderSubmitNanos, List<PaperFill> fills, long nowNanos) {
+        double[] prices = buy ? askPrices : bidPrices;
+        long[] quantities = buy ? askQuantities : bidQuantities;
+        long[] taken = buy ? askTaken : bidTaken;
+        int levels = buy ? askLevels : bidLevels;
+
+        for (int level = 0; level < levels && quantity > 0; level++) {
+            double price = prices[level];
+            if (buy ? price > limit : price < limit) {
+                break;
+            }
+            long available = quantities[level] - taken[level];
+            if (available <= 0) {
+                continue;
+            }
+            long fillQuantity = Math.min(available, quantity);
+            taken[level] += fillQuantity;
+            quantity -= fillQuantity;
+            fills.add(new PaperFill(orderId, order, fillQuantity, price, orderSubmitNanos, nowNanos));
+        }
+        return quantity;
+    }
+
+    private void rest(long orderId, OrderRequest order, boolean buy, double limit, long quantity, long nowNanos) {
+        if (orderCount == orderIds.length) {
+            int capacity = orderIds.length * 2;
+            orderIds = Arrays.copyOf(orderIds, capacity);
+            buys = Arrays.copyOf(buys, capacity);
+            limitPrices = Arrays.copyOf(limitPrices, capacity);
+            remaining = Arrays.copyOf(remaining, capacity);
+            queueAhead = Arrays.copyOf(queueAhead, capacity);
+            levelQuantity = Arrays.copyOf(levelQuantity, capacity);
+            submitNanos = Arrays.copyOf(submitNanos, capacity);
+            requests = Arrays.copyOf(requests, capacity);
+        }
+        long visible = visibleQuantity(buy, limit);
+        int i = orderCount++;
+        orderIds[i] = orderId;
+        buys[i] = buy;
+        limitPrices[i] = limit;
+        remaining[i] = quantity;
+        // Join the back of the queue behind everything displayed at our price
+        queueAhead[i] = visible;
+        levelQuantity[i] = visible;
+        submitNanos[i] = nowNanos;
+        requests[i] = order;
+    }
+
+    private void remove(int i) {
+        int last = --orderCount;
+        orderIds[i] = orderIds[last];
+        buys[i] = buys[last];
+        limitPrices[i] = limitPrices[last];
+        remaining[i] = remaining[last];
+        queueAhead[i] = queueAhead[last];
+        levelQuantity[i] = levelQuantity[last];
+        submitNanos[i] = submitNanos[last];
+        requests[i] = requests[last];
+        requests[last] = null;
+    }
+
+    private long visibleQuantity(boolean buy, double price) {
+        double[] prices = buy ? bidPrices : askPrices;
+        long[] quantities = buy ? bidQuantities : askQuantities;
+        int levels = buy ? bidLevels : askLevels;
+        for (int level = 0; level < levels; level++) {
+            if (prices[level] == price) {
+                return quantities[level];
+            }
+        }
+        return 0;
+    }
+
+    private int copyLevels(double[] prices, long[] quantities, int levels, boolean bids) {
+        if (levels > bidPrices.length) {
+            // Both sides are always kept the same size
+            int capacity = Math.max(levels, bidPrices.length * 2);
+            bidPrices = Arrays.copyOf(bidPrices, capacity);
+            bidQuantities = Arrays.copyOf(bidQuantities, capacity);
+            bidTaken = new long[capacity];
+            askPrices = Arrays.copyOf(askPrices, capacity);
+            askQuantities = Arrays.copyOf(askQuantities, capacity);
+            askTaken = new long[capacity];
+        }
+        double[] targetPrices = bids ? bidPrices : askPrices;
+        long[] targetQuantities = bids ? bidQuantities : askQuantities;
+        long[] taken = bids ? bidTaken : askTaken;
+        int count = 0;
+        for (int level = 0; level < levels; level++) {
+            // OpenAlgo pads missing levels with zeros
+            if (prices[level] > 0 && quantities[level] > 0) {
+                targetPrices[count] = prices[level];
+                targetQuantities[count] = quantities[level];
+                taken[count] = 0;
+                count++;
+            }
+        }
+        return count;
+    }
+}
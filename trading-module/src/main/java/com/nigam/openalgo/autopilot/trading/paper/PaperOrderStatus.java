@@ -0,0 +1,12 @@
+package com.nigam.openalgo.autopilot.trading.paper;
+
+/**
+ * State of a simulated order right after it was matched on submission
+ *
+ * @param orderId           Simulated order id
+ * @param filledQuantity    Quantity filled immediately
+ * @param averagePrice      Average price of the immediate fills, 0 if none
+ * @param cancelledQuantity Quantity cancelled because a market order found no more liquidity
+ */
+public record PaperOrderStatus(long orderId, long filledQuantity, double averagePrice, long cancelledQuantity) {
+}
@@ -0,0 +1,221 @@
+package com.nigam.openalgo.autopilot.trading.paper;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDepth;
+import com.nigam.openalgo.autopilot.trading.order.OrderRequest;
+import com.nigam.openalgo.autopilot.trading.position.Fill;
+import com.nigam.openalgo.autopilot.trading.position.PositionEngine;
+import com.nigam.openalgo.autopilot.trading.risk.PreTradeRiskEngine;
+import com.nigam.openalgo.autopilot.trading.util.TimerSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * In-memory paper-trading venue that matches simulated orders against live depth.
+ *
+ * Each instrument has its own {@link PaperOrderBook}; orders and market data for different
+ * instruments never contend. Fills are applied to the {@link PositionEngine} and passed to
+ * registered listeners after the book lock is released, as is quantity that stops working
+ * unfilled, so whoever reserved it (e.g. pre-trade risk) can give it back.
+ */
+@Component
+@Slf4j
+public class PaperTradingVenue implements MarketDataHandler {
+
+    // Order ids carry the instrument id in the low bits so cancels need no lookup table
+    private static final int INSTRUMENT_BITS = 20;
+    private static final long INSTRUMENT_MASK = (1L << INSTRUMENT_BITS) - 1;
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final PositionEngine positionEngine;
+    private final AtomicReferenceArray<PaperOrderBook> books;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Consumer<PaperFill>> fillListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<PaperCancel>> cancelListeners = new CopyOnWriteArrayList<>();
+
+    private final Timer matchTimer;
+    private final Timer fillLatencyTimer;
+    private final Counter orderCounter;
+    private final Counter fillCounter;
+
+    public PaperTradingVenue(InstrumentRegistry instrumentRegistry, PositionEngine positionEngine, MeterRegistry meterRegistry) {
+        if (instrumentRegistry.capacity() > INSTRUMENT_MASK) {
+            throw new IllegalStateException("Paper trading supports at most " + INSTRUMENT_MASK + " instruments");
+        }
+        this.instrumentRegistry = instrumentRegistry;
+        this.positionEngine = positionEngine;
+        this.books = new AtomicReferenceArray<>(instrumentRegistry.capacity());
+        this.matchTimer = Timer.builder("openalgo.paper.match.latency")
+                .description("Time to match a submitted paper order")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.fillLatencyTimer = Timer.builder("openalgo.paper.fill.latency")
+                .description("Paper order submit to fill")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.orderCounter = Counter.builder("openalgo.paper.orders").register(meterRegistry);
+        this.fillCounter = Counter.builder("openalgo.paper.fills").register(meterRegistry);
+    }
+
+    /**
+     * Submit a simulated order. Marketable quantity fills immediately against the current depth;
+     * the rest of a limit order rests in the book, market order remainders are cancelled.
+     *
+     * @return Simulated order id and what filled or was cancelled immediately
+     */
+    public PaperOrderStatus submit(OrderRequest order) {
+        long start = System.nanoTime();
+        int instrumentId = instrumentRegistry.idOf(order.getExchange(), order.getSymbol());
+        long orderId = (sequence.incrementAndGet() << INSTRUMENT_BITS) | instrumentId;
+        List<PaperFill> fills = new ArrayList<>(2);
+
+        PaperOrderBook book = bookFor(instrumentId);
+        PaperCancel cancelled;
+        synchronized (book) {
+            if (!book.hasDepth()) {
+                log.debug("No depth yet for {}:{}, paper order {} cannot fill immediately",
+                        order.getExchange(), order.getSymbol(), orderId);
+            }
+            cancelled = book.submit(orderId, order, start, fills);
+        }
+        orderCounter.increment();
+        matchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        publish(fills);
+        publish(cancelled);
+
+        long filledQuantity = 0;
+        double filledValue = 0;
+        for (PaperFill fill : fills) {
+            filledQuantity += fill.quantity();
+            filledValue += fill.quantity() * fill.price();
+        }
+        return new PaperOrderStatus(orderId, filledQuantity, filledQuantity > 0 ? filledValue / filledQuantity : 0,
+                cancelled != null ? cancelled.quantity() : 0);
+    }
+
+    /**
+     * Cancel a resting simulated order
+     *
+     * @return true if the order was still resting
+     */
+    public boolean cancel(long orderId) {
+        PaperOrderBook book = books.get((int) (orderId & INSTRUMENT_MASK));
+        if (book == null) {
+            return false;
+        }
+        PaperCancel cancelled;
+        synchronized (book) {
+            cancelled = book.cancel(orderId);
+        }
+        publish(cancelled);
+        return cancelled != null;
+    }
+
+    public void addFillListener(Consumer<PaperFill> listener) {
+        fillListeners.add(listener);
+    }
+
+    public void addCancelListener(Consumer<PaperCancel> listener) {
+        cancelListeners.add(listener);
+    }
+
+    @Override
+    public void onDepth(int instrumentId, MarketDepth depth, long timestampMillis) {
+        List<PaperFill> fills = new ArrayList<>(0);
+        PaperOrderBook book = bookFor(instrumentId);
+        synchronized (book) {
+            book.onDepth(depth, System.nanoTime(), fills);
+        }
+        publish(fills);
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        PaperOrderBook book = books.get(instrumentId);
+        if (book == null) {
+            return;
+        }
+        List<PaperFill> fills = new ArrayList<>(0);
+        synchronized (book) {
+            if (book.restingOrderCount() == 0) {
+                return;
+            }
+            book.onLtp(ltp, System.nanoTime(), fills);
+        }
+        publish(fills);
+    }
+
+    /**
+     * Fill and match latency percentiles in microseconds, plus order and fill counts
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("orders", (long) orderCounter.count());
+        stats.put("fills", (long) fillCounter.count());
+        stats.put("matchLatency", TimerSummary.summarize(matchTimer));
+        stats.put("fillLatency", TimerSummary.summarize(fillLatencyTimer));
+        return stats;
+    }
+
+    private void publish(List<PaperFill> fills) {
+        for (PaperFill fill : fills) {
+            fillCounter.increment();
+            fillLatencyTimer.record(fill.fillNanos() - fill.submitNanos(), TimeUnit.NANOSECONDS);
+            OrderRequest order = fill.order();
+            positionEngine.applyFill(Fill.builder()
+                    .account(PreTradeRiskEngine.accountName(order))
+                    .strategy(order.getStrategy())
+                    .exchange(order.getExchange())
+                    .symbol(order.getSymbol())
+                    .action(order.getAction())
+                    .quantity(fill.quantity())
+                    .price(fill.price())
+                    .timestampMillis(System.currentTimeMillis())
+                    .build());
+            for (Consumer<PaperFill> listener : fillListeners) {
+                try {
+                    listener.accept(fill);
+                } catch (Exception e) {
+                    log.error("Paper fill listener failed for order {}", fill.orderId(), e);
+                }
+            }
+        }
+    }
+
+    private void publish(PaperCancel cancelled) {
+        if (cancelled == null) {
+            return;
+        }
+        for (Consumer<PaperCancel> listener : cancelListeners) {
+            try {
+                listener.accept(cancelled);
+            } catch (Exception e) {
+                log.error("Paper cancel listener failed for order {}", cancelled.orderId(), e);
+            }
+        }
+    }
+
+    private PaperOrderBook bookFor(int instrumentId) {
+        PaperOrderBook book = books.get(instrumentId);
+        if (book == null) {
+            books.compareAndSet(instrumentId, null, new PaperOrderBook());
+            book = books.get(instrumentId);
+        }
+        return book;
+    }
+}
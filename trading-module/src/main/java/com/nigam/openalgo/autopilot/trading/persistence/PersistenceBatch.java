@@ -0,0 +1,73 @@
+package com.nigam.openalgo.autopilot.trading.persistence;
+
+/**
+ * Ticks and completed bars buffered for one COPY, as parallel primitive arrays.
+ * Filled under the sink lock, then handed to the writer thread and recycled.
+ */
+class PersistenceBatch {
+
+    final int[] tickIds;
+    final long[] tickTimestamps;
+    final double[] tickPrices;
+    final long[] tickVolumes;
+    int tickCount;
+
+    final int[] barIds;
+    final long[] barTimestamps;
+    final double[] barOpens;
+    final double[] barHighs;
+    final double[] barLows;
+    final double[] barCloses;
+    final long[] barVolumes;
+    int barCount;
+
+    PersistenceBatch(int tickCapacity, int barCapacity) {
+        tickIds = new int[tickCapacity];
+        tickTimestamps = new long[tickCapacity];
+        tickPrices = new double[tickCapacity];
+        tickVolumes = new long[tickCapacity];
+        barIds = new int[barCapacity];
+        barTimestamps = new long[barCapacity];
+        barOpens = new double[barCapacity];
+        barHighs = new double[barCapacity];
+        barLows = new double[barCapacity];
+        barCloses = new double[barCapacity];
+        barVolumes = new long[barCapacity];
+    }
+
+    boolean ticksFull() {
+        return tickCount == tickIds.length;
+    }
+
+    boolean barsFull() {
+        return barCount == barIds.length;
+    }
+
+    boolean isEmpty() {
+        return tickCount == 0 && barCount == 0;
+    }
+
+    void addTick(int instrumentId, long timestampMillis, double price, long volume) {
+        int i = tickCount++;
+        tickIds[i] = instrumentId;
+        tickTimestamps[i] = timestampMillis;
+        tickPrices[i] = price;
+        tickVolumes[i] = volume;
+    }
+
+    void addBar(int instrumentId, long startMillis, double open, double high, double low, double close, long volume) {
+        int i = barCount++;
+        barIds[i] = instrumentId;
+        barTimestamps[i] = startMillis;
+        barOpens[i] = open;
+        barHighs[i] = high;
+        barLows[i] = low;
+        barCloses[i] = close;
+        barVolumes[i] = volume;
+    }
+
+    void clear() {
+        tickCount = 0;
+        barCount = 0;
+    }
+}
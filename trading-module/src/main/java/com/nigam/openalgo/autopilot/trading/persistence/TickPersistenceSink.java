@@ -0,0 +1,427 @@
+package com.nigam.openalgo.autopilot.trading.persistence;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.Instrument;
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketQuote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists every LTP tick, and bars aggregated from them, to the partitioned tick and bar tables.
+ *
+ * Feed threads append to a pooled {@link PersistenceBatch} of primitive arrays. A batch is
+ * handed to the writer thread when it reaches flush-size or every flush-interval-ms, and
+ * streamed to PostgreSQL with COPY FROM STDIN in one round-trip. Daily partitions are
+ * created on demand. The feed never blocks on the database: when every batch is waiting
+ * to be written, further ticks are dropped and counted.
+ *
+ * Quotes carry the day's cumulative volume; each tick row gets the volume traded since the
+ * instrument's previous tick and each bar the volume traded during it. Once a bar is written,
+ * a late tick for its interval still gets a tick row but no longer touches the bars.
+ */
+@Component
+@Slf4j
+public class TickPersistenceSink implements MarketDataHandler {
+
+    private static final DateTimeFormatter PARTITION_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int COPY_CHUNK_CHARS = 64 * 1024;
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openalgo.tick.persistence.enabled:false}")
+    private boolean enabled;
+
+    @Value("${openalgo.tick.persistence.flush-size:5000}")
+    private int flushSize;
+
+    @Value("${openalgo.tick.persistence.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${openalgo.tick.persistence.buffers:8}")
+    private int bufferCount;
+
+    @Value("${openalgo.tick.persistence.bar-interval-seconds:60}")
+    private int barIntervalSeconds;
+
+    @Value("${openalgo.tick.persistence.zone:Asia/Kolkata}")
+    private String zone;
+
+    @Value("${app.table.prefix:autopilot_}")
+    private String tablePrefix;
+
+    private BlockingQueue<PersistenceBatch> freeBatches;
+    private ExecutorService writerExecutor;
+    private ScheduledExecutorService flushExecutor;
+    private ZoneId zoneId;
+    private long barMillis;
+    private String tickCopySql;
+    private String barCopySql;
+
+    // Guarded by this
+    private PersistenceBatch current;
+    private long[] barStart;
+    private double[] barOpen;
+    private double[] barHigh;
+    private double[] barLow;
+    private double[] barClose;
+    private long[] barVolumeStart;
+    private long[] cumulativeVolume;
+    private long[] tickVolumeStart;
+    private long[] lastClosedBarStart;
+    private long latestTimestamp;
+
+    // Writer thread only
+    private final Set<LocalDate> partitionedDays = new HashSet<>();
+    private String[] copyKeys = new String[0];
+    private final StringBuilder copyBuffer = new StringBuilder(COPY_CHUNK_CHARS + 256);
+
+    private Counter tickRows;
+    private Counter barRows;
+    private Counter droppedTicks;
+    private Counter failedBatches;
+    private Timer flushTimer;
+
+    public TickPersistenceSink(InstrumentRegistry instrumentRegistry, DataSource dataSource, MeterRegistry meterRegistry) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        int capacity = instrumentRegistry.capacity();
+        zoneId = ZoneId.of(zone);
+        barMillis = barIntervalSeconds * 1000L;
+        tickCopySql = "COPY " + tablePrefix + "tick (ts, exchange, symbol, ltp, volume) FROM STDIN";
+        barCopySql = "COPY " + tablePrefix + "bar (ts, exchange, symbol, interval_seconds, open, high, low, close, volume) FROM STDIN";
+
+        freeBatches = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount - 1; i++) {
+            // A minute roll closes a bar for every instrument at once, so bars get full capacity
+            freeBatches.add(new PersistenceBatch(flushSize, capacity));
+        }
+        current = new PersistenceBatch(flushSize, capacity);
+        barStart = new long[capacity];
+        barOpen = new double[capacity];
+        barHigh = new double[capacity];
+        barLow = new double[capacity];
+        barClose = new double[capacity];
+        barVolumeStart = new long[capacity];
+        cumulativeVolume = new long[capacity];
+        tickVolumeStart = new long[capacity];
+        // The first tick only sets the baseline; earlier volume was traded before persisting began
+        Arrays.fill(tickVolumeStart, -1);
+        lastClosedBarStart = new long[capacity];
+
+        tickRows = Counter.builder("openalgo.tick.persistence.rows").tag("table", "tick")
+                .description("Rows copied to PostgreSQL").register(meterRegistry);
+        barRows = Counter.builder("openalgo.tick.persistence.rows").tag("table", "bar")
+                .description("Rows copied to PostgreSQL").register(meterRegistry);
+        droppedTicks = Counter.builder("openalgo.tick.persistence.dropped")
+                .description("Ticks and bars dropped because the writer was behind").register(meterRegistry);
+        failedBatches = Counter.builder("openalgo.tick.persistence.failed").register(meterRegistry);
+        flushTimer = Timer.builder("openalgo.tick.persistence.flush.latency")
+                .description("Time to COPY one batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("openalgo.tick.persistence.pending.batches", freeBatches, q -> bufferCount - 1 - q.size())
+                .register(meterRegistry);
+
+        writerExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "tick-persistence-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tick-persistence-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Persisting ticks to {}tick and {}s bars to {}bar", tablePrefix, barIntervalSeconds, tablePrefix);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        flushExecutor.shutdownNow();
+        synchronized (this) {
+            handOff();
+        }
+        writerExecutor.shutdown();
+        writerExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (timestampMillis > latestTimestamp) {
+                latestTimestamp = timestampMillis;
+            }
+            updateBar(instrumentId, ltp, timestampMillis);
+            if (current.ticksFull() && !handOff()) {
+                droppedTicks.increment();
+                return;
+            }
+            long cumulative = cumulativeVolume[instrumentId];
+            long start = tickVolumeStart[instrumentId];
+            // Cumulative volume restarts with each trading day
+            long volume = start < 0 ? 0 : cumulative >= start ? cumulative - start : cumulative;
+            tickVolumeStart[instrumentId] = cumulative;
+            current.addTick(instrumentId, timestampMillis, ltp, volume);
+        }
+    }
+
+    @Override
+    public void onQuote(int instrumentId, MarketQuote quote, long timestampMillis) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            cumulativeVolume[instrumentId] = quote.volume();
+        }
+    }
+
+    private void updateBar(int instrumentId, double ltp, long timestampMillis) {
+        long start = timestampMillis - Math.floorMod(timestampMillis, barMillis);
+        if (start <= lastClosedBarStart[instrumentId]) {
+            // Late tick for a bar already written
+            return;
+        }
+        if (barStart[instrumentId] == start) {
+            barHigh[instrumentId] = Math.max(barHigh[instrumentId], ltp);
+            barLow[instrumentId] = Math.min(barLow[instrumentId], ltp);
+            barClose[instrumentId] = ltp;
+            return;
+        }
+        if (barStart[instrumentId] != 0 && start > barStart[instrumentId]) {
+            closeBar(instrumentId);
+        } else if (start < barStart[instrumentId]) {
+            // Late tick for an interval before the open bar
+            return;
+        }
+        barStart[instrumentId] = start;
+        barOpen[instrumentId] = barHigh[instrumentId] = barLow[instrumentId] = barClose[instrumentId] = ltp;
+        barVolumeStart[instrumentId] = cumulativeVolume[instrumentId];
+    }
+
+    private void closeBar(int instrumentId) {
+        lastClosedBarStart[instrumentId] = barStart[instrumentId];
+        if (current.barsFull() && !handOff()) {
+            droppedTicks.increment();
+            return;
+        }
+        long volume = Math.max(0, cumulativeVolume[instrumentId] - barVolumeStart[instrumentId]);
+        current.addBar(instrumentId, barStart[instrumentId], barOpen[instrumentId], barHigh[instrumentId],
+                barLow[instrumentId], barClose[instrumentId], volume);
+        barStart[instrumentId] = 0;
+    }
+
+    private void flush() {
+        synchronized (this) {
+            // Close bars whose interval has passed even if the instrument has not ticked since
+            int size = instrumentRegistry.size();
+            for (int id = 0; id < size; id++) {
+                if (barStart[id] != 0 && barStart[id] + barMillis <= latestTimestamp) {
+                    closeBar(id);
+                }
+            }
+            if (!current.isEmpty()) {
+                handOff();
+            }
+        }
+    }
+
+    /**
+     * Queue the current batch for writing and continue in a free one
+     *
+     * @return false if no free batch was available
+     */
+    private boolean handOff() {
+        if (current.isEmpty()) {
+            return true;
+        }
+        PersistenceBatch next = freeBatches.poll();
+        if (next == null) {
+            return false;
+        }
+        PersistenceBatch full = current;
+        current = next;
+        writerExecutor.execute(() -> write(full));
+        return true;
+    }
+
+    private void write(PersistenceBatch batch) {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            ensurePartitions(connection, batch);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            if (batch.tickCount > 0) {
+                copyTicks(pgConnection, batch);
+                tickRows.increment(batch.tickCount);
+            }
+            if (batch.barCount > 0) {
+                copyBars(pgConnection, batch);
+                barRows.increment(batch.barCount);
+            }
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.error("Error writing {} ticks and {} bars to PostgreSQL", batch.tickCount, batch.barCount, e);
+        } finally {
+            batch.clear();
+            freeBatches.offer(batch);
+        }
+    }
+
+    private void copyTicks(PGConnection connection, PersistenceBatch batch) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(tickCopySql);
+        try {
+            StringBuilder sb = copyBuffer;
+            sb.setLength(0);
+            for (int i = 0; i < batch.tickCount; i++) {
+                sb.append(batch.tickTimestamps[i]).append('\t')
+                        .append(copyKey(batch.tickIds[i])).append('\t')
+                        .append(batch.tickPrices[i]).append('\t')
+                        .append(batch.tickVolumes[i]).append('\n');
+                if (sb.length() >= COPY_CHUNK_CHARS) {
+                    writeChunk(copy, sb);
+                }
+            }
+            writeChunk(copy, sb);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private void copyBars(PGConnection connection, PersistenceBatch batch) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(barCopySql);
+        try {
+            StringBuilder sb = copyBuffer;
+            sb.setLength(0);
+            for (int i = 0; i < batch.barCount; i++) {
+                sb.append(batch.barTimestamps[i]).append('\t')
+                        .append(copyKey(batch.barIds[i])).append('\t')
+                        .append(barIntervalSeconds).append('\t')
+                        .append(batch.barOpens[i]).append('\t')
+                        .append(batch.barHighs[i]).append('\t')
+                        .append(batch.barLows[i]).append('\t')
+                        .append(batch.barCloses[i]).append('\t')
+                        .append(batch.barVolumes[i]).append('\n');
+                if (sb.length() >= COPY_CHUNK_CHARS) {
+                    writeChunk(copy, sb);
+                }
+            }
+            writeChunk(copy, sb);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void writeChunk(CopyIn copy, StringBuilder sb) throws SQLException {
+        if (sb.length() > 0) {
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            sb.setLength(0);
+        }
+    }
+
+    /**
+     * "exchange\tsymbol" escaped for COPY text format, cached per instrument
+     */
+    private String copyKey(int instrumentId) {
+        if (instrumentId >= copyKeys.length) {
+            String[] grown = new String[Math.max(instrumentId + 1, copyKeys.length * 2)];
+            System.arraycopy(copyKeys, 0, grown, 0, copyKeys.length);
+            copyKeys = grown;
+        }
+        String key = copyKeys[instrumentId];
+        if (key == null) {
+            Instrument instrument = instrumentRegistry.get(instrumentId);
+            key = escape(instrument.exchange()) + '\t' + escape(instrument.symbol());
+            copyKeys[instrumentId] = key;
+        }
+        return key;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private void ensurePartitions(Connection connection, PersistenceBatch batch) throws SQLException {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < batch.tickCount; i++) {
+            min = Math.min(min, batch.tickTimestamps[i]);
+            max = Math.max(max, batch.tickTimestamps[i]);
+        }
+        for (int i = 0; i < batch.barCount; i++) {
+            min = Math.min(min, batch.barTimestamps[i]);
+            max = Math.max(max, batch.barTimestamps[i]);
+        }
+        if (min > max) {
+            return;
+        }
+        LocalDate last = Instant.ofEpochMilli(max).atZone(zoneId).toLocalDate();
+        for (LocalDate day = Instant.ofEpochMilli(min).atZone(zoneId).toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            if (partitionedDays.contains(day)) {
+                continue;
+            }
+            long from = day.atStartOfDay(zoneId).toInstant().toEpochMilli();
+            long to = day.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+            try (Statement statement = connection.createStatement()) {
+                for (String table : new String[]{"tick", "bar"}) {
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + tablePrefix + table + "_" + PARTITION_DATE.format(day)
+                            + " PARTITION OF " + tablePrefix + table + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+                }
+            }
+            partitionedDays.add(day);
+            log.info("Created {} tick and bar partitions", day);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nigam.openalgo.autopilot.trading.position;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Execution reported by the broker or a simulated venue
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Fill {
+    private String account;
+    private String strategy;
+    private String exchange;
+    private String symbol;
+    private String action;       // BUY, SELL
+    private long quantity;
+    private double price;
+    private long timestampMillis;
+}
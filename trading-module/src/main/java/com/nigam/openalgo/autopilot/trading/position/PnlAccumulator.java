@@ -0,0 +1,26 @@
+package com.nigam.openalgo.autopilot.trading.position;
+
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Running PnL totals updated by deltas, so each tick or fill costs O(1) per position
+ * regardless of how many positions roll up into the total
+ */
+class PnlAccumulator {
+
+    private final DoubleAdder realized = new DoubleAdder();
+    private final DoubleAdder unrealized = new DoubleAdder();
+
+    void add(double realizedDelta, double unrealizedDelta) {
+        if (realizedDelta != 0) {
+            realized.add(realizedDelta);
+        }
+        if (unrealizedDelta != 0) {
+            unrealized.add(unrealizedDelta);
+        }
+    }
+
+    PnlSnapshot snapshot() {
+        return new PnlSnapshot(realized.sum(), unrealized.sum());
+    }
+}
@@ -0,0 +1,11 @@
+package com.nigam.openalgo.autopilot.trading.position;
+
+/**
+ * Aggregated PnL for a symbol, strategy or account
+ */
+public record PnlSnapshot(double realizedPnl, double unrealizedPnl) {
+
+    public double totalPnl() {
+        return realizedPnl + unrealizedPnl;
+    }
+}
@@ -0,0 +1,95 @@
+package com.nigam.openalgo.autopilot.trading.position;
+
+/**
+ * Mutable position for one account, strategy and instrument.
+ * Mutated only while holding the owning instrument's lock; readers use {@link #snapshot()}.
+ */
+class Position {
+
+    private final String account;
+    private final String strategy;
+    private final String exchange;
+    private final String symbol;
+    private final PnlAccumulator[] rollups;
+
+    private long quantity;
+    private double averagePrice;
+    private double markPrice;
+    private double realizedPnl;
+    private double unrealizedPnl;
+
+    private volatile PositionSnapshot snapshot;
+
+    Position(String account, String strategy, String exchange, String symbol, double markPrice, PnlAccumulator... rollups) {
+        this.account = account;
+        this.strategy = strategy;
+        this.exchange = exchange;
+        this.symbol = symbol;
+        this.markPrice = markPrice;
+        this.rollups = rollups;
+        publish();
+    }
+
+    boolean matches(String account, String strategy) {
+        return this.account.equals(account) && this.strategy.equals(strategy);
+    }
+
+    /**
+     * Apply a fill using average-cost accounting
+     *
+     * @param signedQty Positive for buys, negative for sells
+     */
+    void fill(long signedQty, double price) {
+        double realizedDelta = 0;
+        if (quantity == 0 || Long.signum(quantity) == Long.signum(signedQty)) {
+            long newQuantity = quantity + signedQty;
+            averagePrice = (averagePrice * Math.abs(quantity) + price * Math.abs(signedQty)) / Math.abs(newQuantity);
+            quantity = newQuantity;
+        } else {
+            long closed = Math.min(Math.abs(signedQty), Math.abs(quantity));
+            realizedDelta = closed * (price - averagePrice) * Long.signum(quantity);
+            long newQuantity = quantity + signedQty;
+            if (newQuantity == 0) {
+                averagePrice = 0;
+            } else if (Long.signum(newQuantity) != Long.signum(quantity)) {
+                // Position flipped, the remainder was opened at the fill price
+                averagePrice = price;
+            }
+            quantity = newQuantity;
+        }
+        realizedPnl += realizedDelta;
+        if (markPrice == 0) {
+            markPrice = price;
+        }
+        update(realizedDelta);
+    }
+
+    /**
+     * Re-mark the position at a new price
+     */
+    void mark(double price) {
+        markPrice = price;
+        if (quantity != 0 || unrealizedPnl != 0) {
+            update(0);
+        }
+    }
+
+    PositionSnapshot snapshot() {
+        return snapshot;
+    }
+
+    private void update(double realizedDelta) {
+        double newUnrealized = quantity * (markPrice - averagePrice);
+        double unrealizedDelta = newUnrealized - unrealizedPnl;
+        unrealizedPnl = newUnrealized;
+        for (PnlAccumulator rollup : rollups) {
+            rollup.add(realizedDelta, unrealizedDelta);
+        }
+        publish();
+    }
+
+    private void publish() {
+        snapshot = new PositionSnapshot(account, strategy, exchange, symbol,
+                quantity, averagePrice, markPrice, realizedPnl, unrealizedPnl);
+    }
+}
@@ -0,0 +1,163 @@
+package com.nigam.openalgo.autopilot.trading.position;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.Instrument;
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tracks positions and realized/unrealized PnL per symbol, strategy and account.
+ *
+ * Positions are grouped by instrument id, so an LTP update only re-marks the positions
+ * holding that instrument. Rollups are kept as running totals updated by deltas, which
+ * makes every tick O(1) per affected position. Writers for one instrument serialize on
+ * that instrument's book; readers never lock and only see published immutable snapshots.
+ */
+@Component
+@Slf4j
+public class PositionEngine implements MarketDataHandler {
+
+    private static final String DEFAULT_ACCOUNT = "default";
+    private static final String DEFAULT_STRATEGY = "default";
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final AtomicReferenceArray<InstrumentBook> books;
+
+    private final Map<String, PnlAccumulator> bySymbol = new ConcurrentHashMap<>();
+    private final Map<String, PnlAccumulator> byStrategy = new ConcurrentHashMap<>();
+    private final Map<String, PnlAccumulator> byAccount = new ConcurrentHashMap<>();
+
+    public PositionEngine(InstrumentRegistry instrumentRegistry) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.books = new AtomicReferenceArray<>(instrumentRegistry.capacity());
+    }
+
+    /**
+     * Apply an execution to the matching position, creating it on first fill
+     */
+    public void applyFill(Fill fill) {
+        String account = fill.getAccount() != null ? fill.getAccount() : DEFAULT_ACCOUNT;
+        String strategy = fill.getStrategy() != null ? fill.getStrategy() : DEFAULT_STRATEGY;
+        long signedQty = "SELL".equalsIgnoreCase(fill.getAction()) ? -fill.getQuantity() : fill.getQuantity();
+
+        int instrumentId = instrumentRegistry.idOf(fill.getExchange(), fill.getSymbol());
+        InstrumentBook book = bookFor(instrumentId);
+        synchronized (book) {
+            Position position = book.find(account, strategy);
+            if (position == null) {
+                Instrument instrument = instrumentRegistry.get(instrumentId);
+                position = new Position(account, strategy, instrument.exchange(), instrument.symbol(), book.markPrice,
+                        bySymbol.computeIfAbsent(instrument.key(), k -> new PnlAccumulator()),
+                        byStrategy.computeIfAbsent(strategy, k -> new PnlAccumulator()),
+                        byAccount.computeIfAbsent(account, k -> new PnlAccumulator()));
+                book.add(position);
+            }
+            position.fill(signedQty, fill.getPrice());
+        }
+        log.debug("Applied fill {} {} {}:{} @ {} for {}/{}", fill.getAction(), fill.getQuantity(),
+                fill.getExchange(), fill.getSymbol(), fill.getPrice(), account, strategy);
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        InstrumentBook book = books.get(instrumentId);
+        if (book == null) {
+            return;
+        }
+        synchronized (book) {
+            book.markPrice = ltp;
+            for (Position position : book.positions) {
+                position.mark(ltp);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of every position, including flat ones that carry realized PnL
+     */
+    public List<PositionSnapshot> getPositions() {
+        List<PositionSnapshot> result = new ArrayList<>();
+        int size = instrumentRegistry.size();
+        for (int id = 0; id < size; id++) {
+            InstrumentBook book = books.get(id);
+            if (book != null) {
+                for (Position position : book.positions) {
+                    result.add(position.snapshot());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Snapshot of the positions held by one account
+     */
+    public List<PositionSnapshot> getPositions(String account) {
+        return getPositions().stream()
+                .filter(p -> p.account().equals(account))
+                .toList();
+    }
+
+    /**
+     * PnL keyed by "EXCHANGE:SYMBOL"
+     */
+    public Map<String, PnlSnapshot> getPnlBySymbol() {
+        return snapshot(bySymbol);
+    }
+
+    public Map<String, PnlSnapshot> getPnlByStrategy() {
+        return snapshot(byStrategy);
+    }
+
+    public Map<String, PnlSnapshot> getPnlByAccount() {
+        return snapshot(byAccount);
+    }
+
+    private InstrumentBook bookFor(int instrumentId) {
+        InstrumentBook book = books.get(instrumentId);
+        if (book == null) {
+            books.compareAndSet(instrumentId, null, new InstrumentBook());
+            book = books.get(instrumentId);
+        }
+        return book;
+    }
+
+    private static Map<String, PnlSnapshot> snapshot(Map<String, PnlAccumulator> accumulators) {
+        Map<String, PnlSnapshot> result = new TreeMap<>();
+        accumulators.forEach((key, accumulator) -> result.put(key, accumulator.snapshot()));
+        return result;
+    }
+
+    /**
+     * Positions held in one instrument. The array is copy-on-write so readers can
+     * iterate it without holding the lock.
+     */
+    private static class InstrumentBook {
+        private volatile Position[] positions = new Position[0];
+        private double markPrice;
+
+        Position find(String account, String strategy) {
+            for (Position position : positions) {
+                if (position.matches(account, strategy)) {
+                    return position;
+                }
+            }
+            return null;
+        }
+
+        void add(Position position) {
+            Position[] grown = Arrays.copyOf(positions, positions.length + 1);
+            grown[positions.length] = position;
+            positions = grown;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nigam.openalgo.autopilot.trading.position;
+
+/**
+ * Immutable view of one position at a point in time
+ */
+public record PositionSnapshot(
+        String account,
+        String strategy,
+        String exchange,
+        String symbol,
+        long quantity,
+        double averagePrice,
+        double markPrice,
+        double realizedPnl,
+        double unrealizedPnl) {
+
+    public double totalPnl() {
+        return realizedPnl + unrealizedPnl;
+    }
+}
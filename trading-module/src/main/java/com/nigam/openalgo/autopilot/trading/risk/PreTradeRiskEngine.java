@@ -0,0 +1,444 @@
+package com.nigam.openalgo.autopilot.trading.risk;
+
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeBus;
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeEvent;
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationService;
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import com.nigam.openalgo.autopilot.trading.order.OrderRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free pre-trade risk checks run on the caller thread.
+ *
+ * All counters live in atomic arrays indexed by instrument or account id. Per-instrument and
+ * per-account slots are padded to a cache line so threads trading different instruments or
+ * accounts never contend on the same line. An accepted order reserves its quantity and
+ * notional; the engine remembers the reservation by client order id, and
+ * {@link #release(OrderRequest)} gives exactly that back, once, when the broker rejects the
+ * order. Market orders are rejected until the instrument has an LTP, since without one they
+ * cannot be valued against the notional limit or price band.
+ *
+ * Limits are re-read from {@link ConfigurationService} whenever an openalgo.risk.* key changes
+ * on the {@link ConfigurationChangeBus} and swapped in as a single immutable {@link RiskLimits},
+ * so reloads never pause the order flow.
+ */
+@Component
+@Slf4j
+public class PreTradeRiskEngine implements MarketDataHandler {
+
+    // 8 longs = 64 bytes, one cache line per slot
+    private static final int STRIDE = 8;
+
+    // Per-instrument slot layout
+    private static final int SYMBOL_POSITION = 0;
+    private static final int SYMBOL_LTP_BITS = 1;
+
+    // Per-account slot layout
+    private static final int ACCOUNT_NOTIONAL = 0;
+    private static final int ACCOUNT_RATE = 1;
+
+    // Order-rate slot packs the epoch second in the high bits and the count in the low 20 bits
+    private static final int RATE_COUNT_BITS = 20;
+    private static final long RATE_COUNT_MASK = (1L << RATE_COUNT_BITS) - 1;
+
+    /**
+     * Account that orders naming none are checked, and booked, against
+     */
+    public static final String DEFAULT_ACCOUNT = "default";
+
+    /**
+     * What an accepted order still holds. Releases of one order are serialised on the
+     * reservation itself, so they never contend with other orders.
+     */
+    private static final class Reservation {
+        private final int account;
+        private final int instrumentId;
+        private final long signedQuantity;
+        private final long notionalPaise;
+        private long remainingQuantity;     // Guarded by this
+        private long remainingNotionalPaise;
+
+        private Reservation(int account, int instrumentId, long signedQuantity, long notionalPaise) {
+            this.account = account;
+            this.instrumentId = instrumentId;
+            this.signedQuantity = signedQuantity;
+            this.notionalPaise = notionalPaise;
+            this.remainingQuantity = Math.abs(signedQuantity);
+            this.remainingNotionalPaise = notionalPaise;
+        }
+    }
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final ConfigurationService configurationService;
+    private final ConfigurationChangeBus configurationChangeBus;
+    private final MeterRegistry meterRegistry;
+
+    private final int capacity;
+    private final int maxAccounts;
+    private final AtomicLongArray symbolState;
+    private final AtomicLongArray accountState;
+    private final AtomicLongArray accountPositions;
+    private final Map<String, Integer> accountIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextAccountId = new AtomicInteger();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Counter[] resultCounters = new Counter[RiskCheckResult.values().length];
+    private final Consumer<ConfigurationChangeEvent> limitsListener = event -> reloadLimits();
+
+    private volatile RiskLimits limits;
+
+    public PreTradeRiskEngine(InstrumentRegistry instrumentRegistry,
+                              ConfigurationService configurationService,
+                              ConfigurationChangeBus configurationChangeBus,
+                              MeterRegistry meterRegistry,
+                              @Value("${openalgo.risk.max-accounts:16}") int maxAccounts) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.configurationService = configurationService;
+        this.configurationChangeBus = configurationChangeBus;
+        this.meterRegistry = meterRegistry;
+        this.capacity = instrumentRegistry.capacity();
+        this.maxAccounts = maxAccounts;
+        this.symbolState = new AtomicLongArray(capacity * STRIDE);
+        this.accountState = new AtomicLongArray(maxAccounts * STRIDE);
+        this.accountPositions = new AtomicLongArray(maxAccounts * capacity);
+    }
+
+    @PostConstruct
+    public void init() {
+        for (RiskCheckResult result : RiskCheckResult.values()) {
+            resultCounters[result.ordinal()] = Counter.builder("openalgo.risk.checks")
+                    .tag("result", result.name())
+                    .register(meterRegistry);
+        }
+        reloadLimits();
+        configurationChangeBus.subscribe(limitsListener, "openalgo.risk.");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        configurationChangeBus.unsubscribe(limitsListener);
+    }
+
+    /**
+     * Check an order against all limits and reserve its quantity and notional if it passes
+     *
+     * @param order Order about to be sent; must carry a client order id
+     * @return ACCEPTED, or the first limit that would be breached
+     */
+    public RiskCheckResult check(OrderRequest order) {
+        Objects.requireNonNull(order.getClientOrderId(), "Order has no client order id");
+        RiskCheckResult result = doCheck(order, limits);
+        resultCounters[result.ordinal()].increment();
+        return result;
+    }
+
+    /**
+     * Undo whatever is left of the reservation made by an accepted order, e.g. when the broker
+     * rejects it. Releasing an order that holds nothing is a no-op, so repeats are harmless.
+     */
+    public void release(OrderRequest order) {
+        release(order, Long.MAX_VALUE);
+    }
+
+    /**
+     * Undo the reservation for part of an accepted order, e.g. the unfilled rest of an
+     * immediate-or-cancel order. Quantity beyond what the order still holds is ignored.
+     *
+     * @param quantity Quantity of the order no longer working
+     */
+    public void release(OrderRequest order, long quantity) {
+        String orderId = order.getClientOrderId();
+        Reservation reservation = orderId != null ? reservations.get(orderId) : null;
+        if (reservation == null || quantity <= 0) {
+            return;
+        }
+        long released;
+        long notionalPaise;
+        synchronized (reservation) {
+            released = Math.min(quantity, reservation.remainingQuantity);
+            if (released == 0) {
+                return;
+            }
+            reservation.remainingQuantity -= released;
+            if (reservation.remainingQuantity == 0) {
+                // The last release takes whatever rounding left over, so the total is exact
+                notionalPaise = reservation.remainingNotionalPaise;
+                reservations.remove(orderId, reservation);
+            } else {
+                notionalPaise = Math.round((double) reservation.notionalPaise * released / Math.abs(reservation.signedQuantity));
+            }
+            reservation.remainingNotionalPaise -= notionalPaise;
+        }
+        long signedQty = Long.signum(reservation.signedQuantity) * released;
+        symbolState.addAndGet(reservation.instrumentId * STRIDE + SYMBOL_POSITION, -signedQty);
+        accountPositions.addAndGet(reservation.account * capacity + reservation.instrumentId, -signedQty);
+        releaseNotional(reservation.account * STRIDE + ACCOUNT_NOTIONAL, notionalPaise);
+    }
+
+    /**
+     * Quantity an accepted order still holds against the limits, 0 once fully released
+     */
+    public long getReservedQuantity(String clientOrderId) {
+        Reservation reservation = reservations.get(clientOrderId);
+        if (reservation == null) {
+            return 0;
+        }
+        synchronized (reservation) {
+            return reservation.remainingQuantity;
+        }
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        symbolState.set(instrumentId * STRIDE + SYMBOL_LTP_BITS, Double.doubleToRawLongBits(ltp));
+    }
+
+    /**
+     * Net quantity currently reserved for an instrument across all accounts
+     */
+    public long getSymbolPosition(String exchange, String symbol) {
+        int instrumentId = instrumentRegistry.find(exchange, symbol);
+        return instrumentId < 0 ? 0 : symbolState.get(instrumentId * STRIDE + SYMBOL_POSITION);
+    }
+
+    /**
+     * Gross notional exposure reserved by an account
+     */
+    public double getAccountExposure(String account) {
+        Integer id = accountIds.get(account);
+        return id == null || id < 0 ? 0 : accountState.get(id * STRIDE + ACCOUNT_NOTIONAL) / 100.0;
+    }
+
+    public RiskLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Re-read limits from the configuration service and swap them in
+     */
+    public void reloadLimits() {
+        try {
+            long defaultSymbolMax = Long.parseLong(configurationService.getValue("openalgo.risk.symbol.max-position", "10000"));
+            long[] symbolMax = new long[capacity];
+            Arrays.fill(symbolMax, defaultSymbolMax);
+            String overrides = configurationService.getValue("openalgo.risk.symbol.max-position.overrides", "");
+            for (String entry : overrides.split(",")) {
+                int separator = entry.lastIndexOf('=');
+                if (separator > 0) {
+                    int instrumentId = instrumentRegistry.idOf(entry.substring(0, separator).trim());
+                    symbolMax[instrumentId] = Long.parseLong(entry.substring(separator + 1).trim());
+                }
+            }
+
+            RiskLimits reloaded = new RiskLimits(
+                    Boolean.parseBoolean(configurationService.getValue("openalgo.risk.enabled", "true")),
+                    symbolMax,
+                    Long.parseLong(configurationService.getValue("openalgo.risk.account.max-position", "50000")),
+                    Math.round(Double.parseDouble(configurationService.getValue("openalgo.risk.account.max-notional", "10000000")) * 100),
+                    Integer.parseInt(configurationService.getValue("openalgo.risk.account.max-orders-per-second", "20")),
+                    Double.parseDouble(configurationService.getValue("openalgo.risk.price-band-percent", "5")));
+            if (limits == null || !sameLimits(limits, reloaded)) {
+                log.info("Risk limits loaded: enabled={}, accountMaxPosition={}, accountMaxNotional={}, maxOrdersPerSecond={}, priceBand={}%",
+                        reloaded.enabled(), reloaded.accountMaxPosition(), reloaded.accountMaxNotionalPaise() / 100.0,
+                        reloaded.maxOrdersPerSecond(), reloaded.priceBandPercent());
+            }
+            limits = reloaded;
+        } catch (Exception e) {
+            log.error("Error reloading risk limits, keeping previous limits", e);
+            if (limits == null) {
+                throw new IllegalStateException("Unable to load initial risk limits", e);
+            }
+        }
+    }
+
+    private RiskCheckResult doCheck(OrderRequest order, RiskLimits limits) {
+        if (!limits.enabled()) {
+            return RiskCheckResult.ACCEPTED;
+        }
+        int account = accountId(accountName(order));
+        if (account < 0) {
+            return RiskCheckResult.REJECTED_UNKNOWN_ACCOUNT;
+        }
+        int instrumentId;
+        try {
+            instrumentId = instrumentRegistry.idOf(order.getExchange(), order.getSymbol());
+        } catch (IllegalStateException e) {
+            log.error(e.getMessage());
+            return RiskCheckResult.REJECTED_UNKNOWN_INSTRUMENT;
+        }
+        long signedQty = signedQuantity(order);
+        double ltp = ltp(instrumentId);
+        double price = orderPrice(order, ltp);
+
+        if (price <= 0) {
+            return RiskCheckResult.REJECTED_NO_PRICE;
+        }
+
+        if (ltp > 0 && price != ltp && Math.abs(price - ltp) > ltp * limits.priceBandPercent() / 100) {
+            return RiskCheckResult.REJECTED_PRICE_BAND;
+        }
+
+        int symbolIndex = instrumentId * STRIDE + SYMBOL_POSITION;
+        if (reserve(symbolState, symbolIndex, signedQty, limits.symbolMaxPosition()[instrumentId]) == Long.MIN_VALUE) {
+            return RiskCheckResult.REJECTED_SYMBOL_POSITION;
+        }
+
+        int accountPositionIndex = account * capacity + instrumentId;
+        long oldPosition = reserve(accountPositions, accountPositionIndex, signedQty, limits.accountMaxPosition());
+        if (oldPosition == Long.MIN_VALUE) {
+            symbolState.addAndGet(symbolIndex, -signedQty);
+            return RiskCheckResult.REJECTED_ACCOUNT_POSITION;
+        }
+
+        int notionalIndex = account * STRIDE + ACCOUNT_NOTIONAL;
+        long notionalDelta = reserveNotional(notionalIndex, notionalDelta(oldPosition, oldPosition + signedQty, price),
+                limits.accountMaxNotionalPaise());
+        if (notionalDelta == Long.MIN_VALUE) {
+            accountPositions.addAndGet(accountPositionIndex, -signedQty);
+            symbolState.addAndGet(symbolIndex, -signedQty);
+            return RiskCheckResult.REJECTED_NOTIONAL;
+        }
+
+        if (!acquireRate(account * STRIDE + ACCOUNT_RATE, limits.maxOrdersPerSecond())) {
+            releaseNotional(notionalIndex, notionalDelta);
+            accountPositions.addAndGet(accountPositionIndex, -signedQty);
+            symbolState.addAndGet(symbolIndex, -signedQty);
+            return RiskCheckResult.REJECTED_ORDER_RATE;
+        }
+
+        if (signedQty != 0 && reservations.putIfAbsent(order.getClientOrderId(),
+                new Reservation(account, instrumentId, signedQty, notionalDelta)) != null) {
+            releaseNotional(notionalIndex, notionalDelta);
+            accountPositions.addAndGet(accountPositionIndex, -signedQty);
+            symbolState.addAndGet(symbolIndex, -signedQty);
+            return RiskCheckResult.REJECTED_DUPLICATE_ORDER;
+        }
+        return RiskCheckResult.ACCEPTED;
+    }
+
+    /**
+     * Add delta to a position counter unless the absolute result exceeds the limit.
+     * Reducing an existing position is always allowed.
+     *
+     * @return Previous value, or Long.MIN_VALUE if the limit would be breached
+     */
+    private static long reserve(AtomicLongArray array, int index, long delta, long limit) {
+        while (true) {
+            long current = array.get(index);
+            long next = current + delta;
+            if (Math.abs(next) > limit && Math.abs(next) > Math.abs(current)) {
+                return Long.MIN_VALUE;
+            }
+            if (array.compareAndSet(index, current, next)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Add delta to an account's notional, clamped at 0
+     *
+     * @return Change actually applied, or Long.MIN_VALUE if the limit would be breached
+     */
+    private long reserveNotional(int index, long delta, long limit) {
+        while (true) {
+            long current = accountState.get(index);
+            long next = Math.max(0, current + delta);
+            if (delta > 0 && next > limit) {
+                return Long.MIN_VALUE;
+            }
+            if (accountState.compareAndSet(index, current, next)) {
+                return next - current;
+            }
+        }
+    }
+
+    /**
+     * Give back reserved notional through the same clamped CAS that reserves it, so the
+     * exposure never goes below 0
+     */
+    private void releaseNotional(int index, long notionalPaise) {
+        reserveNotional(index, -notionalPaise, Long.MAX_VALUE);
+    }
+
+    private boolean acquireRate(int index, int maxPerSecond) {
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long current = accountState.get(index);
+            long next;
+            if ((current >>> RATE_COUNT_BITS) != second) {
+                next = (second << RATE_COUNT_BITS) | 1;
+            } else if ((current & RATE_COUNT_MASK) >= maxPerSecond) {
+                return false;
+            } else {
+                next = current + 1;
+            }
+            if (accountState.compareAndSet(index, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static long notionalDelta(long oldPosition, long newPosition, double price) {
+        return Math.round((Math.abs(newPosition) - Math.abs(oldPosition)) * price * 100);
+    }
+
+    private double ltp(int instrumentId) {
+        return Double.longBitsToDouble(symbolState.get(instrumentId * STRIDE + SYMBOL_LTP_BITS));
+    }
+
+    private static double orderPrice(OrderRequest order, double ltp) {
+        boolean market = order.getPriceType() == null || "MARKET".equalsIgnoreCase(order.getPriceType());
+        return market || order.getPrice() <= 0 ? ltp : order.getPrice();
+    }
+
+    private static long signedQuantity(OrderRequest order) {
+        return "SELL".equalsIgnoreCase(order.getAction()) ? -order.getQuantity() : order.getQuantity();
+    }
+
+    /**
+     * Account an order is checked against; venues book its fills to the same account so
+     * exposure and positions net
+     */
+    public static String accountName(OrderRequest order) {
+        return order.getAccount() != null ? order.getAccount() : DEFAULT_ACCOUNT;
+    }
+
+    private int accountId(String account) {
+        Integer id = accountIds.get(account);
+        if (id != null) {
+            return id;
+        }
+        return accountIds.computeIfAbsent(account, k -> {
+            int next = nextAccountId.getAndIncrement();
+            if (next >= maxAccounts) {
+                log.error("No risk slot left for account '{}', increase openalgo.risk.max-accounts", k);
+                return -1;
+            }
+            return next;
+        });
+    }
+
+    private static boolean sameLimits(RiskLimits a, RiskLimits b) {
+        return a.enabled() == b.enabled()
+                && a.accountMaxPosition() == b.accountMaxPosition()
+                && a.accountMaxNotionalPaise() == b.accountMaxNotionalPaise()
+                && a.maxOrdersPerSecond() == b.maxOrdersPerSecond()
+                && a.priceBandPercent() == b.priceBandPercent()
+                && Arrays.equals(a.symbolMaxPosition(), b.symbolMaxPosition());
+    }
+}
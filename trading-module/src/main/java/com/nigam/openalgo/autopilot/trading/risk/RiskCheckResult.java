@@ -0,0 +1,21 @@
+package com.nigam.openalgo.autopilot.trading.risk;
+
+/**
+ * Outcome of a pre-trade risk check
+ */
+public enum RiskCheckResult {
+    ACCEPTED,
+    REJECTED_PRICE_BAND,           // Limit price too far from the latest LTP
+    REJECTED_SYMBOL_POSITION,      // Per-symbol position limit would be exceeded
+    REJECTED_ACCOUNT_POSITION,     // Per-account position limit for the symbol would be exceeded
+    REJECTED_NOTIONAL,             // Per-account notional exposure limit would be exceeded
+    REJECTED_ORDER_RATE,           // Per-account orders-per-second throttle reached
+    REJECTED_UNKNOWN_ACCOUNT,      // No account slot left for a new account
+    REJECTED_UNKNOWN_INSTRUMENT,   // No instrument slot left for a new instrument
+    REJECTED_NO_PRICE,             // Market order before the first LTP, so it cannot be valued
+    REJECTED_DUPLICATE_ORDER;      // Client order id already holds a reservation
+
+    public boolean isAccepted() {
+        return this == ACCEPTED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.nigam.openalgo.autopilot.trading.risk;
+
+/**
+ * Immutable set of risk limits. A new instance is built on every reload and swapped in atomically,
+ * so a check always sees one consistent set of limits.
+ *
+ * @param enabled                  Whether checks are applied at all
+ * @param symbolMaxPosition        Max absolute net quantity per instrument, indexed by instrument id
+ * @param accountMaxPosition       Max absolute net quantity per account and instrument
+ * @param accountMaxNotionalPaise  Max gross notional exposure per account, in paise
+ * @param maxOrdersPerSecond       Max orders per account per second
+ * @param priceBandPercent         Max deviation of a limit price from the latest LTP, in percent
+ */
+public record RiskLimits(
+        boolean enabled,
+        long[] symbolMaxPosition,
+        long accountMaxPosition,
+        long accountMaxNotionalPaise,
+        int maxOrdersPerSecond,
+        double priceBandPercent) {
+}
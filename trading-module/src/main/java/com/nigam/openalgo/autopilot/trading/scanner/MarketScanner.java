@@ -0,0 +1,330 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.Instrument;
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-sectional scanner over every instrument in the {@link MarketSnapshot}.
+ *
+ * A sweep copies the snapshot columns once and splits the instrument range into fork-join
+ * chunks. Each chunk evaluates the compiled filter and rank expressions and keeps only its
+ * best rows; chunks are merged pairwise. Expressions are compiled on first use and cached by
+ * their text, so repeated scans never parse again.
+ *
+ * Named scans are re-run every refresh-interval-ms unless the snapshot version is unchanged,
+ * and their latest result is served without waiting; ad-hoc scans run on request.
+ */
+@Service
+@Slf4j
+public class MarketScanner {
+
+    private static final String ADHOC = "adhoc";
+    private static final int MAX_COMPILED = 1024;
+
+    private final MarketSnapshot snapshot;
+    private final InstrumentRegistry instrumentRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ScanExpression> compiled = new ConcurrentHashMap<>();
+    private final Map<String, ScanDefinition> scans = new ConcurrentHashMap<>();
+    private final Map<String, ScanResult> latestResults = new ConcurrentHashMap<>();
+    private final Map<String, Timer> sweepTimers = new ConcurrentHashMap<>();
+
+    private final ForkJoinPool pool;
+    private ScheduledExecutorService refreshExecutor;
+
+    // Reused by the refresh thread only
+    private double[][] refreshColumns;
+    private long refreshedVersion = -1;
+
+    @Value("${openalgo.scanner.refresh-interval-ms:1000}")
+    private long refreshIntervalMs;
+
+    @Value("${openalgo.scanner.chunk-size:256}")
+    private int chunkSize;
+
+    @Value("${openalgo.scanner.max-limit:500}")
+    private int maxLimit;
+
+    public MarketScanner(MarketSnapshot snapshot,
+                         InstrumentRegistry instrumentRegistry,
+                         MeterRegistry meterRegistry,
+                         @Value("${openalgo.scanner.parallelism:0}") int parallelism) {
+        this.snapshot = snapshot;
+        this.instrumentRegistry = instrumentRegistry;
+        this.meterRegistry = meterRegistry;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PostConstruct
+    public void init() {
+        register("top-gainers", ScanDefinition.builder().filter("close > 0").rank("changePercent").build());
+        register("top-losers", ScanDefinition.builder().filter("close > 0").rank("changePercent").ascending(true).build());
+        register("volume-spike", ScanDefinition.builder().filter("avgVolume > 0 && volume > 2 * avgVolume").rank("volumeRatio").build());
+        register("day-high-breakout", ScanDefinition.builder().filter("high > 0 && ltp >= high && close > 0").rank("changePercent").build());
+
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "market-scanner-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+        pool.shutdownNow();
+    }
+
+    /**
+     * Add or replace a named scan refreshed in the background
+     *
+     * @throws IllegalArgumentException if an expression does not compile or the limit is out of range
+     */
+    public void register(String name, ScanDefinition definition) {
+        validate(definition);
+        scans.put(name, definition);
+        latestResults.remove(name);
+    }
+
+    public boolean unregister(String name) {
+        latestResults.remove(name);
+        return scans.remove(name) != null;
+    }
+
+    public Map<String, ScanDefinition> getScans() {
+        return new LinkedHashMap<>(scans);
+    }
+
+    /**
+     * Latest result of a named scan, running it now if it has not been refreshed yet
+     *
+     * @return null if no scan has that name
+     */
+    public ScanResult getResult(String name) {
+        ScanDefinition definition = scans.get(name);
+        if (definition == null) {
+            return null;
+        }
+        ScanResult result = latestResults.get(name);
+        return result != null ? result : sweep(name, definition);
+    }
+
+    /**
+     * Run a one-off scan
+     *
+     * @throws IllegalArgumentException if an expression does not compile or the limit is out of range
+     */
+    public ScanResult scan(ScanDefinition definition) {
+        validate(definition);
+        return sweep(ADHOC, definition);
+    }
+
+    private void refresh() {
+        try {
+            long version = snapshot.version();
+            if (version == refreshedVersion && latestResults.keySet().containsAll(scans.keySet())) {
+                return;
+            }
+            // Every named scan of one refresh sees the same copy
+            refreshColumns = snapshot.copy(refreshColumns);
+            for (Map.Entry<String, ScanDefinition> scan : scans.entrySet()) {
+                latestResults.put(scan.getKey(), sweep(scan.getKey(), scan.getValue(), refreshColumns, version));
+            }
+            refreshedVersion = version;
+        } catch (Exception e) {
+            log.error("Error refreshing scans", e);
+        }
+    }
+
+    private ScanResult sweep(String name, ScanDefinition definition) {
+        long version = snapshot.version();
+        return sweep(name, definition, snapshot.copy(null), version);
+    }
+
+    private ScanResult sweep(String name, ScanDefinition definition, double[][] data, long version) {
+        long start = System.nanoTime();
+        int rows = Math.min(instrumentRegistry.size(), data[0].length);
+        ScanExpression filter = isBlank(definition.getFilter()) ? null : compile(definition.getFilter());
+        ScanExpression rank = compile(definition.getRank());
+        // Every chunk allocates limit-sized arrays; there are never more rows than instruments
+        int limit = Math.min(definition.getLimit(), Math.max(rows, 1));
+
+        Chunk best = pool.invoke(new ChunkTask(data, filter, rank, definition.isAscending(), limit, 0, rows, Math.max(1, chunkSize)));
+
+        List<ScanRow> result = new ArrayList<>(best.count);
+        double[] ltp = data[ScanColumn.LTP.ordinal()];
+        ScanExpression changePercent = ScanExpressionCompiler.DERIVED.get("changePercent");
+        for (int i = 0; i < best.count; i++) {
+            int id = best.ids[i];
+            Instrument instrument = instrumentRegistry.get(id);
+            result.add(new ScanRow(instrument.exchange(), instrument.symbol(), best.scores[i], ltp[id], changePercent.evaluate(data, id)));
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        timerFor(name).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        return new ScanResult(name, result, rows, best.matched, version, System.currentTimeMillis(), elapsedNanos / 1000);
+    }
+
+    private void validate(ScanDefinition definition) {
+        if (definition.getLimit() <= 0 || definition.getLimit() > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit);
+        }
+        if (isBlank(definition.getRank())) {
+            throw new IllegalArgumentException("Rank expression is required");
+        }
+        compile(definition.getRank());
+        if (!isBlank(definition.getFilter())) {
+            compile(definition.getFilter());
+        }
+    }
+
+    private ScanExpression compile(String expression) {
+        ScanExpression expr = compiled.get(expression);
+        if (expr == null) {
+            if (compiled.size() >= MAX_COMPILED) {
+                // Ad-hoc expressions are unbounded; start over rather than grow forever
+                compiled.clear();
+            }
+            expr = compiled.computeIfAbsent(expression, ScanExpressionCompiler::compile);
+        }
+        return expr;
+    }
+
+    private Timer timerFor(String name) {
+        return sweepTimers.computeIfAbsent(name, n -> Timer.builder("openalgo.scanner.sweep.latency")
+                .description("Time to copy the snapshot and evaluate one scan")
+                .tag("scan", n)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Best rows of a range, sorted best first
+     */
+    private static class Chunk {
+        private final int[] ids;
+        private final double[] scores;
+        private int count;
+        private int matched;
+
+        Chunk(int limit) {
+            this.ids = new int[limit];
+            this.scores = new double[limit];
+        }
+    }
+
+    private static class ChunkTask extends RecursiveTask<Chunk> {
+        private final double[][] columns;
+        private final ScanExpression filter;
+        private final ScanExpression rank;
+        private final boolean ascending;
+        private final int limit;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ChunkTask(double[][] columns, ScanExpression filter, ScanExpression rank, boolean ascending,
+                  int limit, int from, int to, int chunkSize) {
+            this.columns = columns;
+            this.filter = filter;
+            this.rank = rank;
+            this.ascending = ascending;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Chunk compute() {
+            if (to - from <= chunkSize) {
+                return evaluate();
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(columns, filter, rank, ascending, limit, from, mid, chunkSize);
+            ChunkTask right = new ChunkTask(columns, filter, rank, ascending, limit, mid, to, chunkSize);
+            left.fork();
+            Chunk rightResult = right.compute();
+            return merge(left.join(), rightResult);
+        }
+
+        private Chunk evaluate() {
+            Chunk chunk = new Chunk(limit);
+            for (int row = from; row < to; row++) {
+                if (filter != null) {
+                    double keep = filter.evaluate(columns, row);
+                    if (keep == 0 || Double.isNaN(keep)) {
+                        continue;
+                    }
+                }
+                double score = rank.evaluate(columns, row);
+                if (Double.isNaN(score)) {
+                    continue;
+                }
+                chunk.matched++;
+                insert(chunk, row, score);
+            }
+            return chunk;
+        }
+
+        private void insert(Chunk chunk, int id, double score) {
+            if (chunk.count == limit && !better(score, chunk.scores[limit - 1])) {
+                return;
+            }
+            int i = Math.min(chunk.count, limit - 1);
+            while (i > 0 && better(score, chunk.scores[i - 1])) {
+                chunk.ids[i] = chunk.ids[i - 1];
+                chunk.scores[i] = chunk.scores[i - 1];
+                i--;
+            }
+            chunk.ids[i] = id;
+            chunk.scores[i] = score;
+            if (chunk.count < limit) {
+                chunk.count++;
+            }
+        }
+
+        private Chunk merge(Chunk a, Chunk b) {
+            Chunk merged = new Chunk(limit);
+            merged.matched = a.matched + b.matched;
+            int i = 0;
+            int j = 0;
+            while (merged.count < limit && (i < a.count || j < b.count)) {
+                boolean takeA = j >= b.count || (i < a.count && !better(b.scores[j], a.scores[i]));
+                merged.ids[merged.count] = takeA ? a.ids[i] : b.ids[j];
+                merged.scores[merged.count] = takeA ? a.scores[i++] : b.scores[j++];
+                merged.count++;
+            }
+            return merged;
+        }
+
+        private boolean better(double score, double than) {
+            return ascending ? score < than : score > than;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketQuote;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latest market state of every instrument, stored column by column.
+ *
+ * Each {@link ScanColumn} is a double array indexed by instrument id, so a scan walks
+ * contiguous memory. Feed threads write in place and then bump {@link #version()};
+ * {@link #copy(double[][])} takes the point-in-time copy a sweep runs over. The LTP and quote
+ * lanes update an instrument under the same lock stripe, and an LTP, from either lane, only
+ * replaces one at least as old, so a delayed quote never rewinds the price.
+ *
+ * The average volume column is the mean of the last average-volume-days completed day
+ * volumes seen in-process, or a seeded value until the first day completes.
+ */
+@Component
+public class MarketSnapshot implements MarketDataHandler {
+
+    private static final int COLUMNS = ScanColumn.values().length;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int LOCK_STRIPES = 64;
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final double[][] columns;
+    private final int averageVolumeDays;
+    private final long zoneOffsetMillis;
+
+    // Per instrument, guarded by its lock stripe
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final long[] ltpTimestamps;
+
+    // Completed day volumes per instrument, a ring of averageVolumeDays entries
+    private final long[] currentDay;
+    private final double[][] dayVolumes;
+    private final int[] dayCount;
+
+    // Bumped after every update, so a reader that reads it before copying sees the column writes
+    private final AtomicLong version = new AtomicLong();
+
+    public MarketSnapshot(InstrumentRegistry instrumentRegistry,
+                          @Value("${openalgo.scanner.average-volume-days:20}") int averageVolumeDays,
+                          @Value("${openalgo.scanner.zone:Asia/Kolkata}") String zone) {
+        this.instrumentRegistry = instrumentRegistry;
+        int capacity = instrumentRegistry.capacity();
+        this.columns = new double[COLUMNS][capacity];
+        for (double[] column : columns) {
+            Arrays.fill(column, Double.NaN);
+        }
+        this.averageVolumeDays = averageVolumeDays;
+        this.zoneOffsetMillis = ZoneId.of(zone).getRules().getOffset(Instant.now()).getTotalSeconds() * 1000L;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.ltpTimestamps = new long[capacity];
+        this.currentDay = new long[capacity];
+        this.dayVolumes = new double[capacity][];
+        this.dayCount = new int[capacity];
+    }
+
+    @Override
+    public boolean restoresLatestValues() {
+        return true;
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        synchronized (locks[instrumentId & (LOCK_STRIPES - 1)]) {
+            if (dayOf(timestampMillis) < currentDay[instrumentId]) {
+                // A late trade of a session already rolled over
+                return;
+            }
+            setLtp(instrumentId, ltp, timestampMillis);
+            double[] high = columns[ScanColumn.HIGH.ordinal()];
+            double[] low = columns[ScanColumn.LOW.ordinal()];
+            // NaN-safe: the first price initialises both
+            if (!(ltp <= high[instrumentId])) {
+                high[instrumentId] = ltp;
+            }
+            if (!(ltp >= low[instrumentId])) {
+                low[instrumentId] = ltp;
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void onQuote(int instrumentId, MarketQuote quote, long timestampMillis) {
+        synchronized (locks[instrumentId & (LOCK_STRIPES - 1)]) {
+            if (dayOf(timestampMillis) < currentDay[instrumentId]) {
+                // A late quote of a session already rolled over
+                return;
+            }
+            rollDay(instrumentId, timestampMillis);
+            if (!Double.isNaN(quote.ltp())) {
+                setLtp(instrumentId, quote.ltp(), timestampMillis);
+            }
+            set(ScanColumn.OPEN, instrumentId, quote.open());
+            set(ScanColumn.HIGH, instrumentId, quote.high());
+            set(ScanColumn.LOW, instrumentId, quote.low());
+            set(ScanColumn.CLOSE, instrumentId, quote.close());
+            set(ScanColumn.AVERAGE_PRICE, instrumentId, quote.averagePrice());
+            columns[ScanColumn.VOLUME.ordinal()][instrumentId] = quote.volume();
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Seed the average volume of an instrument, e.g. from daily history, until in-process days replace it
+     */
+    public synchronized void seedAverageVolume(String exchange, String symbol, double averageVolume) {
+        int instrumentId = instrumentRegistry.idOf(exchange, symbol);
+        if (dayCount[instrumentId] == 0) {
+            columns[ScanColumn.AVERAGE_VOLUME.ordinal()][instrumentId] = averageVolume;
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Number of updates applied so far. A copy taken after reading the version holds at least
+     * every update up to it; an unchanged version means nothing needs re-scanning.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Copy the first instruments' columns into the target arrays, reallocating them when too small.
+     * Read {@link #version()} first for the copy to be guaranteed to include those updates.
+     *
+     * @param target Previous copy to reuse, or null
+     * @return Columns holding at least {@link InstrumentRegistry#size()} rows
+     */
+    double[][] copy(double[][] target) {
+        int rows = instrumentRegistry.size();
+        if (target == null || target[0].length < rows) {
+            target = new double[COLUMNS][Math.max(rows, 1)];
+        }
+        for (int column = 0; column < COLUMNS; column++) {
+            System.arraycopy(columns[column], 0, target[column], 0, rows);
+        }
+        return target;
+    }
+
+    /**
+     * Replace the LTP unless the stored one is newer; caller holds the instrument's stripe
+     */
+    private void setLtp(int instrumentId, double ltp, long timestampMillis) {
+        if (timestampMillis >= ltpTimestamps[instrumentId]) {
+            columns[ScanColumn.LTP.ordinal()][instrumentId] = ltp;
+            ltpTimestamps[instrumentId] = timestampMillis;
+        }
+    }
+
+    private void set(ScanColumn column, int instrumentId, double value) {
+        if (!Double.isNaN(value)) {
+            columns[column.ordinal()][instrumentId] = value;
+        }
+    }
+
+    private long dayOf(long timestampMillis) {
+        return (timestampMillis + zoneOffsetMillis) / MILLIS_PER_DAY;
+    }
+
+    /**
+     * Caller holds the instrument's stripe
+     */
+    private void rollDay(int instrumentId, long timestampMillis) {
+        long day = dayOf(timestampMillis);
+        long previous = currentDay[instrumentId];
+        if (day <= previous) {
+            return;
+        }
+        currentDay[instrumentId] = day;
+        if (previous == 0) {
+            return;
+        }
+        // A new day starts from the session's own extremes
+        columns[ScanColumn.HIGH.ordinal()][instrumentId] = Double.NaN;
+        columns[ScanColumn.LOW.ordinal()][instrumentId] = Double.NaN;
+
+        double volume = columns[ScanColumn.VOLUME.ordinal()][instrumentId];
+        if (!(volume > 0)) {
+            return;
+        }
+        synchronized (this) {
+            double[] ring = dayVolumes[instrumentId];
+            if (ring == null) {
+                ring = new double[averageVolumeDays];
+                dayVolumes[instrumentId] = ring;
+            }
+            ring[dayCount[instrumentId] % averageVolumeDays] = volume;
+            dayCount[instrumentId]++;
+            int days = Math.min(dayCount[instrumentId], averageVolumeDays);
+            double sum = 0;
+            for (int i = 0; i < days; i++) {
+                sum += ring[i];
+            }
+            columns[ScanColumn.AVERAGE_VOLUME.ordinal()][instrumentId] = sum / days;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+/**
+ * Columns of the {@link MarketSnapshot}, by the name used in scan expressions
+ */
+public enum ScanColumn {
+    LTP("ltp"),
+    OPEN("open"),
+    HIGH("high"),
+    LOW("low"),
+    CLOSE("close"),
+    VOLUME("volume"),
+    AVERAGE_PRICE("avgPrice"),
+    AVERAGE_VOLUME("avgVolume");
+
+    private final String expressionName;
+
+    ScanColumn(String expressionName) {
+        this.expressionName = expressionName;
+    }
+
+    public String expressionName() {
+        return expressionName;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filter and rank expressions of a scan, see {@link ScanExpressionCompiler} for the syntax
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanDefinition {
+
+    // Rows for which this is non-zero are kept; all rows when empty
+    private String filter;
+
+    // Value rows are ordered by
+    private String rank;
+
+    // Lowest rank first instead of highest
+    private boolean ascending;
+
+    @Builder.Default
+    private int limit = 50;
+}
@@ -0,0 +1,15 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+/**
+ * Scan expression compiled to a tree of lambdas by {@link ScanExpressionCompiler}.
+ * Boolean results are 1 (true) or 0 (false); NaN means the row has no value.
+ */
+@FunctionalInterface
+public interface ScanExpression {
+
+    /**
+     * @param columns Snapshot columns indexed by {@link ScanColumn#ordinal()}, then instrument id
+     * @param row     Instrument id
+     */
+    double evaluate(double[][] columns, int row);
+}
@@ -0,0 +1,290 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles scan expressions such as {@code close > 0 && volume > 2 * avgVolume} into
+ * {@link ScanExpression} lambdas.
+ *
+ * Parsing happens once per expression; evaluation is a chain of direct lambda calls with
+ * no tokens, maps or boxing. Supported: numbers, the {@link ScanColumn} names, the derived
+ * values in {@link #DERIVED}, + - * /, comparisons, && || !, parentheses and the functions
+ * abs, min and max. Expressions arrive over HTTP, so their length and nesting are bounded to
+ * keep both parsing and evaluation well clear of the thread stack limit.
+ */
+public final class ScanExpressionCompiler {
+
+    private static final double TRUE = 1;
+    private static final double FALSE = 0;
+
+    static final int MAX_TOKENS = 512;
+    static final int MAX_DEPTH = 32;
+
+    private static final int LTP = ScanColumn.LTP.ordinal();
+    private static final int OPEN = ScanColumn.OPEN.ordinal();
+    private static final int HIGH = ScanColumn.HIGH.ordinal();
+    private static final int LOW = ScanColumn.LOW.ordinal();
+    private static final int CLOSE = ScanColumn.CLOSE.ordinal();
+    private static final int VOLUME = ScanColumn.VOLUME.ordinal();
+    private static final int AVERAGE_VOLUME = ScanColumn.AVERAGE_VOLUME.ordinal();
+
+    /**
+     * Values derived from several columns
+     */
+    static final Map<String, ScanExpression> DERIVED = Map.of(
+            "change", (c, r) -> c[LTP][r] - c[CLOSE][r],
+            "changePercent", (c, r) -> (c[LTP][r] - c[CLOSE][r]) / c[CLOSE][r] * 100,
+            "gapPercent", (c, r) -> (c[OPEN][r] - c[CLOSE][r]) / c[CLOSE][r] * 100,
+            "range", (c, r) -> c[HIGH][r] - c[LOW][r],
+            "volumeRatio", (c, r) -> c[VOLUME][r] / c[AVERAGE_VOLUME][r]);
+
+    private ScanExpressionCompiler() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression cannot be parsed
+     */
+    public static ScanExpression compile(String expression) {
+        List<String> tokens = tokenize(expression);
+        if (tokens.size() > MAX_TOKENS) {
+            throw new IllegalArgumentException("Expression has more than " + MAX_TOKENS + " tokens: " + expression);
+        }
+        Parser parser = new Parser(tokens, expression);
+        ScanExpression compiled = parser.parseOr();
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.peek() + "' in expression: " + expression);
+        }
+        return compiled;
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char ch = expression.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                i++;
+            } else if (Character.isDigit(ch) || ch == '.') {
+                int start = i;
+                while (i < expression.length() && (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i));
+            } else if (Character.isLetter(ch)) {
+                int start = i;
+                while (i < expression.length() && Character.isLetterOrDigit(expression.charAt(i))) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i));
+            } else if (i + 1 < expression.length() && isTwoCharOperator(expression.substring(i, i + 2))) {
+                tokens.add(expression.substring(i, i + 2));
+                i += 2;
+            } else if ("+-*/()<>!,".indexOf(ch) >= 0) {
+                tokens.add(String.valueOf(ch));
+                i++;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + ch + "' in expression: " + expression);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isTwoCharOperator(String token) {
+        return switch (token) {
+            case "&&", "||", ">=", "<=", "==", "!=" -> true;
+            default -> false;
+        };
+    }
+
+    private static class Parser {
+        private final List<String> tokens;
+        private final String source;
+        private int position;
+        private int depth;
+
+        Parser(List<String> tokens, String source) {
+            this.tokens = tokens;
+            this.source = source;
+        }
+
+        boolean atEnd() {
+            return position >= tokens.size();
+        }
+
+        String peek() {
+            return atEnd() ? null : tokens.get(position);
+        }
+
+        boolean accept(String token) {
+            if (token.equals(peek())) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(String token) {
+            if (!accept(token)) {
+                throw new IllegalArgumentException("Expected '" + token + "' in expression: " + source);
+            }
+        }
+
+        ScanExpression parseOr() {
+            ScanExpression left = parseAnd();
+            while (accept("||")) {
+                ScanExpression l = left;
+                ScanExpression r = parseAnd();
+                left = (c, row) -> l.evaluate(c, row) != 0 || r.evaluate(c, row) != 0 ? TRUE : FALSE;
+            }
+            return left;
+        }
+
+        ScanExpression parseAnd() {
+            ScanExpression left = parseComparison();
+            while (accept("&&")) {
+                ScanExpression l = left;
+                ScanExpression r = parseComparison();
+                left = (c, row) -> l.evaluate(c, row) != 0 && r.evaluate(c, row) != 0 ? TRUE : FALSE;
+            }
+            return left;
+        }
+
+        ScanExpression parseComparison() {
+            ScanExpression l = parseAdditive();
+            String operator = peek();
+            if (operator == null) {
+                return l;
+            }
+            switch (operator) {
+                case ">", "<", ">=", "<=", "==", "!=" -> position++;
+                default -> {
+                    return l;
+                }
+            }
+            ScanExpression r = parseAdditive();
+            // NaN compares false, so rows missing a value never match
+            return switch (operator) {
+                case ">" -> (c, row) -> l.evaluate(c, row) > r.evaluate(c, row) ? TRUE : FALSE;
+                case "<" -> (c, row) -> l.evaluate(c, row) < r.evaluate(c, row) ? TRUE : FALSE;
+                case ">=" -> (c, row) -> l.evaluate(c, row) >= r.evaluate(c, row) ? TRUE : FALSE;
+                case "<=" -> (c, row) -> l.evaluate(c, row) <= r.evaluate(c, row) ? TRUE : FALSE;
+                case "==" -> (c, row) -> l.evaluate(c, row) == r.evaluate(c, row) ? TRUE : FALSE;
+                default -> (c, row) -> l.evaluate(c, row) != r.evaluate(c, row) ? TRUE : FALSE;
+            };
+        }
+
+        ScanExpression parseAdditive() {
+            ScanExpression left = parseMultiplicative();
+            while (true) {
+                ScanExpression l = left;
+                if (accept("+")) {
+                    ScanExpression r = parseMultiplicative();
+                    left = (c, row) -> l.evaluate(c, row) + r.evaluate(c, row);
+                } else if (accept("-")) {
+                    ScanExpression r = parseMultiplicative();
+                    left = (c, row) -> l.evaluate(c, row) - r.evaluate(c, row);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        ScanExpression parseMultiplicative() {
+            ScanExpression left = parseUnary();
+            while (true) {
+                ScanExpression l = left;
+                if (accept("*")) {
+                    ScanExpression r = parseUnary();
+                    left = (c, row) -> l.evaluate(c, row) * r.evaluate(c, row);
+                } else if (accept("/")) {
+                    ScanExpression r = parseUnary();
+                    left = (c, row) -> l.evaluate(c, row) / r.evaluate(c, row);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        ScanExpression parseUnary() {
+            // Every parenthesis, function call and prefix operator passes through here
+            if (++depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Expression nested deeper than " + MAX_DEPTH + ": " + source);
+            }
+            try {
+                if (accept("-")) {
+                    ScanExpression operand = parseUnary();
+                    return (c, row) -> -operand.evaluate(c, row);
+                }
+                if (accept("!")) {
+                    ScanExpression operand = parseUnary();
+                    return (c, row) -> operand.evaluate(c, row) == 0 ? TRUE : FALSE;
+                }
+                return parsePrimary();
+            } finally {
+                depth--;
+            }
+        }
+
+        ScanExpression parsePrimary() {
+            String token = peek();
+            if (token == null) {
+                throw new IllegalArgumentException("Unexpected end of expression: " + source);
+            }
+            position++;
+            if (token.equals("(")) {
+                ScanExpression inner = parseOr();
+                expect(")");
+                return inner;
+            }
+            if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '.') {
+                double value;
+                try {
+                    value = Double.parseDouble(token);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number '" + token + "' in expression: " + source);
+                }
+                return (c, row) -> value;
+            }
+            if (accept("(")) {
+                return parseFunction(token);
+            }
+            for (ScanColumn column : ScanColumn.values()) {
+                if (column.expressionName().equals(token)) {
+                    int index = column.ordinal();
+                    return (c, row) -> c[index][row];
+                }
+            }
+            ScanExpression derived = DERIVED.get(token);
+            if (derived != null) {
+                return derived;
+            }
+            throw new IllegalArgumentException("Unknown name '" + token + "' in expression: " + source);
+        }
+
+        ScanExpression parseFunction(String name) {
+            ScanExpression first = parseOr();
+            ScanExpression second = accept(",") ? parseOr() : null;
+            expect(")");
+            return switch (name) {
+                case "abs" -> (c, row) -> Math.abs(first.evaluate(c, row));
+                case "min" -> {
+                    requireSecond(name, second);
+                    yield (c, row) -> Math.min(first.evaluate(c, row), second.evaluate(c, row));
+                }
+                case "max" -> {
+                    requireSecond(name, second);
+                    yield (c, row) -> Math.max(first.evaluate(c, row), second.evaluate(c, row));
+                }
+                default -> throw new IllegalArgumentException("Unknown function '" + name + "' in expression: " + source);
+            };
+        }
+
+        private void requireSecond(String name, ScanExpression second) {
+            if (second == null) {
+                throw new IllegalArgumentException(name + " takes two arguments in expression: " + source);
+            }
+        }
+    }
+}
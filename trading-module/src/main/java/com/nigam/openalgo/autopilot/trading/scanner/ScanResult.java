@@ -0,0 +1,18 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+import java.util.List;
+
+/**
+ * Result of one sweep
+ *
+ * @param name            Scan name, "adhoc" for one-off scans
+ * @param rows            Ranked rows, at most the scan's limit
+ * @param scanned         Instruments evaluated
+ * @param matched         Instruments that passed the filter
+ * @param snapshotVersion {@link MarketSnapshot#version()} the sweep ran over; equal versions rank identical data
+ * @param timestampMillis When the sweep ran
+ * @param latencyMicros   Snapshot copy plus evaluation time
+ */
+public record ScanResult(String name, List<ScanRow> rows, int scanned, int matched, long snapshotVersion,
+                         long timestampMillis, long latencyMicros) {
+}
@@ -0,0 +1,13 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+/**
+ * One instrument in a scan result
+ *
+ * @param exchange      Exchange
+ * @param symbol        Symbol
+ * @param score         Value of the rank expression
+ * @param ltp           Last traded price
+ * @param changePercent Change from the previous close in percent
+ */
+public record ScanRow(String exchange, String symbol, double score, double ltp, double changePercent) {
+}
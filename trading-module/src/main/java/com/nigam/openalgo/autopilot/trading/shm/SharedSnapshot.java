@@ -0,0 +1,69 @@
+package com.nigam.openalgo.autopilot.trading.shm;
+
+/**
+ * Consistent copy of one slot, filled by {@link SharedSnapshotReader#read}. Reused across
+ * reads so polling allocates nothing. Quote fields are NaN / 0 until a quote has arrived.
+ */
+public final class SharedSnapshot {
+
+    long sequence;
+    double ltp;
+    long ltpTimestampMillis;
+    double open;
+    double high;
+    double low;
+    double close;
+    long volume;
+    double averagePrice;
+    long quoteTimestampMillis;
+
+    /**
+     * Seqlock version of the copy; changes whenever the slot is written
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    public double ltp() {
+        return ltp;
+    }
+
+    public long ltpTimestampMillis() {
+        return ltpTimestampMillis;
+    }
+
+    public double open() {
+        return open;
+    }
+
+    public double high() {
+        return high;
+    }
+
+    public double low() {
+        return low;
+    }
+
+    public double close() {
+        return close;
+    }
+
+    public long volume() {
+        return volume;
+    }
+
+    public double averagePrice() {
+        return averagePrice;
+    }
+
+    public long quoteTimestampMillis() {
+        return quoteTimestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SharedSnapshot[sequence=" + sequence + ", ltp=" + ltp + ", ltpTimestampMillis=" + ltpTimestampMillis
+                + ", open=" + open + ", high=" + high + ", low=" + low + ", close=" + close + ", volume=" + volume
+                + ", averagePrice=" + averagePrice + ", quoteTimestampMillis=" + quoteTimestampMillis + "]";
+    }
+}
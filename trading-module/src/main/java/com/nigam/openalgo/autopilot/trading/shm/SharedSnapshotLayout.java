@@ -0,0 +1,66 @@
+package com.nigam.openalgo.autopilot.trading.shm;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the shared-memory snapshot file, native byte order.
+ *
+ * <pre>
+ *   header  (4096 bytes)  int magic, int version, int slot count, int slot size,
+ *                         long epoch (0 while the writer initializes, then its start time)
+ *   slots   (128 bytes)   long sequence, double ltp, long ltp timestamp, double open, high,
+ *                         low, close, long volume, double average price, long quote timestamp
+ *   keys    (64 bytes)    int length (set last), "EXCHANGE:SYMBOL" in UTF-8
+ * </pre>
+ * Slot n holds the instrument with id n in the writing process. The sequence is a seqlock:
+ * odd while a write is in progress, bumped by two per write, 0 for a slot never written.
+ * Slots are two cache lines so neighbouring instruments never share one.
+ */
+public final class SharedSnapshotLayout {
+
+    public static final int MAGIC = 0x4F41534D; // "OASM"
+    public static final int VERSION = 1;
+
+    public static final int HEADER_BYTES = 4096;
+    public static final int SLOT_BYTES = 128;
+    public static final int KEY_BYTES = 64;
+    public static final int MAX_KEY_LENGTH = KEY_BYTES - 4;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int SLOT_COUNT_OFFSET = 8;
+    static final int SLOT_SIZE_OFFSET = 12;
+    static final int EPOCH_OFFSET = 16;
+
+    static final int SEQUENCE = 0;
+    static final int LTP = 8;
+    static final int LTP_TIMESTAMP = 16;
+    static final int OPEN = 24;
+    static final int HIGH = 32;
+    static final int LOW = 40;
+    static final int CLOSE = 48;
+    static final int VOLUME = 56;
+    static final int AVERAGE_PRICE = 64;
+    static final int QUOTE_TIMESTAMP = 72;
+
+    // Ordered access to longs in a mapped buffer; offsets must be 8-byte aligned
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private SharedSnapshotLayout() {
+    }
+
+    public static long fileSize(int slotCount) {
+        return HEADER_BYTES + (long) slotCount * (SLOT_BYTES + KEY_BYTES);
+    }
+
+    static int slotOffset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    static int keyOffset(int slotCount, int slot) {
+        return HEADER_BYTES + slotCount * SLOT_BYTES + slot * KEY_BYTES;
+    }
+}
@@ -0,0 +1,213 @@
+package com.nigam.openalgo.autopilot.trading.shm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.nigam.openalgo.autopilot.trading.shm.SharedSnapshotLayout.*;
+
+/**
+ * Reads consistent latest values from a shared-memory snapshot file written by another
+ * process on the same host.
+ *
+ * Reads are plain loads from the mapping bracketed by the slot's seqlock sequence and retried
+ * if a write overlapped, so a read costs nanoseconds and makes no system call. Depends on
+ * nothing outside the JDK and this package. Resolve slots with {@link #slotOf} once and reuse
+ * them; when {@link #epoch()} changes the writer restarted and slots must be resolved again.
+ * The next lookup after a restart remaps the file if the writer's slot count changed; the
+ * previous mapping stays valid because the writer never shrinks the file.
+ * Slot lookups are not thread-safe; {@link #read} is.
+ *
+ * <pre>
+ *   try (SharedSnapshotReader reader = new SharedSnapshotReader(Path.of("/dev/shm/openalgo-snapshots"))) {
+ *       int slot = reader.slotOf("NSE:SBIN");
+ *       SharedSnapshot snapshot = new SharedSnapshot();
+ *       if (slot >= 0 && reader.read(slot, snapshot)) {
+ *           double ltp = snapshot.ltp();
+ *       }
+ *   }
+ * </pre>
+ */
+public class SharedSnapshotReader implements Closeable {
+
+    /**
+     * The file mapped for one writer slot count
+     */
+    private record Mapping(MappedByteBuffer buffer, int slotCount) {
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private volatile Mapping mapping;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private long slotsEpoch;
+
+    public SharedSnapshotReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.nativeOrder());
+            this.mapping = map(header);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getSlotCount() {
+        return mapping.slotCount();
+    }
+
+    /**
+     * Writer start time; 0 while the writer is (re)initializing the file
+     */
+    public long epoch() {
+        return (long) LONGS.getAcquire(mapping.buffer(), EPOCH_OFFSET);
+    }
+
+    /**
+     * Slot of an instrument ("EXCHANGE:SYMBOL"), or -1 if the writer has not seen it yet
+     */
+    public int slotOf(String key) {
+        long epoch = epoch();
+        if (epoch == 0) {
+            return -1;
+        }
+        if (epoch != slotsEpoch) {
+            // A restarted writer may have been configured with another slot count
+            try {
+                Mapping current = mapping;
+                if (current.buffer().getInt(SLOT_COUNT_OFFSET) != current.slotCount()) {
+                    mapping = map(current.buffer());
+                }
+            } catch (IOException e) {
+                // Mid-restart or not a snapshot file any more; keep the old mapping and retry on the next call
+                return -1;
+            }
+            slots.clear();
+            slotsEpoch = epoch;
+        }
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            scanKeys();
+            slot = slots.get(key);
+        }
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Copy a consistent view of a slot
+     *
+     * @return false if the slot has never been written
+     */
+    public boolean read(int slot, SharedSnapshot into) {
+        MappedByteBuffer buffer = buffer(slot);
+        int offset = slotOffset(slot);
+        while (true) {
+            long before = (long) LONGS.getAcquire(buffer, offset + SEQUENCE);
+            if (before == 0) {
+                return false;
+            }
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            into.ltp = buffer.getDouble(offset + LTP);
+            into.ltpTimestampMillis = buffer.getLong(offset + LTP_TIMESTAMP);
+            into.open = buffer.getDouble(offset + OPEN);
+            into.high = buffer.getDouble(offset + HIGH);
+            into.low = buffer.getDouble(offset + LOW);
+            into.close = buffer.getDouble(offset + CLOSE);
+            into.volume = buffer.getLong(offset + VOLUME);
+            into.averagePrice = buffer.getDouble(offset + AVERAGE_PRICE);
+            into.quoteTimestampMillis = buffer.getLong(offset + QUOTE_TIMESTAMP);
+            // Keep the field loads ahead of the re-check
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getVolatile(buffer, offset + SEQUENCE) == before) {
+                into.sequence = before;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Latest LTP of a slot, NaN if it has never been written
+     */
+    public double ltp(int slot) {
+        MappedByteBuffer buffer = buffer(slot);
+        int offset = slotOffset(slot);
+        while (true) {
+            long before = (long) LONGS.getAcquire(buffer, offset + SEQUENCE);
+            if (before == 0) {
+                return Double.NaN;
+            }
+            if ((before & 1) == 0) {
+                double ltp = buffer.getDouble(offset + LTP);
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getVolatile(buffer, offset + SEQUENCE) == before) {
+                    return ltp;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Validate the header and map the whole file for its slot count
+     */
+    private Mapping map(MappedByteBuffer header) throws IOException {
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION
+                || header.getInt(SLOT_SIZE_OFFSET) != SLOT_BYTES) {
+            throw new IOException("Unsupported snapshot file: " + file);
+        }
+        int slotCount = header.getInt(SLOT_COUNT_OFFSET);
+        if (slotCount <= 0 || fileSize(slotCount) > Integer.MAX_VALUE || channel.size() < fileSize(slotCount)) {
+            throw new IOException("Truncated snapshot file: " + file);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize(slotCount));
+        buffer.order(ByteOrder.nativeOrder());
+        return new Mapping(buffer, slotCount);
+    }
+
+    private MappedByteBuffer buffer(int slot) {
+        Mapping current = mapping;
+        if (slot < 0 || slot >= current.slotCount()) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " of " + current.slotCount());
+        }
+        return current.buffer();
+    }
+
+    private void scanKeys() {
+        Mapping current = mapping;
+        MappedByteBuffer buffer = current.buffer();
+        int slotCount = current.slotCount();
+        // Slots are named as instruments first tick, in no particular order
+        for (int slot = 0; slot < slotCount; slot++) {
+            int offset = keyOffset(slotCount, slot);
+            int length = (int) INTS.getAcquire(buffer, offset);
+            if (length > 0 && length <= MAX_KEY_LENGTH) {
+                byte[] bytes = new byte[length];
+                buffer.get(offset + 4, bytes);
+                slots.putIfAbsent(new String(bytes, StandardCharsets.UTF_8), slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.nigam.openalgo.autopilot.trading.shm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.nigam.openalgo.autopilot.trading.shm.SharedSnapshotLayout.*;
+
+/**
+ * Publishes latest values into the shared-memory snapshot file.
+ *
+ * The file is reused across restarts so readers that mapped it keep working: it is cleared
+ * in place under epoch 0 and then stamped with a new epoch, which tells readers that slot
+ * assignments changed. Writers of the same slot from several threads are serialized by
+ * a CAS on the slot's sequence; only one process may write a file. The LTP and its timestamp
+ * are only replaced by an LTP or quote at least as new, so a delayed quote never rewinds them.
+ */
+public class SharedSnapshotWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+
+    public SharedSnapshotWriter(Path file, int slotCount) throws IOException {
+        if (slotCount <= 0 || fileSize(slotCount) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid slot count: " + slotCount);
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.slotCount = slotCount;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Never shrink the file: a reader still mapping the old size would fault
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(slotCount));
+        this.buffer.order(ByteOrder.nativeOrder());
+        initialize();
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Name a slot; must happen before the slot is first written for readers to find it
+     */
+    public void registerKey(int slot, String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Instrument key longer than " + MAX_KEY_LENGTH + " bytes: " + key);
+        }
+        int offset = keyOffset(slotCount, slot);
+        buffer.put(offset + 4, bytes);
+        // Publish the length last so a reader never sees a partly written key
+        INTS.setRelease(buffer, offset, bytes.length);
+    }
+
+    public void writeLtp(int slot, double ltp, long timestampMillis) {
+        int offset = slotOffset(slot);
+        long sequence = lock(offset);
+        if (timestampMillis < buffer.getLong(offset + LTP_TIMESTAMP)) {
+            // Nothing changed; hand back the sequence readers already saw
+            LONGS.setRelease(buffer, offset + SEQUENCE, sequence);
+            return;
+        }
+        buffer.putDouble(offset + LTP, ltp);
+        buffer.putLong(offset + LTP_TIMESTAMP, timestampMillis);
+        LONGS.setRelease(buffer, offset + SEQUENCE, sequence + 2);
+    }
+
+    public void writeQuote(int slot, double ltp, double open, double high, double low, double close, long volume,
+                           double averagePrice, long timestampMillis) {
+        int offset = slotOffset(slot);
+        long sequence = lock(offset);
+        if (!Double.isNaN(ltp) && timestampMillis >= buffer.getLong(offset + LTP_TIMESTAMP)) {
+            buffer.putDouble(offset + LTP, ltp);
+            buffer.putLong(offset + LTP_TIMESTAMP, timestampMillis);
+        }
+        buffer.putDouble(offset + OPEN, open);
+        buffer.putDouble(offset + HIGH, high);
+        buffer.putDouble(offset + LOW, low);
+        buffer.putDouble(offset + CLOSE, close);
+        buffer.putLong(offset + VOLUME, volume);
+        buffer.putDouble(offset + AVERAGE_PRICE, averagePrice);
+        buffer.putLong(offset + QUOTE_TIMESTAMP, timestampMillis);
+        LONGS.setRelease(buffer, offset + SEQUENCE, sequence + 2);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Make the sequence odd, waiting out another thread's write
+     *
+     * @return The even sequence before the write
+     */
+    private long lock(int offset) {
+        while (true) {
+            long sequence = (long) LONGS.getVolatile(buffer, offset + SEQUENCE);
+            if ((sequence & 1) == 0 && LONGS.compareAndSet(buffer, offset + SEQUENCE, sequence, sequence + 1)) {
+                return sequence;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void initialize() {
+        LONGS.setVolatile(buffer, EPOCH_OFFSET, 0L);
+        for (int i = HEADER_BYTES; i < buffer.capacity(); i += 8) {
+            buffer.putLong(i, 0L);
+        }
+        buffer.putInt(MAGIC_OFFSET, MAGIC)
+                .putInt(VERSION_OFFSET, VERSION)
+                .putInt(SLOT_COUNT_OFFSET, slotCount)
+                .putInt(SLOT_SIZE_OFFSET, SLOT_BYTES);
+        // Quote fields read as NaN until a quote arrives
+        for (int slot = 0; slot < slotCount; slot++) {
+            int offset = slotOffset(slot);
+            for (int field = OPEN; field <= CLOSE; field += 8) {
+                buffer.putDouble(offset + field, Double.NaN);
+            }
+            buffer.putDouble(offset + AVERAGE_PRICE, Double.NaN);
+        }
+        LONGS.setVolatile(buffer, EPOCH_OFFSET, Math.max(1, System.currentTimeMillis()));
+    }
+}
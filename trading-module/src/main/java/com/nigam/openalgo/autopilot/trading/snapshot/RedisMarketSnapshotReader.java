@@ -0,0 +1,166 @@
+package com.nigam.openalgo.autopilot.trading.snapshot;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads market snapshots written by {@link RedisMarketSnapshotWriter}, from any node, with
+ * RESP3 client-side caching.
+ *
+ * A dedicated RESP3 connection runs CLIENT TRACKING, so Redis remembers every key this
+ * client has read and pushes an invalidation when it changes. Reads are served from the
+ * local copy until then; a hot symbol costs one round-trip per change instead of one per
+ * read. The local copy is dropped whole on reconnect, since tracking does not survive the
+ * connection, and on a flush notification. A per-key generation guards against an
+ * invalidation that arrives while the read that would have cached the old value is in flight.
+ */
+@Component
+@Slf4j
+public class RedisMarketSnapshotReader {
+
+    private final Map<String, Map<String, String>> cache = new ConcurrentHashMap<>();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong flushGeneration = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    @Value("${spring.redis.host:localhost}")
+    private String redisHost;
+
+    @Value("${spring.redis.port:6379}")
+    private int redisPort;
+
+    @Value("${openalgo.snapshot.redis.key-prefix:md:}")
+    private String keyPrefix;
+
+    // Guarded by this
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+
+    public RedisMarketSnapshotReader(MeterRegistry meterRegistry) {
+        this.hitCounter = Counter.builder("openalgo.snapshot.redis.reads").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("openalgo.snapshot.redis.reads").tag("result", "miss").register(meterRegistry);
+        this.invalidationCounter = Counter.builder("openalgo.snapshot.redis.invalidations")
+                .description("Cached snapshots invalidated by Redis")
+                .register(meterRegistry);
+        Gauge.builder("openalgo.snapshot.redis.cached", cache, Map::size)
+                .description("Snapshots held in the client-side cache")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (connection != null) {
+            connection.close();
+        }
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    /**
+     * Latest snapshot fields of an instrument (ltp, ts, and quote fields once quoted)
+     *
+     * @return Fields, empty if nothing has been written for the instrument
+     */
+    public Map<String, String> get(String exchange, String symbol) {
+        String key = keyPrefix + exchange + ":" + symbol;
+        Map<String, String> cached = cache.get(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+        Long generation = generations.get(key);
+        long flush = flushGeneration.get();
+        // The read itself registers the key for tracking
+        Map<String, String> fields = Map.copyOf(connection().sync().hgetall(key));
+        if (Objects.equals(generation, generations.get(key)) && flush == flushGeneration.get()) {
+            cache.put(key, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * Latest LTP of an instrument, or null if none has been written
+     */
+    public Double getLtp(String exchange, String symbol) {
+        String ltp = get(exchange, symbol).get("ltp");
+        return ltp != null ? Double.valueOf(ltp) : null;
+    }
+
+    private synchronized StatefulRedisConnection<String, String> connection() {
+        if (connection == null) {
+            client = RedisClient.create(RedisURI.create(redisHost, redisPort));
+            client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+            StatefulRedisConnection<String, String> created = client.connect(StringCodec.UTF8);
+            created.addListener(this::onPush);
+            created.addListener(new RedisConnectionStateListener() {
+                @Override
+                public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+                    // A fresh connection tracks nothing; drop what the old one was tracking
+                    invalidateAll();
+                    created.async().clientTracking(TrackingArgs.Builder.enabled());
+                }
+            });
+            created.sync().clientTracking(TrackingArgs.Builder.enabled());
+            connection = created;
+            log.info("Reading market snapshots from Redis {}:{} with client-side caching", redisHost, redisPort);
+        }
+        return connection;
+    }
+
+    private void onPush(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent();
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys == null) {
+            // FLUSHALL / FLUSHDB
+            invalidateAll();
+            return;
+        }
+        for (Object key : (List<?>) keys) {
+            String name = key instanceof ByteBuffer buffer
+                    ? StandardCharsets.UTF_8.decode(buffer.duplicate()).toString()
+                    : String.valueOf(key);
+            generations.merge(name, 1L, Long::sum);
+            if (cache.remove(name) != null) {
+                invalidationCounter.increment();
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        flushGeneration.incrementAndGet();
+        invalidationCounter.increment(cache.size());
+        cache.clear();
+    }
+}
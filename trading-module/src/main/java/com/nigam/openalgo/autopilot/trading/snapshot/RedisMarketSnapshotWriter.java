@@ -0,0 +1,240 @@
+package com.nigam.openalgo.autopilot.trading.snapshot;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketQuote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mirrors the latest LTP and quote of every instrument into one Redis hash per instrument.
+ *
+ * The feed thread only overwrites the instrument's latest values and marks it dirty; every
+ * flush-interval-ms a background thread sends one HSET per dirty instrument, pipelined in
+ * batches of batch-size, so Redis sees at most one write per instrument per interval
+ * regardless of the tick rate. Hashes are keyed {key-prefix}EXCHANGE:SYMBOL with fields
+ * ltp and ts, plus open, high, low, close, volume, average_price and quote_ts once a
+ * quote has arrived. ltp and ts come from the newest LTP or quote by timestamp, so a delayed
+ * quote never rewinds them. {@link RedisMarketSnapshotReader} reads them back.
+ */
+@Component
+@Slf4j
+public class RedisMarketSnapshotWriter implements MarketDataHandler {
+
+    private static final int DIRTY_LTP = 1;
+    private static final int DIRTY_QUOTE = 2;
+
+    private record Ltp(double value, long timestampMillis) {
+    }
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final AtomicReferenceArray<Ltp> ltps;
+    private final AtomicReferenceArray<MarketQuote> quotes;
+    private final AtomicLongArray quoteTimestamps;
+    private final AtomicIntegerArray dirty;
+
+    private final Timer flushTimer;
+    private final Counter writeCounter;
+    private final Counter failureCounter;
+
+    @Value("${openalgo.snapshot.redis.enabled:false}")
+    private boolean enabled;
+
+    @Value("${openalgo.snapshot.redis.key-prefix:md:}")
+    private String keyPrefix;
+
+    @Value("${openalgo.snapshot.redis.flush-interval-ms:100}")
+    private long flushIntervalMs;
+
+    @Value("${openalgo.snapshot.redis.batch-size:1000}")
+    private int batchSize;
+
+    private ScheduledExecutorService flushExecutor;
+
+    public RedisMarketSnapshotWriter(InstrumentRegistry instrumentRegistry, StringRedisTemplate redisTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.redisTemplate = redisTemplate;
+        int capacity = instrumentRegistry.capacity();
+        this.ltps = new AtomicReferenceArray<>(capacity);
+        this.quotes = new AtomicReferenceArray<>(capacity);
+        this.quoteTimestamps = new AtomicLongArray(capacity);
+        this.dirty = new AtomicIntegerArray(capacity);
+        this.flushTimer = Timer.builder("openalgo.snapshot.redis.flush.latency")
+                .description("Time to send one interval's snapshot writes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.writeCounter = Counter.builder("openalgo.snapshot.redis.writes")
+                .description("Instrument hashes written to Redis")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("openalgo.snapshot.redis.failed")
+                .description("Snapshot flushes that failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-snapshot-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Mirroring market snapshots to Redis every {} ms under {}*", flushIntervalMs, keyPrefix);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean restoresLatestValues() {
+        return true;
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        if (!enabled) {
+            return;
+        }
+        if (updateLtp(instrumentId, ltp, timestampMillis)) {
+            markDirty(instrumentId, DIRTY_LTP);
+        }
+    }
+
+    @Override
+    public void onQuote(int instrumentId, MarketQuote quote, long timestampMillis) {
+        if (!enabled) {
+            return;
+        }
+        quotes.set(instrumentId, quote);
+        quoteTimestamps.set(instrumentId, timestampMillis);
+        int flags = DIRTY_QUOTE;
+        if (!Double.isNaN(quote.ltp()) && updateLtp(instrumentId, quote.ltp(), timestampMillis)) {
+            flags |= DIRTY_LTP;
+        }
+        markDirty(instrumentId, flags);
+    }
+
+    /**
+     * Redis key of an instrument's snapshot hash
+     */
+    public String keyOf(String exchange, String symbol) {
+        return keyPrefix + exchange + ":" + symbol;
+    }
+
+    /**
+     * Replace the LTP unless the stored one is newer; the LTP and quote lanes race on it
+     *
+     * @return true if replaced
+     */
+    private boolean updateLtp(int instrumentId, double ltp, long timestampMillis) {
+        Ltp update = new Ltp(ltp, timestampMillis);
+        while (true) {
+            Ltp current = ltps.get(instrumentId);
+            if (current != null && timestampMillis < current.timestampMillis()) {
+                return false;
+            }
+            if (ltps.compareAndSet(instrumentId, current, update)) {
+                return true;
+            }
+        }
+    }
+
+    private void markDirty(int instrumentId, int flag) {
+        // Skip the CAS when already marked, which is the common case between flushes
+        int current = dirty.get(instrumentId);
+        if ((current & flag) != flag) {
+            dirty.getAndUpdate(instrumentId, value -> value | flag);
+        }
+    }
+
+    private void flush() {
+        int size = instrumentRegistry.size();
+        int id = 0;
+        while (id < size) {
+            long start = System.nanoTime();
+            int[] batchIds = new int[Math.min(batchSize, size)];
+            int[] batchFlags = new int[batchIds.length];
+            int count = 0;
+            for (; id < size && count < batchIds.length; id++) {
+                int flags = dirty.getAndSet(id, 0);
+                if (flags != 0) {
+                    batchIds[count] = id;
+                    batchFlags[count] = flags;
+                    count++;
+                }
+            }
+            if (count == 0) {
+                continue;
+            }
+            int batchCount = count;
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    write((StringRedisConnection) connection, batchIds, batchFlags, batchCount);
+                    return null;
+                });
+                writeCounter.increment(batchCount);
+            } catch (Exception e) {
+                // Put the marks back so the next interval retries with whatever is latest then
+                for (int i = 0; i < batchCount; i++) {
+                    markDirty(batchIds[i], batchFlags[i]);
+                }
+                failureCounter.increment();
+                log.warn("Error writing market snapshots to Redis: {}", e.getMessage());
+                return;
+            } finally {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void write(StringRedisConnection connection, int[] ids, int[] flags, int count) {
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            Map<String, String> fields = new HashMap<>(16);
+            Ltp ltp = ltps.get(id);
+            if ((flags[i] & DIRTY_LTP) != 0 && ltp != null) {
+                fields.put("ltp", Double.toString(ltp.value()));
+                fields.put("ts", Long.toString(ltp.timestampMillis()));
+            }
+            MarketQuote quote = quotes.get(id);
+            if ((flags[i] & DIRTY_QUOTE) != 0 && quote != null) {
+                fields.put("open", Double.toString(quote.open()));
+                fields.put("high", Double.toString(quote.high()));
+                fields.put("low", Double.toString(quote.low()));
+                fields.put("close", Double.toString(quote.close()));
+                fields.put("volume", Long.toString(quote.volume()));
+                fields.put("average_price", Double.toString(quote.averagePrice()));
+                fields.put("quote_ts", Long.toString(quoteTimestamps.get(id)));
+            }
+            var instrument = instrumentRegistry.get(id);
+            connection.hMSet(keyOf(instrument.exchange(), instrument.symbol()), fields);
+        }
+    }
+}
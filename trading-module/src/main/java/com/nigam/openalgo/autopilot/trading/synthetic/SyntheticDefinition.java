@@ -0,0 +1,27 @@
+package com.nigam.openalgo.autopilot.trading.synthetic;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Derived instrument defined as an arithmetic expression over other instruments' LTPs,
+ * e.g. {@code MCX:CRUDEOIL19NOV26FUT - MCX:CRUDEOIL17DEC26FUT} or
+ * {@code 0.5 * NSE:HDFCBANK + 0.5 * NSE:ICICIBANK}. Symbols with characters other than
+ * letters, digits and underscores are written in brackets: {@code [NSE:M&M]}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyntheticDefinition {
+
+    // Symbol the synthetic is published under
+    private String name;
+
+    private String expression;
+
+    // Skip updates while the legs' last ticks are further apart than this; 0 disables the check
+    private long maxSkewMs;
+}
@@ -0,0 +1,15 @@
+package com.nigam.openalgo.autopilot.trading.synthetic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Synthetic expression compiled to lambdas by {@link SyntheticExpressionCompiler}
+ */
+@FunctionalInterface
+interface SyntheticExpression {
+
+    /**
+     * @param prices Last price bits of every instrument, indexed by instrument id
+     */
+    double evaluate(AtomicLongArray prices);
+}
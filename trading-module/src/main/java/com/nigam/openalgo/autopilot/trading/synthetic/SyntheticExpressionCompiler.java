@@ -0,0 +1,156 @@
+package com.nigam.openalgo.autopilot.trading.synthetic;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compiles synthetic instrument expressions into lambdas over leg prices.
+ * Supports numbers, EXCHANGE:SYMBOL references, + - * /, unary minus and parentheses.
+ */
+final class SyntheticExpressionCompiler {
+
+    private SyntheticExpressionCompiler() {
+    }
+
+    /**
+     * Compiled expression plus the instrument ids of its legs
+     */
+    record Compiled(SyntheticExpression expression, int[] legs) {
+    }
+
+    /**
+     * @param idOf Resolves an "EXCHANGE:SYMBOL" reference to an instrument id
+     * @throws IllegalArgumentException if the expression cannot be parsed or has no legs
+     */
+    static Compiled compile(String expression, ToIntFunction<String> idOf) {
+        Parser parser = new Parser(expression, idOf);
+        SyntheticExpression compiled = parser.parseAdditive();
+        parser.skipWhitespace();
+        if (parser.position < expression.length()) {
+            throw new IllegalArgumentException("Unexpected '" + expression.charAt(parser.position) + "' in expression: " + expression);
+        }
+        if (parser.legs.isEmpty()) {
+            throw new IllegalArgumentException("Expression references no instruments: " + expression);
+        }
+        return new Compiled(compiled, parser.legs.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static class Parser {
+        private final String source;
+        private final ToIntFunction<String> idOf;
+        private final Set<Integer> legs = new LinkedHashSet<>();
+        private int position;
+
+        Parser(String source, ToIntFunction<String> idOf) {
+            this.source = source;
+            this.idOf = idOf;
+        }
+
+        void skipWhitespace() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        boolean accept(char ch) {
+            skipWhitespace();
+            if (position < source.length() && source.charAt(position) == ch) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        SyntheticExpression parseAdditive() {
+            SyntheticExpression left = parseMultiplicative();
+            while (true) {
+                SyntheticExpression l = left;
+                if (accept('+')) {
+                    SyntheticExpression r = parseMultiplicative();
+                    left = p -> l.evaluate(p) + r.evaluate(p);
+                } else if (accept('-')) {
+                    SyntheticExpression r = parseMultiplicative();
+                    left = p -> l.evaluate(p) - r.evaluate(p);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        SyntheticExpression parseMultiplicative() {
+            SyntheticExpression left = parseUnary();
+            while (true) {
+                SyntheticExpression l = left;
+                if (accept('*')) {
+                    SyntheticExpression r = parseUnary();
+                    left = p -> l.evaluate(p) * r.evaluate(p);
+                } else if (accept('/')) {
+                    SyntheticExpression r = parseUnary();
+                    left = p -> l.evaluate(p) / r.evaluate(p);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        SyntheticExpression parseUnary() {
+            if (accept('-')) {
+                SyntheticExpression operand = parseUnary();
+                return p -> -operand.evaluate(p);
+            }
+            return parsePrimary();
+        }
+
+        SyntheticExpression parsePrimary() {
+            if (accept('(')) {
+                SyntheticExpression inner = parseAdditive();
+                if (!accept(')')) {
+                    throw new IllegalArgumentException("Expected ')' in expression: " + source);
+                }
+                return inner;
+            }
+            if (accept('[')) {
+                int end = source.indexOf(']', position);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Expected ']' in expression: " + source);
+                }
+                String key = source.substring(position, end).trim();
+                position = end + 1;
+                return leg(key);
+            }
+            skipWhitespace();
+            int start = position;
+            if (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                    position++;
+                }
+                double value;
+                try {
+                    value = Double.parseDouble(source.substring(start, position));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number in expression: " + source);
+                }
+                return p -> value;
+            }
+            while (position < source.length() && isSymbolChar(source.charAt(position))) {
+                position++;
+            }
+            String key = source.substring(start, position);
+            if (key.indexOf(':') <= 0 || key.endsWith(":")) {
+                throw new IllegalArgumentException("Expected EXCHANGE:SYMBOL at position " + start + " in expression: " + source);
+            }
+            return leg(key);
+        }
+
+        private SyntheticExpression leg(String key) {
+            int id = idOf.applyAsInt(key);
+            legs.add(id);
+            return p -> Double.longBitsToDouble(p.get(id));
+        }
+
+        private static boolean isSymbolChar(char ch) {
+            return Character.isLetterOrDigit(ch) || ch == '_' || ch == ':';
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.nigam.openalgo.autopilot.trading.synthetic;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataDispatcher;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Spreads, ratios and baskets computed from live LTPs and published as ticks of their own.
+ *
+ * Every synthetic gets an instrument id under the synthetic exchange. A dependency graph maps
+ * each leg to the synthetics that use it, so an LTP update recomputes only its dependents,
+ * inline on the feed thread. Synthetics can be legs of other synthetics; cycles are rejected
+ * when a synthetic is defined. For each instrument the engine keeps every synthetic that
+ * depends on it, directly or through other synthetics, in topological order, so one tick
+ * recomputes each of them once and only after all of its legs. A synthetic none of whose legs
+ * changed in that pass is left alone. Results are published through the
+ * {@link MarketDataDispatcher} like any other LTP, and listeners (Kafka) receive every value.
+ */
+@Component
+@Slf4j
+public class SyntheticInstrumentEngine implements MarketDataHandler {
+
+    private static final long NAN_BITS = Double.doubleToRawLongBits(Double.NaN);
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final MarketDataDispatcher marketDataDispatcher;
+
+    // Last price bits and timestamp of every instrument
+    private final AtomicLongArray prices;
+    private final AtomicLongArray timestamps;
+
+    // Copy-on-write: synthetics depending directly on each instrument id
+    private final AtomicReferenceArray<Synthetic[]> dependents;
+    // Copy-on-write: every synthetic depending on each instrument id, legs before dependents
+    private final AtomicReferenceArray<Synthetic[]> recomputeOrder;
+    private final Map<Integer, Synthetic> synthetics = new ConcurrentHashMap<>();
+    private final List<Consumer<SyntheticTick>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter publishedCounter;
+    private final Counter skewSkippedCounter;
+
+    @Value("${openalgo.synthetic.exchange:SYNTH}")
+    private String exchange;
+
+    // NAME=EXPRESSION pairs separated by semicolons
+    @Value("${openalgo.synthetic.definitions:}")
+    private String definitions;
+
+    @Value("${openalgo.synthetic.max-skew-ms:0}")
+    private long defaultMaxSkewMs;
+
+    public SyntheticInstrumentEngine(InstrumentRegistry instrumentRegistry,
+                                     MarketDataDispatcher marketDataDispatcher,
+                                     MeterRegistry meterRegistry) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.marketDataDispatcher = marketDataDispatcher;
+        int capacity = instrumentRegistry.capacity();
+        this.prices = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            prices.set(i, NAN_BITS);
+        }
+        this.timestamps = new AtomicLongArray(capacity);
+        this.dependents = new AtomicReferenceArray<>(capacity);
+        this.recomputeOrder = new AtomicReferenceArray<>(capacity);
+        this.publishedCounter = Counter.builder("openalgo.synthetic.published").register(meterRegistry);
+        this.skewSkippedCounter = Counter.builder("openalgo.synthetic.skew.skipped")
+                .description("Synthetic updates skipped because the legs were too far apart in time")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (definitions == null || definitions.isBlank()) {
+            return;
+        }
+        for (String entry : definitions.split(";")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                define(SyntheticDefinition.builder()
+                        .name(entry.substring(0, separator).trim())
+                        .expression(entry.substring(separator + 1).trim())
+                        .maxSkewMs(defaultMaxSkewMs)
+                        .build());
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid synthetic definition '{}': {}", entry, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Add or replace a synthetic instrument
+     *
+     * @throws IllegalArgumentException if the expression is invalid or would create a cycle
+     */
+    public synchronized SyntheticSnapshot define(SyntheticDefinition definition) {
+        if (definition.getName() == null || definition.getName().isBlank()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        if (definition.getExpression() == null || definition.getExpression().isBlank()) {
+            throw new IllegalArgumentException("Expression is required");
+        }
+        // Validate against throwaway ids first: registry ids are never reused, so a definition
+        // that fails must not register its name or legs
+        List<String> legKeys = new ArrayList<>();
+        SyntheticExpressionCompiler.compile(definition.getExpression(), key -> {
+            legKeys.add(key);
+            return 0;
+        });
+        String selfKey = exchange + ":" + definition.getName();
+        int existing = instrumentRegistry.find(exchange, definition.getName());
+        for (String key : legKeys) {
+            int separator = key.indexOf(':');
+            int leg = instrumentRegistry.find(key.substring(0, separator), key.substring(separator + 1));
+            if (key.equals(selfKey) || (existing >= 0 && leg >= 0 && dependsOn(leg, existing))) {
+                throw new IllegalArgumentException("Synthetic " + definition.getName() + " would depend on itself");
+            }
+        }
+
+        SyntheticExpressionCompiler.Compiled compiled = SyntheticExpressionCompiler.compile(
+                definition.getExpression(), instrumentRegistry::idOf);
+        int id = instrumentRegistry.idOf(exchange, definition.getName());
+
+        Synthetic previous = synthetics.get(id);
+        if (previous != null) {
+            unlink(previous);
+        }
+        Synthetic synthetic = new Synthetic(id, definition, compiled);
+        synthetics.put(id, synthetic);
+        for (int leg : compiled.legs()) {
+            Synthetic[] current = dependents.get(leg);
+            Synthetic[] grown = current == null ? new Synthetic[1] : Arrays.copyOf(current, current.length + 1);
+            grown[grown.length - 1] = synthetic;
+            dependents.set(leg, grown);
+        }
+        rebuildRecomputeOrder();
+        log.info("Defined synthetic {}:{} = {}", exchange, definition.getName(), definition.getExpression());
+        return snapshot(synthetic);
+    }
+
+    /**
+     * @return true if the synthetic existed
+     */
+    public synchronized boolean remove(String name) {
+        int id = instrumentRegistry.find(exchange, name);
+        Synthetic synthetic = id >= 0 ? synthetics.remove(id) : null;
+        if (synthetic == null) {
+            return false;
+        }
+        unlink(synthetic);
+        rebuildRecomputeOrder();
+        return true;
+    }
+
+    public List<SyntheticSnapshot> getSynthetics() {
+        List<SyntheticSnapshot> result = new ArrayList<>();
+        for (Synthetic synthetic : synthetics.values()) {
+            result.add(snapshot(synthetic));
+        }
+        result.sort(Comparator.comparing(SyntheticSnapshot::name));
+        return result;
+    }
+
+    public void addListener(Consumer<SyntheticTick> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        if (synthetics.containsKey(instrumentId)) {
+            // Our own publication coming back through the dispatcher; its dependents are
+            // already part of the pass that produced it
+            return;
+        }
+        prices.set(instrumentId, Double.doubleToRawLongBits(ltp));
+        timestamps.set(instrumentId, timestampMillis);
+        Synthetic[] affected = recomputeOrder.get(instrumentId);
+        if (affected == null) {
+            return;
+        }
+        int[] changed = new int[affected.length + 1];
+        changed[0] = instrumentId;
+        int changedCount = 1;
+        for (Synthetic synthetic : affected) {
+            if (anyLegChanged(synthetic.legs, changed, changedCount) && recompute(synthetic, timestampMillis)) {
+                changed[changedCount++] = synthetic.instrumentId;
+            }
+        }
+    }
+
+    /**
+     * @return true if a new value was published
+     */
+    private boolean recompute(Synthetic synthetic, long timestampMillis) {
+        long maxSkewMs = synthetic.definition.getMaxSkewMs();
+        if (maxSkewMs > 0 && legSkew(synthetic.legs) > maxSkewMs) {
+            skewSkippedCounter.increment();
+            return false;
+        }
+        double value = synthetic.expression.evaluate(prices);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            // A leg has not traded yet, or a ratio leg is zero
+            return false;
+        }
+        prices.set(synthetic.instrumentId, Double.doubleToRawLongBits(value));
+        timestamps.set(synthetic.instrumentId, timestampMillis);
+        marketDataDispatcher.publishLtp(synthetic.instrumentId, value, timestampMillis);
+        publishedCounter.increment();
+        if (!listeners.isEmpty()) {
+            SyntheticTick tick = new SyntheticTick(exchange, synthetic.definition.getName(), value, timestampMillis);
+            for (Consumer<SyntheticTick> listener : listeners) {
+                try {
+                    listener.accept(tick);
+                } catch (Exception e) {
+                    log.error("Synthetic listener failed for {}", synthetic.definition.getName(), e);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean anyLegChanged(int[] legs, int[] changed, int changedCount) {
+        for (int leg : legs) {
+            for (int i = 0; i < changedCount; i++) {
+                if (changed[i] == leg) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Time between the oldest and newest leg update; legs that have not traded yet are left
+     * out, since the synthetic cannot be computed until they do
+     */
+    private long legSkew(int[] legs) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int leg : legs) {
+            long timestamp = timestamps.get(leg);
+            if (timestamp == 0) {
+                continue;
+            }
+            min = Math.min(min, timestamp);
+            max = Math.max(max, timestamp);
+        }
+        return min > max ? 0 : max - min;
+    }
+
+    /**
+     * Recompute, for every instrument with dependents, the synthetics a tick on it reaches,
+     * ordered so each comes after all of its legs
+     */
+    private void rebuildRecomputeOrder() {
+        Map<Integer, Integer> depths = new HashMap<>();
+        int size = instrumentRegistry.size();
+        for (int id = 0; id < size; id++) {
+            if (dependents.get(id) == null) {
+                recomputeOrder.set(id, null);
+                continue;
+            }
+            Set<Synthetic> reached = new HashSet<>();
+            collectDependents(id, reached);
+            Synthetic[] ordered = reached.toArray(new Synthetic[0]);
+            Arrays.sort(ordered, Comparator.comparingInt(synthetic -> depth(synthetic.instrumentId, depths)));
+            recomputeOrder.set(id, ordered);
+        }
+    }
+
+    private void collectDependents(int id, Set<Synthetic> reached) {
+        Synthetic[] direct = dependents.get(id);
+        if (direct == null) {
+            return;
+        }
+        for (Synthetic synthetic : direct) {
+            if (reached.add(synthetic)) {
+                collectDependents(synthetic.instrumentId, reached);
+            }
+        }
+    }
+
+    /**
+     * Longest chain of synthetics below an instrument; 0 for a traded instrument
+     */
+    private int depth(int id, Map<Integer, Integer> depths) {
+        Synthetic synthetic = synthetics.get(id);
+        if (synthetic == null) {
+            return 0;
+        }
+        Integer known = depths.get(id);
+        if (known != null) {
+            return known;
+        }
+        int depth = 0;
+        for (int leg : synthetic.legs) {
+            depth = Math.max(depth, depth(leg, depths));
+        }
+        depths.put(id, depth + 1);
+        return depth + 1;
+    }
+
+    /**
+     * Whether instrument {@code id} is, or is computed from, instrument {@code target}
+     */
+    private boolean dependsOn(int id, int target) {
+        if (id == target) {
+            return true;
+        }
+        Synthetic synthetic = synthetics.get(id);
+        if (synthetic == null) {
+            return false;
+        }
+        for (int leg : synthetic.legs) {
+            if (dependsOn(leg, target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unlink(Synthetic synthetic) {
+        for (int leg : synthetic.legs) {
+            Synthetic[] current = dependents.get(leg);
+            if (current == null) {
+                continue;
+            }
+            Synthetic[] remaining = Arrays.stream(current).filter(s -> s != synthetic).toArray(Synthetic[]::new);
+            dependents.set(leg, remaining.length == 0 ? null : remaining);
+        }
+    }
+
+    private SyntheticSnapshot snapshot(Synthetic synthetic) {
+        List<String> legs = new ArrayList<>(synthetic.legs.length);
+        for (int leg : synthetic.legs) {
+            legs.add(instrumentRegistry.get(leg).key());
+        }
+        return new SyntheticSnapshot(exchange, synthetic.definition.getName(), synthetic.definition.getExpression(), legs,
+                synthetic.definition.getMaxSkewMs(), Double.longBitsToDouble(prices.get(synthetic.instrumentId)),
+                timestamps.get(synthetic.instrumentId));
+    }
+
+    private static class Synthetic {
+        private final int instrumentId;
+        private final SyntheticDefinition definition;
+        private final SyntheticExpression expression;
+        private final int[] legs;
+
+        Synthetic(int instrumentId, SyntheticDefinition definition, SyntheticExpressionCompiler.Compiled compiled) {
+            this.instrumentId = instrumentId;
+            this.definition = definition;
+            this.expression = compiled.expression();
+            this.legs = compiled.legs();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.nigam.openalgo.autopilot.trading.synthetic;
+
+import java.util.List;
+
+/**
+ * Current state of a synthetic instrument
+ *
+ * @param exchange        Synthetic exchange name
+ * @param name            Synthetic symbol
+ * @param expression      Defining expression
+ * @param legs            "EXCHANGE:SYMBOL" of every leg
+ * @param maxSkewMs       Allowed spread between leg timestamps, 0 when unchecked
+ * @param ltp             Last computed value, NaN until every leg has traded
+ * @param timestampMillis Timestamp of the last computed value
+ */
+public record SyntheticSnapshot(String exchange, String name, String expression, List<String> legs, long maxSkewMs,
+                                double ltp, long timestampMillis) {
+}
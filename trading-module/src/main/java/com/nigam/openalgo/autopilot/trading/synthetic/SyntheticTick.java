@@ -0,0 +1,12 @@
+package com.nigam.openalgo.autopilot.trading.synthetic;
+
+/**
+ * Value of a synthetic instrument, published like an LTP update
+ *
+ * @param exchange        Synthetic exchange name
+ * @param symbol          Synthetic name
+ * @param ltp             Computed value
+ * @param timestampMillis Timestamp of the leg update that triggered it
+ */
+public record SyntheticTick(String exchange, String symbol, double ltp, long timestampMillis) {
+}
@@ -0,0 +1,31 @@
+package com.nigam.openalgo.autopilot.trading.tick;
+
+/**
+ * Layout of recorded tick files.
+ *
+ * A tick file is a flat sequence of fixed-size little-endian records in arrival order:
+ * <pre>
+ *   offset 0  long   timestamp (epoch millis)
+ *   offset 8  int    instrument id
+ *   offset 12 int    reserved
+ *   offset 16 double price
+ *   offset 24 long   volume (0 when the update carried none)
+ * </pre>
+ * Instrument ids are the recording process's ids; the sidecar ".symbols" file lists one
+ * "id=EXCHANGE:SYMBOL" line per instrument seen in the file.
+ */
+public final class TickFileFormat {
+
+    public static final int RECORD_SIZE = 32;
+
+    public static final int TIMESTAMP_OFFSET = 0;
+    public static final int INSTRUMENT_OFFSET = 8;
+    public static final int PRICE_OFFSET = 16;
+    public static final int VOLUME_OFFSET = 24;
+
+    public static final String TICK_FILE_SUFFIX = ".bin";
+    public static final String SYMBOLS_FILE_SUFFIX = ".symbols";
+
+    private TickFileFormat() {
+    }
+}
@@ -0,0 +1,93 @@
+package com.nigam.openalgo.autopilot.trading.tick;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zero-copy reader over a recorded tick file.
+ *
+ * The file is memory-mapped read-only and ticks are decoded with absolute reads straight from
+ * the mapping, so any number of threads can scan the same reader concurrently without copying
+ * or sharing a cursor. Files larger than 2 GB are mapped in several segments.
+ */
+public class TickFileReader implements Closeable {
+
+    // Largest whole number of records that fits in one mapping
+    private static final long SEGMENT_BYTES = (Integer.MAX_VALUE / TickFileFormat.RECORD_SIZE) * (long) TickFileFormat.RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long tickCount;
+    private final Map<Integer, String> symbols;
+
+    public TickFileReader(Path tickFile) throws IOException {
+        this.channel = FileChannel.open(tickFile, StandardOpenOption.READ);
+        long size = channel.size() - channel.size() % TickFileFormat.RECORD_SIZE;
+        this.tickCount = size / TickFileFormat.RECORD_SIZE;
+
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        for (long position = 0; position < size; position += SEGMENT_BYTES) {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_BYTES, size - position));
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            mapped.add(segment);
+        }
+        this.segments = mapped.toArray(new MappedByteBuffer[0]);
+        this.symbols = readSymbols(TickFileWriter.symbolsFileFor(tickFile));
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Instrument keys ("EXCHANGE:SYMBOL") by the ids used in this file
+     */
+    public Map<Integer, String> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Visit every tick in file order
+     */
+    public void forEach(TickVisitor visitor) {
+        for (MappedByteBuffer segment : segments) {
+            int limit = segment.limit();
+            for (int offset = 0; offset < limit; offset += TickFileFormat.RECORD_SIZE) {
+                visitor.onTick(
+                        segment.getInt(offset + TickFileFormat.INSTRUMENT_OFFSET),
+                        segment.getLong(offset + TickFileFormat.TIMESTAMP_OFFSET),
+                        segment.getDouble(offset + TickFileFormat.PRICE_OFFSET),
+                        segment.getLong(offset + TickFileFormat.VOLUME_OFFSET));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static Map<Integer, String> readSymbols(Path symbolsFile) throws IOException {
+        Map<Integer, String> symbols = new HashMap<>();
+        if (Files.exists(symbolsFile)) {
+            for (String line : Files.readAllLines(symbolsFile, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf('=');
+                if (separator > 0) {
+                    symbols.put(Integer.parseInt(line.substring(0, separator).trim()), line.substring(separator + 1).trim());
+                }
+            }
+        }
+        return symbols;
+    }
+}
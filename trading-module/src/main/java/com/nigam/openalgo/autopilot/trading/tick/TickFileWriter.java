@@ -0,0 +1,75 @@
+package com.nigam.openalgo.autopilot.trading.tick;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends ticks to a tick file through a direct buffer. Not thread-safe.
+ */
+public class TickFileWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final Path symbolsFile;
+    private final ByteBuffer buffer;
+
+    public TickFileWriter(Path tickFile, int bufferRecords) throws IOException {
+        Files.createDirectories(tickFile.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(tickFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.symbolsFile = symbolsFileFor(tickFile);
+        this.buffer = ByteBuffer.allocateDirect(bufferRecords * TickFileFormat.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public void append(int instrumentId, long timestampMillis, double price, long volume) {
+        if (buffer.remaining() < TickFileFormat.RECORD_SIZE) {
+            flush();
+        }
+        buffer.putLong(timestampMillis)
+                .putInt(instrumentId)
+                .putInt(0)
+                .putDouble(price)
+                .putLong(volume);
+    }
+
+    /**
+     * Record the symbol for an instrument id the first time it appears in this file
+     */
+    public void appendSymbol(int instrumentId, String key) throws IOException {
+        Files.writeString(symbolsFile, instrumentId + "=" + key + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    public static Path symbolsFileFor(Path tickFile) {
+        String name = tickFile.getFileName().toString();
+        if (name.endsWith(TickFileFormat.TICK_FILE_SUFFIX)) {
+            name = name.substring(0, name.length() - TickFileFormat.TICK_FILE_SUFFIX.length());
+        }
+        return tickFile.resolveSibling(name + TickFileFormat.SYMBOLS_FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,292 @@
+package com.nigam.openalgo.autopilot.trading.tick;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataHandler;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketQuote;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every LTP update to one tick file per trading day.
+ *
+ * Feed threads append ticks to an in-memory batch of primitive arrays under a short lock. A
+ * batch is handed to the writer thread when it fills and every flush-interval-ms; all file I/O,
+ * including rolling to the next day's file, happens there. When every batch is waiting to be
+ * written, further ticks are dropped and counted rather than blocking the feed.
+ *
+ * Each tick carries the volume traded since the instrument's previous tick, taken from the
+ * day's cumulative volume in the latest quote. Files are named ticks-yyyyMMdd.bin in the
+ * configured directory and are read back by {@link TickFileReader}. Instrument ids are only
+ * stable within one process, so a restart during the day starts a new part
+ * (ticks-yyyyMMdd.1.bin, ...) instead of appending to the existing file.
+ */
+@Component
+@Slf4j
+public class TickRecorder implements MarketDataHandler {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * Ticks collected on the feed threads, written out as one unit
+     */
+    private static final class TickBatch {
+        final int[] ids;
+        final long[] timestamps;
+        final double[] prices;
+        final long[] volumes;
+        int count;
+
+        TickBatch(int capacity) {
+            ids = new int[capacity];
+            timestamps = new long[capacity];
+            prices = new double[capacity];
+            volumes = new long[capacity];
+        }
+
+        boolean isFull() {
+            return count == ids.length;
+        }
+    }
+
+    private final InstrumentRegistry instrumentRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openalgo.tick.recorder.enabled:false}")
+    private boolean enabled;
+
+    @Value("${openalgo.tick.recorder.directory:data/ticks}")
+    private String directory;
+
+    @Value("${openalgo.tick.recorder.buffer-records:4096}")
+    private int bufferRecords;
+
+    @Value("${openalgo.tick.recorder.buffers:4}")
+    private int bufferCount;
+
+    @Value("${openalgo.tick.recorder.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${openalgo.tick.recorder.zone:Asia/Kolkata}")
+    private String zone;
+
+    private ZoneId zoneId;
+    private BlockingQueue<TickBatch> freeBatches;
+    private ExecutorService writerExecutor;
+    private ScheduledExecutorService flushExecutor;
+    private Counter droppedTicks;
+
+    // Guarded by this
+    private TickBatch current;
+    private long[] cumulativeVolume;
+    private long[] recordedVolume;
+
+    // Writer thread only
+    private TickFileWriter writer;
+    private LocalDate writerDate;
+    private long writerDayEndMillis;
+    private boolean[] symbolWritten;
+
+    public TickRecorder(InstrumentRegistry instrumentRegistry, MeterRegistry meterRegistry) {
+        this.instrumentRegistry = instrumentRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        int capacity = instrumentRegistry.capacity();
+        zoneId = ZoneId.of(zone);
+        symbolWritten = new boolean[capacity];
+        cumulativeVolume = new long[capacity];
+        recordedVolume = new long[capacity];
+        // The first tick only sets the baseline; earlier volume was traded before recording began
+        Arrays.fill(recordedVolume, -1);
+        freeBatches = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount - 1; i++) {
+            freeBatches.add(new TickBatch(bufferRecords));
+        }
+        current = new TickBatch(bufferRecords);
+        droppedTicks = Counter.builder("openalgo.tick.recorder.dropped")
+                .description("Ticks dropped because the tick file writer was behind")
+                .register(meterRegistry);
+
+        writerExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "tick-recorder-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tick-recorder-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Recording ticks to {}", Paths.get(directory).toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        flushExecutor.shutdownNow();
+        synchronized (this) {
+            handOff();
+        }
+        writerExecutor.execute(this::closeWriter);
+        writerExecutor.shutdown();
+        writerExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void onLtp(int instrumentId, double ltp, long timestampMillis) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (current.isFull() && !handOff()) {
+                droppedTicks.increment();
+                return;
+            }
+            long cumulative = cumulativeVolume[instrumentId];
+            long recorded = recordedVolume[instrumentId];
+            // Cumulative volume restarts with each trading day
+            long volume = recorded < 0 ? 0 : cumulative >= recorded ? cumulative - recorded : cumulative;
+            recordedVolume[instrumentId] = cumulative;
+
+            TickBatch batch = current;
+            int i = batch.count++;
+            batch.ids[i] = instrumentId;
+            batch.timestamps[i] = timestampMillis;
+            batch.prices[i] = ltp;
+            batch.volumes[i] = volume;
+        }
+    }
+
+    @Override
+    public void onQuote(int instrumentId, MarketQuote quote, long timestampMillis) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            cumulativeVolume[instrumentId] = quote.volume();
+        }
+    }
+
+    /**
+     * Every tick file recorded for a trading day, in recording order
+     */
+    public List<Path> filesFor(LocalDate date) {
+        List<Path> files = new ArrayList<>();
+        for (int part = 0; Files.exists(fileFor(date, part)); part++) {
+            files.add(fileFor(date, part));
+        }
+        return files;
+    }
+
+    private Path fileFor(LocalDate date, int part) {
+        String name = "ticks-" + FILE_DATE.format(date) + (part == 0 ? "" : "." + part);
+        return Paths.get(directory, name + TickFileFormat.TICK_FILE_SUFFIX);
+    }
+
+    private void flush() {
+        synchronized (this) {
+            handOff();
+        }
+    }
+
+    /**
+     * Queue the current batch for writing and continue in a free one
+     *
+     * @return false if no free batch was available
+     */
+    private boolean handOff() {
+        if (current.count == 0) {
+            return true;
+        }
+        TickBatch next = freeBatches.poll();
+        if (next == null) {
+            return false;
+        }
+        TickBatch full = current;
+        current = next;
+        writerExecutor.execute(() -> write(full));
+        return true;
+    }
+
+    private void write(TickBatch batch) {
+        try {
+            for (int i = 0; i < batch.count; i++) {
+                int instrumentId = batch.ids[i];
+                long timestampMillis = batch.timestamps[i];
+                if (writer == null || timestampMillis >= writerDayEndMillis) {
+                    roll(timestampMillis);
+                }
+                if (!symbolWritten[instrumentId]) {
+                    writer.appendSymbol(instrumentId, instrumentRegistry.get(instrumentId).key());
+                    symbolWritten[instrumentId] = true;
+                }
+                writer.append(instrumentId, timestampMillis, batch.prices[i], batch.volumes[i]);
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+        } catch (Exception e) {
+            log.error("Error writing {} ticks to the tick file for {}", batch.count, writerDate, e);
+        } finally {
+            batch.count = 0;
+            freeBatches.offer(batch);
+        }
+    }
+
+    private void roll(long timestampMillis) throws IOException {
+        LocalDate date = Instant.ofEpochMilli(timestampMillis).atZone(zoneId).toLocalDate();
+        if (writer != null && date.isBefore(writerDate)) {
+            // Late tick from the previous day; keep it in the current file
+            return;
+        }
+        closeWriter();
+        Path file = fileFor(date, filesFor(date).size());
+        writer = new TickFileWriter(file, bufferRecords);
+        writerDate = date;
+        writerDayEndMillis = date.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        Arrays.fill(symbolWritten, false);
+        log.info("Started tick file {}", file);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.error("Error closing tick file for {}", writerDate, e);
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.nigam.openalgo.autopilot.trading.tick;
+
+/**
+ * Receives recorded ticks in file order without any per-tick allocation
+ */
+@FunctionalInterface
+public interface TickVisitor {
+
+    void onTick(int instrumentId, long timestampMillis, double price, long volume);
+}
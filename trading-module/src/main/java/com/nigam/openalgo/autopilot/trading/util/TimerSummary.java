@@ -0,0 +1,33 @@
+package com.nigam.openalgo.autopilot.trading.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a Micrometer timer into a plain map for REST responses and logs
+ */
+public final class TimerSummary {
+
+    private TimerSummary() {
+    }
+
+    /**
+     * Count, mean, max and published percentiles of a timer, in microseconds
+     */
+    public static Map<String, Object> summarize(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.count());
+        summary.put("meanMicros", snapshot.mean(TimeUnit.MICROSECONDS));
+        summary.put("maxMicros", snapshot.max(TimeUnit.MICROSECONDS));
+        for (ValueAtPercentile p : snapshot.percentileValues()) {
+            summary.put("p" + (p.percentile() * 100), p.value(TimeUnit.MICROSECONDS));
+        }
+        return summary;
+    }
+}
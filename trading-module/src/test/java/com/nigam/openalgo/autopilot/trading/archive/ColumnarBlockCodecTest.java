@@ -0,0 +1,133 @@
+package com.nigam.openalgo.autopilot.trading.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarBlockCodecTest {
+
+    @Test
+    void roundTripsPricesOnATickGrid() {
+        int count = 1000;
+        long[] timestamps = new long[count];
+        double[] prices = new double[count];
+        long[] volumes = new long[count];
+        Random random = new Random(7);
+        long volume = 0;
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = 1_760_000_000_000L + i * 250L + (i % 17 == 0 ? 3 : 0);
+            // Prices as the feed parses them, two decimals on a 5 paise tick
+            prices[i] = (245_005 + random.nextInt(200) * 5) / 100.0;
+            volume += random.nextInt(500);
+            volumes[i] = volume;
+        }
+        byte[] block = encode(timestamps, prices, volumes, count);
+
+        assertThat(block[4]).isEqualTo(ColumnarBlockCodec.PRICE_SCALED);
+        // Regular intervals and grid prices take a few bytes per tick, not 24
+        assertThat(block.length).isLessThan(count * 6);
+        assertRoundTrip(block, timestamps, prices, volumes, count);
+    }
+
+    @Test
+    void roundTripsArbitraryDoublesAndOutOfOrderTicks() {
+        int count = 257;
+        long[] timestamps = new long[count];
+        double[] prices = new double[count];
+        long[] volumes = new long[count];
+        Random random = new Random(11);
+        for (int i = 0; i < count; i++) {
+            // Late ticks step backwards in time; volumes reset mid-block
+            timestamps[i] = 1_000_000L + i * 1000L - (i % 5 == 0 ? 4000 : 0);
+            prices[i] = i % 9 == 0 ? prices[Math.max(0, i - 1)] : Math.PI * random.nextDouble() * 1e4;
+            volumes[i] = i == 100 ? 0 : Math.abs(random.nextLong() >> 8);
+        }
+        prices[3] = Double.NaN;
+        prices[4] = -0.0;
+        prices[5] = Double.MAX_VALUE;
+        byte[] block = encode(timestamps, prices, volumes, count);
+
+        assertThat(block[4]).isEqualTo(ColumnarBlockCodec.PRICE_XOR);
+        assertRoundTrip(block, timestamps, prices, volumes, count);
+    }
+
+    @Test
+    void roundTripsASingleTick() {
+        long[] timestamps = {Long.MAX_VALUE / 2};
+        double[] prices = {0.000001};
+        long[] volumes = {Long.MAX_VALUE / 3};
+        assertRoundTrip(encode(timestamps, prices, volumes, 1), timestamps, prices, volumes, 1);
+    }
+
+    @Test
+    void archiveRoundTripsAcrossBlocksAndInstruments(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("ticks-20261019" + TickArchiveFormat.ARCHIVE_FILE_SUFFIX);
+        List<long[]> written = new ArrayList<>();
+        try (TickArchiveWriter writer = new TickArchiveWriter(file, 64)) {
+            TickArchiveWriter.Column sbin = writer.column("NSE:SBIN");
+            TickArchiveWriter.Column infy = writer.column("NSE:INFY");
+            for (int i = 0; i < 1000; i++) {
+                sbin.append(10_000L + i * 10, (80_000 + (i % 40) * 5) / 100.0, i * 3L);
+                if (i % 3 == 0) {
+                    infy.append(10_000L + i * 10, 1500.5 + i, i);
+                }
+                written.add(new long[]{10_000L + i * 10, i * 3L});
+            }
+        }
+
+        try (TickArchiveReader reader = new TickArchiveReader(file)) {
+            assertThat(reader.getTickCount("NSE:SBIN")).isEqualTo(1000);
+            assertThat(reader.getTickCount("NSE:INFY")).isEqualTo(334);
+
+            List<long[]> read = new ArrayList<>();
+            List<Double> prices = new ArrayList<>();
+            reader.forEach("NSE:SBIN", Long.MIN_VALUE, Long.MAX_VALUE, (id, ts, price, volume) -> {
+                read.add(new long[]{ts, volume});
+                prices.add(price);
+            });
+            assertThat(read).hasSize(1000);
+            for (int i = 0; i < read.size(); i++) {
+                assertThat(read.get(i)).containsExactly(written.get(i));
+                assertThat(prices.get(i)).isEqualTo((80_000 + (i % 40) * 5) / 100.0);
+            }
+
+            // A range starting and ending inside blocks
+            List<Long> range = new ArrayList<>();
+            reader.forEach("NSE:SBIN", 10_655L, 12_005L, (id, ts, price, volume) -> range.add(ts));
+            assertThat(range).hasSize(135).first().isEqualTo(10_660L);
+            assertThat(range).last().isEqualTo(12_000L);
+        }
+    }
+
+    private static byte[] encode(long[] timestamps, double[] prices, long[] volumes, int count) {
+        ByteBuffer buffer = ByteBuffer.allocate(ColumnarBlockCodec.maxEncodedSize(count)).order(ByteOrder.LITTLE_ENDIAN);
+        ColumnarBlockCodec.encode(timestamps, prices, volumes, count, buffer);
+        assertThat(ColumnarBlockCodec.encodedSize(buffer, 0)).isEqualTo(buffer.position());
+        byte[] block = new byte[buffer.position()];
+        buffer.get(0, block);
+        return block;
+    }
+
+    private static void assertRoundTrip(byte[] block, long[] timestamps, double[] prices, long[] volumes, int count) {
+        long[] decodedTimestamps = new long[count];
+        double[] decodedPrices = new double[count];
+        long[] decodedVolumes = new long[count];
+
+        assertThat(ColumnarBlockCodec.decode(block, decodedTimestamps, decodedPrices, decodedVolumes)).isEqualTo(count);
+        assertThat(decodedTimestamps).containsExactly(timestamps);
+        assertThat(decodedVolumes).containsExactly(volumes);
+        for (int i = 0; i < count; i++) {
+            assertThat(Double.doubleToRawLongBits(decodedPrices[i]))
+                    .as("price %d", i)
+                    .isEqualTo(Double.doubleToRawLongBits(prices[i]));
+        }
+    }
+}
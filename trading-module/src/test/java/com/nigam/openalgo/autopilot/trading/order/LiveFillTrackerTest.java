@@ -0,0 +1,107 @@
+package com.nigam.openalgo.autopilot.trading.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.position.PositionEngine;
+import com.nigam.openalgo.autopilot.trading.position.PositionSnapshot;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Polls a local stub of the OpenAlgo tradebook
+ */
+class LiveFillTrackerTest {
+
+    private HttpServer server;
+    private volatile String trades = "[]";
+
+    private PositionEngine positionEngine;
+    private LiveFillTracker tracker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/tradebook", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = ("{\"status\":\"success\",\"data\":" + trades + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        positionEngine = new PositionEngine(new InstrumentRegistry(8));
+        tracker = new LiveFillTracker(new OkHttpClient(), new ObjectMapper(), positionEngine);
+        ReflectionTestUtils.setField(tracker, "host", "127.0.0.1");
+        ReflectionTestUtils.setField(tracker, "port", server.getAddress().getPort());
+        ReflectionTestUtils.setField(tracker, "apiKey", "test-key");
+        ReflectionTestUtils.setField(tracker, "pollIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(tracker, "trackMinutes", 60L);
+        tracker.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void booksOnlyNewExecutionsOfTrackedOrders() {
+        tracker.track(order(10), "B1");
+        trades = """
+                [{"orderid":"B1","quantity":4,"average_price":100.0},
+                 {"orderid":"OTHER","quantity":7,"average_price":55.0}]""";
+        tracker.poll();
+        assertThat(position().quantity()).isEqualTo(4);
+
+        // Same executions again plus a new one; only the new 6 are booked
+        trades = """
+                [{"orderid":"B1","quantity":4,"average_price":100.0},
+                 {"orderid":"B1","quantity":6,"average_price":110.0}]""";
+        tracker.poll();
+        tracker.poll();
+
+        PositionSnapshot position = position();
+        assertThat(position.quantity()).isEqualTo(10);
+        assertThat(position.averagePrice()).isEqualTo(106.0);
+        assertThat(tracker.getWorkingCount()).isZero();
+    }
+
+    @Test
+    void aggregatedRowsArePricedFromTheValueDelta() {
+        tracker.track(order(10), "B2");
+        trades = "[{\"orderid\":\"B2\",\"quantity\":5,\"average_price\":100.0}]";
+        tracker.poll();
+        trades = "[{\"orderid\":\"B2\",\"quantity\":10,\"average_price\":110.0}]";
+        tracker.poll();
+
+        PositionSnapshot position = position();
+        assertThat(position.quantity()).isEqualTo(10);
+        assertThat(position.averagePrice()).isEqualTo(110.0);
+    }
+
+    private PositionSnapshot position() {
+        return positionEngine.getPositions().get(0);
+    }
+
+    private static OrderRequest order(long quantity) {
+        return OrderRequest.builder()
+                .exchange("NSE")
+                .symbol("SBIN")
+                .action("BUY")
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.nigam.openalgo.autopilot.trading.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nigam.openalgo.autopilot.trading.config.OrderGatewayConfig;
+import com.nigam.openalgo.autopilot.trading.paper.PaperTradingVenue;
+import com.nigam.openalgo.autopilot.trading.risk.PreTradeRiskEngine;
+import com.nigam.openalgo.autopilot.trading.risk.RiskCheckResult;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the order gateway against a local stub of the OpenAlgo REST API
+ */
+class OrderGatewayServiceTest {
+
+    private HttpServer server;
+    private volatile int status = 200;
+    private volatile String responseBody = "{\"status\":\"success\",\"orderid\":\"%d\"}";
+    private final AtomicInteger orderIds = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private PreTradeRiskEngine riskEngine;
+    private LiveFillTracker liveFillTracker;
+    private OkHttpClient client;
+    private OrderGatewayService gateway;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/api/v1/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = responseBody.formatted(orderIds.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        OrderGatewayConfig config = new OrderGatewayConfig();
+        ReflectionTestUtils.setField(config, "maxInFlight", 64);
+        ReflectionTestUtils.setField(config, "maxIdleConnections", 16);
+        ReflectionTestUtils.setField(config, "keepAliveMinutes", 5L);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 3000L);
+        client = config.orderHttpClient();
+
+        meterRegistry = new SimpleMeterRegistry();
+        riskEngine = mock(PreTradeRiskEngine.class);
+        when(riskEngine.check(any())).thenReturn(RiskCheckResult.ACCEPTED);
+
+        liveFillTracker = mock(LiveFillTracker.class);
+        gateway = new OrderGatewayService(client, new ObjectMapper(), meterRegistry, riskEngine,
+                mock(PaperTradingVenue.class), liveFillTracker);
+        ReflectionTestUtils.setField(gateway, "host", "127.0.0.1");
+        ReflectionTestUtils.setField(gateway, "port", server.getAddress().getPort());
+        ReflectionTestUtils.setField(gateway, "apiKey", "test-key");
+        ReflectionTestUtils.setField(gateway, "defaultStrategy", "autopilot");
+        ReflectionTestUtils.setField(gateway, "maxInFlight", 64);
+        ReflectionTestUtils.setField(gateway, "acquireTimeoutMs", 1000L);
+        gateway.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void acknowledgesOrdersAndRecordsLatency() throws Exception {
+        int orders = 500;
+        List<CompletableFuture<OrderAck>> futures = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            futures.add(gateway.submit(order()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        for (CompletableFuture<OrderAck> future : futures) {
+            OrderAck ack = future.join();
+            assertThat(ack.isSuccess()).isTrue();
+            assertThat(ack.getOrderId()).isNotBlank();
+            assertThat(ack.getAckLatencyNanos()).isPositive();
+        }
+        Map<String, Map<String, Object>> stats = gateway.getLatencyStats();
+        assertThat(stats.get("request")).containsEntry("count", (long) orders);
+        assertThat(stats.get("ack")).containsEntry("count", (long) orders);
+        assertThat(gateway.getInFlightCount()).isZero();
+        // Pooled keep-alive connections, not one connection per order
+        assertThat(client.connectionPool().connectionCount()).isLessThanOrEqualTo(64);
+        verify(riskEngine, never()).release(any());
+        verify(liveFillTracker, times(orders)).track(any(), any());
+    }
+
+    @Test
+    void nonJsonErrorBodyIsRejectedAndCounted() throws Exception {
+        status = 502;
+        responseBody = "<html>Bad Gateway</html>";
+
+        OrderAck ack = gateway.submit(order()).get(5, TimeUnit.SECONDS);
+
+        assertThat(ack.isSuccess()).isFalse();
+        assertThat(ack.getMessage()).contains("502");
+        assertThat(meterRegistry.get("openalgo.order.failed").counter().count()).isEqualTo(1.0);
+        assertThat(gateway.getInFlightCount()).isZero();
+        verify(riskEngine).release(any(OrderRequest.class));
+        verify(liveFillTracker, never()).track(any(), any());
+    }
+
+    @Test
+    void brokerRejectionReleasesRisk() throws Exception {
+        responseBody = "{\"status\":\"error\",\"message\":\"Insufficient funds\"}";
+
+        OrderAck ack = gateway.submit(order()).get(5, TimeUnit.SECONDS);
+
+        assertThat(ack.isSuccess()).isFalse();
+        assertThat(ack.getMessage()).isEqualTo("Insufficient funds");
+        assertThat(meterRegistry.get("openalgo.order.failed").counter().count()).isZero();
+        verify(riskEngine).release(any(OrderRequest.class));
+    }
+
+    private static OrderRequest order() {
+        return OrderRequest.builder()
+                .exchange("NSE")
+                .symbol("SBIN")
+                .action("BUY")
+                .quantity(1)
+                .priceType("MARKET")
+                .build();
+    }
+}
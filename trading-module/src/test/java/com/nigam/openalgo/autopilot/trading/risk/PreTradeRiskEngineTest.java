@@ -0,0 +1,173 @@
+package com.nigam.openalgo.autopilot.trading.risk;
+
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeBus;
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationChangeEvent;
+import com.nigam.openalgo.autopilot.configuration.service.ConfigurationService;
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.order.OrderRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PreTradeRiskEngineTest {
+
+    private final Map<String, String> config = new HashMap<>();
+    private final AtomicLong orderIds = new AtomicLong();
+
+    private InstrumentRegistry instrumentRegistry;
+    private ConfigurationChangeBus changeBus;
+    private PreTradeRiskEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getValue(anyString(), anyString()))
+                .thenAnswer(invocation -> config.getOrDefault(invocation.getArgument(0), invocation.getArgument(1)));
+        changeBus = mock(ConfigurationChangeBus.class);
+        instrumentRegistry = new InstrumentRegistry(4);
+        engine = new PreTradeRiskEngine(instrumentRegistry, configurationService, changeBus, new SimpleMeterRegistry(), 4);
+        engine.init();
+    }
+
+    @Test
+    void releaseGivesBackTheReservationOnce() {
+        ltp("SBIN", 100);
+        OrderRequest order = order("SBIN", "BUY", 10);
+
+        assertThat(engine.check(order)).isEqualTo(RiskCheckResult.ACCEPTED);
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isEqualTo(10);
+        assertThat(engine.getAccountExposure("default")).isEqualTo(1000.0);
+        assertThat(engine.getReservedQuantity(order.getClientOrderId())).isEqualTo(10);
+
+        engine.release(order);
+        engine.release(order);
+        engine.release(order, 5);
+
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isZero();
+        assertThat(engine.getAccountExposure("default")).isZero();
+        assertThat(engine.getReservedQuantity(order.getClientOrderId())).isZero();
+    }
+
+    @Test
+    void partialReleasesAddUpToTheReservedNotional() {
+        ltp("SBIN", 33.33);
+        OrderRequest order = order("SBIN", "BUY", 3);
+        assertThat(engine.check(order)).isEqualTo(RiskCheckResult.ACCEPTED);
+        assertThat(engine.getAccountExposure("default")).isEqualTo(99.99);
+
+        // Releases are valued at the reserved price, not at whatever the LTP is now
+        ltp("SBIN", 50);
+        engine.release(order, 1);
+        assertThat(engine.getAccountExposure("default")).isEqualTo(66.66);
+        engine.release(order, 5);
+
+        assertThat(engine.getAccountExposure("default")).isZero();
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isZero();
+    }
+
+    @Test
+    void sellReservationReleasesAsSell() {
+        ltp("SBIN", 100);
+        OrderRequest order = order("SBIN", "SELL", 4);
+        assertThat(engine.check(order)).isEqualTo(RiskCheckResult.ACCEPTED);
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isEqualTo(-4);
+
+        engine.release(order, 1);
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isEqualTo(-3);
+        engine.release(order);
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isZero();
+    }
+
+    @Test
+    void duplicateClientOrderIdIsRejected() {
+        ltp("SBIN", 100);
+        OrderRequest first = order("SBIN", "BUY", 1);
+        OrderRequest second = order("SBIN", "BUY", 1);
+        second.setClientOrderId(first.getClientOrderId());
+
+        assertThat(engine.check(first)).isEqualTo(RiskCheckResult.ACCEPTED);
+        assertThat(engine.check(second)).isEqualTo(RiskCheckResult.REJECTED_DUPLICATE_ORDER);
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isEqualTo(1);
+        assertThat(engine.getAccountExposure("default")).isEqualTo(100.0);
+    }
+
+    @Test
+    void marketOrderWithoutLtpIsRejected() {
+        assertThat(engine.check(order("SBIN", "BUY", 1))).isEqualTo(RiskCheckResult.REJECTED_NO_PRICE);
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isZero();
+    }
+
+    @Test
+    void fullRegistryRejectsUnknownInstrument() {
+        for (int i = 0; i < instrumentRegistry.capacity(); i++) {
+            instrumentRegistry.idOf("NSE", "FILL" + i);
+        }
+        assertThat(engine.check(order("SBIN", "BUY", 1))).isEqualTo(RiskCheckResult.REJECTED_UNKNOWN_INSTRUMENT);
+    }
+
+    @Test
+    void rateLimitRollbackRestoresClampedNotional() throws Exception {
+        config.put("openalgo.risk.account.max-orders-per-second", "1");
+        engine.reloadLimits();
+        ltp("SBIN", 100);
+        // Start early in a second so both checks fall into the same rate window
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+
+        assertThat(engine.check(order("SBIN", "BUY", 10))).isEqualTo(RiskCheckResult.ACCEPTED);
+        ltp("SBIN", 104);
+        // Closing at a higher price would take the exposure below 0; the clamp applies only -1000
+        OrderRequest close = order("SBIN", "SELL", 10);
+        close.setPriceType("LIMIT");
+        close.setPrice(104);
+        RiskCheckResult result = engine.check(close);
+        assumeTrue(result == RiskCheckResult.REJECTED_ORDER_RATE, "checks crossed a rate window");
+
+        assertThat(engine.getAccountExposure("default")).isEqualTo(1000.0);
+        assertThat(engine.getSymbolPosition("NSE", "SBIN")).isEqualTo(10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void limitsReloadOnConfigurationChange() {
+        ArgumentCaptor<Consumer<ConfigurationChangeEvent>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(changeBus).subscribe(listener.capture(), eq("openalgo.risk."));
+        assertThat(engine.getLimits().accountMaxPosition()).isEqualTo(50000);
+
+        config.put("openalgo.risk.account.max-position", "5");
+        listener.getValue().accept(new ConfigurationChangeEvent(2, Set.of("openalgo.risk.account.max-position")));
+
+        assertThat(engine.getLimits().accountMaxPosition()).isEqualTo(5);
+        ltp("SBIN", 100);
+        assertThat(engine.check(order("SBIN", "BUY", 6))).isEqualTo(RiskCheckResult.REJECTED_ACCOUNT_POSITION);
+    }
+
+    private void ltp(String symbol, double ltp) {
+        engine.onLtp(instrumentRegistry.idOf("NSE", symbol), ltp, System.currentTimeMillis());
+    }
+
+    private OrderRequest order(String symbol, String action, long quantity) {
+        return OrderRequest.builder()
+                .clientOrderId("T-" + orderIds.incrementAndGet())
+                .exchange("NSE")
+                .symbol(symbol)
+                .action(action)
+                .quantity(quantity)
+                .priceType("MARKET")
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarketScannerTest {
+
+    private InstrumentRegistry instrumentRegistry;
+    private MarketSnapshot snapshot;
+    private MarketScanner scanner;
+
+    @BeforeEach
+    void setUp() {
+        instrumentRegistry = new InstrumentRegistry(16);
+        snapshot = new MarketSnapshot(instrumentRegistry, 20, "Asia/Kolkata");
+        scanner = new MarketScanner(snapshot, instrumentRegistry, new SimpleMeterRegistry(), 2);
+        ReflectionTestUtils.setField(scanner, "chunkSize", 4);
+        ReflectionTestUtils.setField(scanner, "maxLimit", 500);
+        for (int i = 0; i < 10; i++) {
+            snapshot.onLtp(instrumentRegistry.idOf("NSE", "S" + i), 100 + i, System.currentTimeMillis());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        scanner.shutdown();
+    }
+
+    @Test
+    void limitIsBoundedAndClampedToTheUniverse() {
+        assertThatThrownBy(() -> scanner.scan(definition(0))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scanner.scan(definition(2_000_000_000))).isInstanceOf(IllegalArgumentException.class);
+
+        ScanResult result = scanner.scan(definition(500));
+        assertThat(result.rows()).hasSize(10);
+        assertThat(result.rows().get(0).symbol()).isEqualTo("S9");
+        assertThat(result.snapshotVersion()).isEqualTo(snapshot.version());
+    }
+
+    @Test
+    void deeplyNestedExpressionIsRejected() {
+        String nested = "(".repeat(100) + "ltp" + ")".repeat(100);
+        assertThatThrownBy(() -> ScanExpressionCompiler.compile(nested))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("nested");
+        assertThatThrownBy(() -> ScanExpressionCompiler.compile("-".repeat(100) + "ltp"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScanExpressionCompiler.compile("ltp" + " + ltp".repeat(1_000)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("tokens");
+
+        String allowed = "(".repeat(ScanExpressionCompiler.MAX_DEPTH - 1) + "ltp" + ")".repeat(ScanExpressionCompiler.MAX_DEPTH - 1);
+        assertThat(ScanExpressionCompiler.compile(allowed)).isNotNull();
+    }
+
+    private static ScanDefinition definition(int limit) {
+        return ScanDefinition.builder().rank("ltp").limit(limit).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nigam.openalgo.autopilot.trading.scanner;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketQuote;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarketSnapshotTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private InstrumentRegistry instrumentRegistry;
+    private MarketSnapshot snapshot;
+    private int sbin;
+
+    @BeforeEach
+    void setUp() {
+        instrumentRegistry = new InstrumentRegistry(16);
+        snapshot = new MarketSnapshot(instrumentRegistry, 20, ZONE.getId());
+        sbin = instrumentRegistry.idOf("NSE", "SBIN");
+    }
+
+    @Test
+    void aDelayedQuoteDoesNotRewindTheLtp() {
+        long t = millis(2026, 10, 19, 10, 0);
+        snapshot.onLtp(sbin, 801.5, t + 2000);
+        snapshot.onQuote(sbin, new MarketQuote(799.0, 795, 805, 790, 798, 12_345, 800.1), t + 1000);
+
+        double[][] columns = snapshot.copy(null);
+        assertThat(columns[ScanColumn.LTP.ordinal()][sbin]).isEqualTo(801.5);
+        assertThat(columns[ScanColumn.OPEN.ordinal()][sbin]).isEqualTo(795);
+        assertThat(columns[ScanColumn.VOLUME.ordinal()][sbin]).isEqualTo(12_345);
+
+        snapshot.onQuote(sbin, new MarketQuote(802.0, 795, 805, 790, 798, 12_400, 800.2), t + 3000);
+        assertThat(snapshot.copy(null)[ScanColumn.LTP.ordinal()][sbin]).isEqualTo(802.0);
+    }
+
+    @Test
+    void aLateQuoteOfThePreviousDayDoesNotRollTheDayAgain() {
+        snapshot.onQuote(sbin, new MarketQuote(800, 790, 810, 785, 795, 1_000, 800), millis(2026, 10, 16, 15, 0));
+        snapshot.onQuote(sbin, new MarketQuote(805, 802, 806, 801, 800, 50, 804), millis(2026, 10, 19, 9, 16));
+        // Delivered late, from the session that already rolled over
+        snapshot.onQuote(sbin, new MarketQuote(799, 790, 810, 785, 795, 1_100, 800), millis(2026, 10, 16, 15, 29));
+        snapshot.onQuote(sbin, new MarketQuote(806, 802, 807, 801, 800, 80, 804), millis(2026, 10, 19, 9, 17));
+
+        double[][] columns = snapshot.copy(null);
+        assertThat(columns[ScanColumn.AVERAGE_VOLUME.ordinal()][sbin]).isEqualTo(1_000);
+        assertThat(columns[ScanColumn.LTP.ordinal()][sbin]).isEqualTo(806);
+        assertThat(columns[ScanColumn.VOLUME.ordinal()][sbin]).isEqualTo(80);
+    }
+
+    @Test
+    void concurrentLanesKeepTheNewestLtp() throws Exception {
+        long start = millis(2026, 10, 19, 10, 0);
+        int updates = 200_000;
+        // The quote lane runs behind the LTP lane by a second
+        CompletableFuture<Void> ltpLane = CompletableFuture.runAsync(() -> {
+            for (int i = 1; i <= updates; i++) {
+                snapshot.onLtp(sbin, i, start + i);
+            }
+        });
+        CompletableFuture<Void> quoteLane = CompletableFuture.runAsync(() -> {
+            for (int i = 1; i <= updates; i++) {
+                snapshot.onQuote(sbin, new MarketQuote(-i, 1, 1, 1, 1, i, 1), start + i - 1000);
+            }
+        });
+        CompletableFuture.allOf(ltpLane, quoteLane).get(30, TimeUnit.SECONDS);
+
+        assertThat(snapshot.copy(null)[ScanColumn.LTP.ordinal()][sbin]).isEqualTo(updates);
+    }
+
+    private static long millis(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
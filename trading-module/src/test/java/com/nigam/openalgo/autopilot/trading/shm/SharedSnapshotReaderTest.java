@@ -0,0 +1,148 @@
+package com.nigam.openalgo.autopilot.trading.shm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedSnapshotReaderTest {
+
+    @Test
+    void readersNeverSeeTornWrites(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("snapshots");
+        int slots = 4;
+        // A thread each, so writers and readers really overlap
+        try (ExecutorService threads = Executors.newFixedThreadPool(4);
+             SharedSnapshotWriter writer = new SharedSnapshotWriter(file, slots);
+             SharedSnapshotReader reader = new SharedSnapshotReader(file)) {
+            for (int slot = 0; slot < slots; slot++) {
+                writer.registerKey(slot, "NSE:S" + slot);
+            }
+            AtomicBoolean running = new AtomicBoolean(true);
+            // Timestamps for both writers, so some writes arrive late and are dropped
+            AtomicLong clock = new AtomicLong();
+            List<CompletableFuture<Long>> tasks = new ArrayList<>();
+            // Quote and LTP writers race on the same slots, as the tick and quote lanes do
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                long writes = 0;
+                while (running.get()) {
+                    long n = clock.incrementAndGet();
+                    double value = n;
+                    writer.writeQuote((int) (n % slots), value, value, value, value, value, n, value, n);
+                    writes++;
+                }
+                return writes;
+            }, threads));
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                long writes = 0;
+                while (running.get()) {
+                    long n = clock.incrementAndGet();
+                    writer.writeLtp((int) (n % slots), n, n);
+                    writes++;
+                }
+                return writes;
+            }, threads));
+            AtomicLong reads = new AtomicLong();
+            for (int r = 0; r < 2; r++) {
+                tasks.add(CompletableFuture.supplyAsync(() -> {
+                    SharedSnapshot snapshot = new SharedSnapshot();
+                    long torn = 0;
+                    long lastSequence = 0;
+                    long lastLtpTimestamp = 0;
+                    while (running.get()) {
+                        if (!reader.read(0, snapshot)) {
+                            continue;
+                        }
+                        // LTP and its timestamp come from the same write
+                        if (snapshot.ltp() != snapshot.ltpTimestampMillis()) {
+                            torn++;
+                        }
+                        // Every quote field comes from the same write
+                        double open = snapshot.open();
+                        if (!Double.isNaN(open) && (open != snapshot.high() || open != snapshot.low()
+                                || open != snapshot.close() || open != snapshot.averagePrice()
+                                || open != snapshot.volume() || open != snapshot.quoteTimestampMillis())) {
+                            torn++;
+                        }
+                        if (snapshot.sequence() < lastSequence || snapshot.ltpTimestampMillis() < lastLtpTimestamp) {
+                            torn++;
+                        }
+                        lastLtpTimestamp = snapshot.ltpTimestampMillis();
+                        lastSequence = snapshot.sequence();
+                        reads.incrementAndGet();
+                    }
+                    return torn;
+                }, threads));
+            }
+
+            Thread.sleep(500);
+            running.set(false);
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            assertThat(tasks.get(2).get()).isZero();
+            assertThat(tasks.get(3).get()).isZero();
+            assertThat(reads.get()).isPositive();
+        }
+    }
+
+    @Test
+    void aDelayedQuoteDoesNotRewindTheLtp(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("snapshots");
+        try (SharedSnapshotWriter writer = new SharedSnapshotWriter(file, 4);
+             SharedSnapshotReader reader = new SharedSnapshotReader(file)) {
+            writer.registerKey(0, "NSE:SBIN");
+            writer.writeLtp(0, 801.5, 2000);
+            writer.writeQuote(0, 799.0, 795, 805, 790, 798, 12345, 800.1, 1000);
+            writer.writeLtp(0, 800.0, 1500);
+
+            SharedSnapshot snapshot = new SharedSnapshot();
+            assertThat(reader.read(0, snapshot)).isTrue();
+            assertThat(snapshot.ltp()).isEqualTo(801.5);
+            assertThat(snapshot.ltpTimestampMillis()).isEqualTo(2000);
+            assertThat(snapshot.open()).isEqualTo(795);
+            assertThat(snapshot.quoteTimestampMillis()).isEqualTo(1000);
+
+            writer.writeQuote(0, 802.0, 795, 805, 790, 798, 12400, 800.2, 2500);
+            assertThat(reader.ltp(0)).isEqualTo(802.0);
+        }
+    }
+
+    @Test
+    void remapsWhenARestartedWriterChangesTheSlotCount(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("snapshots");
+        try (SharedSnapshotWriter writer = new SharedSnapshotWriter(file, 4)) {
+            writer.registerKey(1, "NSE:SBIN");
+            writer.writeLtp(1, 801.5, 1000);
+        }
+        try (SharedSnapshotReader reader = new SharedSnapshotReader(file)) {
+            assertThat(reader.slotOf("NSE:SBIN")).isEqualTo(1);
+            long firstEpoch = reader.epoch();
+
+            Thread.sleep(2);
+            try (SharedSnapshotWriter writer = new SharedSnapshotWriter(file, 64)) {
+                writer.registerKey(40, "NSE:INFY");
+                writer.writeLtp(40, 1500.25, 2000);
+                assertThat(reader.epoch()).isNotEqualTo(firstEpoch);
+
+                assertThat(reader.slotOf("NSE:SBIN")).isEqualTo(-1);
+                assertThat(reader.getSlotCount()).isEqualTo(64);
+                int slot = reader.slotOf("NSE:INFY");
+                assertThat(slot).isEqualTo(40);
+                SharedSnapshot snapshot = new SharedSnapshot();
+                assertThat(reader.read(slot, snapshot)).isTrue();
+                assertThat(snapshot.ltp()).isEqualTo(1500.25);
+                assertThat(reader.ltp(slot)).isEqualTo(1500.25);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.nigam.openalgo.autopilot.trading.synthetic;
+
+import com.nigam.openalgo.autopilot.trading.marketdata.InstrumentRegistry;
+import com.nigam.openalgo.autopilot.trading.marketdata.MarketDataDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class SyntheticInstrumentEngineTest {
+
+    private InstrumentRegistry instrumentRegistry;
+    private SyntheticInstrumentEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        instrumentRegistry = new InstrumentRegistry(8);
+        engine = new SyntheticInstrumentEngine(instrumentRegistry, mock(MarketDataDispatcher.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "exchange", "SYN");
+    }
+
+    @Test
+    void invalidDefinitionsRegisterNoInstruments() {
+        for (int i = 0; i < 20; i++) {
+            int attempt = i;
+            assertThatThrownBy(() -> engine.define(definition("BAD" + attempt, "NSE:A" + attempt + " + * NSE:B")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> engine.define(definition("SELF" + attempt, "NSE:A - SYN:SELF" + attempt)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(instrumentRegistry.size()).isZero();
+
+        engine.define(definition("SPREAD", "NSE:A - NSE:B"));
+        assertThat(instrumentRegistry.size()).isEqualTo(3);
+    }
+
+    @Test
+    void indirectCycleIsRejectedWithoutRegistering() {
+        engine.define(definition("X", "NSE:A + 1"));
+        engine.define(definition("Y", "SYN:X * 2"));
+        int registered = instrumentRegistry.size();
+
+        assertThatThrownBy(() -> engine.define(definition("X", "SYN:Y + NSE:NEW")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("depend on itself");
+        assertThat(instrumentRegistry.size()).isEqualTo(registered);
+    }
+
+    private static SyntheticDefinition definition(String name, String expression) {
+        return SyntheticDefinition.builder().name(name).expression(expression).build();
+    }
+}